@@ -26,6 +26,8 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
+import org.eclipse.jdt.internal.compiler.batch.ZipFilePool;
+
 /**
  * Used as a zip file cache.
  */
@@ -34,6 +36,7 @@ public class Archive {
 	public static final Archive UNKNOWN_ARCHIVE = new Archive();
 
 	ZipFile zipFile;
+	ZipFilePool.SharedZipFile sharedZipFile; // owner of zipFile
 	File file;
 
 	protected Hashtable<String, ArrayList<String[]>> packagesCache;
@@ -44,7 +47,8 @@ public class Archive {
 
 	public Archive(File file) throws ZipException, IOException {
 		this.file = file;
-		this.zipFile = new ZipFile(file);
+		this.sharedZipFile = ZipFilePool.acquire(file);
+		this.zipFile = this.sharedZipFile.getZipFile();
 		initialize();
 	}
 
@@ -92,10 +96,13 @@ public class Archive {
 	public List<String[]> getTypes(String packageName) {
 		// package name is expected to ends with '/'
 		if (this.packagesCache == null) {
-			try {
-				this.zipFile = new ZipFile(this.file);
-			} catch(IOException e) {
-				return Collections.<String[]>emptyList();
+			if (this.sharedZipFile == null) {
+				try {
+					this.sharedZipFile = ZipFilePool.acquire(this.file);
+				} catch(IOException e) {
+					return Collections.<String[]>emptyList();
+				}
+				this.zipFile = this.sharedZipFile.getZipFile();
 			}
 			this.initialize();
 		}
@@ -107,14 +114,13 @@ public class Archive {
 	}
 
 	public void close() {
-		try {
-			if (this.zipFile != null) {
-				this.zipFile.close();
-			}
-			this.packagesCache = null;
-		} catch (IOException e) {
-			// ignore
+		if (this.sharedZipFile != null) {
+			this.sharedZipFile.release();
+			this.sharedZipFile = null;
+			this.zipFile = null;
+			ZipFilePool.closeIdleZipFiles();
 		}
+		this.packagesCache = null;
 	}
 
 	@Override
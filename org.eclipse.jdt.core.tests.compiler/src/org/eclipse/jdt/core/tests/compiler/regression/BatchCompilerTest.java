@@ -43,7 +43,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -57,9 +59,13 @@ import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathDirectory;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
+import org.eclipse.jdt.internal.compiler.batch.CompileServer;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.batch.ZipFilePool;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
@@ -631,6 +637,7 @@ public void test012(){
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
         "    -d none            generate no .class files\n" +
+        "    -d <file.jar>      write the .class files into a new jar (or zip) file\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
         "                       ''[''<enc>'']'' (e.g. X.java[utf8]).\n" +
@@ -754,13 +761,25 @@ public void test012(){
         "    -referenceInfo     compute reference info\n" +
         "    -progress          show progress (only in -log mode)\n" +
         "    -time              display speed information \n" +
+        "    -timeReport <file> write detailed timings, allocations and slowest units\n" +
+        "                       to the given file in JSON format\n" +
         "    -noExit            do not call System.exit(n) at end of compilation (n==0\n" +
         "                       if no error)\n" +
         "    -repeat <n>        repeat compilation process <n> times for perf analysis\n" +
+        "    -cacheDir <dir>    reuse the class files and problems of unchanged units\n" +
+        "                       from the given cache directory (ignored when\n" +
+        "                       annotation processing is enabled)\n" +
+        "    -incremental <file> only compile the units which changed since the build\n" +
+        "                       recorded in the given state file, and their dependents\n" +
+        "                       (requires -d <dir>, cannot be combined with -cacheDir)\n" +
         "    -inlineJSR         inline JSR bytecode (implicit if target >= 1.5)\n" +
         "    -enableJavadoc     consider references in javadoc\n" +
         "    -parameters        generate method parameters attribute (for target >= 1.8)\n" +
         "    -genericsignature  generate generic signature for lambda expressions\n" +
+        "    -abiOnly           only generate the ABI of the types: class files without\n" +
+        "                       private members, static initializers and method code.\n" +
+        "                       Method bodies are not compiled\n" +
+        "    -abiOnly:private   same as -abiOnly, keeping the private fields and methods\n" +
         "    -Xemacs            used to enable emacs-style output in the console.\n" +
         "                       It does not affect the xml log output\n" +
         "    -missingNullDefault  report missing default nullness annotation\n" +
@@ -1021,6 +1040,8 @@ public void test012b(){
 			"		<option key=\"org.eclipse.jdt.core.compiler.annotation.nullable\" value=\"org.eclipse.jdt.annotation.Nullable\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.annotation.nullable.secondary\" value=\"\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.annotation.nullanalysis\" value=\"disabled\"/>\n" +
+			"		<option key=\"org.eclipse.jdt.core.compiler.codegen.abiOnly\" value=\"disabled\"/>\n" +
+			"		<option key=\"org.eclipse.jdt.core.compiler.codegen.abiOnly.privateMembers\" value=\"do not generate\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.codegen.inlineJsrBytecode\" value=\"disabled\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.codegen.lambda.genericSignature\" value=\"do not generate\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.codegen.methodParameters\" value=\"do not generate\"/>\n" +
@@ -13224,4 +13245,651 @@ public void testUnusedObjectAllocation() {
 		true);
 
 }
+// -cacheDir: a second compilation of unchanged units is served from the cache,
+// problems included
+public void testCompilationCache() {
+	String[] testFiles = new String[] {
+		"X.java",
+		"import java.util.List;\n" +
+		"public class X {\n" +
+		"	Y y() { return new Y(); }\n" +
+		"}\n",
+		"Y.java",
+		"public class Y {\n" +
+		"	public static final int Z = 1;\n" +
+		"}\n"
+	};
+	String commandLine =
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+		+ " -1.5 -proc:none -warn:+unusedImport"
+		+ " -cacheDir \"" + OUTPUT_DIR + File.separator + "cache\""
+		+ " -d \"" + OUTPUT_DIR + File.separator + "bin\"";
+	String expectedProblems =
+		"----------\n" +
+		"1. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 1)\n" +
+		"	import java.util.List;\n" +
+		"	       ^^^^^^^^^^^^^^\n" +
+		"The import java.util.List is never used\n" +
+		"----------\n" +
+		"1 problem (1 warning)\n";
+	this.runConformTest(testFiles, commandLine, "", expectedProblems, true);
+	assertTrue("cache not populated", new File(OUTPUT_DIR + File.separator + "cache").list().length > 0);
+	this.runConformTest(testFiles, commandLine, "", expectedProblems, false);
+	assertTrue("class file not written", new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "Y.class").exists());
+}
+// compile server: jars are shared across compilations until they change
+public void testCompileServer() throws Exception {
+	new File(OUTPUT_DIR).mkdirs();
+	String libPath = OUTPUT_DIR + File.separator + "lib.jar";
+	Util.createJar(new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"	public static void foo() {}\n" +
+			"}",
+		},
+		libPath,
+		JavaCore.VERSION_1_5);
+	Util.writeToFile(
+		"public class X {\n" +
+		"	void bar() { p.A.foo(); }\n" +
+		"}\n",
+		OUTPUT_DIR + File.separator + "X.java");
+	String[] arguments = new String[] {
+		OUTPUT_DIR + File.separator + "X.java",
+		"-1.5", "-proc:none",
+		"-cp", libPath,
+		"-d", OUTPUT_DIR + File.separator + "bin"
+	};
+	CompileServer server = new CompileServer();
+	try {
+		for (int i = 0; i < 2; i++) {
+			StringWriter err = new StringWriter();
+			assertTrue("compilation #" + i + " failed", server.compile(arguments, new PrintWriter(new StringWriter()), new PrintWriter(err)));
+			assertEquals("", err.toString());
+		}
+		Util.createJar(new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	public static void foo2() {}\n" +
+				"}",
+			},
+			libPath,
+			JavaCore.VERSION_1_5);
+		StringWriter err = new StringWriter();
+		assertFalse("stale jar used", server.compile(arguments, new PrintWriter(new StringWriter()), new PrintWriter(err)));
+		assertTrue(err.toString(), err.toString().indexOf("The method foo() is undefined for the type A") != -1);
+	} finally {
+		server.close();
+	}
+}
+// classpath jars of distinct file systems share their zip file and directory
+public void testSharedZipFile() throws Exception {
+	new File(OUTPUT_DIR).mkdirs();
+	String libPath = OUTPUT_DIR + File.separator + "lib.jar";
+	Util.createJar(new String[] {
+			"p/q/A.java",
+			"package p.q;\n" +
+			"public class A {\n" +
+			"}",
+		},
+		libPath,
+		JavaCore.VERSION_1_5);
+	ClasspathJar first = (ClasspathJar) FileSystem.getClasspath(libPath, null, null);
+	ClasspathJar second = (ClasspathJar) FileSystem.getClasspath(libPath, null, null);
+	first.initialize();
+	second.initialize();
+	try {
+		assertTrue("p should be a package", first.isPackage("p", null));
+		assertNotNull("p/q/A should be found", second.findClass("A".toCharArray(), "p/q", null, "p/q/A.class"));
+		first.reset();
+		assertNotNull("p/q/A should still be found", second.findClass("A".toCharArray(), "p/q", null, "p/q/A.class"));
+		char[][][] typeNames = second.findTypeNames("p/q", null);
+		assertEquals(1, typeNames.length);
+		assertEquals("p.q.A", CharOperation.toString(typeNames[0]));
+	} finally {
+		first.reset();
+		second.reset();
+	}
+}
+// idle zip files are closed when a compilation ends, unless retained
+public void testCloseIdleZipFiles() throws Exception {
+	new File(OUTPUT_DIR).mkdirs();
+	String libPath = OUTPUT_DIR + File.separator + "lib.jar";
+	Util.createJar(new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}",
+		},
+		libPath,
+		JavaCore.VERSION_1_5);
+	ZipFilePool.SharedZipFile shared = ZipFilePool.acquire(new File(libPath));
+	shared.release();
+	ZipFilePool.retainIdleZipFiles();
+	try {
+		ZipFilePool.closeIdleZipFiles();
+		assertNotNull("retained zip file closed", shared.getZipFile().getEntry("p/A.class"));
+	} finally {
+		ZipFilePool.releaseIdleZipFiles();
+	}
+	try {
+		shared.getZipFile().getEntry("p/A.class");
+		fail("idle zip file left open");
+	} catch (IllegalStateException e) {
+		// closed
+	}
+}
+// packages split over several jars are looked up in classpath order
+public void testSplitPackageClasspathOrder() throws Exception {
+	new File(LIB_DIR).mkdirs();
+	String lib1 = LIB_DIR + File.separator + "lib1.jar";
+	String lib2 = LIB_DIR + File.separator + "lib2.jar";
+	Util.createJar(new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"	public static void first() {}\n" +
+			"}",
+		},
+		lib1,
+		JavaCore.VERSION_1_5);
+	Util.createJar(new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"	public static void second() {}\n" +
+			"}",
+			"p/B.java",
+			"package p;\n" +
+			"public class B {\n" +
+			"}",
+			"q/C.java",
+			"package q;\n" +
+			"public class C {\n" +
+			"}",
+		},
+		lib2,
+		JavaCore.VERSION_1_5);
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	p.B b;\n" +
+			"	q.C c;\n" +
+			"	void foo() {\n" +
+			"		p.A.first();\n" +
+			"		p.A.second();\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -cp \"" + lib1 + File.pathSeparator + lib2 + "\""
+		+ " -1.5 -proc:none -d none",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 6)\n" +
+		"	p.A.second();\n" +
+		"	    ^^^^^^\n" +
+		"The method second() is undefined for the type A\n" +
+		"----------\n" +
+		"1 problem (1 error)\n",
+		true);
+}
+// -timeReport writes the detailed statistics of the compilation in JSON
+public void testTimeReport() throws Exception {
+	String reportPath = OUTPUT_DIR + File.separator + "report.json";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"import java.util.*;\n" +
+			"public class X {\n" +
+			"	List<String> names = Arrays.asList(\"a\", \"b\");\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.8 -proc:none -d none"
+		+ " -timeReport \"" + reportPath + "\"",
+		"",
+		"",
+		true);
+	String report = Util.fileContent(reportPath);
+	assertTrue("missing phases", report.contains("\"phases\": {"));
+	assertTrue("missing binary types", report.contains("\"binaryTypes\": { \"count\": "));
+	assertTrue("missing digested binary types", report.contains(", \"fromDigest\": "));
+	assertFalse("inference not recorded", report.contains("\"inference\": { \"count\": 0,"));
+	assertTrue("missing inference cache", report.contains("\"cacheHits\": "));
+	assertTrue("missing class file pool", report.contains("\"classFiles\": { \"reused\": "));
+	assertTrue("missing unit", report.contains("X.java\", \"lineCount\": 4,"));
+}
+// -d with a jar file streams the class files into that archive
+public void testJarOutput() throws Exception {
+	String jarPath = OUTPUT_DIR + File.separator + "out" + File.separator + "classes.jar";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	class Y {}\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " -1.5 -proc:none"
+		+ " -d \"" + jarPath + "\"",
+		"",
+		"",
+		true);
+	try (java.util.zip.ZipFile zipFile = new java.util.zip.ZipFile(jarPath)) {
+		assertNotNull("missing p/X.class", zipFile.getEntry("p/X.class"));
+		assertNotNull("missing p/X$Y.class", zipFile.getEntry("p/X$Y.class"));
+		assertEquals("unexpected entries", 2, zipFile.size());
+	}
+}
+// class files which could not be written are neither logged as created nor counted
+public void testClassFileOutputFailure() {
+	String logFileName = OUTPUT_DIR + File.separator + "log.xml";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {}"
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -proc:none"
+		+ " -log \"" + logFileName + "\""
+		+ " -d \"" + OUTPUT_DIR + File.separator + "X.java\"",
+		"",
+		"No .class file created for file X.class in ---OUTPUT_DIR_PLACEHOLDER" +
+			"---/X.java because of an IOException: Regular file " +
+			"---OUTPUT_DIR_PLACEHOLDER---/X.java cannot be used " +
+			"as output directory\n",
+		true);
+	String logContents = Util.fileContent(logFileName);
+	assertFalse("class file logged as created", logContents.contains("<classfile "));
+	assertFalse("class file counted", logContents.contains("<number_of_classfiles "));
+}
+// an incremental build compiles the dependents of a type whose structure changed
+public void testIncrementalBuild() {
+	String commandLine =
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "Y.java\""
+		+ " -1.5 -proc:none"
+		+ " -incremental \"" + OUTPUT_DIR + File.separator + "incremental.state\""
+		+ " -d \"" + OUTPUT_DIR + File.separator + "bin\"";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	void bar() { new Y().foo(); }\n" +
+			"}\n",
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	void foo() {}\n" +
+			"}\n",
+		},
+		commandLine,
+		"",
+		"",
+		true);
+	this.runNegativeTest(
+		new String[] {
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	void foo2() {}\n" +
+			"}\n",
+		},
+		commandLine,
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/X.java (at line 3)\n" +
+		"	void bar() { new Y().foo(); }\n" +
+		"	                     ^^^\n" +
+		"The method foo() is undefined for the type Y\n" +
+		"----------\n" +
+		"1 problem (1 error)\n",
+		false);
+	File classFile = new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "p" + File.separator + "X.class");
+	assertFalse("stale class file", classFile.exists());
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	int bar() { return new Y().foo(); }\n" +
+			"}\n",
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	int foo() { return 0; }\n" +
+			"}\n",
+		},
+		commandLine,
+		"",
+		"",
+		false);
+	assertTrue("missing class file", classFile.exists());
+	// the unchanged dependent no longer compiles, its previous class file must not be left behind
+	this.runNegativeTest(
+		new String[] {
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	String foo() { return \"\"; }\n" +
+			"}\n",
+		},
+		commandLine,
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/X.java (at line 3)\n" +
+		"	int bar() { return new Y().foo(); }\n" +
+		"	                   ^^^^^^^^^^^^^\n" +
+		"Type mismatch: cannot convert from String to int\n" +
+		"----------\n" +
+		"1 problem (1 error)\n",
+		false);
+	assertFalse("stale class file", classFile.exists());
+}
+// -incremental and -cacheDir cannot be combined
+public void testIncrementalBuildWithCacheDir() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -proc:none"
+		+ " -incremental \"" + OUTPUT_DIR + File.separator + "incremental.state\""
+		+ " -cacheDir \"" + OUTPUT_DIR + File.separator + "cache\""
+		+ " -d \"" + OUTPUT_DIR + File.separator + "bin\"",
+		"",
+		"-incremental cannot be combined with -cacheDir\n",
+		true);
+}
+// the state file may have a name shorter than the prefix of a temporary file
+public void testIncrementalBuildShortStateName() {
+	String stateFileName = OUTPUT_DIR + File.separator + "st";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " -1.5 -proc:none"
+		+ " -incremental \"" + stateFileName + "\""
+		+ " -d \"" + OUTPUT_DIR + File.separator + "bin\"",
+		"",
+		"",
+		true);
+	assertTrue("missing state file", new File(stateFileName).isFile());
+}
+// an incremental build needing more rounds than allowed compiles all the units again
+public void testIncrementalBuildManyRounds() throws Exception {
+	int length = 21; // longer than IncrementalBuild.MAX_ROUNDS
+	String[] files = new String[(length + 1) * 2];
+	StringBuilder commandLine = new StringBuilder();
+	for (int i = 0; i < length; i++) {
+		files[i * 2] = "p/C" + i + ".java";
+		files[i * 2 + 1] =
+			"package p;\n" +
+			"public class C" + i + " {\n" +
+			"	public static final int K = " + (i == 0 ? "1" : "C" + (i - 1) + ".K") + ";\n" +
+			"}\n";
+		commandLine.append("\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "C" + i + ".java\" ");
+	}
+	files[length * 2] = "p/M.java";
+	files[length * 2 + 1] =
+		"package p;\n" +
+		"public class M {\n" +
+		"	public static final int K = C" + (length - 1) + ".K;\n" +
+		"}\n";
+	commandLine.append("\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "M.java\"")
+		.append(" -1.5 -proc:none")
+		.append(" -incremental \"" + OUTPUT_DIR + File.separator + "incremental.state\"")
+		.append(" -d \"" + OUTPUT_DIR + File.separator + "bin\"");
+	String classFileName = OUTPUT_DIR + File.separator + "bin" + File.separator + "p" + File.separator + "M.class";
+	this.runConformTest(files, commandLine.toString(), "", "", true);
+	assertEquals("unexpected constant", 1, ClassFileReader.read(classFileName).getFields()[0].getConstant().intValue());
+	this.runConformTest(
+		new String[] {
+			"p/C0.java",
+			"package p;\n" +
+			"public class C0 {\n" +
+			"	public static final int K = 10;\n" +
+			"}\n",
+		},
+		commandLine.toString(),
+		"",
+		"",
+		false);
+	assertEquals("stale constant", 10, ClassFileReader.read(classFileName).getFields()[0].getConstant().intValue());
+	// nothing is left to compile
+	this.runConformTest(new String[0], commandLine.toString(), "", "", false);
+	assertEquals("stale constant", 10, ClassFileReader.read(classFileName).getFields()[0].getConstant().intValue());
+}
+// -abiOnly generates the class files of the ABI without compiling the method bodies
+public void testAbiOnly() throws Exception {
+	String jarPath = OUTPUT_DIR + File.separator + "out" + File.separator + "abi.jar";
+	String commandLine =
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " -1.8 -proc:none -abiOnly"
+		+ " -d \"" + jarPath + "\"";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	public static final int K = 1;\n" +
+			"	private int count;\n" +
+			"	public int foo() { return undefined(); }\n" +
+			"	private void bar() {}\n" +
+			"}\n",
+		},
+		commandLine,
+		"",
+		"",
+		true);
+	byte[] bytes;
+	try (java.util.zip.ZipFile zipFile = new java.util.zip.ZipFile(jarPath)) {
+		bytes = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(zipFile.getEntry("p/X.class"), zipFile);
+	}
+	ClassFileReader reader = new ClassFileReader(bytes, "p/X.class".toCharArray());
+	assertEquals("unexpected fields", 1, reader.getFields().length);
+	assertEquals("unexpected field", "K", new String(reader.getFields()[0].getName()));
+	assertEquals("unexpected constant", 1, reader.getFields()[0].getConstant().intValue());
+	StringBuilder selectors = new StringBuilder();
+	for (IBinaryMethod method : reader.getMethods())
+		selectors.append(method.getSelector()).append(' ');
+	assertEquals("unexpected methods", "<init> foo ", selectors.toString());
+	// changing a method body does not change the ABI
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	public static final int K = 1;\n" +
+			"	private long count;\n" +
+			"	public int foo() {\n" +
+			"		return 2;\n" +
+			"	}\n" +
+			"}\n",
+		},
+		commandLine,
+		"",
+		"",
+		true);
+	try (java.util.zip.ZipFile zipFile = new java.util.zip.ZipFile(jarPath)) {
+		assertTrue("ABI changed", Arrays.equals(bytes,
+				org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(zipFile.getEntry("p/X.class"), zipFile)));
+	}
+}
+// class files taken again from the pool generate the same bytes as new ones
+public void testClassFilePoolReuse() throws Exception {
+	String sourceDir = OUTPUT_DIR + File.separator + "src";
+	this.runConformTest(
+		new String[] {
+			"src/A.java",
+			"import java.util.function.Supplier;\n" +
+			"public class A {\n" +
+			"	static final String NAME = \"A\";\n" +
+			"	long[] values = {1L, 2L, 3L};\n" +
+			"	class Inner {\n" +
+			"		double ratio = 0.5;\n" +
+			"		String describe() { return NAME + ratio + values.length; }\n" +
+			"		class Deeper {\n" +
+			"			Supplier<String> supplier = () -> describe() + \"!\";\n" +
+			"		}\n" +
+			"	}\n" +
+			"	static class Nested implements Comparable<Nested> {\n" +
+			"		public int compareTo(Nested other) { return 0; }\n" +
+			"		@Deprecated void old() throws Exception { throw new Exception(\"old\"); }\n" +
+			"	}\n" +
+			"	interface Callback { void call(int code); }\n" +
+			"	enum Kind { ONE, TWO { @Override public String toString() { return \"2\"; } } }\n" +
+			"	Object local() {\n" +
+			"		class Local { int x = 42; }\n" +
+			"		return new Callback() { public void call(int code) { System.out.println(new Local().x + code); } };\n" +
+			"	}\n" +
+			"}\n",
+			"src/B.java",
+			"public class B {\n" +
+			"	static class One { int a; }\n" +
+			"	class Two { String b = \"two\"; }\n" +
+			"	interface Three { float PI = 3.14f; }\n" +
+			"	@interface Four { String value() default \"four\"; }\n" +
+			"	static int[] table = new int[] {1, 1 << 20, -7};\n" +
+			"	void run() { Runnable r = () -> System.out.println(new Two().b); r.run(); }\n" +
+			"}\n",
+		},
+		"\"" + sourceDir + File.separator + "A.java\" \"" + sourceDir + File.separator + "B.java\""
+		+ " -1.8 -proc:none -nowarn -d \"" + OUTPUT_DIR + File.separator + "bin1\"",
+		"",
+		"",
+		true);
+	// the class files of A go back to the pool before B is generated, and the other way round
+	this.runConformTest(new String[0],
+		"\"" + sourceDir + File.separator + "B.java\" \"" + sourceDir + File.separator + "A.java\""
+		+ " -1.8 -proc:none -nowarn -d \"" + OUTPUT_DIR + File.separator + "bin2\"",
+		"",
+		"",
+		false);
+	String[] units = { "A", "B" };
+	for (String unit : units) {
+		String binDir = OUTPUT_DIR + File.separator + "bin" + unit;
+		this.runConformTest(new String[0],
+			"\"" + sourceDir + File.separator + unit + ".java\""
+			+ " -1.8 -proc:none -nowarn -d \"" + binDir + "\"",
+			"",
+			"",
+			false);
+		String[] classFileNames = new File(binDir).list();
+		assertTrue("missing class files", classFileNames.length > 1);
+		for (String classFileName : classFileNames) {
+			byte[] expected = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(binDir, classFileName));
+			for (String otherBinDir : new String[] { "bin1", "bin2" }) {
+				byte[] actual = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(
+						new File(OUTPUT_DIR + File.separator + otherBinDir, classFileName));
+				assertTrue("different " + classFileName + " in " + otherBinDir, Arrays.equals(expected, actual));
+			}
+		}
+	}
+}
+// prefetching the binary types on worker threads gives the same problems and class files as looking them up on demand
+public void testPrefetchThreads() throws Exception {
+	String[] files = new String[] {
+			"src/p/X.java",
+			"package p;\n" +
+			"\n" +
+			"import java.util.List;\n" +
+			"import java.util.concurrent.ConcurrentHashMap;\n" +
+			"import q.Missing;\n" +
+			"import q.Y;\n" +
+			"\n" +
+			"public class X extends Y implements Comparable<X>, MissingInterface {\n" +
+			"	ConcurrentHashMap<String, List<Integer>> map;\n" +
+			"	Missing missing;\n" +
+			"	java.util.zip.ZipEntry entry;\n" +
+			"	@Deprecated\n" +
+			"	public int compareTo(X other) { return 0; }\n" +
+			"	MissingType method(java.io.File file, Missing.Member member) throws java.io.IOException {\n" +
+			"		return null;\n" +
+			"	}\n" +
+			"	java.util.Optional<q.Unknown> optional;\n" +
+			"}\n",
+			"src/q/Y.java",
+			"package q;\n" +
+			"\n" +
+			"public class Y implements java.io.Serializable, Runnable {\n" +
+			"	private static final long serialVersionUID = 1L;\n" +
+			"	public void run() {\n" +
+			"		java.util.function.Function<String, Integer> f = String::length;\n" +
+			"		System.out.println(f.apply(\"y\"));\n" +
+			"	}\n" +
+			"}\n",
+	};
+	String expectedErr =
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 5)\n" +
+		"	import q.Missing;\n" +
+		"	       ^^^^^^^^^\n" +
+		"The import q.Missing cannot be resolved\n" +
+		"----------\n" +
+		"2. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 8)\n" +
+		"	public class X extends Y implements Comparable<X>, MissingInterface {\n" +
+		"	             ^\n" +
+		"The serializable class X does not declare a static final serialVersionUID field of type long\n" +
+		"----------\n" +
+		"3. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 8)\n" +
+		"	public class X extends Y implements Comparable<X>, MissingInterface {\n" +
+		"	                                                   ^^^^^^^^^^^^^^^^\n" +
+		"MissingInterface cannot be resolved to a type\n" +
+		"----------\n" +
+		"4. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 10)\n" +
+		"	Missing missing;\n" +
+		"	^^^^^^^\n" +
+		"Missing cannot be resolved to a type\n" +
+		"----------\n" +
+		"5. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 14)\n" +
+		"	MissingType method(java.io.File file, Missing.Member member) throws java.io.IOException {\n" +
+		"	^^^^^^^^^^^\n" +
+		"MissingType cannot be resolved to a type\n" +
+		"----------\n" +
+		"6. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 14)\n" +
+		"	MissingType method(java.io.File file, Missing.Member member) throws java.io.IOException {\n" +
+		"	                                      ^^^^^^^\n" +
+		"Missing cannot be resolved to a type\n" +
+		"----------\n" +
+		"7. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/src/p/X.java (at line 17)\n" +
+		"	java.util.Optional<q.Unknown> optional;\n" +
+		"	                   ^^^^^^^^^\n" +
+		"q.Unknown cannot be resolved to a type\n" +
+		"----------\n" +
+		"7 problems (6 errors, 1 warning)";
+	String commandLine = "\"" + OUTPUT_DIR + File.separator + "src" + File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR + File.separator + "src" + File.separator + "q" + File.separator + "Y.java\""
+		+ " -1.8 -proc:none -d \"" + OUTPUT_DIR + File.separator;
+	this.runNegativeTest(files, commandLine + "bin1\"", "", expectedErr, true);
+	String prefetchThreads = System.getProperty("jdt.compiler.prefetchThreads");
+	System.setProperty("jdt.compiler.prefetchThreads", "4");
+	try {
+		this.runNegativeTest(files, commandLine + "bin2\"", "", expectedErr, false);
+	} finally {
+		if (prefetchThreads == null)
+			System.clearProperty("jdt.compiler.prefetchThreads");
+		else
+			System.setProperty("jdt.compiler.prefetchThreads", prefetchThreads);
+	}
+	String[] classFileNames = { "p/X.class", "q/Y.class" };
+	for (String classFileName : classFileNames) {
+		byte[] expected = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(OUTPUT_DIR + File.separator + "bin1", classFileName));
+		byte[] actual = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(OUTPUT_DIR + File.separator + "bin2", classFileName));
+		assertTrue("different " + classFileName, Arrays.equals(expected, actual));
+	}
+}
 }
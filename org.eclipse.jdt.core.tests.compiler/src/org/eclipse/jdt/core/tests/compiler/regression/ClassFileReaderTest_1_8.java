@@ -17,8 +17,10 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 import junit.framework.Test;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeDigest;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
@@ -26,6 +28,8 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
 import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
 import org.eclipse.jdt.internal.compiler.env.IBinaryField;
 import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryNestedType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
 
 @SuppressWarnings({ "rawtypes" })
@@ -435,6 +439,46 @@ public class ClassFileReaderTest_1_8 extends AbstractRegressionTest {
 		assertEquals(((org.eclipse.jdt.internal.compiler.impl.Constant)method.getDefaultValue()).stringValue(), "aaa");
 	}
 
+	// a binary type decoded from its digest answers what its class file reader answers
+	public void test013_binaryTypeDigest() throws Exception {
+		String source =
+			"import java.lang.annotation.*;\n" +
+			"import java.util.*;\n" +
+			"@Bar(e=ElementType.FIELD, c=String.class, n=@Foo, a={1, 2})\n" +
+			"public abstract class X<T extends @Foo Number> extends AbstractList<@Foo T> implements Comparable<X<T>> {\n" +
+			"	public static final int I = 42;\n" +
+			"	public static final long L = -1L;\n" +
+			"	public static final float F = 1.5f;\n" +
+			"	public static final double D = Double.NaN;\n" +
+			"	public static final char C = 'x';\n" +
+			"	public static final boolean Z = true;\n" +
+			"	public static final String S = \"\\u00e9t\\u00e9\";\n" +
+			"	@Deprecated @Foo List<@Foo String> names;\n" +
+			"	@Deprecated\n" +
+			"	public <U extends @Foo T> U foo(@Bar(e=ElementType.PARAMETER) U u, int... rest) throws @Foo Exception { return u; }\n" +
+			"	class Member {}\n" +
+			"}\n" +
+			"@Retention(RetentionPolicy.CLASS)\n" +
+			"@Target(ElementType.TYPE_USE)\n" +
+			"@interface Foo {\n" +
+			"}\n" +
+			"@Retention(RetentionPolicy.RUNTIME)\n" +
+			"@interface Bar {\n" +
+			"	ElementType e();\n" +
+			"	Class<?> c() default Object.class;\n" +
+			"	Foo n() default @Foo;\n" +
+			"	int[] a() default {};\n" +
+			"}";
+
+		org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader cfr = getInternalClassFile("", "X", "X", source);
+		byte[] digest = BinaryTypeDigest.encode(cfr);
+		assertNotNull(digest);
+		IBinaryType decoded = new BinaryTypeDigest(ByteBuffer.wrap(digest), cfr.getFileName());
+		String expected = printBinaryType(cfr);
+		assertTrue(expected.contains("e=Ljava/lang/annotation/ElementType;.FIELD"));
+		assertEquals(expected, printBinaryType(decoded));
+	}
+
 	public void testBug548596() {
 		/*-
 		 * Test548596.jar contains classes for the following kotlin code (compiled with kotlin 1.3.21):
@@ -566,6 +610,42 @@ public class ClassFileReaderTest_1_8 extends AbstractRegressionTest {
 		return sb.toString();
 	}
 
+	private String printBinaryType(IBinaryType type) {
+		StringBuffer sb = new StringBuffer();
+		sb.append(type.getModifiers()).append(' ').append(type.getTagBits()).append(' ').append(type.getName());
+		sb.append(' ').append(CharOperation.charToString(type.getGenericSignature())).append(' ').append(CharOperation.charToString(type.getSuperclassName()));
+		sb.append(' ').append(CharOperation.toString(type.getInterfaceNames())).append('\n');
+		if (type.getAnnotations() != null)
+			for (IBinaryAnnotation annotation : type.getAnnotations())
+				sb.append(annotation).append('\n');
+		if (type.getTypeAnnotations() != null)
+			for (IBinaryTypeAnnotation typeAnnotation : type.getTypeAnnotations())
+				sb.append(printTypeAnnotation(typeAnnotation)).append('\n');
+		if (type.getMemberTypes() != null)
+			for (IBinaryNestedType memberType : type.getMemberTypes())
+				sb.append(memberType.getModifiers()).append(' ').append(memberType.getName()).append('\n');
+		for (IBinaryField field : type.getFields()) {
+			sb.append(field.getModifiers()).append(' ').append(field.getTagBits()).append(' ').append(field.getTypeName());
+			sb.append(' ').append(CharOperation.charToString(field.getGenericSignature())).append(' ').append(field.getName());
+			sb.append(" = ").append(field.getConstant()).append('\n');
+			if (field.getAnnotations() != null)
+				for (IBinaryAnnotation annotation : field.getAnnotations())
+					sb.append(annotation).append('\n');
+			if (field.getTypeAnnotations() != null)
+				for (IBinaryTypeAnnotation typeAnnotation : field.getTypeAnnotations())
+					sb.append(printTypeAnnotation(typeAnnotation)).append('\n');
+		}
+		for (IBinaryMethod method : type.getMethods()) {
+			String text = method.toString(); // without the name of the implementing class
+			sb.append(text.substring(text.indexOf('{'))).append(' ').append(method.getTagBits());
+			sb.append(' ').append(CharOperation.toString(method.getExceptionTypeNames())).append('\n');
+			if (method.getTypeAnnotations() != null)
+				for (IBinaryTypeAnnotation typeAnnotation : method.getTypeAnnotations())
+					sb.append(printTypeAnnotation(typeAnnotation)).append('\n');
+		}
+		return sb.toString();
+	}
+
 	private IBinaryMethod getMethod(ClassFileReader cfr,String methodname) {
 		IBinaryMethod[] methods = cfr.getMethods();
 		if (methods == null) {
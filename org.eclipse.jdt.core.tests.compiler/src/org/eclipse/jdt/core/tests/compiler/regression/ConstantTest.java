@@ -1511,6 +1511,177 @@ public void test022() {
 		"-623195394\n" +
 		"0");
 }
+// constant pool entries are shared between equal constants, except for NaN, and
+// string constants reuse the utf8 entry of an equal name or descriptor
+public void test023() throws Exception {
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	int value;\n" +
+			"	int[] ints() {\n" +
+			"		return new int[] {100000, 100000, -100000, 5};\n" +
+			"	}\n" +
+			"	long[] longs() {\n" +
+			"		return new long[] {1234567890123L, 1234567890123L, 1L, 2L};\n" +
+			"	}\n" +
+			"	float[] floats() {\n" +
+			"		return new float[] {1.5f, 1.5f, 0.0f, -0.0f, Float.NaN, Float.NaN};\n" +
+			"	}\n" +
+			"	double[] doubles() {\n" +
+			"		return new double[] {2.5, 2.5, 0.0, -0.0, Double.NaN, Double.NaN};\n" +
+			"	}\n" +
+			"	String[] strings() {\n" +
+			"		return new String[] {\"value\", \"value\", \"ints\"};\n" +
+			"	}\n" +
+			"}",
+		});
+	checkDisassembledClassFile(OUTPUT_DIR + File.separator + "X.class", "X",
+		"  Constant pool:\n" +
+		"    constant #1 class: #2 X\n" +
+		"    constant #2 utf8: \"X\"\n" +
+		"    constant #3 class: #4 java/lang/Object\n" +
+		"    constant #4 utf8: \"java/lang/Object\"\n" +
+		"    constant #5 utf8: \"value\"\n" +
+		"    constant #6 utf8: \"I\"\n" +
+		"    constant #7 utf8: \"<init>\"\n" +
+		"    constant #8 utf8: \"()V\"\n" +
+		"    constant #9 utf8: \"Code\"\n" +
+		"    constant #10 method_ref: #3.#11 java/lang/Object.<init> ()V\n" +
+		"    constant #11 name_and_type: #7.#8 <init> ()V\n" +
+		"    constant #12 utf8: \"LineNumberTable\"\n" +
+		"    constant #13 utf8: \"LocalVariableTable\"\n" +
+		"    constant #14 utf8: \"this\"\n" +
+		"    constant #15 utf8: \"LX;\"\n" +
+		"    constant #16 utf8: \"ints\"\n" +
+		"    constant #17 utf8: \"()[I\"\n" +
+		"    constant #18 integer: 100000\n" +
+		"    constant #19 integer: -100000\n" +
+		"    constant #20 utf8: \"longs\"\n" +
+		"    constant #21 utf8: \"()[J\"\n" +
+		"    constant #22 long: 1234567890123\n" +
+		"    \n" +
+		"    constant #24 long: 2\n" +
+		"    \n" +
+		"    constant #26 utf8: \"floats\"\n" +
+		"    constant #27 utf8: \"()[F\"\n" +
+		"    constant #28 float: 1.5\n" +
+		"    constant #29 float: -0.0\n" +
+		"    constant #30 float: NaN\n" +
+		"    constant #31 float: NaN\n" +
+		"    constant #32 utf8: \"doubles\"\n" +
+		"    constant #33 utf8: \"()[D\"\n" +
+		"    constant #34 double: 2.5\n" +
+		"    \n" +
+		"    constant #36 double: -0.0\n" +
+		"    \n" +
+		"    constant #38 double: NaN\n" +
+		"    \n" +
+		"    constant #40 double: NaN\n" +
+		"    \n" +
+		"    constant #42 utf8: \"strings\"\n" +
+		"    constant #43 utf8: \"()[Ljava/lang/String;\"\n" +
+		"    constant #44 class: #45 java/lang/String\n" +
+		"    constant #45 utf8: \"java/lang/String\"\n" +
+		"    constant #46 string: #5 \"value\"\n" +
+		"    constant #47 string: #16 \"ints\"\n" +
+		"    constant #48 utf8: \"SourceFile\"\n" +
+		"    constant #49 utf8: \"X.java\"\n",
+		ClassFileBytesDisassembler.SYSTEM);
+	checkDisassembledClassFile(OUTPUT_DIR + File.separator + "X.class", "X",
+		"  // Method descriptor #33 ()[D\n" +
+		"  // Stack: 5, Locals: 1\n" +
+		"  double[] doubles();\n" +
+		"     0  bipush 6\n" +
+		"     2  newarray double [7]\n" +
+		"     4  dup\n" +
+		"     5  iconst_0\n" +
+		"     6  ldc2_w <Double 2.5> [34]\n" +
+		"     9  dastore\n" +
+		"    10  dup\n" +
+		"    11  iconst_1\n" +
+		"    12  ldc2_w <Double 2.5> [34]\n" +
+		"    15  dastore\n" +
+		"    16  dup\n" +
+		"    17  iconst_2\n" +
+		"    18  dconst_0\n" +
+		"    19  dastore\n" +
+		"    20  dup\n" +
+		"    21  iconst_3\n" +
+		"    22  ldc2_w <Double -0.0> [36]\n" +
+		"    25  dastore\n" +
+		"    26  dup\n" +
+		"    27  iconst_4\n" +
+		"    28  ldc2_w <Double NaN> [38]\n" +
+		"    31  dastore\n" +
+		"    32  dup\n" +
+		"    33  iconst_5\n" +
+		"    34  ldc2_w <Double NaN> [40]\n" +
+		"    37  dastore\n" +
+		"    38  areturn\n" +
+		"      Line numbers:\n" +
+		"        [pc: 0, line: 13]\n" +
+		"      Local variable table:\n" +
+		"        [pc: 0, pc: 39] local: this index: 0 type: X\n" +
+		"  \n" +
+		"  // Method descriptor #43 ()[Ljava/lang/String;\n" +
+		"  // Stack: 4, Locals: 1\n" +
+		"  java.lang.String[] strings();\n" +
+		"     0  iconst_3\n" +
+		"     1  anewarray java.lang.String [44]\n" +
+		"     4  dup\n" +
+		"     5  iconst_0\n" +
+		"     6  ldc <String \"value\"> [46]\n" +
+		"     8  aastore\n" +
+		"     9  dup\n" +
+		"    10  iconst_1\n" +
+		"    11  ldc <String \"value\"> [46]\n" +
+		"    13  aastore\n" +
+		"    14  dup\n" +
+		"    15  iconst_2\n" +
+		"    16  ldc <String \"ints\"> [47]\n" +
+		"    18  aastore\n" +
+		"    19  areturn\n" +
+		"      Line numbers:\n" +
+		"        [pc: 0, line: 16]\n" +
+		"      Local variable table:\n" +
+		"        [pc: 0, pc: 20] local: this index: 0 type: X\n",
+		ClassFileBytesDisassembler.SYSTEM);
+}
+// many distinct constants, each used twice, get one pool entry each
+public void test024() throws Exception {
+	StringBuilder source = new StringBuilder("public class X {\n\tint[] ints() {\n\t\treturn new int[] {");
+	for (int i = 0; i < 2 * 2000; i++) {
+		source.append(100000 + i % 2000).append(", ");
+	}
+	source.append("};\n\t}\n\tString[] strings() {\n\t\treturn new String[] {");
+	for (int i = 0; i < 2 * 500; i++) {
+		source.append("\"s").append(i % 500).append("\", ");
+	}
+	source.append("};\n\t}\n}");
+	this.runConformTest(new String[] {"X.java", source.toString()});
+
+	File f = new File(OUTPUT_DIR + File.separator + "X.class");
+	byte[] classFileBytes = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(f);
+	ClassFileBytesDisassembler disassembler = ToolFactory.createDefaultClassFileBytesDisassembler();
+	String result = disassembler.disassemble(classFileBytes, "\n", ClassFileBytesDisassembler.SYSTEM);
+	assertEquals("Wrong number of integer constants", 2000, count(result, " integer: "));
+	assertEquals("Wrong number of string constants", 500, count(result, " string: "));
+	assertEquals("Wrong number of loads", 2 * 2000, count(result, "ldc_w <Integer ") + count(result, "ldc <Integer "));
+	int first = result.indexOf("<Integer 101999> [");
+	assertTrue("Missing load", first != -1);
+	String reference = result.substring(first, result.indexOf(']', first) + 1);
+	int second = result.indexOf("<Integer 101999> [", first + 1);
+	assertTrue("Missing second load", second != -1);
+	assertEquals("Wrong shared constant", reference, result.substring(second, result.indexOf(']', second) + 1));
+}
+private static int count(String result, String pattern) {
+	int count = 0;
+	for (int index = result.indexOf(pattern); index != -1; index = result.indexOf(pattern, index + 1)) {
+		count++;
+	}
+	return count;
+}
 public static Class testClass() {
 	return ConstantTest.class;
 }
@@ -4795,6 +4795,75 @@ public void testBug548318_030() {
 			true,
 			defaultOptions);
 }
+// definite assignment of the locals past the first 64, whose bits are shared between the flow infos of the branches
+public void testManyLocals() {
+	StringBuilder locals = new StringBuilder("v0");
+	for (int i = 1; i < 100; i++)
+		locals.append(", v").append(i);
+	this.runNegativeTest(new String[] {
+		"X.java",
+		"public class X {\n" +
+		"	void foo(boolean b, int n) {\n" +
+		"		int " + locals + ";\n" +
+		"		if (b) {\n" +
+		"			v10 = 1;\n" +
+		"			v70 = 1;\n" +
+		"			v80 = 1;\n" +
+		"		} else {\n" +
+		"			v80 = 2;\n" +
+		"			System.out.println(v10);\n" +
+		"			System.out.println(v70);\n" +
+		"		}\n" +
+		"		System.out.println(v10);\n" +
+		"		System.out.println(v70);\n" +
+		"		System.out.println(v80);\n" +
+		"		while (n-- > 0) {\n" +
+		"			v90 = n;\n" +
+		"		}\n" +
+		"		System.out.println(v90);\n" +
+		"		try {\n" +
+		"			v95 = 1;\n" +
+		"		} finally {\n" +
+		"			System.out.println(v95);\n" +
+		"		}\n" +
+		"		System.out.println(v95);\n" +
+		"		v99 = b ? 1 : 2;\n" +
+		"		System.out.println(v99);\n" +
+		"	}\n" +
+		"}\n"
+	},
+	"----------\n" +
+	"1. ERROR in X.java (at line 10)\n" +
+	"	System.out.println(v10);\n" +
+	"	                   ^^^\n" +
+	"The local variable v10 may not have been initialized\n" +
+	"----------\n" +
+	"2. ERROR in X.java (at line 11)\n" +
+	"	System.out.println(v70);\n" +
+	"	                   ^^^\n" +
+	"The local variable v70 may not have been initialized\n" +
+	"----------\n" +
+	"3. ERROR in X.java (at line 13)\n" +
+	"	System.out.println(v10);\n" +
+	"	                   ^^^\n" +
+	"The local variable v10 may not have been initialized\n" +
+	"----------\n" +
+	"4. ERROR in X.java (at line 14)\n" +
+	"	System.out.println(v70);\n" +
+	"	                   ^^^\n" +
+	"The local variable v70 may not have been initialized\n" +
+	"----------\n" +
+	"5. ERROR in X.java (at line 19)\n" +
+	"	System.out.println(v90);\n" +
+	"	                   ^^^\n" +
+	"The local variable v90 may not have been initialized\n" +
+	"----------\n" +
+	"6. ERROR in X.java (at line 23)\n" +
+	"	System.out.println(v95);\n" +
+	"	                   ^^^\n" +
+	"The local variable v95 may not have been initialized\n" +
+	"----------\n");
+}
 public static Class testClass() {
 	return FlowAnalysisTest.class;
 }
@@ -10185,4 +10185,127 @@ public void testBug508834_comment0() {
 			"The method toList() in the type Collectors is not applicable for the arguments (ArrayList::new)\n" +
 			"----------\n");
 	}
+	// failed applicability inferences are remembered per unit, the same arguments must still select the same overloads
+	public void testRepeatedInapplicableInference() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	static <T extends Number> String m(T t) { return \"N\" + t; }\n" +
+				"	static <T extends CharSequence> String m(T t) { return \"C\" + t; }\n" +
+				"	public static void main(String[] args) {\n" +
+				"		Integer i = 1;\n" +
+				"		String s = \"s\";\n" +
+				"		StringBuilder sb = new StringBuilder(\"b\");\n" +
+				"		StringBuilder out = new StringBuilder();\n" +
+				"		out.append(m(i)).append(m(s)).append(m(i)).append(m(sb)).append(m(s));\n" +
+				"		Runnable r = () -> out.append(m(i)).append(m(s));\n" +
+				"		r.run();\n" +
+				"		System.out.println(out);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"N1CsN1CbCsN1Cs");
+	}
+	public void testRepeatedInapplicableInference_negative() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	static <T extends Number> String m(T t) { return \"N\" + t; }\n" +
+				"	static <T extends CharSequence> String m(T t) { return \"C\" + t; }\n" +
+				"	void test(Boolean b) {\n" +
+				"		m(b);\n" +
+				"		m(b);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 5)\n" +
+			"	m(b);\n" +
+			"	^\n" +
+			"The method m(T) in the type X is not applicable for the arguments (Boolean)\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 6)\n" +
+			"	m(b);\n" +
+			"	^\n" +
+			"The method m(T) in the type X is not applicable for the arguments (Boolean)\n" +
+			"----------\n");
+	}
+	public void testStreamCollectorsInference() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"import java.util.function.Function;\n" +
+				"import java.util.stream.*;\n" +
+				"\n" +
+				"public class X {\n" +
+				"	static class Person {\n" +
+				"		final String name; final int age; final String city;\n" +
+				"		Person(String name, int age, String city) { this.name = name; this.age = age; this.city = city; }\n" +
+				"		String getName() { return name; }\n" +
+				"		int getAge() { return age; }\n" +
+				"		String getCity() { return city; }\n" +
+				"	}\n" +
+				"	public static void main(String[] args) {\n" +
+				"		List<Person> people = Arrays.asList(new Person(\"Ann\", 31, \"Oslo\"), new Person(\"Bob\", 25, \"Rome\"),\n" +
+				"				new Person(\"Cid\", 31, \"Rome\"), new Person(\"Dan\", 42, \"Oslo\"));\n" +
+				"		Map<String, Map<Integer, List<String>>> byCityAndAge = people.stream()\n" +
+				"			.filter(p -> p.getAge() > 20)\n" +
+				"			.sorted(Comparator.comparing(Person::getName).thenComparing(Person::getAge))\n" +
+				"			.collect(Collectors.groupingBy(Person::getCity, TreeMap::new,\n" +
+				"				Collectors.groupingBy(p -> p.getAge() / 10 * 10, TreeMap::new,\n" +
+				"					Collectors.mapping(Person::getName, Collectors.toList()))));\n" +
+				"		System.out.println(byCityAndAge);\n" +
+				"		TreeMap<Boolean, Optional<Person>> oldest = people.stream()\n" +
+				"			.collect(Collectors.partitioningBy(p -> p.getCity().equals(\"Oslo\"),\n" +
+				"				Collectors.maxBy(Comparator.comparingInt(Person::getAge))))\n" +
+				"			.entrySet().stream()\n" +
+				"			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));\n" +
+				"		System.out.println(oldest.get(true).map(Person::getName).orElse(\"none\"));\n" +
+				"		Map<Integer, Long> counts = people.stream()\n" +
+				"			.collect(Collectors.groupingBy(Person::getAge, TreeMap::new,\n" +
+				"				Collectors.collectingAndThen(Collectors.counting(), Function.identity())));\n" +
+				"		System.out.println(counts);\n" +
+				"		String names = people.stream()\n" +
+				"			.map(Person::getName)\n" +
+				"			.collect(Collectors.collectingAndThen(Collectors.joining(\",\"), s -> \"[\" + s + \"]\"));\n" +
+				"		System.out.println(names);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"{Oslo={30=[Ann], 40=[Dan]}, Rome={20=[Bob], 30=[Cid]}}\n" +
+			"Dan\n" +
+			"{25=1, 31=2, 42=1}\n" +
+			"[Ann,Bob,Cid,Dan]");
+	}
+	public void testStreamCollectorsInference_negative() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"import java.util.stream.*;\n" +
+				"\n" +
+				"public class X {\n" +
+				"	void test(Stream<String> words) {\n" +
+				"		Map<Integer, List<String>> byLength = words.collect(Collectors.groupingBy(String::length));\n" +
+				"		Map<Integer, Set<String>> wrong = words.collect(Collectors.groupingBy(String::length));\n" +
+				"		Map<Character, Map<Integer, Long>> nested = words.collect(Collectors.groupingBy(w -> w.charAt(0), Collectors.groupingBy(String::length, Collectors.counting())));\n" +
+				"		Map<Character, Map<Integer, Integer>> nestedWrong = words.collect(Collectors.groupingBy(w -> w.charAt(0), Collectors.groupingBy(String::length, Collectors.counting())));\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 7)\n" +
+			"	Map<Integer, Set<String>> wrong = words.collect(Collectors.groupingBy(String::length));\n" +
+			"	                                  ^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Type mismatch: cannot convert from Map<Integer,List<String>> to Map<Integer,Set<String>>\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 9)\n" +
+			"	Map<Character, Map<Integer, Integer>> nestedWrong = words.collect(Collectors.groupingBy(w -> w.charAt(0), Collectors.groupingBy(String::length, Collectors.counting())));\n" +
+			"	                                                    ^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Type mismatch: cannot convert from Map<Object,Map<Integer,Long>> to Map<Character,Map<Integer,Integer>>\n" +
+			"----------\n");
+	}
 }
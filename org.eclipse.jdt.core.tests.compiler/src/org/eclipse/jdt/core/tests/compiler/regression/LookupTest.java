@@ -26,6 +26,7 @@ import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.Scope;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 
 import junit.framework.Test;
@@ -3631,6 +3632,183 @@ public void testBug537828() {
 		},
 		"A.obj");
 }
+/*
+ * Runs the test twice, once looking up every method and once remembering the lookups per compilation unit,
+ * expecting the same output from both.
+ */
+private void runConformTestCachingMethodLookups(String[] testFiles, String expectedOutput) {
+	boolean cacheMethodLookups = Scope.CACHE_METHOD_LOOKUPS;
+	try {
+		Scope.CACHE_METHOD_LOOKUPS = false;
+		this.runConformTest(testFiles, expectedOutput);
+		Scope.CACHE_METHOD_LOOKUPS = true;
+		this.runConformTest(testFiles, expectedOutput);
+	} finally {
+		Scope.CACHE_METHOD_LOOKUPS = cacheMethodLookups;
+	}
+}
+private void runNegativeTestCachingMethodLookups(String[] testFiles, String expectedProblemLog) {
+	boolean cacheMethodLookups = Scope.CACHE_METHOD_LOOKUPS;
+	try {
+		Scope.CACHE_METHOD_LOOKUPS = false;
+		this.runNegativeTest(testFiles, expectedProblemLog);
+		Scope.CACHE_METHOD_LOOKUPS = true;
+		this.runNegativeTest(testFiles, expectedProblemLog);
+	} finally {
+		Scope.CACHE_METHOD_LOOKUPS = cacheMethodLookups;
+	}
+}
+/**
+ * Overloads invoked repeatedly with different argument types
+ */
+public void testMethodLookupCacheOverloads() {
+	if (this.complianceLevel < ClassFileConstants.JDK1_5) return;
+	runConformTestCachingMethodLookups(
+		new String[] {
+			"X.java",
+			"class P {\n" +
+			"	public String m(Object o) { return \"Object\"; }\n" +
+			"	public String m(String s) { return \"String\"; }\n" +
+			"	public String m(int i) { return \"int\"; }\n" +
+			"	public String m(long l) { return \"long\"; }\n" +
+			"	public String m(Integer i) { return \"Integer\"; }\n" +
+			"}\n" +
+			"public class X {\n" +
+			"	public static void main(String[] args) {\n" +
+			"		P p = new P();\n" +
+			"		short s = 1;\n" +
+			"		char c = 'c';\n" +
+			"		StringBuffer b = new StringBuffer();\n" +
+			"		for (int i = 0; i < 2; i++) {\n" +
+			"			b.append(p.m(\"\")).append(',').append(p.m(1)).append(',').append(p.m(1L)).append(',');\n" +
+			"			b.append(p.m(Integer.valueOf(1))).append(',').append(p.m(new Object())).append(',');\n" +
+			"			b.append(p.m(s)).append(',').append(p.m(c)).append(',').append(p.m((Object) \"\")).append(';');\n" +
+			"		}\n" +
+			"		System.out.println(b);\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"String,int,long,Integer,Object,int,int,Object;String,int,long,Integer,Object,int,int,Object;");
+}
+/**
+ * The same selector invoked through this, super, a cast receiver and type names
+ */
+public void testMethodLookupCacheSuperAndTypeAccess() {
+	runConformTestCachingMethodLookups(
+		new String[] {
+			"X.java",
+			"class A {\n" +
+			"	public String m(int i) { return \"A.m\"; }\n" +
+			"	public static String s(int i) { return \"A.s\"; }\n" +
+			"}\n" +
+			"public class X extends A {\n" +
+			"	public String m(int i) { return \"X.m\"; }\n" +
+			"	public static String s(int i) { return \"X.s\"; }\n" +
+			"	String test() {\n" +
+			"		return m(1) + \",\" + this.m(1) + \",\" + super.m(1) + \",\" + ((A) this).m(1) + \",\"\n" +
+			"			+ A.s(1) + \",\" + X.s(1) + \",\" + super.m(1) + \",\" + this.m(1) + \",\" + ((A) this).m(1);\n" +
+			"	}\n" +
+			"	public static void main(String[] args) {\n" +
+			"		System.out.println(new X().test());\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"X.m,X.m,A.m,X.m,A.s,X.s,A.m,X.m,X.m");
+}
+/**
+ * The same invocations through raw, parameterized and wildcard receivers
+ */
+public void testMethodLookupCacheRawReceivers() {
+	if (this.complianceLevel < ClassFileConstants.JDK1_5) return;
+	runConformTestCachingMethodLookups(
+		new String[] {
+			"X.java",
+			"class G<T extends Number> {\n" +
+			"	public String m(T t) { return \"T\"; }\n" +
+			"	public String m(Object o) { return \"Object\"; }\n" +
+			"}\n" +
+			"public class X {\n" +
+			"	@SuppressWarnings(\"unchecked\")\n" +
+			"	public static void main(String[] args) {\n" +
+			"		G raw = new G();\n" +
+			"		G<Integer> gi = new G<Integer>();\n" +
+			"		G<Double> gd = new G<Double>();\n" +
+			"		G<? extends Number> gw = gi;\n" +
+			"		System.out.println(raw.m(1) + \",\" + gi.m(1) + \",\" + gd.m(1) + \",\" + gw.m(1) + \",\"\n" +
+			"			+ raw.m(1) + \",\" + gd.m(1) + \",\" + gi.m(1) + \",\" + gw.m(1) + \",\" + raw.m(\"\"));\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"T,T,Object,Object,T,Object,T,Object,Object");
+}
+/**
+ * Fixed arity and variable arity candidates invoked repeatedly
+ */
+public void testMethodLookupCacheVarargs() {
+	if (this.complianceLevel < ClassFileConstants.JDK1_5) return;
+	runConformTestCachingMethodLookups(
+		new String[] {
+			"X.java",
+			"class V {\n" +
+			"	public String m(String s) { return \"String\"; }\n" +
+			"	public String m(String... s) { return \"String...\"; }\n" +
+			"	public String m(int i, String... s) { return \"int,String...\"; }\n" +
+			"}\n" +
+			"public class X {\n" +
+			"	public static void main(String[] args) {\n" +
+			"		V v = new V();\n" +
+			"		StringBuffer b = new StringBuffer();\n" +
+			"		for (int i = 0; i < 2; i++) {\n" +
+			"			b.append(v.m(\"a\")).append(',').append(v.m(\"a\", \"b\")).append(',').append(v.m()).append(',');\n" +
+			"			b.append(v.m(1)).append(',').append(v.m(1, \"a\")).append(',').append(v.m(new String[0])).append(',');\n" +
+			"			b.append(v.m((String) null)).append(',').append(v.m(\"a\")).append(';');\n" +
+			"		}\n" +
+			"		System.out.println(b);\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"String,String...,String...,int,String...,int,String...,String...,String,String;String,String...,String...,int,String...,int,String...,String...,String,String;");
+}
+/**
+ * Remembered lookups report the same problems as fresh lookups
+ */
+public void testMethodLookupCacheProblems() {
+	if (this.complianceLevel < ClassFileConstants.JDK1_5) return;
+	runNegativeTestCachingMethodLookups(
+		new String[] {
+			"X.java",
+			"class P {\n" +
+			"	public String m(int i) { return \"\"; }\n" +
+			"	public void n(Integer i, Object o) {}\n" +
+			"	public void n(Object o, Integer i) {}\n" +
+			"}\n" +
+			"public class X {\n" +
+			"	void test(P p, Integer i) {\n" +
+			"		p.m(1);\n" +
+			"		P.m(1);\n" +
+			"		p.m(1);\n" +
+			"		p.n(i, i);\n" +
+			"		p.n(i, i);\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"----------\n" +
+		"1. ERROR in X.java (at line 9)\n" +
+		"\tP.m(1);\n" +
+		"\t^^^^^^\n" +
+		"Cannot make a static reference to the non-static method m(int) from the type P\n" +
+		"----------\n" +
+		"2. ERROR in X.java (at line 11)\n" +
+		"\tp.n(i, i);\n" +
+		"\t  ^\n" +
+		"The method n(Integer, Object) is ambiguous for the type P\n" +
+		"----------\n" +
+		"3. ERROR in X.java (at line 12)\n" +
+		"\tp.n(i, i);\n" +
+		"\t  ^\n" +
+		"The method n(Integer, Object) is ambiguous for the type P\n" +
+		"----------\n");
+}
 public static Class testClass() {	return LookupTest.class;
 }
 }
@@ -18485,4 +18485,59 @@ public void testBug561280() {
 			"}\n"
 		});
 }
-}
\ No newline at end of file
+// null analysis of the locals past the first 64, whose bits are shared between the flow infos of the branches
+public void testManyLocals() {
+	StringBuilder locals = new StringBuilder("o0 = null");
+	for (int i = 1; i < 100; i++)
+		locals.append(", o").append(i).append(" = null");
+	runNegativeNullTest(new String[] {
+		"X.java",
+		"public class X {\n" +
+		"	void foo(boolean b, Object p) {\n" +
+		"		Object " + locals + ";\n" +
+		"		if (b) {\n" +
+		"			o10 = p;\n" +
+		"			o70 = new Object();\n" +
+		"			o80 = new Object();\n" +
+		"		} else {\n" +
+		"			o80 = new Object();\n" +
+		"			o70.toString();\n" +
+		"		}\n" +
+		"		o10.toString();\n" +
+		"		o70.toString();\n" +
+		"		o80.toString();\n" +
+		"		o90 = new Object();\n" +
+		"		if (b) {\n" +
+		"			o90 = null;\n" +
+		"		}\n" +
+		"		o90.toString();\n" +
+		"		if (o95 == null) {\n" +
+		"			o95 = p;\n" +
+		"		}\n" +
+		"		o95.toString();\n" +
+		"	}\n" +
+		"}\n"
+	},
+	"----------\n" +
+	"1. ERROR in X.java (at line 10)\n" +
+	"	o70.toString();\n" +
+	"	^^^\n" +
+	"Null pointer access: The variable o70 can only be null at this location\n" +
+	"----------\n" +
+	"2. ERROR in X.java (at line 12)\n" +
+	"	o10.toString();\n" +
+	"	^^^\n" +
+	"Potential null pointer access: The variable o10 may be null at this location\n" +
+	"----------\n" +
+	"3. ERROR in X.java (at line 19)\n" +
+	"	o90.toString();\n" +
+	"	^^^\n" +
+	"Potential null pointer access: The variable o90 may be null at this location\n" +
+	"----------\n" +
+	"4. ERROR in X.java (at line 20)\n" +
+	"	if (o95 == null) {\n" +
+	"	    ^^^\n" +
+	"Redundant null check: The variable o95 can only be null at this location\n" +
+	"----------\n");
+}
+}
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.compiler.regression;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import junit.framework.Test;
 
 import org.eclipse.jdt.core.JavaCore;
@@ -21,6 +25,7 @@ import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.parser.IdentifierInterner;
 import org.eclipse.jdt.internal.compiler.parser.Scanner;
 import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
 import org.eclipse.jdt.internal.core.util.PublicScanner;
@@ -1555,4 +1560,104 @@ public class ScannerTest extends AbstractRegressionTest {
 		}
 		assertEquals("Wrong token type", ITerminalSymbols.TokenNameIntegerLiteral, token);
 	}
+	/**
+	 * The fast paths taken over ASCII sources must give up on unicode escapes.
+	 */
+	public void testAsciiWithUnicodeEscapes() throws InvalidInputException {
+		char[] source = ("class X {\r\n" +
+				"	/* block \\u002a/ int i; /* \\\\u002a/\n" +
+				"	 * @see X */\n" +
+				"	String s = \"a\\\\u0062c\" + \"d\\u0065f\" + \"g\\th\"; // comment \\\\u000a\n" +
+				"	int a\\u0062c = 0; // last").toCharArray();
+		Scanner scanner = new Scanner(true, false, false, ClassFileConstants.JDK1_8, null, null, false);
+		scanner.recordLineSeparator = true;
+		scanner.setSource(source);
+		StringBuilder buffer = new StringBuilder();
+		while (scanner.getNextToken() != TerminalTokens.TokenNameEOF)
+			buffer.append(scanner.getCurrentTokenSource()).append('|');
+		assertEquals("Wrong tokens",
+				"class|X|{|/* block *|int|i|;|/* \\\\u002a/\n" +
+				"	 * @see X */|String|s|=|\"a\\u0062c\"|+|\"def\"|+|\"g\th\"|;|// comment \\\\u000a\n" +
+				"|int|abc|=|0|;|// last|",
+				buffer.toString());
+		assertEquals("Wrong line ends", "[10, 47, 61, 127]", Arrays.toString(scanner.getLineEnds()));
+	}
+	/**
+	 * Interned identifiers are shared between scanners and keep the text of the source, unicode escapes decoded.
+	 */
+	public void testInternedIdentifiers() throws InvalidInputException {
+		StringBuilder longName = new StringBuilder("veryLong");
+		while (longName.length() <= 128) // not interned
+			longName.append("Name");
+		String source = "class LongIdentifier { LongIdentifier longIdentifier = new Long\\u0049dentifier(); " +
+				longName + " first, " + longName + " second; }";
+		boolean interning = IdentifierInterner.ENABLED;
+		IdentifierInterner.ENABLED = true;
+		try {
+			List<char[]> identifiers = scanIdentifiers(source);
+			assertEquals("Wrong identifiers",
+					"LongIdentifier|LongIdentifier|longIdentifier|LongIdentifier|" + longName + "|first|" + longName + "|second|",
+					toString(identifiers));
+			assertSame("Not shared", identifiers.get(0), identifiers.get(1));
+			assertSame("Not shared with the escaped identifier", identifiers.get(0), identifiers.get(3));
+			assertNotSame("Different identifiers shared", identifiers.get(0), identifiers.get(2));
+			assertNotSame("Long identifier shared", identifiers.get(4), identifiers.get(6));
+			assertSame("Not shared between scanners", identifiers.get(0), scanIdentifiers(source).get(0));
+			// older identifiers are dropped once enough others were interned
+			for (int i = 0; i < 200000; i++) {
+				char[] name = ("identifier" + i).toCharArray();
+				assertTrue("Wrong interned identifier", Arrays.equals(name, IdentifierInterner.intern(name, 0, name.length)));
+			}
+			assertEquals("Wrong identifiers after dropping",
+					"LongIdentifier|LongIdentifier|longIdentifier|LongIdentifier|" + longName + "|first|" + longName + "|second|",
+					toString(scanIdentifiers(source)));
+		} finally {
+			IdentifierInterner.ENABLED = interning;
+		}
+	}
+	private List<char[]> scanIdentifiers(String source) throws InvalidInputException {
+		Scanner scanner = new Scanner(false, false, false, ClassFileConstants.JDK1_8, null, null, false);
+		scanner.setSource(source.toCharArray());
+		List<char[]> identifiers = new ArrayList<>();
+		int token;
+		while ((token = scanner.getNextToken()) != TerminalTokens.TokenNameEOF) {
+			if (token == TerminalTokens.TokenNameIdentifier)
+				identifiers.add(scanner.getCurrentIdentifierSource());
+		}
+		return identifiers;
+	}
+	private String toString(List<char[]> identifiers) {
+		StringBuilder buffer = new StringBuilder();
+		for (char[] identifier : identifiers)
+			buffer.append(identifier).append('|');
+		return buffer.toString();
+	}
+	/**
+	 * The names of the generated members are the ones of the source when identifiers are interned.
+	 */
+	public void testInternedIdentifiersCompile() {
+		boolean interning = IdentifierInterner.ENABLED;
+		IdentifierInterner.ENABLED = true;
+		try {
+			this.runConformTest(
+				new String[] {
+					"X.java",
+					"public class X {\n" +
+					"	int counterValue = 1;\n" +
+					"	int counterValues(int counterValue) {\n" +
+					"		return this.counterValue + counterValue;\n" +
+					"	}\n" +
+					"	public static void main(String[] args) throws Exception {\n" +
+					"		X x = new X();\n" +
+					"		System.out.print(X.class.getDeclaredField(\"counterValue\").getName());\n" +
+					"		System.out.print(X.class.getDeclaredMethod(\"counterValues\", new Class[] {int.class}).getName());\n" +
+					"		System.out.print(x.counterV\\u0061lues(2));\n" +
+					"	}\n" +
+					"}\n",
+				},
+				"counterValuecounterValues3");
+		} finally {
+			IdentifierInterner.ENABLED = interning;
+		}
+	}
 }
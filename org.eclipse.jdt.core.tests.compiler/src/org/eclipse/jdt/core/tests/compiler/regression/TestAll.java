@@ -117,6 +117,7 @@ public static Test suite() {
 	since_1_5.add(InnerClass15Test.class);
 	since_1_5.add(NullAnnotationTest.class);
 	since_1_5.add(XLargeTest2.class);
+	since_1_5.add(TypeSystemTest.class);
 
 	// Tests to run when compliance is greater than 1.5
 	ArrayList since_1_6 = new ArrayList();
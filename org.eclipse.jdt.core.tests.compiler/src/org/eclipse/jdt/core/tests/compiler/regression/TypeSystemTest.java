@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.Wildcard;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.AnnotationBinding;
+import org.eclipse.jdt.internal.compiler.lookup.Binding;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ParameterizedTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.lookup.WildcardBinding;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+
+/**
+ * Checks that the type system answers one binding per parameterized type or wildcard.
+ */
+public class TypeSystemTest extends AbstractCompilerTest {
+
+	private FileSystem nameEnvironment;
+	private LookupEnvironment environment;
+	private ReferenceBinding map, entry, string, integer, deprecated;
+
+	public TypeSystemTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CompilerOptions options = new CompilerOptions(getCompilerOptions());
+		options.storeAnnotations = true;
+		this.nameEnvironment = new FileSystem(Util.getJavaClassLibs(), new String[0], null);
+		Compiler compiler = new Compiler(this.nameEnvironment, DefaultErrorHandlingPolicies.proceedWithAllProblems(), options,
+				result -> { /* nothing is compiled */ }, new DefaultProblemFactory());
+		this.environment = compiler.lookupEnvironment;
+		this.map = this.environment.getType(new char[][] {"java".toCharArray(), "util".toCharArray(), "Map".toCharArray()});
+		this.entry = this.map.getMemberType("Entry".toCharArray());
+		this.string = this.environment.getType(TypeConstants.JAVA_LANG_STRING);
+		this.integer = this.environment.getType(TypeConstants.JAVA_LANG_INTEGER);
+		this.deprecated = this.environment.getType(TypeConstants.JAVA_LANG_DEPRECATED);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.nameEnvironment.cleanup();
+		super.tearDown();
+	}
+
+	public void testParameterizedType() {
+		ParameterizedTypeBinding type = this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null);
+		assertSame("Same type arguments",
+				type, this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null));
+		assertNotSame("Different type arguments",
+				type, this.environment.createParameterizedType(this.map, new TypeBinding[] {this.integer, this.string}, null));
+		assertNotSame("Different generic type",
+				type, this.environment.createParameterizedType(this.entry, new TypeBinding[] {this.string, this.integer}, null));
+	}
+
+	public void testParameterizedTypeEnclosingType() {
+		ParameterizedTypeBinding enclosing = this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null);
+		ParameterizedTypeBinding type = this.environment.createParameterizedType(this.entry, new TypeBinding[] {this.string, this.integer}, enclosing);
+		assertSame("Same enclosing type",
+				type, this.environment.createParameterizedType(this.entry, new TypeBinding[] {this.string, this.integer}, enclosing));
+		assertNotSame("No enclosing type",
+				type, this.environment.createParameterizedType(this.entry, new TypeBinding[] {this.string, this.integer}, null));
+	}
+
+	public void testAnnotatedParameterizedType() {
+		if (this.complianceLevel < ClassFileConstants.JDK1_8) return;
+		ParameterizedTypeBinding type = this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null);
+		ParameterizedTypeBinding annotated = this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null,
+				new AnnotationBinding[] {this.environment.createAnnotation(this.deprecated, Binding.NO_ELEMENT_VALUE_PAIRS)});
+		assertSame("Same annotations",
+				annotated, this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null,
+						new AnnotationBinding[] {this.environment.createAnnotation(this.deprecated, Binding.NO_ELEMENT_VALUE_PAIRS)}));
+		assertNotSame("Annotated and unannotated", type, annotated);
+		assertSame("Unannotated", type, annotated.unannotated());
+	}
+
+	public void testAnnotatedTypeArguments() {
+		if (this.complianceLevel < ClassFileConstants.JDK1_8) return;
+		AnnotationBinding[] annotations = new AnnotationBinding[] {this.environment.createAnnotation(this.deprecated, Binding.NO_ELEMENT_VALUE_PAIRS)};
+		ParameterizedTypeBinding type = this.environment.createParameterizedType(this.map, new TypeBinding[] {this.string, this.integer}, null);
+		ParameterizedTypeBinding annotated = this.environment.createParameterizedType(this.map,
+				new TypeBinding[] {this.environment.createAnnotatedType(this.string, annotations), this.integer}, null);
+		assertSame("Same annotated type arguments",
+				annotated, this.environment.createParameterizedType(this.map,
+						new TypeBinding[] {this.environment.createAnnotatedType(this.string, annotations), this.integer}, null));
+		assertNotSame("Annotated and unannotated type arguments", type, annotated);
+		assertSame("Unannotated", type, annotated.unannotated());
+	}
+
+	public void testWildcard() {
+		WildcardBinding wildcard = this.environment.createWildcard(this.map, 0, this.string, null, Wildcard.EXTENDS);
+		assertSame("Same bound", wildcard, this.environment.createWildcard(this.map, 0, this.string, null, Wildcard.EXTENDS));
+		assertNotSame("Different bound kind", wildcard, this.environment.createWildcard(this.map, 0, this.string, null, Wildcard.SUPER));
+		assertNotSame("Different rank", wildcard, this.environment.createWildcard(this.map, 1, this.string, null, Wildcard.EXTENDS));
+		WildcardBinding intersection = this.environment.createWildcard(this.map, 0, this.string, new TypeBinding[] {this.integer}, Wildcard.EXTENDS);
+		assertSame("Same other bounds",
+				intersection, this.environment.createWildcard(this.map, 0, this.string, new TypeBinding[] {this.integer}, Wildcard.EXTENDS));
+		assertNotSame("Other bounds", wildcard, intersection);
+	}
+
+	public void testAnnotatedWildcard() {
+		if (this.complianceLevel < ClassFileConstants.JDK1_8) return;
+		AnnotationBinding[] annotations = new AnnotationBinding[] {this.environment.createAnnotation(this.deprecated, Binding.NO_ELEMENT_VALUE_PAIRS)};
+		WildcardBinding wildcard = this.environment.createWildcard(this.map, 0, this.string, null, Wildcard.EXTENDS);
+		WildcardBinding annotated = this.environment.createWildcard(this.map, 0, this.string, null, Wildcard.EXTENDS, annotations);
+		assertSame("Same annotations", annotated, this.environment.createWildcard(this.map, 0, this.string, null, Wildcard.EXTENDS, annotations));
+		assertNotSame("Annotated and unannotated", wildcard, annotated);
+		assertSame("Unannotated", wildcard, annotated.unannotated());
+	}
+}
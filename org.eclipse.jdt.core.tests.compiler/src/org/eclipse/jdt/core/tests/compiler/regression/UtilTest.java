@@ -14,10 +14,13 @@
 package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 
 //import org.apache.tools.ant.types.selectors.SelectorUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.util.Util;
 
 //import junit.framework.AssertionFailedError;
 import junit.framework.Test;
@@ -743,6 +746,69 @@ public void test73b() { // previous test cases but with 3.3 behavior
 	// Verify that there were no unexpected results
     assertTrue(this.camelCaseErrors.toString(), this.camelCaseErrors.length()==0);
 }
+/**
+ * Assert that reading the given bytes with the given encoding returns the expected contents,
+ * the same as the stream based {@link Util#getFileCharContent(File, String)} does, whether the file is mapped or not.
+ */
+void assertFileCharContent(byte[] bytes, String encoding, String expected) throws IOException {
+	File directory = new File(OUTPUT_DIR);
+	directory.mkdirs();
+	File file = new File(directory, "Contents.java");
+	try (FileOutputStream stream = new FileOutputStream(file)) {
+		stream.write(bytes);
+	}
+	try {
+		String streamed = new String(Util.getFileCharContent(file, encoding));
+		assertEquals("Unexpected stream based contents", expected, streamed);
+		assertEquals("Unexpected read contents", streamed, new String(Util.getFileCharContent(file, encoding, false)));
+		assertEquals("Unexpected mapped contents", streamed, new String(Util.getFileCharContent(file, encoding, true)));
+	} finally {
+		file.delete();
+	}
+}
+public void testFileCharContentAscii() throws IOException {
+	byte[] bytes = "class X {}\n".getBytes("US-ASCII");
+	assertFileCharContent(bytes, "UTF-8", "class X {}\n");
+	assertFileCharContent(bytes, "ISO-8859-1", "class X {}\n");
+	assertFileCharContent(bytes, "US-ASCII", "class X {}\n");
+	assertFileCharContent(bytes, null, "class X {}\n");
+}
+public void testFileCharContentLatin1() throws IOException {
+	assertFileCharContent(new byte[] {'a', (byte) 0xE9, (byte) 0xFF, 'b', (byte) 0x80}, "ISO-8859-1", "a\u00E9\u00FFb\u0080");
+}
+public void testFileCharContentUTF8() throws IOException {
+	assertFileCharContent(new byte[] {'a', (byte) 0xC3, (byte) 0xA9, (byte) 0xE2, (byte) 0x82, (byte) 0xAC}, "UTF-8", "a\u00E9\u20AC");
+	assertFileCharContent(new byte[] {'a', (byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0x80, 'b'}, "UTF-8", "a\uD83D\uDE00b");
+}
+public void testFileCharContentUTF8BOM() throws IOException {
+	byte[] bytes = new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, 'a', (byte) 0xC3, (byte) 0xA9};
+	// the BOM is only dropped when the encoding is exactly "UTF-8"
+	assertFileCharContent(bytes, "UTF-8", "a\u00E9");
+	assertFileCharContent(bytes, "UTF8", "\uFEFFa\u00E9");
+	assertFileCharContent(bytes, "ISO-8859-1", "\u00EF\u00BB\u00BFa\u00C3\u00A9");
+	assertFileCharContent(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, "UTF-8", "");
+}
+public void testFileCharContentMalformed() throws IOException {
+	byte[] bytes = new byte[] {'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0x80, 'c', (byte) 0xE2, (byte) 0x82};
+	assertFileCharContent(bytes, "UTF-8", "a\uFFFDb\uFFFD\uFFFDc\uFFFD");
+	assertFileCharContent(bytes, "US-ASCII", "a\uFFFDb\uFFFD\uFFFDc\uFFFD\uFFFD");
+}
+public void testFileCharContentEmpty() throws IOException {
+	assertFileCharContent(new byte[0], "UTF-8", "");
+	assertFileCharContent(new byte[0], "ISO-8859-1", "");
+	assertFileCharContent(new byte[0], null, "");
+}
+public void testFileCharContentOtherEncoding() throws IOException {
+	assertFileCharContent("a\u00E9\u20AC".getBytes("UTF-16"), "UTF-16", "a\u00E9\u20AC");
+}
+public void testFileCharContentLarge() throws IOException {
+	// large enough to be mapped
+	StringBuffer buffer = new StringBuffer();
+	for (int i = 0; i < 10000; i++)
+		buffer.append("int f").append(i).append(" = '\u00E9';\n");
+	String contents = buffer.toString();
+	assertFileCharContent(contents.getBytes("UTF-8"), "UTF-8", contents);
+}
 public static Class testClass() {
 	return UtilTest.class;
 }
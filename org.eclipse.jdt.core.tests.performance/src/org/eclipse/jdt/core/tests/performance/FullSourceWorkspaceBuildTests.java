@@ -804,4 +804,40 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		tagAsSummary("Build with Generic Types ", false); // do NOT put in fingerprint
 		compile(new String[] {"GenericsTest.java"}, "", "1.8", false /*no log*/ );
 	}
+
+	/**
+	 * Test performance of the flow analysis of methods with thousands of locals, as found in generated code.
+	 * Each method declares 5000 locals and then branches and loops over them, so that its flow infos
+	 * are copied and merged with their extra bits in use.
+	 */
+	public void testBuildManyLocals() throws IOException, CoreException {
+		tagAsSummary("Build methods with 5000 locals", false); // do NOT put in fingerprint
+		final String targetWorkspacePath = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile().getCanonicalPath();
+		String logFileName = targetWorkspacePath + File.separator + getName()+".log";
+		String sourceFileName = targetWorkspacePath + File.separator + "ManyLocals.java";
+		int localsCount = 5000;
+		StringBuilder source = new StringBuilder("public class ManyLocals {\n");
+		for (int m = 0; m < 4; m++) {
+			source.append("	int method").append(m).append("(boolean b, Object o) {\n");
+			for (int i = 0; i < localsCount / 2; i++) {
+				source.append("		int i").append(i).append(" = ").append(i).append(";\n");
+				source.append("		Object o").append(i).append(" = b ? o : null;\n");
+			}
+			source.append("		int sum = 0;\n");
+			for (int i = 0; i < localsCount / 2; i += 5) {
+				source.append("		if (b) { i").append(i).append(" = 0; } else if (o").append(i).append(" == null) { sum += i").append(i)
+					.append("; } else { o").append(i).append(" = o; }\n");
+				source.append("		for (int k = 0; k < i").append(i).append("; k++) { if (o").append(i).append(" != null) sum += k; }\n");
+			}
+			source.append("		return sum;\n");
+			source.append("	}\n");
+		}
+		source.append("}\n");
+		org.eclipse.jdt.core.tests.util.Util.writeToFile(source.toString(), sourceFileName);
+		try {
+			compile(" " + sourceFileName, "", "", "1.8", false /*no log*/, logFileName);
+		} finally {
+			new File(sourceFileName).delete();
+		}
+	}
 }
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeDigest;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+
+/**
+ * Process-wide cache of the digests of the binary types read from archives (jar files and the
+ * JDK image), kept on disk in the directory named by <code>jdt.compiler.binaryTypeCache</code>
+ * (no cache when not set).
+ * <p>
+ * There is one cache file per archive, named after the archive and its fingerprint (canonical
+ * path, size and timestamp), and checked against both on opening: a changed archive gets a new
+ * cache file. The file is memory mapped, and a binary type found in it is decoded from its
+ * {@link BinaryTypeDigest} instead of its class file. The binary types read from the archive
+ * itself are digested as they are read, and written back along with the cached ones when the
+ * classpath entry is reset at the end of a compilation. Writing replaces the file, so concurrent
+ * compilations at worst lose each other's additions.
+ * </p>
+ * <p>
+ * Cache files start with a magic number and a version, to be bumped whenever the layout of the
+ * file or of the digests changes; a file of another version is ignored and replaced.
+ * </p>
+ */
+public class BinaryTypeDigestCache {
+
+	static final String DIRECTORY = System.getProperty("jdt.compiler.binaryTypeCache"); //$NON-NLS-1$
+	static final int MAGIC = 0x4A445444; // "JDTD"
+	static final int VERSION = 1;
+	static final String SUFFIX = ".digests"; //$NON-NLS-1$
+
+	// caches by fingerprint
+	private static final Map<String, BinaryTypeDigestCache> CACHES = new HashMap<>();
+
+	final String fingerprint;
+	final File file;
+	// digests of the cache file: offset and length of each, by key
+	private ByteBuffer buffer;
+	private Map<String, long[]> entries = new HashMap<>();
+	// digests of the binary types read from the archive, not written yet
+	private final Map<String, byte[]> newDigests = new ConcurrentHashMap<>();
+
+	private BinaryTypeDigestCache(String fingerprint, File file) {
+		this.fingerprint = fingerprint;
+		this.file = file;
+		load();
+	}
+
+	/**
+	 * Answers the cache of the given jar file, or null if there is no cache directory or the jar
+	 * file cannot be found.
+	 */
+	public static BinaryTypeDigestCache forJar(File jar) {
+		return DIRECTORY == null ? null : forArchive(jar, null);
+	}
+
+	/**
+	 * Answers the cache of the JDK image of the given jrt classpath (the JDK home or its
+	 * <code>jrt-fs.jar</code>), or null if there is no cache directory or no image.
+	 */
+	public static BinaryTypeDigestCache forJrt(File jrt) {
+		if (DIRECTORY == null)
+			return null;
+		File home = jrt.getName().equals(JRTUtil.JRT_FS_JAR) ? jrt.getParentFile().getParentFile() : jrt;
+		if (home == null)
+			return null;
+		// the visible modules depend on the modules to load
+		return forArchive(new File(new File(home, "lib"), "modules"), System.getProperty("modules.to.load")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static BinaryTypeDigestCache forArchive(File archive, String variant) {
+		String path;
+		try {
+			path = archive.getCanonicalPath();
+		} catch (IOException e) {
+			return null;
+		}
+		long length = archive.length();
+		long lastModified = archive.lastModified();
+		if (length == 0 && lastModified == 0)
+			return null; // no such file
+		String fingerprint = path + '|' + length + '|' + lastModified + (variant == null ? "" : '|' + variant); //$NON-NLS-1$
+		synchronized (CACHES) {
+			BinaryTypeDigestCache cache = CACHES.get(fingerprint);
+			if (cache == null) {
+				String fileName = archive.getName() + '-' + Integer.toHexString(fingerprint.hashCode()) + SUFFIX;
+				cache = new BinaryTypeDigestCache(fingerprint, new File(DIRECTORY, fileName));
+				CACHES.put(fingerprint, cache);
+			}
+			return cache;
+		}
+	}
+
+	/*
+	 * Maps the cache file and reads its directory, unless it is missing, of another version or
+	 * of another archive.
+	 */
+	private void load() {
+		this.buffer = null;
+		this.entries = new HashMap<>();
+		if (!this.file.isFile())
+			return;
+		try (RandomAccessFile input = new RandomAccessFile(this.file, "r"); //$NON-NLS-1$
+				FileChannel channel = input.getChannel()) {
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION)
+				return;
+			if (!this.fingerprint.equals(readString(mapped)))
+				return; // a clash of the names of the cache files
+			int count = mapped.getInt();
+			Map<String, long[]> directory = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				String key = readString(mapped);
+				long offset = mapped.getInt() & 0xFFFFFFFFL;
+				long digestLength = mapped.getInt();
+				directory.put(key, new long[] { offset, digestLength });
+			}
+			this.buffer = mapped;
+			this.entries = directory;
+		} catch (IOException | RuntimeException e) {
+			// start over with an empty cache
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		char[] chars = new char[buffer.getShort() & 0xFFFF];
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = buffer.getChar();
+		return new String(chars);
+	}
+
+	/**
+	 * Answers the binary type of the given key if it is in the cache, null otherwise.
+	 *
+	 * @param key the name of the class file in the archive, qualified by its module if needed
+	 * @param fileName the file name of the binary type to answer
+	 */
+	public IBinaryType get(String key, char[] fileName) {
+		ByteBuffer digest;
+		synchronized (this) {
+			long[] entry = this.entries.get(key);
+			if (entry == null) {
+				byte[] bytes = this.newDigests.get(key);
+				if (bytes == null)
+					return null;
+				digest = ByteBuffer.wrap(bytes);
+			} else {
+				digest = this.buffer.duplicate();
+				digest.position((int) entry[0]);
+			}
+		}
+		try {
+			return new BinaryTypeDigest(digest, fileName);
+		} catch (RuntimeException e) {
+			return null; // read the class file instead
+		}
+	}
+
+	/**
+	 * Digests the given binary type, read from the archive, to be written with the cache.
+	 */
+	public void put(String key, IBinaryType binaryType) {
+		byte[] digest;
+		try {
+			digest = BinaryTypeDigest.encode(binaryType);
+		} catch (RuntimeException e) {
+			return; // malformed, the compiler reports it
+		}
+		if (digest != null)
+			this.newDigests.put(key, digest);
+	}
+
+	/**
+	 * Writes the cache file if binary types were read from the archive since it was last written.
+	 * Best effort: failures to write are ignored.
+	 */
+	public synchronized void save() {
+		if (this.newDigests.isEmpty())
+			return;
+		Map<String, byte[]> added = new HashMap<>(this.newDigests);
+		List<String> keys = new ArrayList<>(this.entries.keySet());
+		for (String key : added.keySet()) {
+			if (!this.entries.containsKey(key))
+				keys.add(key);
+		}
+		Path temporary = null;
+		try {
+			File directory = this.file.getParentFile();
+			directory.mkdirs();
+			temporary = Files.createTempFile(directory.toPath(), this.file.getName(), ".tmp"); //$NON-NLS-1$
+			try (OutputStream stream = Files.newOutputStream(temporary);
+					DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024))) {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				writeString(output, this.fingerprint);
+				output.writeInt(keys.size());
+				long offset = output.size() + directorySize(keys);
+				for (String key : keys) {
+					long[] entry = this.entries.get(key);
+					long length = entry != null ? entry[1] : added.get(key).length;
+					writeString(output, key);
+					output.writeInt((int) offset);
+					output.writeInt((int) length);
+					offset += length;
+				}
+				if (offset > Integer.MAX_VALUE)
+					throw new IOException("cache too large"); //$NON-NLS-1$
+				for (String key : keys) {
+					long[] entry = this.entries.get(key);
+					if (entry == null) {
+						output.write(added.get(key));
+					} else {
+						ByteBuffer digest = this.buffer.duplicate();
+						digest.position((int) entry[0]).limit((int) (entry[0] + entry[1]));
+						byte[] bytes = new byte[(int) entry[1]];
+						digest.get(bytes);
+						output.write(bytes);
+					}
+				}
+			}
+			try {
+				Files.move(temporary, this.file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			temporary = null;
+			for (String key : added.keySet())
+				this.newDigests.remove(key);
+			load();
+		} catch (IOException | RuntimeException e) {
+			// keep the digests for the next attempt
+		} finally {
+			if (temporary != null) {
+				try {
+					Files.deleteIfExists(temporary);
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	private static long directorySize(List<String> keys) {
+		long size = 0;
+		for (String key : keys)
+			size += 2 + 2 * key.length() + 8;
+		return size;
+	}
+
+	private static void writeString(DataOutputStream output, String string) throws IOException {
+		output.writeShort(string.length());
+		output.writeChars(string);
+	}
+
+	@Override
+	public String toString() {
+		return "Binary type digests of " + this.fingerprint + " in " + this.file; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Output stage of the batch compiler, which writes class files on background threads so that
+ * the compilation does not wait for the file system.
+ * <p>
+ * Class files are written by <code>jdt.compiler.outputThreads</code> threads (default: the
+ * number of processors, at most 4; 0 writes on the calling thread). The output directories
+ * already created are remembered, and a class file whose content did not change is not written
+ * again. When the destination path names a <code>.jar</code> or <code>.zip</code> file, the
+ * class files are streamed into a new archive at that location instead. Reproducible archives
+ * are only written when closed, with their entries sorted by name and stamped with a fixed time.
+ * </p>
+ * <p>
+ * Failures are collected and answered by {@link #close()}, which waits for all the pending
+ * writes. Class files are only counted as written once they are: when their file is written, or
+ * when their archive is closed. A class file can also be written on the calling thread, for its
+ * failure to be known right away.
+ * </p>
+ */
+public class ClassFileOutput {
+
+	static final int MAX_DEFAULT_THREADS = 4;
+	static final int MAX_PENDING_WRITES = 1024;
+	static final long REPRODUCIBLE_ENTRY_TIME = new GregorianCalendar(2010, Calendar.JANUARY, 1).getTimeInMillis(); // local time, as stored by zip files
+
+	/**
+	 * A class file which could not be written.
+	 */
+	public static class Failure {
+		public final String outputPath;
+		public final String relativeFileName;
+		public final IOException exception;
+
+		Failure(String outputPath, String relativeFileName, IOException exception) {
+			this.outputPath = outputPath;
+			this.relativeFileName = relativeFileName;
+			this.exception = exception;
+		}
+	}
+
+	private final ExecutorService writers; // null when writing on the calling thread
+	private final Semaphore pendingWrites = new Semaphore(MAX_PENDING_WRITES);
+	private final Map<String, String> createdDirectories = new ConcurrentHashMap<>(); // output directories by output path and package
+	private final Map<String, Boolean> archiveDestinations = new ConcurrentHashMap<>(); // whether each output path is an archive
+	private final Map<String, ZipOutputStream> archives = new HashMap<>(); // open archives by destination path
+	private final Map<String, List<String>> archiveEntries = new HashMap<>(); // names of the entries of the open archives, guarded by archives
+	private final Map<String, Map<String, byte[]>> reproducibleArchives = new HashMap<>(); // sorted entries by destination path
+	private boolean reproducible;
+	private final List<Failure> failures = new ArrayList<>();
+	private int writeCount; // class files given so far
+	private final AtomicInteger writtenCount = new AtomicInteger();
+
+public ClassFileOutput() {
+	this(Integer.getInteger("jdt.compiler.outputThreads", //$NON-NLS-1$
+			Math.min(MAX_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors())).intValue());
+}
+public ClassFileOutput(int threadCount) {
+	if (threadCount > 0) {
+		this.writers = Executors.newFixedThreadPool(threadCount, runnable -> {
+			Thread thread = new Thread(runnable, "Compiler Class File Writer"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	} else {
+		this.writers = null;
+	}
+}
+/**
+ * Sets whether the archives written must only depend on the class files they contain.
+ */
+public void setReproducible(boolean reproducible) {
+	this.reproducible = reproducible;
+}
+/**
+ * Answers whether class files sent to the given destination path go into an archive.
+ */
+public static boolean isArchive(String destinationPath) {
+	String lowerCase = destinationPath.toLowerCase();
+	return (lowerCase.endsWith(".jar") || lowerCase.endsWith(".zip")) && !new File(destinationPath).isDirectory(); //$NON-NLS-1$ //$NON-NLS-2$
+}
+/**
+ * Schedules the writing of the given class file.
+ *
+ * @param generatePackagesStructure whether the class file goes into the directory of its package
+ * @param outputPath the output directory, or the archive when the packages structure is generated
+ * @param relativeFileName the name of the class file, relative to the output directory
+ * @param bytes the contents of the class file, not to be modified by the caller
+ */
+public void write(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+	this.writeCount++;
+	if (this.writers == null) {
+		doWrite(generatePackagesStructure, outputPath, relativeFileName, bytes);
+		return;
+	}
+	this.pendingWrites.acquireUninterruptibly();
+	this.writers.execute(() -> {
+		try {
+			doWrite(generatePackagesStructure, outputPath, relativeFileName, bytes);
+		} finally {
+			this.pendingWrites.release();
+		}
+	});
+}
+/**
+ * Writes the given class file on the calling thread. The failure is answered rather than
+ * collected, except when the archive holding the class file cannot be closed.
+ *
+ * @see #write(boolean, String, String, byte[])
+ * @return the reason why the class file could not be written, or null
+ */
+public IOException writeNow(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+	this.writeCount++;
+	try {
+		writeClassFile(generatePackagesStructure, outputPath, relativeFileName, bytes);
+		return null;
+	} catch (IOException e) {
+		return e;
+	}
+}
+private void doWrite(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+	try {
+		writeClassFile(generatePackagesStructure, outputPath, relativeFileName, bytes);
+	} catch (IOException e) {
+		synchronized (this.failures) {
+			this.failures.add(new Failure(outputPath, relativeFileName, e));
+		}
+	}
+}
+private void writeClassFile(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) throws IOException {
+	if (generatePackagesStructure && this.archiveDestinations.computeIfAbsent(outputPath, ClassFileOutput::isArchive).booleanValue()) {
+		writeArchiveEntry(outputPath, relativeFileName.replace(File.separatorChar, '/'), bytes); // counted when the archive is closed
+	} else {
+		writeFile(new File(getFileName(generatePackagesStructure, outputPath, relativeFileName)), bytes);
+		this.writtenCount.incrementAndGet();
+	}
+}
+private String getFileName(boolean generatePackagesStructure, String outputPath, String relativeFileName) throws IOException {
+	char fileSeparatorChar = File.separatorChar;
+	outputPath = outputPath.replace('/', fileSeparatorChar);
+	relativeFileName = relativeFileName.replace('/', fileSeparatorChar);
+	int separatorIndex = relativeFileName.lastIndexOf(fileSeparatorChar);
+	String simpleName = relativeFileName.substring(separatorIndex + 1);
+	if (!generatePackagesStructure) {
+		// next to the source file, whose directory exists
+		return outputPath.endsWith(File.separator) ? outputPath + simpleName : outputPath + fileSeparatorChar + simpleName;
+	}
+	String key = separatorIndex == -1 ? outputPath : outputPath + File.pathSeparatorChar + relativeFileName.substring(0, separatorIndex);
+	String directory = this.createdDirectories.get(key);
+	if (directory == null) {
+		String fileName = Util.buildAllDirectoriesInto(outputPath, relativeFileName);
+		directory = fileName.substring(0, fileName.length() - simpleName.length());
+		this.createdDirectories.put(key, directory);
+		return fileName;
+	}
+	return directory + simpleName;
+}
+private static void writeFile(File file, byte[] bytes) throws IOException {
+	if (file.length() == bytes.length) {
+		try {
+			if (Arrays.equals(Files.readAllBytes(file.toPath()), bytes))
+				return; // unchanged, keep its timestamp
+		} catch (NoSuchFileException e) {
+			// deleted meanwhile
+		}
+	}
+	try (FileOutputStream output = new FileOutputStream(file)) {
+		output.write(bytes);
+	}
+}
+private void writeArchiveEntry(String archivePath, String entryName, byte[] bytes) throws IOException {
+	if (this.reproducible) {
+		synchronized (this.reproducibleArchives) {
+			this.reproducibleArchives.computeIfAbsent(archivePath, path -> new TreeMap<>()).put(entryName, bytes);
+		}
+		return;
+	}
+	ZipOutputStream archive = getArchive(archivePath);
+	synchronized (archive) {
+		archive.putNextEntry(new ZipEntry(entryName));
+		archive.write(bytes);
+		archive.closeEntry();
+	}
+	synchronized (this.archives) {
+		this.archiveEntries.get(archivePath).add(entryName);
+	}
+}
+private ZipOutputStream getArchive(String archivePath) throws IOException {
+	synchronized (this.archives) {
+		ZipOutputStream archive = this.archives.get(archivePath);
+		if (archive == null) {
+			File file = new File(archivePath);
+			File parent = file.getAbsoluteFile().getParentFile();
+			if (parent != null)
+				parent.mkdirs();
+			archive = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+			this.archives.put(archivePath, archive);
+			this.archiveEntries.put(archivePath, new ArrayList<>());
+		}
+		return archive;
+	}
+}
+private void writeReproducibleArchives() {
+	for (Map.Entry<String, Map<String, byte[]>> reproducibleEntries : this.reproducibleArchives.entrySet()) {
+		String archivePath = reproducibleEntries.getKey();
+		try {
+			ZipOutputStream archive = getArchive(archivePath);
+			for (Map.Entry<String, byte[]> entry : reproducibleEntries.getValue().entrySet()) {
+				ZipEntry zipEntry = new ZipEntry(entry.getKey());
+				zipEntry.setTime(REPRODUCIBLE_ENTRY_TIME);
+				archive.putNextEntry(zipEntry);
+				archive.write(entry.getValue());
+				archive.closeEntry();
+			}
+			synchronized (this.archives) {
+				this.archiveEntries.get(archivePath).addAll(reproducibleEntries.getValue().keySet());
+			}
+		} catch (IOException e) {
+			addArchiveFailures(archivePath, reproducibleEntries.getValue().keySet(), e);
+		}
+	}
+	this.reproducibleArchives.clear();
+}
+// none of the given entries of the archive were written
+private void addArchiveFailures(String archivePath, Iterable<String> entryNames, IOException exception) {
+	synchronized (this.failures) {
+		for (String entryName : entryNames)
+			this.failures.add(new Failure(archivePath, entryName.replace('/', File.separatorChar), exception));
+	}
+}
+/**
+ * Answers the number of class files given so far.
+ */
+public int getWriteCount() {
+	return this.writeCount;
+}
+/**
+ * Answers the number of class files written so far, see {@link #close()}.
+ */
+public int getWrittenCount() {
+	return this.writtenCount.get();
+}
+/**
+ * Waits for the pending writes, closes the archives and answers the class files which could
+ * not be written, including the ones of the archives which could not be written entirely.
+ */
+public List<Failure> close() {
+	if (this.writers != null) {
+		this.writers.shutdown();
+		boolean interrupted = false;
+		while (!this.writers.isTerminated()) {
+			try {
+				this.writers.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+	synchronized (this.reproducibleArchives) {
+		writeReproducibleArchives();
+	}
+	synchronized (this.archives) {
+		for (Map.Entry<String, ZipOutputStream> entry : this.archives.entrySet()) {
+			List<String> entryNames = this.archiveEntries.get(entry.getKey());
+			try {
+				entry.getValue().close();
+				this.writtenCount.addAndGet(entryNames.size());
+			} catch (IOException e) {
+				addArchiveFailures(entry.getKey(), entryNames, e);
+			}
+		}
+		this.archives.clear();
+		this.archiveEntries.clear();
+	}
+	synchronized (this.failures) {
+		return new ArrayList<>(this.failures);
+	}
+}
+}
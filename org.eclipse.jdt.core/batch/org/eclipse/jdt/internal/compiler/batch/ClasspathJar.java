@@ -30,6 +30,7 @@ import java.util.zip.ZipFile;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeDigest;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
@@ -49,7 +50,9 @@ public class ClasspathJar extends ClasspathLocation {
 
 protected File file;
 protected ZipFile zipFile;
+protected ZipFilePool.SharedZipFile sharedZipFile; // owner of zipFile when obtained from the pool
 protected ZipFile annotationZipFile;
+protected BinaryTypeDigestCache digests; // null unless a cache directory is set
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
@@ -117,7 +120,18 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = this.binaryTypes == null ? null : this.binaryTypes.get(qualifiedBinaryFileName);
+		if (reader == null) {
+			if (this.digests != null)
+				reader = this.digests.get(qualifiedBinaryFileName, qualifiedBinaryFileName.toCharArray());
+			if (reader == null) {
+				reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+				if (reader != null && this.digests != null)
+					this.digests.put(qualifiedBinaryFileName, reader);
+			}
+			if (reader != null && this.binaryTypes != null)
+				this.binaryTypes.put(qualifiedBinaryFileName, reader);
+		}
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -126,16 +140,19 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 					classReader.moduleName = modName;
 				else
 					modName = classReader.moduleName;
+			} else if (reader instanceof BinaryTypeDigest) {
+				BinaryTypeDigest digest = (BinaryTypeDigest) reader;
+				if (digest.moduleName == null)
+					digest.moduleName = modName;
+				else
+					modName = digest.moduleName;
 			}
 			searchPaths:
 			if (this.annotationPaths != null) {
 				String qualifiedClassName = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length()-SuffixConstants.EXTENSION_CLASS.length()-1);
 				for (String annotationPath : this.annotationPaths) {
 					try {
-						if (this.annotationZipFile == null) {
-							this.annotationZipFile = ExternalAnnotationDecorator.getAnnotationZipFile(annotationPath, null);
-						}
-						reader = ExternalAnnotationDecorator.create(reader, annotationPath, qualifiedClassName, this.annotationZipFile);
+						reader = ExternalAnnotationDecorator.create(reader, annotationPath, qualifiedClassName, getAnnotationZipFile(annotationPath));
 
 						if (reader.getExternalAnnotationStatus() == ExternalAnnotationStatus.TYPE_IS_ANNOTATED) {
 							break searchPaths;
@@ -164,23 +181,38 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 		return null; // most common case
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
+	if (this.sharedZipFile != null) {
+		String[] entryNames = qualifiedPackageName.length() == 0 ? null : this.sharedZipFile.getEntryNames(qualifiedPackageName);
+		if (entryNames != null) {
+			for (String entryName : entryNames) {
+				int indexOfDot = entryName.lastIndexOf('.');
+				if (indexOfDot != -1) {
+					answers.add(
+						CharOperation.arrayConcat(
+							CharOperation.splitOn('/', packageArray),
+							entryName.substring(0, indexOfDot).toCharArray()));
+				}
+			}
+		}
+	} else {
+		nextEntry : for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
+			String fileName = ((ZipEntry) e.nextElement()).getName();
 
-		// add the package name & all of its parent packages
-		int last = fileName.lastIndexOf('/');
-		if (last > 0) {
-			// extract the package name
-			String packageName = fileName.substring(0, last);
-			if (!qualifiedPackageName.equals(packageName))
-				continue nextEntry;
-			int indexOfDot = fileName.lastIndexOf('.');
-			if (indexOfDot != -1) {
-				String typeName = fileName.substring(last + 1, indexOfDot);
-				answers.add(
-					CharOperation.arrayConcat(
-						CharOperation.splitOn('/', packageArray),
-						typeName.toCharArray()));
+			// add the package name & all of its parent packages
+			int last = fileName.lastIndexOf('/');
+			if (last > 0) {
+				// extract the package name
+				String packageName = fileName.substring(0, last);
+				if (!qualifiedPackageName.equals(packageName))
+					continue nextEntry;
+				int indexOfDot = fileName.lastIndexOf('.');
+				if (indexOfDot != -1) {
+					String typeName = fileName.substring(last + 1, indexOfDot);
+					answers.add(
+						CharOperation.arrayConcat(
+							CharOperation.splitOn('/', packageArray),
+							typeName.toCharArray()));
+				}
 			}
 		}
 	}
@@ -196,8 +228,11 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 @Override
 public void initialize() throws IOException {
 	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+		this.sharedZipFile = ZipFilePool.acquire(this.file);
+		this.zipFile = this.sharedZipFile.getZipFile();
 	}
+	if (this.digests == null)
+		this.digests = BinaryTypeDigestCache.forJar(this.file);
 }
 void acceptModule(ClassFileReader reader) {
 	if (reader != null) {
@@ -232,6 +267,10 @@ protected void addToPackageCache(String fileName, boolean endsWithSep) {
 public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
 	if (this.packageCache != null)
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	if (this.sharedZipFile != null) {
+		this.packageCache = this.sharedZipFile.getPackageNames();
+		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	}
 
 	this.packageCache = new HashSet<>(41);
 	this.packageCache.add(Util.EMPTY_STRING);
@@ -244,6 +283,8 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 }
 @Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
+	if (this.sharedZipFile != null)
+		return hasClassFile(qualifiedPackageName);
 	qualifiedPackageName += '/';
 	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
 		String fileName = e.nextElement().getName();
@@ -258,14 +299,32 @@ public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName
 	return false;
 }
 
+private boolean hasClassFile(String qualifiedPackageName) {
+	String[] entryNames = qualifiedPackageName.length() == 0 ? null : this.sharedZipFile.getEntryNames(qualifiedPackageName);
+	if (entryNames != null) {
+		for (String entryName : entryNames) {
+			if (entryName.toLowerCase().endsWith(SUFFIX_STRING_class))
+				return true;
+		}
+	}
+	return false;
+}
+
 @Override
 public char[][] listPackages() {
 	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		int lastSlash = fileName.lastIndexOf('/');
-		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
-			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
+	if (this.sharedZipFile != null) {
+		for (String packageName : this.sharedZipFile.getPackageNames()) {
+			if (hasClassFile(packageName))
+				packageNames.add(packageName.replace('/', '.'));
+		}
+	} else {
+		for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
+			String fileName = e.nextElement().getName();
+			int lastSlash = fileName.lastIndexOf('/');
+			if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
+				packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
+		}
 	}
 	return packageNames.stream().map(String::toCharArray).toArray(char[][]::new);
 }
@@ -273,8 +332,14 @@ public char[][] listPackages() {
 @Override
 public void reset() {
 	super.reset();
+	if (this.digests != null)
+		this.digests.save();
 	if (this.closeZipFileAtEnd) {
-		if (this.zipFile != null) {
+		if (this.sharedZipFile != null) {
+			this.sharedZipFile.release();
+			this.sharedZipFile = null;
+			this.zipFile = null;
+		} else if (this.zipFile != null) {
 			try {
 				this.zipFile.close();
 			} catch(IOException e) {
@@ -290,10 +355,15 @@ public void reset() {
 			}
 			this.annotationZipFile = null;
 		}
+		this.packageCache = null; // only valid as long as the zip file is kept open
 	}
-	this.packageCache = null;
 	this.annotationPaths = null;
 }
+private synchronized ZipFile getAnnotationZipFile(String annotationPath) throws IOException {
+	if (this.annotationZipFile == null)
+		this.annotationZipFile = ExternalAnnotationDecorator.getAnnotationZipFile(annotationPath, null);
+	return this.annotationZipFile;
+}
 @Override
 public String toString() {
 	return "Classpath for jar file " + this.file.getPath(); //$NON-NLS-1$
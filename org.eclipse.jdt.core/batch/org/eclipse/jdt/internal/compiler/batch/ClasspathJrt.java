@@ -48,6 +48,7 @@ import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry {
 	public File file;
 	protected ZipFile annotationZipFile;
+	protected BinaryTypeDigestCache digests; // null unless a cache directory is set
 	protected boolean closeZipFileAtEnd;
 	protected static HashMap<String, Map<String,IModule>> ModulesCache = new HashMap<>();
 	public final Set<String> moduleNamesCache;
@@ -85,7 +86,19 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 			return null; // most common case
 
 		try {
-			IBinaryType reader = ClassFileReader.readFromModule(this.file, moduleName, qualifiedBinaryFileName, this.moduleNamesCache::contains);
+			String key = moduleName == null ? qualifiedBinaryFileName : moduleName + '/' + qualifiedBinaryFileName;
+			IBinaryType reader = this.binaryTypes == null ? null : this.binaryTypes.get(key);
+			if (reader == null) {
+				if (this.digests != null)
+					reader = this.digests.get(key, qualifiedBinaryFileName.toCharArray());
+				if (reader == null) {
+					reader = ClassFileReader.readFromModule(this.file, moduleName, qualifiedBinaryFileName, this.moduleNamesCache::contains);
+					if (reader != null && this.digests != null)
+						this.digests.put(key, reader);
+				}
+				if (reader != null && this.binaryTypes != null)
+					this.binaryTypes.put(key, reader);
+			}
 
 			if (reader != null) {
 				searchPaths:
@@ -93,10 +106,7 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 					String qualifiedClassName = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length()-SuffixConstants.EXTENSION_CLASS.length()-1);
 					for (String annotationPath : this.annotationPaths) {
 						try {
-							if (this.annotationZipFile == null) {
-								this.annotationZipFile = ExternalAnnotationDecorator.getAnnotationZipFile(annotationPath, null);
-							}
-							reader = ExternalAnnotationDecorator.create(reader, annotationPath, qualifiedClassName, this.annotationZipFile);
+							reader = ExternalAnnotationDecorator.create(reader, annotationPath, qualifiedClassName, getAnnotationZipFile(annotationPath));
 
 							if (reader.getExternalAnnotationStatus() == ExternalAnnotationStatus.TYPE_IS_ANNOTATED) {
 								break searchPaths;
@@ -191,6 +201,8 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 	@Override
 	public void initialize() throws IOException {
 		loadModules();
+		if (this.digests == null)
+			this.digests = BinaryTypeDigestCache.forJrt(this.file);
 	}
 //	public void acceptModule(IModuleDeclaration mod) {
 //		if (this.isJrt)
@@ -342,8 +354,15 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 //			}
 //		return this.packageCache.contains(qualifiedPackageName);
 //	}
+	private synchronized ZipFile getAnnotationZipFile(String annotationPath) throws IOException {
+		if (this.annotationZipFile == null)
+			this.annotationZipFile = ExternalAnnotationDecorator.getAnnotationZipFile(annotationPath, null);
+		return this.annotationZipFile;
+	}
 	@Override
 	public void reset() {
+		if (this.digests != null)
+			this.digests.save();
 		if (this.closeZipFileAtEnd) {
 			if (this.annotationZipFile != null) {
 				try {
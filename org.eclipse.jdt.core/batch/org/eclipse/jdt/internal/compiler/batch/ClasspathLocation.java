@@ -19,12 +19,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.IModule.IModuleReference;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
@@ -52,6 +54,11 @@ public abstract class ClasspathLocation implements FileSystem.Classpath,
 		//       be written.
 		// potentially carried by any entry that contains to be compiled files
 
+	Map<String, IBinaryType> binaryTypes;
+		// binary types already read from this location, keyed by their
+		// qualified binary file name; only kept (non null) while the location
+		// is shared across compilations by a CompileServer
+
 	protected ClasspathLocation(AccessRuleSet accessRuleSet,
 			String destinationPath) {
 		this.accessRuleSet = accessRuleSet;
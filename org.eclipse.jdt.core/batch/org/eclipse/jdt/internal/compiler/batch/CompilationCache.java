@@ -0,0 +1,815 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.IModule;
+import org.eclipse.jdt.internal.compiler.env.IModuleAwareNameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.IUpdatableModule;
+import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/*
+ * Content addressed cache of compilation results, shared by the batch compiler invocations
+ * pointing at the same cache directory (-cacheDir).
+ *
+ * An entry is keyed on the source of a unit, its file name and the effective compiler options.
+ * It holds the class files and the problems of the unit, along with the qualified references
+ * recorded while compiling it and what each of them resolved to: a type of another unit of the
+ * batch (identified by that unit's key), a type found on the classpath (identified by a stamp of
+ * every classpath entry containing it), a package or nothing. A unit is a hit when all of its
+ * references still resolve the same way; hits are neither parsed nor resolved, their results are
+ * replayed in place, and their class files are answered as binary types to the units which do
+ * get compiled.
+ *
+ * Several compiler processes may use the same directory: entries are written to a temporary
+ * file and renamed, readers ignore anything incomplete, and the least recently used entries
+ * are evicted once the directory grows beyond jdt.compiler.cacheSize megabytes.
+ */
+public class CompilationCache {
+
+	static final int MAGIC = 0x45434A43; // ECJC
+	static final int FORMAT_VERSION = 1;
+	static final String ENTRY_SUFFIX = ".entry"; //$NON-NLS-1$
+	static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+	static final long DEFAULT_MAX_SIZE = 256; // in megabytes
+	static final long STALE_TEMP_FILE_AGE = 60 * 60 * 1000; // temporary files of crashed processes
+
+	static final String MISSING = "-"; //$NON-NLS-1$
+	static final String PACKAGE = "P"; //$NON-NLS-1$
+	static final String UNCACHEABLE = "?"; //$NON-NLS-1$
+	static final String SOURCE_PREFIX = " S"; //$NON-NLS-1$
+	static final String BINARY_PREFIX = " B"; //$NON-NLS-1$
+
+	static class Entry {
+		String key;
+		int[] lineSeparatorPositions;
+		String[] classFileNames;
+		byte[][] classFileBytes;
+		CategorizedProblem[] problems;
+		String[] references;
+		String[] resolutions;
+	}
+
+	/*
+	 * Class file replayed from the cache, it only knows its name and its bytes.
+	 */
+	static class CachedClassFile extends ClassFile {
+		char[] fileName;
+
+		CachedClassFile(String fileName, byte[] bytes) {
+			this.fileName = fileName.toCharArray();
+			this.header = bytes;
+			this.headerOffset = bytes.length;
+			this.contents = new byte[0];
+			this.contentsOffset = 0;
+		}
+		@Override
+		public char[] fileName() {
+			return this.fileName;
+		}
+		@Override
+		public byte[] getBytes() {
+			return this.header;
+		}
+	}
+
+	Main main;
+	FileSystem environment;
+	File directory;
+	long maxSize;
+	String optionsKey;
+
+	CompilationUnit[] units;
+	String[] keys;
+	Entry[] hits; // indexed like the units, null for the units which get compiled
+	Map<ICompilationUnit, Integer> unitIndexes;
+	int nextHitIndex;
+	int hitCount, missCount;
+
+	Map<String, byte[]> hitClassFiles;
+	Set<String> hitPackages;
+
+	Map<String, String> declaredTypes; // binary type name -> key of the declaring unit
+	Set<String> declaredPackages;
+	Map<String, String> resolutions; // qualified reference -> resolution
+	Map<String, ZipFilePool.SharedZipFile> zipFiles;
+	List<Entry> newEntries;
+
+	private CompilationCache(Main main, FileSystem environment, File directory, CompilationUnit[] units) {
+		this.main = main;
+		this.environment = environment;
+		this.directory = directory;
+		this.units = units;
+		this.maxSize = Long.getLong("jdt.compiler.cacheSize", DEFAULT_MAX_SIZE).longValue() * 1024 * 1024; //$NON-NLS-1$
+		this.unitIndexes = new IdentityHashMap<>(units.length);
+		this.zipFiles = new HashMap<>();
+		this.newEntries = new ArrayList<>();
+	}
+
+/**
+ * Answers a cache for the given units, or null if their results cannot be cached: the results
+ * of annotation processing, modules and external annotations are not tracked.
+ */
+public static CompilationCache newInstance(Main main, FileSystem environment, CompilationUnit[] units) {
+	CompilerOptions options = main.compilerOptions;
+	if (options.processAnnotations || main.annotationPaths != null || main.annotationsFromClasspath || main.classNames != null)
+		return null;
+	for (CompilationUnit unit : units) {
+		if (unit.module != null || CharOperation.endsWith(unit.fileName, TypeConstants.MODULE_INFO_FILE_NAME))
+			return null;
+	}
+	File directory = new File(main.cacheDirectory);
+	if (!directory.isDirectory() && !directory.mkdirs())
+		return null;
+	CompilationCache cache = new CompilationCache(main, environment, directory, units);
+	StringBuilder optionsKey = new StringBuilder();
+	optionsKey.append(FORMAT_VERSION).append('\n');
+	optionsKey.append(main.bind("compiler.version")).append('\n'); //$NON-NLS-1$
+	optionsKey.append(main.proceedOnError).append('\n');
+	for (Map.Entry<String, String> option : new TreeMap<>(main.options).entrySet())
+		optionsKey.append(option.getKey()).append('=').append(option.getValue()).append('\n');
+	cache.optionsKey = optionsKey.toString();
+	return cache;
+}
+
+/**
+ * Looks up the cache and answers the units which need to be compiled.
+ */
+public CompilationUnit[] lookup() {
+	int unitCount = this.units.length;
+	this.keys = new String[unitCount];
+	this.hits = new Entry[unitCount];
+	for (int i = 0; i < unitCount; i++) {
+		CompilationUnit unit = this.units[i];
+		this.unitIndexes.put(unit, Integer.valueOf(i));
+		char[] contents;
+		try {
+			contents = unit.getContents();
+		} catch (RuntimeException e) {
+			continue; // reported when compiling the unit
+		}
+		this.keys[i] = computeKey(unit, contents);
+		this.hits[i] = readEntry(this.keys[i]);
+		if (this.hits[i] == null)
+			unit.contents = contents; // do not read it twice
+	}
+
+	// types declared by the units which are compiled again can shadow types of the classpath
+	this.declaredTypes = new HashMap<>();
+	this.declaredPackages = new HashSet<>();
+	Set<String> compiledTypeNames = new HashSet<>();
+	for (int i = 0; i < unitCount; i++) {
+		if (this.hits[i] != null)
+			recordDeclaredTypes(this.hits[i].classFileNames, this.keys[i]);
+		else if (this.units[i].contents != null)
+			collectDeclaredTypeNames(this.units[i].contents, compiledTypeNames);
+	}
+	this.resolutions = new HashMap<>();
+	for (int i = 0; i < unitCount; i++) {
+		Entry entry = this.hits[i];
+		if (entry != null && !isValid(entry, compiledTypeNames))
+			this.hits[i] = null;
+	}
+	// units depending on a unit which is compiled again are compiled again too
+	Set<String> hitKeys = new HashSet<>();
+	for (int i = 0; i < unitCount; i++) {
+		if (this.hits[i] != null)
+			hitKeys.add(this.keys[i]);
+	}
+	boolean changed;
+	do {
+		changed = false;
+		for (int i = 0; i < unitCount; i++) {
+			Entry entry = this.hits[i];
+			if (entry != null && !hasValidSources(entry, hitKeys)) {
+				this.hits[i] = null;
+				hitKeys.remove(this.keys[i]);
+				changed = true;
+			}
+		}
+	} while (changed);
+
+	this.hitClassFiles = new HashMap<>();
+	this.hitPackages = new HashSet<>();
+	List<CompilationUnit> misses = new ArrayList<>();
+	long now = System.currentTimeMillis();
+	for (int i = 0; i < unitCount; i++) {
+		Entry entry = this.hits[i];
+		if (entry == null) {
+			misses.add(this.units[i]);
+			continue;
+		}
+		for (int j = 0, length = entry.classFileNames.length; j < length; j++) {
+			String name = entry.classFileNames[j];
+			this.hitClassFiles.put(name, entry.classFileBytes[j]);
+			int index = name.lastIndexOf('/');
+			if (index > 0)
+				this.hitPackages.add(name.substring(0, index));
+		}
+		entryFile(this.keys[i]).setLastModified(now); // least recently used entries are evicted first
+	}
+	this.hitCount = unitCount - misses.size();
+	this.missCount = misses.size();
+	return misses.toArray(new CompilationUnit[misses.size()]);
+}
+
+/**
+ * Answers the name environment to compile the units which missed the cache, it answers the
+ * types of the units which hit the cache as binary types.
+ */
+public IModuleAwareNameEnvironment getNameEnvironment() {
+	if (this.hitCount == 0)
+		return this.environment;
+	return new IModuleAwareNameEnvironment() {
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
+			NameEnvironmentAnswer answer = findHitType(CharOperation.concatWith(compoundName, '/'));
+			return answer != null ? answer : CompilationCache.this.environment.findType(compoundName, moduleName);
+		}
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName, char[] moduleName) {
+			NameEnvironmentAnswer answer = findHitType(CharOperation.concatWith(packageName, typeName, '/'));
+			return answer != null ? answer : CompilationCache.this.environment.findType(typeName, packageName, moduleName);
+		}
+		@Override
+		public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleName) {
+			char[][] modules = CompilationCache.this.environment.getModulesDeclaringPackage(packageName, moduleName);
+			if (modules == null
+					&& LookupStrategy.get(moduleName) != LookupStrategy.Named
+					&& CompilationCache.this.hitPackages.contains(new String(CharOperation.concatWith(packageName, '/'))))
+				return new char[][] { ModuleBinding.UNNAMED };
+			return modules;
+		}
+		@Override
+		public boolean hasCompilationUnit(char[][] qualifiedPackageName, char[] moduleName, boolean checkCUs) {
+			return CompilationCache.this.environment.hasCompilationUnit(qualifiedPackageName, moduleName, checkCUs)
+					|| (LookupStrategy.get(moduleName) != LookupStrategy.Named
+						&& CompilationCache.this.hitPackages.contains(new String(CharOperation.concatWith(qualifiedPackageName, '/'))));
+		}
+		@Override
+		public IModule getModule(char[] moduleName) {
+			return CompilationCache.this.environment.getModule(moduleName);
+		}
+		@Override
+		public char[][] getAllAutomaticModules() {
+			return CompilationCache.this.environment.getAllAutomaticModules();
+		}
+		@Override
+		public void applyModuleUpdates(IUpdatableModule module, UpdateKind kind) {
+			CompilationCache.this.environment.applyModuleUpdates(module, kind);
+		}
+		@Override
+		public char[][] listPackages(char[] moduleName) {
+			return CompilationCache.this.environment.listPackages(moduleName);
+		}
+		@Override
+		public void cleanup() {
+			CompilationCache.this.environment.cleanup();
+		}
+	};
+}
+NameEnvironmentAnswer findHitType(char[] binaryName) {
+	String name = new String(binaryName);
+	byte[] bytes = this.hitClassFiles.get(name);
+	if (bytes == null)
+		return null;
+	try {
+		return new NameEnvironmentAnswer(new ClassFileReader(bytes, (name + SuffixConstants.SUFFIX_STRING_class).toCharArray()), null);
+	} catch (ClassFormatException e) {
+		return null;
+	}
+}
+
+/**
+ * Answers a requestor which records the results of the compiled units, and hands the results
+ * of the units which hit the cache to the given requestor, in the order of the units.
+ */
+public ICompilerRequestor getRequestor(final ICompilerRequestor requestor) {
+	return new ICompilerRequestor() {
+		@Override
+		public void acceptResult(CompilationResult result) {
+			Integer index = CompilationCache.this.unitIndexes.get(result.compilationUnit);
+			if (index != null) {
+				acceptHits(requestor, index.intValue());
+				recordResult(result, index.intValue());
+			}
+			requestor.acceptResult(result);
+		}
+	};
+}
+void acceptHits(ICompilerRequestor requestor, int endIndex) {
+	for (; this.nextHitIndex < endIndex; this.nextHitIndex++) {
+		Entry entry = this.hits[this.nextHitIndex];
+		if (entry == null)
+			continue;
+		CompilationUnit unit = this.units[this.nextHitIndex];
+		CompilationResult result = new CompilationResult(unit, this.nextHitIndex, this.units.length, this.main.compilerOptions.maxProblemsPerUnit);
+		result.lineSeparatorPositions = entry.lineSeparatorPositions;
+		for (CategorizedProblem problem : entry.problems)
+			result.record(problem, null);
+		for (int i = 0, length = entry.classFileNames.length; i < length; i++)
+			result.record(entry.classFileNames[i].toCharArray(), new CachedClassFile(entry.classFileNames[i], entry.classFileBytes[i]));
+		requestor.acceptResult(result.tagAsAccepted());
+	}
+}
+void recordResult(CompilationResult result, int index) {
+	ClassFile[] classFiles = result.getClassFiles();
+	String[] classFileNames = new String[classFiles.length];
+	for (int i = 0, length = classFiles.length; i < length; i++)
+		classFileNames[i] = new String(classFiles[i].fileName());
+	String key = this.keys[index];
+	if (key == null)
+		return;
+	recordDeclaredTypes(classFileNames, key);
+	if (result.hasErrors() || result.qualifiedReferences == null)
+		return; // units with errors are always compiled again, their types may be incomplete
+	CategorizedProblem[] problems = result.getAllProblems();
+	if (problems == null) {
+		problems = new CategorizedProblem[0];
+	} else {
+		for (CategorizedProblem problem : problems) {
+			if (!(problem instanceof DefaultProblem))
+				return;
+		}
+	}
+	Entry entry = new Entry();
+	entry.key = key;
+	entry.lineSeparatorPositions = result.lineSeparatorPositions;
+	entry.classFileNames = classFileNames;
+	entry.classFileBytes = new byte[classFiles.length][];
+	for (int i = 0, length = classFiles.length; i < length; i++)
+		entry.classFileBytes[i] = classFiles[i].getBytes().clone(); // class files are pooled
+	entry.problems = problems;
+	char[][][] qualifiedReferences = result.qualifiedReferences;
+	entry.references = new String[qualifiedReferences.length];
+	for (int i = 0, length = qualifiedReferences.length; i < length; i++)
+		entry.references[i] = new String(CharOperation.concatWith(qualifiedReferences[i], '.'));
+	this.newEntries.add(entry);
+}
+
+/**
+ * Hands the results of the remaining hits to the given requestor, then stores the results of
+ * the compiled units and evicts the least recently used entries if needed.
+ */
+public void complete(ICompilerRequestor requestor) {
+	try {
+		acceptHits(requestor, this.units.length);
+		if (this.newEntries.isEmpty())
+			return;
+		this.resolutions = new HashMap<>(); // compiled units may have added declared types
+		long written = 0;
+		nextEntry: for (Entry entry : this.newEntries) {
+			int length = entry.references.length;
+			entry.resolutions = new String[length];
+			for (int i = 0; i < length; i++) {
+				String resolution = resolve(entry.references[i]);
+				if (resolution == UNCACHEABLE)
+					continue nextEntry;
+				entry.resolutions[i] = resolution;
+			}
+			written += writeEntry(entry);
+		}
+		this.newEntries = null;
+		if (written > 0)
+			evict();
+	} finally {
+		for (ZipFilePool.SharedZipFile zipFile : this.zipFiles.values())
+			zipFile.release();
+		this.zipFiles.clear();
+	}
+}
+public int getHitCount() {
+	return this.hitCount;
+}
+public int getMissCount() {
+	return this.missCount;
+}
+
+String computeKey(CompilationUnit unit, char[] contents) {
+	try {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		digest.update(this.optionsKey.getBytes(Util.UTF_8));
+		digest.update(new String(unit.fileName).getBytes(Util.UTF_8));
+		digest.update((byte) (unit.ignoreOptionalProblems() ? 1 : 0));
+		digest.update(new String(contents).getBytes(Util.UTF_8));
+		return toHexString(digest.digest());
+	} catch (NoSuchAlgorithmException | IOException e) {
+		return null;
+	}
+}
+static String toHexString(byte[] bytes) {
+	char[] hex = new char[bytes.length * 2];
+	for (int i = 0, length = bytes.length; i < length; i++) {
+		hex[2 * i] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+		hex[2 * i + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+	}
+	return new String(hex);
+}
+void recordDeclaredTypes(String[] classFileNames, String key) {
+	for (String name : classFileNames) {
+		this.declaredTypes.put(name, key);
+		int index = name.lastIndexOf('/');
+		if (index > 0)
+			this.declaredPackages.add(name.substring(0, index));
+	}
+}
+/*
+ * Collects the names of the types declared in the given source, scanning is enough to find out
+ * which simple names a compiled unit may shadow.
+ */
+void collectDeclaredTypeNames(char[] contents, Set<String> typeNames) {
+	CompilerOptions options = this.main.compilerOptions;
+	Scanner scanner = new Scanner(false, false, false, options.sourceLevel, null, null, false, options.enablePreviewFeatures);
+	scanner.setSource(contents);
+	boolean declaration = false;
+	while (true) {
+		int token;
+		try {
+			token = scanner.getNextToken();
+		} catch (InvalidInputException e) {
+			declaration = false;
+			continue;
+		}
+		switch (token) {
+			case TerminalTokens.TokenNameEOF :
+				return;
+			case TerminalTokens.TokenNameclass :
+			case TerminalTokens.TokenNameinterface :
+			case TerminalTokens.TokenNameenum :
+			case TerminalTokens.TokenNameRestrictedIdentifierrecord :
+				declaration = true;
+				continue;
+			case TerminalTokens.TokenNameIdentifier :
+				char[] identifier = scanner.getCurrentIdentifierSource();
+				if (declaration)
+					typeNames.add(new String(identifier));
+				declaration = CharOperation.equals(identifier, TypeConstants.RECORD_RESTRICTED_IDENTIFIER);
+				continue;
+			default :
+				declaration = false;
+		}
+	}
+}
+boolean isValid(Entry entry, Set<String> compiledTypeNames) {
+	for (int i = 0, length = entry.references.length; i < length; i++) {
+		String reference = entry.references[i];
+		String resolution = entry.resolutions[i];
+		if (!resolution.equals(resolve(reference)))
+			return false;
+		if (resolution.indexOf(SOURCE_PREFIX) == -1
+				&& compiledTypeNames.contains(reference.substring(reference.lastIndexOf('.') + 1)))
+			return false; // may be shadowed by a type of a compiled unit
+	}
+	return true;
+}
+boolean hasValidSources(Entry entry, Set<String> hitKeys) {
+	for (String resolution : entry.resolutions) {
+		int index = resolution.indexOf(SOURCE_PREFIX);
+		if (index != -1 && !hitKeys.contains(resolution.substring(index + SOURCE_PREFIX.length())))
+			return false;
+	}
+	return true;
+}
+
+/*
+ * Answers what the given qualified reference resolves to, trying top level types first,
+ * then member types, then packages.
+ */
+String resolve(String reference) {
+	String resolution = this.resolutions.get(reference);
+	if (resolution == null) {
+		resolution = computeResolution(reference);
+		this.resolutions.put(reference, resolution);
+	}
+	return resolution;
+}
+private String computeResolution(String reference) {
+	String[] segments = reference.split("\\."); //$NON-NLS-1$
+	for (int typeStart = segments.length - 1; typeStart >= 0; typeStart--) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < segments.length; i++) {
+			if (i > 0)
+				builder.append(i <= typeStart ? '/' : '$');
+			builder.append(segments[i]);
+		}
+		String binaryName = builder.toString();
+		String key = this.declaredTypes.get(binaryName);
+		if (key != null)
+			return binaryName + SOURCE_PREFIX + key;
+		String stamp = classpathStamp(binaryName, segments[segments.length - 1]);
+		if (stamp == UNCACHEABLE)
+			return UNCACHEABLE;
+		if (stamp != null)
+			return binaryName + BINARY_PREFIX + stamp;
+	}
+	String packageName = reference.replace('.', '/');
+	if (this.declaredPackages.contains(packageName))
+		return PACKAGE;
+	for (Classpath classpath : this.environment.classpaths) {
+		if (classpath.isPackage(packageName, null))
+			return PACKAGE;
+	}
+	return MISSING;
+}
+/*
+ * Answers a stamp of every classpath entry defining the given type, null if there is none.
+ */
+private String classpathStamp(String binaryName, String lastSegment) {
+	int packageEnd = binaryName.lastIndexOf('/', binaryName.length() - lastSegment.length() - 1);
+	String qualifiedPackageName = packageEnd == -1 ? "" : binaryName.substring(0, packageEnd); //$NON-NLS-1$
+	char[] typeName = (packageEnd == -1 ? binaryName : binaryName.substring(packageEnd + 1)).toCharArray();
+	String qualifiedBinaryFileName = binaryName + SuffixConstants.SUFFIX_STRING_class;
+	StringBuilder stamp = null;
+	Classpath[] classpaths = this.environment.classpaths;
+	for (int i = 0, length = classpaths.length; i < length; i++) {
+		Classpath classpath = classpaths[i];
+		NameEnvironmentAnswer answer;
+		if (classpath instanceof ClasspathDirectory && File.separatorChar != '/')
+			answer = classpath.findClass(typeName, qualifiedPackageName.replace('/', File.separatorChar), null,
+					qualifiedBinaryFileName.replace('/', File.separatorChar), false);
+		else
+			answer = classpath.findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, false);
+		if (answer == null)
+			continue;
+		if (!answer.isBinaryType())
+			return UNCACHEABLE; // types compiled from the source path are not tracked
+		if (stamp == null)
+			stamp = new StringBuilder();
+		else
+			stamp.append(',');
+		stamp.append(i).append(':');
+		if (classpath instanceof ClasspathDirectory) {
+			appendFileStamp(stamp, new File(classpath.getPath(), qualifiedBinaryFileName));
+		} else if (classpath.getClass() == ClasspathJar.class) {
+			ZipEntry zipEntry = getZipEntry(classpath.getPath(), qualifiedBinaryFileName);
+			if (zipEntry != null)
+				stamp.append(Long.toHexString(zipEntry.getCrc())).append('/').append(zipEntry.getSize());
+			else
+				appendFileStamp(stamp, new File(classpath.getPath()));
+		} else {
+			File file = new File(classpath.getPath());
+			appendFileStamp(stamp, file);
+			if (file.isDirectory())
+				appendFileStamp(stamp.append('/'), new File(file, "lib/modules")); //$NON-NLS-1$
+		}
+	}
+	return stamp == null ? null : stamp.toString();
+}
+private static void appendFileStamp(StringBuilder stamp, File file) {
+	stamp.append(Long.toHexString(file.lastModified())).append('/').append(file.length());
+}
+private ZipEntry getZipEntry(String path, String entryName) {
+	ZipFilePool.SharedZipFile zipFile = this.zipFiles.get(path);
+	if (zipFile == null) {
+		try {
+			zipFile = ZipFilePool.acquire(new File(path));
+		} catch (IOException e) {
+			return null;
+		}
+		this.zipFiles.put(path, zipFile);
+	}
+	return zipFile.getZipFile().getEntry(entryName);
+}
+
+File entryFile(String key) {
+	return new File(new File(this.directory, key.substring(0, 2)), key + ENTRY_SUFFIX);
+}
+Entry readEntry(String key) {
+	if (key == null)
+		return null;
+	File file = entryFile(key);
+	if (!file.isFile())
+		return null;
+	try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+		if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+			return null;
+		Entry entry = new Entry();
+		entry.key = readString(input);
+		if (!key.equals(entry.key))
+			return null;
+		int length = input.readInt();
+		if (length >= 0) {
+			entry.lineSeparatorPositions = new int[length];
+			for (int i = 0; i < length; i++)
+				entry.lineSeparatorPositions[i] = input.readInt();
+		}
+		length = input.readInt();
+		entry.classFileNames = new String[length];
+		entry.classFileBytes = new byte[length][];
+		for (int i = 0; i < length; i++) {
+			entry.classFileNames[i] = readString(input);
+			entry.classFileBytes[i] = new byte[input.readInt()];
+			input.readFully(entry.classFileBytes[i]);
+		}
+		length = input.readInt();
+		entry.problems = new CategorizedProblem[length];
+		for (int i = 0; i < length; i++) {
+			String fileName = readString(input);
+			String message = readString(input);
+			int id = input.readInt();
+			String[] arguments = new String[input.readInt()];
+			for (int j = 0; j < arguments.length; j++)
+				arguments[j] = readString(input);
+			entry.problems[i] = new DefaultProblem(fileName == null ? null : fileName.toCharArray(), message, id, arguments,
+					input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readInt());
+		}
+		length = input.readInt();
+		entry.references = new String[length];
+		entry.resolutions = new String[length];
+		for (int i = 0; i < length; i++) {
+			entry.references[i] = readString(input);
+			entry.resolutions[i] = readString(input);
+		}
+		if (input.readInt() != MAGIC)
+			return null; // incomplete
+		return entry;
+	} catch (IOException | RuntimeException e) {
+		return null; // being evicted or corrupted, compile the unit
+	}
+}
+/*
+ * Answers the number of bytes written.
+ */
+long writeEntry(Entry entry) {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (DataOutputStream output = new DataOutputStream(bytes)) {
+		output.writeInt(MAGIC);
+		output.writeInt(FORMAT_VERSION);
+		writeString(output, entry.key);
+		int[] lineSeparatorPositions = entry.lineSeparatorPositions;
+		if (lineSeparatorPositions == null) {
+			output.writeInt(-1);
+		} else {
+			output.writeInt(lineSeparatorPositions.length);
+			for (int position : lineSeparatorPositions)
+				output.writeInt(position);
+		}
+		output.writeInt(entry.classFileNames.length);
+		for (int i = 0, length = entry.classFileNames.length; i < length; i++) {
+			writeString(output, entry.classFileNames[i]);
+			output.writeInt(entry.classFileBytes[i].length);
+			output.write(entry.classFileBytes[i]);
+		}
+		output.writeInt(entry.problems.length);
+		for (CategorizedProblem problem : entry.problems) {
+			DefaultProblem defaultProblem = (DefaultProblem) problem;
+			char[] fileName = problem.getOriginatingFileName();
+			writeString(output, fileName == null ? null : new String(fileName));
+			writeString(output, problem.getMessage());
+			output.writeInt(problem.getID());
+			String[] arguments = problem.getArguments();
+			if (arguments == null) {
+				output.writeInt(0);
+			} else {
+				output.writeInt(arguments.length);
+				for (String argument : arguments)
+					writeString(output, argument);
+			}
+			output.writeInt(defaultProblem.severity);
+			output.writeInt(problem.getSourceStart());
+			output.writeInt(problem.getSourceEnd());
+			output.writeInt(problem.getSourceLineNumber());
+			output.writeInt(defaultProblem.column);
+		}
+		output.writeInt(entry.references.length);
+		for (int i = 0, length = entry.references.length; i < length; i++) {
+			writeString(output, entry.references[i]);
+			writeString(output, entry.resolutions[i]);
+		}
+		output.writeInt(MAGIC);
+	} catch (IOException e) {
+		return 0;
+	}
+	File file = entryFile(entry.key);
+	File temp = null;
+	try {
+		File parent = file.getParentFile();
+		parent.mkdirs();
+		temp = File.createTempFile(entry.key, TEMP_SUFFIX, parent);
+		try (FileOutputStream output = new FileOutputStream(temp)) {
+			bytes.writeTo(output);
+		}
+		try {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		return bytes.size();
+	} catch (IOException e) {
+		if (temp != null)
+			temp.delete(); // another process may be writing the same entry
+		return 0;
+	}
+}
+private static void writeString(DataOutputStream output, String string) throws IOException {
+	if (string == null) {
+		output.writeInt(-1);
+		return;
+	}
+	byte[] bytes = string.getBytes(Util.UTF_8);
+	output.writeInt(bytes.length);
+	output.write(bytes);
+}
+private static String readString(DataInputStream input) throws IOException {
+	int length = input.readInt();
+	if (length < 0)
+		return null;
+	byte[] bytes = new byte[length];
+	input.readFully(bytes);
+	return new String(bytes, Util.UTF_8);
+}
+
+/*
+ * Deletes the least recently used entries until the cache fits in its maximum size.
+ * Other processes may be evicting at the same time, files which are already gone are skipped.
+ */
+void evict() {
+	File[] folders = this.directory.listFiles();
+	if (folders == null)
+		return;
+	List<File> entries = new ArrayList<>();
+	long size = 0;
+	long now = System.currentTimeMillis();
+	for (File folder : folders) {
+		File[] files = folder.listFiles();
+		if (files == null)
+			continue;
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(ENTRY_SUFFIX)) {
+				entries.add(file);
+				size += file.length();
+			} else if (name.endsWith(TEMP_SUFFIX) && now - file.lastModified() > STALE_TEMP_FILE_AGE) {
+				file.delete();
+			}
+		}
+	}
+	if (size <= this.maxSize)
+		return;
+	final Map<File, Long> lastModified = new HashMap<>(entries.size());
+	for (File file : entries)
+		lastModified.put(file, Long.valueOf(file.lastModified()));
+	File[] sortedEntries = entries.toArray(new File[entries.size()]);
+	Arrays.sort(sortedEntries, Comparator.comparing(lastModified::get));
+	for (Iterator<File> iterator = Arrays.asList(sortedEntries).iterator(); iterator.hasNext() && size > this.maxSize;) {
+		File file = iterator.next();
+		long length = file.length();
+		if (file.delete())
+			size -= length;
+	}
+}
+}
@@ -40,6 +40,9 @@ public class CompilationUnit implements ICompilationUnit {
 	private boolean ignoreOptionalProblems;
 	private ModuleBinding moduleBinding;
 
+	// memory map large source files when reading them, mapped files may stay locked until garbage collected on some platforms
+	static final boolean MAP_SOURCE_FILES = Boolean.getBoolean("jdt.compiler.mapSourceFiles"); //$NON-NLS-1$
+
 public CompilationUnit(char[] contents, String fileName, String encoding) {
 	this(contents, fileName, encoding, null);
 }
@@ -84,7 +87,7 @@ public char[] getContents() {
 
 	// otherwise retrieve it
 	try {
-		return Util.getFileCharContent(new File(new String(this.fileName)), this.encoding);
+		return Util.getFileCharContent(new File(new String(this.fileName)), this.encoding, MAP_SOURCE_FILES);
 	} catch (IOException e) {
 		this.contents = CharOperation.NO_CHAR; // assume no source if asked again
 		throw new AbortCompilationUnit(null, e, this.encoding);
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+
+/**
+ * Long-lived batch compiler, which runs the compilations it is asked for in a single JVM so that
+ * the classpath entries they share are opened and read once only.
+ * <p>
+ * Requests are read from the standard input, or from connections to a loopback socket when
+ * started with <code>-port &lt;port&gt;</code> (<code>0</code> picks a free port, which is then
+ * printed on the standard output). A request is a list of command line arguments, one per line,
+ * ended by an empty line; relative paths are resolved against the working directory of the
+ * server. Each request is answered by a header line <code>&lt;exit code&gt; &lt;output
+ * length&gt; &lt;error length&gt;</code> followed by that many bytes of UTF-8 encoded standard
+ * and error output of the compilation. A request made of the single argument
+ * <code>-shutdown</code> stops the server.
+ * </p>
+ * <p>
+ * Archives of the classpath and of the JDK are kept open across compilations together with the
+ * binary types read from them; an entry is dropped as soon as its timestamp or size changes.
+ * At most <code>jdt.compiler.server.maxEntries</code> (default 256) entries are kept, the least
+ * recently used ones are closed first. Entries with access rules, external annotations or on the
+ * module path are never shared, but their zip files are retained in the {@link ZipFilePool} until
+ * the server is closed.
+ * </p>
+ */
+public class CompileServer {
+
+	static final String SHUTDOWN = "-shutdown"; //$NON-NLS-1$
+	static final int DEFAULT_MAX_ENTRIES = 256;
+
+	static class SharedClasspath {
+		ClasspathLocation classpath;
+		long lastModified;
+		long length;
+
+		SharedClasspath(ClasspathLocation classpath, long lastModified, long length) {
+			this.classpath = classpath;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
+
+	private final LinkedHashMap<String, SharedClasspath> sharedClasspaths = new LinkedHashMap<>(16, 0.75f, true);
+	private final int maxEntries;
+	private ServerSocket serverSocket;
+	private volatile boolean shutdown;
+	private boolean closed;
+
+public CompileServer() {
+	this(Integer.getInteger("jdt.compiler.server.maxEntries", DEFAULT_MAX_ENTRIES).intValue()); //$NON-NLS-1$
+}
+public CompileServer(int maxEntries) {
+	this.maxEntries = Math.max(1, maxEntries);
+	ZipFilePool.retainIdleZipFiles();
+}
+
+public static void main(String[] argv) throws IOException {
+	CompileServer server = new CompileServer();
+	if (argv.length == 2 && "-port".equals(argv[0])) { //$NON-NLS-1$
+		server.listen(Integer.parseInt(argv[1]), System.out);
+	} else if (argv.length == 0) {
+		server.serve(System.in, System.out);
+	} else {
+		System.err.println("usage: CompileServer [-port <port>]"); //$NON-NLS-1$
+		System.exit(-1);
+	}
+	server.close();
+}
+
+/**
+ * Compiles with the given command line arguments, exactly as {@link Main} would, reusing the
+ * classpath entries opened by the previous compilations.
+ *
+ * @return whether the compilation succeeded
+ */
+public synchronized boolean compile(String[] argv, PrintWriter outWriter, PrintWriter errWriter) {
+	Main main = new Main(outWriter, errWriter, false/*systemExit*/, null/*options*/, null/*progress*/);
+	main.compileServer = this;
+	return main.compile(argv);
+}
+
+/**
+ * Answers requests read from the given stream until it is exhausted or a shutdown request is
+ * received.
+ */
+public void serve(InputStream input, OutputStream output) throws IOException {
+	BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+	List<String> arguments = new ArrayList<>();
+	String line;
+	while (!this.shutdown && (line = reader.readLine()) != null) {
+		if (line.length() != 0) {
+			arguments.add(line);
+			continue;
+		}
+		if (arguments.isEmpty())
+			continue;
+		if (arguments.size() == 1 && SHUTDOWN.equals(arguments.get(0))) {
+			shutdown();
+			writeResponse(output, 0, "", ""); //$NON-NLS-1$ //$NON-NLS-2$
+			break;
+		}
+		StringWriter out = new StringWriter();
+		StringWriter err = new StringWriter();
+		boolean succeeded = compile(arguments.toArray(new String[arguments.size()]), new PrintWriter(out), new PrintWriter(err));
+		writeResponse(output, succeeded ? 0 : -1, out.toString(), err.toString());
+		arguments.clear();
+	}
+}
+private void writeResponse(OutputStream output, int exitCode, String out, String err) throws IOException {
+	byte[] outBytes = out.getBytes(StandardCharsets.UTF_8);
+	byte[] errBytes = err.getBytes(StandardCharsets.UTF_8);
+	String header = exitCode + " " + outBytes.length + " " + errBytes.length + '\n'; //$NON-NLS-1$ //$NON-NLS-2$
+	output.write(header.getBytes(StandardCharsets.UTF_8));
+	output.write(outBytes);
+	output.write(errBytes);
+	output.flush();
+}
+
+/**
+ * Answers the requests of the connections made to the given port of the loopback interface,
+ * until a shutdown request is received. Connections are served concurrently, but compilations
+ * are run one at a time.
+ */
+public void listen(int port, PrintStream portOutput) throws IOException {
+	synchronized (this) {
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	}
+	portOutput.println(this.serverSocket.getLocalPort());
+	portOutput.flush();
+	while (!this.shutdown) {
+		final Socket socket;
+		try {
+			socket = this.serverSocket.accept();
+		} catch (IOException e) {
+			if (this.shutdown)
+				break; // socket closed by a shutdown request
+			throw e;
+		}
+		Thread thread = new Thread("Compile Server Connection") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				try (Socket s = socket) {
+					serve(s.getInputStream(), s.getOutputStream());
+				} catch (IOException e) {
+					// connection dropped by the client
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
+public void shutdown() {
+	this.shutdown = true;
+	synchronized (this) {
+		if (this.serverSocket != null) {
+			try {
+				this.serverSocket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
+/**
+ * Closes all the classpath entries and the zip files kept open by this server.
+ */
+public synchronized void close() {
+	for (SharedClasspath shared : this.sharedClasspaths.values())
+		release(shared.classpath);
+	this.sharedClasspaths.clear();
+	if (!this.closed) {
+		this.closed = true;
+		ZipFilePool.releaseIdleZipFiles();
+	}
+}
+
+/**
+ * Replaces the entries of the given classpath by the equivalent entries opened by previous
+ * compilations, when they did not change since. Entries which can be shared and were not seen
+ * yet are kept for the next compilations.
+ */
+synchronized void shareClasspaths(Classpath[] classpaths) {
+	Set<ClasspathLocation> used = new HashSet<>();
+	for (int i = 0, length = classpaths.length; i < length; i++) {
+		File file = getSharableFile(classpaths[i]);
+		if (file == null)
+			continue;
+		ClasspathLocation classpath = (ClasspathLocation) classpaths[i];
+		String key = classpath.getClass().getName() + File.pathSeparatorChar + classpath.getPath();
+		long lastModified = file.lastModified();
+		long fileLength = file.length();
+		SharedClasspath shared = this.sharedClasspaths.get(key);
+		if (shared != null && (shared.lastModified != lastModified || shared.length != fileLength || lastModified == 0)) {
+			this.sharedClasspaths.remove(key);
+			release(shared.classpath);
+			shared = null;
+		}
+		if (shared == null) {
+			if (lastModified == 0)
+				continue; // missing or unreadable
+			keep(classpath);
+			shared = new SharedClasspath(classpath, lastModified, fileLength);
+			this.sharedClasspaths.put(key, shared);
+		} else if (shared.classpath != classpath) {
+			classpath.reset(); // may have been opened to look for linked jars
+			classpaths[i] = shared.classpath;
+		}
+		used.add(shared.classpath);
+	}
+	// close the least recently used entries, but not the ones of this compilation
+	Iterator<SharedClasspath> iterator = this.sharedClasspaths.values().iterator();
+	while (this.sharedClasspaths.size() > this.maxEntries && iterator.hasNext()) {
+		SharedClasspath shared = iterator.next();
+		if (used.contains(shared.classpath))
+			break;
+		iterator.remove();
+		release(shared.classpath);
+	}
+}
+private static File getSharableFile(Classpath classpath) {
+	if (classpath.getClass() == ClasspathJar.class) {
+		ClasspathJar jar = (ClasspathJar) classpath;
+		if (jar.accessRuleSet == null && jar.annotationPaths == null && jar.getModule() == null && jar.destinationPath == null)
+			return jar.file;
+	} else if (classpath.getClass() == ClasspathJrt.class) {
+		ClasspathJrt jrt = (ClasspathJrt) classpath;
+		if (jrt.accessRuleSet == null && jrt.annotationPaths == null)
+			return jrt.file;
+	}
+	return null;
+}
+private static void keep(ClasspathLocation classpath) {
+	if (classpath instanceof ClasspathJar)
+		((ClasspathJar) classpath).closeZipFileAtEnd = false;
+	else
+		((ClasspathJrt) classpath).closeZipFileAtEnd = false;
+	classpath.binaryTypes = new ConcurrentHashMap<>(); // binary types may be prefetched concurrently
+}
+private static void release(ClasspathLocation classpath) {
+	if (classpath instanceof ClasspathJar)
+		((ClasspathJar) classpath).closeZipFileAtEnd = true;
+	else
+		((ClasspathJrt) classpath).closeZipFileAtEnd = true;
+	classpath.binaryTypes = null;
+	classpath.reset();
+}
+}
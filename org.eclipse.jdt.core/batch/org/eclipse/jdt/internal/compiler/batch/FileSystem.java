@@ -37,6 +37,7 @@ import javax.lang.model.SourceVersion;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeDigest;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
@@ -175,6 +176,10 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 
 	private boolean hasLimitModules = false;
 
+	// entries of the classpath which may contain a given package, see getClasspathsFor(String)
+	private Map<String, Classpath[]> packageClasspaths;
+	private Classpath[] indexedClasspaths; // classpaths for which packageClasspaths was computed
+
 	static {
 		try {
 			isJRE12Plus = SourceVersion.valueOf("RELEASE_12") != null; //$NON-NLS-1$
@@ -333,7 +338,7 @@ public static Classpath getClasspath(String classpathName, String encoding,
 	}
 	return result;
 }
-private void initializeKnownFileNames(String[] initialFileNames) {
+void initializeKnownFileNames(String[] initialFileNames) {
 	if (initialFileNames == null) {
 		this.knownFileNames = new HashSet<>(0);
 		return;
@@ -404,6 +409,33 @@ public void scanForModules(Parser parser) {
 public void cleanup() {
 	for (int i = 0, max = this.classpaths.length; i < max; i++)
 		this.classpaths[i].reset();
+	this.packageClasspaths = null;
+	this.indexedClasspaths = null;
+	ZipFilePool.closeIdleZipFiles();
+}
+/*
+ * Answers the entries of the classpath which may contain the given package, in classpath order.
+ * Archives are only answered when they contain the package, which is computed once per package
+ * since their contents do not change; other entries, such as directories, are always answered.
+ * This spares probing every archive of long classpaths for each type lookup.
+ */
+private synchronized Classpath[] getClasspathsFor(String qualifiedPackageName) {
+	if (this.indexedClasspaths != this.classpaths) {
+		this.packageClasspaths = new HashMap<>();
+		this.indexedClasspaths = this.classpaths;
+	}
+	Classpath[] result = this.packageClasspaths.get(qualifiedPackageName);
+	if (result == null) {
+		Classpath[] candidates = new Classpath[this.classpaths.length];
+		int count = 0;
+		for (Classpath classpath : this.classpaths) {
+			if (!(classpath instanceof ClasspathJar || classpath instanceof ClasspathJrt) || classpath.isPackage(qualifiedPackageName, null))
+				candidates[count++] = classpath;
+		}
+		System.arraycopy(candidates, 0, result = new Classpath[count], 0, count);
+		this.packageClasspaths.put(qualifiedPackageName, result);
+	}
+	return result;
 }
 private static String convertPathSeparators(String path) {
 	return File.separatorChar == '/'
@@ -412,7 +444,8 @@ private static String convertPathSeparators(String path) {
 }
 private NameEnvironmentAnswer findClass(String qualifiedTypeName, char[] typeName, boolean asBinaryOnly, /*NonNull*/char[] moduleName) {
 	NameEnvironmentAnswer answer = internalFindClass(qualifiedTypeName, typeName, asBinaryOnly, moduleName);
-	if (this.annotationsFromClasspath && answer != null && answer.getBinaryType() instanceof ClassFileReader) {
+	if (this.annotationsFromClasspath && answer != null
+			&& (answer.getBinaryType() instanceof ClassFileReader || answer.getBinaryType() instanceof BinaryTypeDigest)) {
 		for (int i = 0, length = this.classpaths.length; i < length; i++) {
 			Classpath classpathEntry = this.classpaths[i];
 			if (classpathEntry.hasAnnotationFileFor(qualifiedTypeName)) {
@@ -465,11 +498,12 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 	}
 	String qp2 = File.separatorChar == '/' ? qualifiedPackageName : qualifiedPackageName.replace('/', File.separatorChar);
 	NameEnvironmentAnswer suggestedAnswer = null;
+	Classpath[] candidates = getClasspathsFor(qualifiedPackageName);
 	if (qualifiedPackageName == qp2) {
-		for (int i = 0, length = this.classpaths.length; i < length; i++) {
-			if (!strategy.matches(this.classpaths[i], Classpath::hasModule))
+		for (int i = 0, length = candidates.length; i < length; i++) {
+			if (!strategy.matches(candidates[i], Classpath::hasModule))
 				continue;
-			NameEnvironmentAnswer answer = this.classpaths[i].findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
+			NameEnvironmentAnswer answer = candidates[i].findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
 			if (answer != null) {
 				if (answer.moduleName() != null && !this.moduleLocations.containsKey(String.valueOf(answer.moduleName())))
 					continue; // type belongs to an unobservable module
@@ -483,8 +517,8 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		}
 	} else {
 		String qb2 = qualifiedBinaryFileName.replace('/', File.separatorChar);
-		for (int i = 0, length = this.classpaths.length; i < length; i++) {
-			Classpath p = this.classpaths[i];
+		for (int i = 0, length = candidates.length; i < length; i++) {
+			Classpath p = candidates[i];
 			if (!strategy.matches(p, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = !(p instanceof ClasspathDirectory)
@@ -589,7 +623,7 @@ public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleNa
 	// search the entire environment and answer which modules declare that package:
 	char[][] allNames = null;
 	boolean hasUnobserable = false;
-	for (Classpath cp : this.classpaths) {
+	for (Classpath cp : strategy == LookupStrategy.Unnamed ? this.classpaths : getClasspathsFor(qualifiedPackageName)) {
 		if (strategy.matches(cp, Classpath::hasModule)) {
 			if (strategy == LookupStrategy.Unnamed) {
 				// short-cut
@@ -0,0 +1,575 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.classfmt.FieldInfo;
+import org.eclipse.jdt.internal.compiler.classfmt.MethodInfo;
+import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryNestedType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.lookup.TagBits;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+
+/*
+ * Compile-only-changed mode of the batch compiler (-incremental <state file>), the batch
+ * counterpart of the incremental image builder of the IDE.
+ *
+ * The state file records, for each unit of the previous build, the timestamp, size and digest of
+ * its source, the names it referenced and the class files it produced along with a structural
+ * hash of each of them (see ClassFileReader#hasStructuralChanges for what is structural). The
+ * next build compiles the units which are new, changed or had errors, deletes the class files of
+ * the units which disappeared, then compiles the units referencing a type whose structure
+ * changed, round after round until no structure changes (or all the units at once when it takes
+ * too many rounds). The other units are not compiled: their class files, found in the destination
+ * directory, stand for them.
+ *
+ * Everything is compiled again when the compiler options, the destination or the archives of the
+ * classpath change. Changes of the classpath directories are not detected, and the problems of
+ * the units which are not compiled are not reported again.
+ */
+public class IncrementalBuild {
+
+	static final int MAGIC = 0x45434A53; // ECJS
+	static final int FORMAT_VERSION = 1;
+	static final int MAX_ROUNDS = 16;
+
+	static class UnitState {
+		String path; // canonical path of the source file
+		long lastModified;
+		long length;
+		String digest;
+		boolean hasErrors;
+		String outputPath;
+		Map<String, String> types = new TreeMap<>(); // structural hash by class file name, '/' separated, without suffix
+		Set<String> qualifiedReferences = new HashSet<>(); // '/' separated
+		Set<String> simpleNameReferences = new HashSet<>();
+	}
+
+	Main main;
+	FileSystem environment;
+	File stateFile;
+	String configurationKey;
+	boolean fullBuild;
+	Map<String, CompilationUnit> sourceUnits = new LinkedHashMap<>(); // current units by path
+	Map<CompilationUnit, String> unitPaths = new IdentityHashMap<>();
+	Map<String, UnitState> previousUnits = new HashMap<>(); // by path
+	Map<String, UnitState> units = new HashMap<>(); // state of the current units, by path
+	Set<String> compiledPaths = new HashSet<>(); // units compiled in the current round
+	Set<String> changedTypes = new HashSet<>(); // structurally changed by the current round
+	Set<String> builtPaths = new HashSet<>(); // units compiled by any round
+	int round;
+
+public IncrementalBuild(Main main, FileSystem environment, CompilationUnit[] units) {
+	this.main = main;
+	this.environment = environment;
+	this.stateFile = new File(main.incrementalStateFile);
+	this.configurationKey = computeConfigurationKey();
+	for (CompilationUnit unit : units) {
+		String path = canonicalPath(new String(unit.getFileName()));
+		this.sourceUnits.put(path, unit);
+		this.unitPaths.put(unit, path);
+	}
+	this.fullBuild = !readState();
+}
+
+/**
+ * Answers the units to compile first: all of them for a full build, the new and changed ones
+ * and the ones depending on deleted units otherwise.
+ */
+public CompilationUnit[] getFirstRound() {
+	List<CompilationUnit> toCompile = new ArrayList<>();
+	if (this.fullBuild) {
+		for (UnitState previous : this.previousUnits.values())
+			deleteClassFiles(previous);
+		toCompile.addAll(this.sourceUnits.values());
+	} else {
+		for (Map.Entry<String, CompilationUnit> entry : this.sourceUnits.entrySet()) {
+			UnitState previous = this.previousUnits.get(entry.getKey());
+			if (previous == null || previous.hasErrors || hasChanged(previous, entry.getValue())) {
+				if (previous != null)
+					deleteClassFiles(previous);
+				toCompile.add(entry.getValue());
+			} else {
+				this.units.put(entry.getKey(), previous);
+			}
+		}
+		for (UnitState previous : this.previousUnits.values()) {
+			if (!this.sourceUnits.containsKey(previous.path)) {
+				deleteClassFiles(previous);
+				this.changedTypes.addAll(previous.types.keySet());
+			}
+		}
+		for (UnitState unit : getAffectedUnits()) {
+			deleteClassFiles(unit); // not left behind if the unit no longer compiles
+			toCompile.add(this.sourceUnits.get(unit.path)); // unchanged, hence not yet added
+		}
+	}
+	return startRound(toCompile);
+}
+/**
+ * Answers the units to compile next, which depend on types changed by the previous round, or
+ * null when there are none. Past {@link #MAX_ROUNDS} rounds, all the units are compiled again
+ * at once, as the incremental image builder does when its compile loops do not settle.
+ */
+public CompilationUnit[] nextRound() {
+	List<UnitState> affected = getAffectedUnits();
+	if (affected.isEmpty())
+		return null;
+	List<CompilationUnit> toCompile = new ArrayList<>();
+	if (this.round >= MAX_ROUNDS) {
+		for (UnitState unit : this.units.values())
+			deleteClassFiles(unit);
+		toCompile.addAll(this.sourceUnits.values());
+	} else {
+		for (UnitState unit : affected) {
+			deleteClassFiles(unit);
+			toCompile.add(this.sourceUnits.get(unit.path));
+		}
+	}
+	return startRound(toCompile);
+}
+private CompilationUnit[] startRound(List<CompilationUnit> toCompile) {
+	this.round++;
+	this.compiledPaths.clear();
+	this.changedTypes.clear();
+	String[] fileNames = new String[toCompile.size()];
+	for (int i = 0; i < fileNames.length; i++) {
+		CompilationUnit unit = toCompile.get(i);
+		fileNames[i] = new String(unit.getFileName());
+		this.builtPaths.add(this.unitPaths.get(unit));
+	}
+	this.environment.initializeKnownFileNames(fileNames);
+	return toCompile.toArray(new CompilationUnit[toCompile.size()]);
+}
+/*
+ * Answers the units not compiled by the current round which refer to a changed type, by its
+ * package and the simple name of its top level type.
+ */
+private List<UnitState> getAffectedUnits() {
+	Set<String> packageNames = new HashSet<>();
+	Set<String> simpleNames = new HashSet<>();
+	for (String typeName : this.changedTypes) {
+		int packageEnd = typeName.lastIndexOf('/');
+		packageNames.add(packageEnd == -1 ? "" : typeName.substring(0, packageEnd)); //$NON-NLS-1$
+		int memberStart = typeName.indexOf('$', packageEnd + 1);
+		simpleNames.add(typeName.substring(packageEnd + 1, memberStart == -1 ? typeName.length() : memberStart));
+	}
+	List<UnitState> affected = new ArrayList<>();
+	if (simpleNames.isEmpty())
+		return affected;
+	for (UnitState unit : this.units.values()) {
+		if (!this.compiledPaths.contains(unit.path) && references(unit, packageNames, simpleNames))
+			affected.add(unit);
+	}
+	return affected;
+}
+private static boolean references(UnitState unit, Set<String> packageNames, Set<String> simpleNames) {
+	for (String simpleName : simpleNames) {
+		if (unit.simpleNameReferences.contains(simpleName)) {
+			for (String packageName : packageNames) {
+				if (packageName.isEmpty() || unit.qualifiedReferences.contains(packageName))
+					return true;
+			}
+		}
+	}
+	return false;
+}
+/**
+ * Answers the number of units compiled by this build, once each whatever the number of rounds.
+ */
+public int getCompiledCount() {
+	return this.builtPaths.size();
+}
+
+/**
+ * Answers a requestor which records the state of the compiled units before handing their
+ * results to the given requestor.
+ */
+public ICompilerRequestor getRequestor(final ICompilerRequestor requestor) {
+	return new ICompilerRequestor() {
+		@Override
+		public void acceptResult(CompilationResult result) {
+			recordResult(result);
+			requestor.acceptResult(result);
+		}
+	};
+}
+void recordResult(CompilationResult result) {
+	String path = this.unitPaths.get(result.compilationUnit);
+	if (path == null)
+		return; // generated by an annotation processor
+	CompilationUnit unit = (CompilationUnit) result.compilationUnit;
+	UnitState state = new UnitState();
+	state.path = path;
+	File file = new File(path);
+	state.lastModified = file.lastModified();
+	state.length = file.length();
+	state.digest = digest(unit.getContents());
+	state.hasErrors = result.hasErrors();
+	state.outputPath = unit.destinationPath == null ? this.main.destinationPath : unit.destinationPath;
+	if (!state.hasErrors || this.main.proceedOnError) {
+		for (ClassFile classFile : result.getClassFiles()) {
+			String typeName = new String(classFile.fileName());
+			state.types.put(typeName, structuralHash(typeName, classFile.getBytes()));
+		}
+	}
+	if (result.qualifiedReferences != null) {
+		for (char[][] reference : result.qualifiedReferences)
+			state.qualifiedReferences.add(new String(CharOperation.concatWith(reference, '/')));
+	}
+	if (result.simpleNameReferences != null) {
+		for (char[] reference : result.simpleNameReferences)
+			state.simpleNameReferences.add(new String(reference));
+	}
+	if (result.rootReferences != null) {
+		for (char[] reference : result.rootReferences)
+			state.qualifiedReferences.add(new String(reference));
+	}
+	UnitState previous = this.units.get(path);
+	if (previous == null)
+		previous = this.previousUnits.get(path);
+	Map<String, String> previousTypes = previous == null ? Collections.<String, String> emptyMap() : previous.types;
+	for (Map.Entry<String, String> type : state.types.entrySet()) {
+		if (!type.getValue().equals(previousTypes.get(type.getKey())))
+			this.changedTypes.add(type.getKey());
+	}
+	for (String typeName : previousTypes.keySet()) {
+		if (!state.types.containsKey(typeName))
+			this.changedTypes.add(typeName);
+	}
+	this.units.put(path, state);
+	this.compiledPaths.add(path);
+}
+
+private boolean hasChanged(UnitState previous, CompilationUnit unit) {
+	File file = new File(previous.path);
+	if (file.lastModified() == previous.lastModified && file.length() == previous.length)
+		return false;
+	return !digest(unit.getContents()).equals(previous.digest); // touched only
+}
+private static void deleteClassFiles(UnitState unit) {
+	if (unit.outputPath == null || Main.NONE.equals(unit.outputPath))
+		return;
+	for (String typeName : unit.types.keySet())
+		new File(unit.outputPath, typeName.replace('/', File.separatorChar) + SuffixConstants.SUFFIX_STRING_class).delete();
+}
+
+/*
+ * Everything is compiled again when any of the options, the destination or the archives of the
+ * classpath change.
+ */
+private String computeConfigurationKey() {
+	StringBuilder key = new StringBuilder();
+	for (Map.Entry<String, String> option : new TreeMap<>(this.main.options).entrySet())
+		key.append(option.getKey()).append('=').append(option.getValue()).append('\n');
+	key.append(this.main.destinationPath).append('\n');
+	key.append(this.main.proceedOnError).append('\n');
+	for (Classpath classpath : this.environment.classpaths) {
+		key.append(classpath.getPath());
+		if (classpath instanceof ClasspathJar || classpath instanceof ClasspathJrt) {
+			File file = new File(classpath.getPath());
+			key.append(' ').append(file.lastModified()).append(' ').append(file.length());
+		}
+		key.append('\n');
+	}
+	return digest(key.toString().getBytes(StandardCharsets.UTF_8));
+}
+private static String canonicalPath(String fileName) {
+	File file = new File(fileName);
+	try {
+		return file.getCanonicalPath();
+	} catch (IOException e) {
+		return file.getAbsolutePath();
+	}
+}
+private static String digest(char[] contents) {
+	return digest(new String(contents).getBytes(StandardCharsets.UTF_8));
+}
+private static String digest(byte[] bytes) {
+	try {
+		return CompilationCache.toHexString(MessageDigest.getInstance("SHA-1").digest(bytes)); //$NON-NLS-1$
+	} catch (NoSuchAlgorithmException e) {
+		return String.valueOf(Arrays.hashCode(bytes));
+	}
+}
+
+/*
+ * Hash of the parts of a class file which other units depend on, which changes when
+ * ClassFileReader#hasStructuralChanges would answer true.
+ */
+static String structuralHash(String typeName, byte[] bytes) {
+	ClassFileReader reader;
+	try {
+		reader = new ClassFileReader(bytes, typeName.toCharArray());
+	} catch (ClassFormatException e) {
+		return digest(bytes);
+	}
+	long structuralTagBits = TagBits.AnnotationTargetMASK | TagBits.AnnotationDeprecated
+			| TagBits.AnnotationRetentionMASK | TagBits.HierarchyHasProblems;
+	boolean typeAnnotations = reader.getVersion() >= ClassFileConstants.JDK1_8;
+	StringBuilder structure = new StringBuilder();
+	structure.append(reader.getModifiers()).append(' ').append(reader.getTagBits() & structuralTagBits);
+	appendAnnotations(structure, reader.getAnnotations());
+	if (typeAnnotations)
+		appendTypeAnnotations(structure, reader.getTypeAnnotations());
+	structure.append('\n').append(toString(reader.getGenericSignature()));
+	structure.append('\n').append(toString(reader.getSuperclassName()));
+	char[][] interfaceNames = reader.getInterfaceNames();
+	if (interfaceNames != null) {
+		for (char[] interfaceName : interfaceNames)
+			structure.append(' ').append(interfaceName);
+	}
+	IBinaryNestedType[] memberTypes = reader.getMemberTypes();
+	if (memberTypes != null) {
+		for (IBinaryNestedType memberType : memberTypes)
+			structure.append('\n').append(memberType.getName()).append(' ').append(memberType.getModifiers());
+	}
+	Set<String> members = new TreeSet<>();
+	IBinaryField[] fields = reader.getFields();
+	if (fields != null) {
+		for (IBinaryField binaryField : fields) {
+			FieldInfo field = (FieldInfo) binaryField;
+			if (field.isSynthetic())
+				continue;
+			StringBuilder member = new StringBuilder();
+			member.append(field.getName()).append(' ').append(field.getTypeName()).append(' ').append(toString(field.getGenericSignature()));
+			member.append(' ').append(field.getModifiers()).append(' ').append(field.getTagBits() & TagBits.AnnotationDeprecated);
+			if (field.hasConstant())
+				appendConstant(member, field.getConstant());
+			appendAnnotations(member, field.getAnnotations());
+			if (typeAnnotations)
+				appendTypeAnnotations(member, field.getTypeAnnotations());
+			members.add(member.toString());
+		}
+	}
+	IBinaryMethod[] methods = reader.getMethods();
+	if (methods != null) {
+		for (IBinaryMethod binaryMethod : methods) {
+			MethodInfo method = (MethodInfo) binaryMethod;
+			if (method.isSynthetic() || method.isClinit())
+				continue;
+			StringBuilder member = new StringBuilder();
+			member.append(method.getSelector()).append(method.getMethodDescriptor()).append(' ').append(toString(method.getGenericSignature()));
+			member.append(' ').append(method.getModifiers()).append(' ').append(method.getTagBits() & TagBits.AnnotationDeprecated);
+			char[][] exceptionTypeNames = method.getExceptionTypeNames();
+			if (exceptionTypeNames != null) {
+				for (char[] exceptionTypeName : exceptionTypeNames)
+					member.append(' ').append(exceptionTypeName);
+			}
+			appendAnnotations(member, method.getAnnotations());
+			for (int i = 0, count = method.getAnnotatedParametersCount(); i < count; i++) {
+				member.append(" #").append(i); //$NON-NLS-1$
+				appendAnnotations(member, method.getParameterAnnotations(i, reader.getFileName()));
+			}
+			if (typeAnnotations)
+				appendTypeAnnotations(member, method.getTypeAnnotations());
+			members.add(member.toString());
+		}
+	}
+	for (String member : members)
+		structure.append('\n').append(member);
+	char[][][] missingTypeNames = reader.getMissingTypeNames();
+	if (missingTypeNames != null) {
+		for (char[][] missingTypeName : missingTypeNames)
+			structure.append("\nmissing ").append(CharOperation.concatWith(missingTypeName, '/')); //$NON-NLS-1$
+	}
+	return digest(structure.toString().getBytes(StandardCharsets.UTF_8));
+}
+private static String toString(char[] chars) {
+	return chars == null ? "-" : new String(chars); //$NON-NLS-1$
+}
+private static void appendAnnotations(StringBuilder buffer, IBinaryAnnotation[] annotations) {
+	if (annotations == null)
+		return;
+	for (IBinaryAnnotation annotation : annotations) {
+		buffer.append(' ');
+		appendAnnotation(buffer, annotation);
+	}
+}
+private static void appendAnnotation(StringBuilder buffer, IBinaryAnnotation annotation) {
+	buffer.append('@').append(annotation.getTypeName()).append('(');
+	IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+	if (pairs != null) {
+		for (IBinaryElementValuePair pair : pairs) {
+			buffer.append(pair.getName()).append('=');
+			appendValue(buffer, pair.getValue());
+			buffer.append(',');
+		}
+	}
+	buffer.append(')');
+}
+private static void appendValue(StringBuilder buffer, Object value) {
+	if (value instanceof Object[]) {
+		buffer.append('{');
+		for (Object element : (Object[]) value) {
+			appendValue(buffer, element);
+			buffer.append(',');
+		}
+		buffer.append('}');
+	} else if (value instanceof IBinaryAnnotation) {
+		appendAnnotation(buffer, (IBinaryAnnotation) value);
+	} else if (value instanceof Constant) {
+		appendConstant(buffer, (Constant) value);
+	} else if (value instanceof ClassSignature) {
+		buffer.append(((ClassSignature) value).getTypeName()).append(".class"); //$NON-NLS-1$
+	} else if (value instanceof EnumConstantSignature) {
+		EnumConstantSignature enumConstant = (EnumConstantSignature) value;
+		buffer.append(enumConstant.getTypeName()).append('.').append(enumConstant.getEnumConstantName());
+	} else {
+		buffer.append(value);
+	}
+}
+private static void appendConstant(StringBuilder buffer, Constant constant) {
+	buffer.append(' ').append(constant.typeID()).append(':').append(constant.stringValue());
+}
+/*
+ * Type annotations within method bodies do not affect dependents, and the order of the others
+ * does not matter.
+ */
+private static void appendTypeAnnotations(StringBuilder buffer, IBinaryTypeAnnotation[] typeAnnotations) {
+	if (typeAnnotations == null)
+		return;
+	Set<String> annotations = new TreeSet<>();
+	for (IBinaryTypeAnnotation typeAnnotation : typeAnnotations) {
+		int targetType = typeAnnotation.getTargetType();
+		if (targetType >= AnnotationTargetTypeConstants.LOCAL_VARIABLE && targetType <= AnnotationTargetTypeConstants.METHOD_REFERENCE_TYPE_ARGUMENT)
+			continue;
+		StringBuilder annotation = new StringBuilder();
+		appendAnnotation(annotation, typeAnnotation.getAnnotation());
+		annotations.add(annotation.toString());
+	}
+	for (String annotation : annotations)
+		buffer.append(" type").append(annotation); //$NON-NLS-1$
+}
+
+/*
+ * Answers whether the state of the previous build could be read and applies to this build.
+ */
+boolean readState() {
+	if (!this.stateFile.isFile())
+		return false;
+	try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(this.stateFile)))) {
+		if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+			return false;
+		boolean sameConfiguration = this.configurationKey.equals(input.readUTF());
+		for (int i = 0, unitCount = input.readInt(); i < unitCount; i++) {
+			UnitState unit = new UnitState();
+			unit.path = input.readUTF();
+			unit.lastModified = input.readLong();
+			unit.length = input.readLong();
+			unit.digest = input.readUTF();
+			unit.hasErrors = input.readBoolean();
+			unit.outputPath = input.readBoolean() ? input.readUTF() : null;
+			for (int j = 0, typeCount = input.readInt(); j < typeCount; j++)
+				unit.types.put(input.readUTF(), input.readUTF());
+			for (int j = 0, referenceCount = input.readInt(); j < referenceCount; j++)
+				unit.qualifiedReferences.add(input.readUTF());
+			for (int j = 0, referenceCount = input.readInt(); j < referenceCount; j++)
+				unit.simpleNameReferences.add(input.readUTF());
+			this.previousUnits.put(unit.path, unit);
+		}
+		return sameConfiguration;
+	} catch (IOException e) {
+		this.previousUnits.clear();
+		return false;
+	}
+}
+/**
+ * Writes the state of this build, for the next one to compile what changed since.
+ */
+public void writeState() throws IOException {
+	File parent = this.stateFile.getAbsoluteFile().getParentFile();
+	if (parent != null)
+		parent.mkdirs();
+	File temp = File.createTempFile("state", ".tmp", parent); //$NON-NLS-1$ //$NON-NLS-2$
+	try {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+			output.writeUTF(this.configurationKey);
+			output.writeInt(this.units.size());
+			for (UnitState unit : this.units.values()) {
+				output.writeUTF(unit.path);
+				output.writeLong(unit.lastModified);
+				output.writeLong(unit.length);
+				output.writeUTF(unit.digest);
+				output.writeBoolean(unit.hasErrors);
+				output.writeBoolean(unit.outputPath != null);
+				if (unit.outputPath != null)
+					output.writeUTF(unit.outputPath);
+				output.writeInt(unit.types.size());
+				for (Map.Entry<String, String> type : unit.types.entrySet()) {
+					output.writeUTF(type.getKey());
+					output.writeUTF(type.getValue());
+				}
+				output.writeInt(unit.qualifiedReferences.size());
+				for (String reference : unit.qualifiedReferences)
+					output.writeUTF(reference);
+				output.writeInt(unit.simpleNameReferences.size());
+				for (String reference : unit.simpleNameReferences)
+					output.writeUTF(reference);
+			}
+		}
+		try {
+			Files.move(temp.toPath(), this.stateFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), this.stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	} finally {
+		temp.delete(); // left over when the state could not be written
+	}
+}
+}
@@ -85,6 +85,7 @@ import org.eclipse.jdt.internal.compiler.Compiler;
 import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
 import org.eclipse.jdt.internal.compiler.IErrorHandlingPolicy;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
+import org.eclipse.jdt.internal.compiler.ProcessTaskManager;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.batch.ModuleFinder.AddExport;
@@ -97,6 +98,7 @@ import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.IModule.IPackageExport;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
@@ -1046,6 +1048,14 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (compilerStats.producerStallTime != 0 || compilerStats.consumerStallTime != 0) {
+					printlnOut(
+							this.main.bind("compile.stallTime", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.producerStallTime),
+									String.valueOf(compilerStats.consumerStallTime),
+								}));
+				}
 			}
 		}
 
@@ -1098,6 +1108,39 @@ public class Main implements ProblemSeverities, SuffixConstants {
 			this.printlnErr(this.main.bind("configure.requiresJDK1.2orAbove")); //$NON-NLS-1$
 		}
 
+		/**
+		 * Print the number of units compiled by an incremental build
+		 */
+		public void logIncrementalBuild(int compiledCount, int unitCount) {
+			printlnOut(this.main.bind("compile.incremental", //$NON-NLS-1$
+				String.valueOf(compiledCount),
+				String.valueOf(unitCount)));
+		}
+
+		/**
+		 * Print the failure to write the state of an incremental build
+		 */
+		public void logIncrementalStateFailure(String fileName, Exception e) {
+			String message = this.main.bind("output.incrementalStateFailure", fileName, e.getMessage()); //$NON-NLS-1$
+			if ((this.tagBits & Logger.XML) != 0) {
+				this.parameters.put(Logger.MESSAGE, message);
+				printTag(Logger.ERROR, this.parameters, true, true);
+			}
+			this.printlnErr(message);
+		}
+
+		/**
+		 * Print the failure to write the time report
+		 */
+		public void logTimeReportFailure(String fileName, IOException e) {
+			String message = this.main.bind("output.timeReportFailure", fileName, e.getMessage()); //$NON-NLS-1$
+			if ((this.tagBits & Logger.XML) != 0) {
+				this.parameters.put(Logger.MESSAGE, message);
+				printTag(Logger.ERROR, this.parameters, true, true);
+			}
+			this.printlnErr(message);
+		}
+
 		private void logXmlExtraProblem(CategorizedProblem problem, int globalErrorCount, int localErrorCount) {
 			final int sourceStart = problem.getSourceStart();
 			final int sourceEnd = problem.getSourceEnd();
@@ -1231,6 +1274,22 @@ public class Main implements ProblemSeverities, SuffixConstants {
 					&& (this.main.showProgress || isTimed || this.main.verbose)) {
 				logNumberOfClassFilesGenerated(this.main.exportedClassFilesCounter);
 			}
+			if (this.main.cacheDirectory != null && (isTimed || this.main.verbose)) {
+				CompilerStats compilerStats = this.main.batchCompiler.stats;
+				if (compilerStats.cacheHits != 0 || compilerStats.cacheMisses != 0) {
+					printlnOut(this.main.bind("compile.cacheStats", //$NON-NLS-1$
+						String.valueOf(compilerStats.cacheHits),
+						String.valueOf(compilerStats.cacheMisses)));
+				}
+			}
+			if (isTimed || this.main.verbose) {
+				CompilerStats compilerStats = this.main.batchCompiler.stats;
+				if (compilerStats.internedIdentifiers != 0) {
+					printlnOut(this.main.bind("compile.internStats", //$NON-NLS-1$
+						String.valueOf(compilerStats.internedIdentifiers),
+						String.valueOf(compilerStats.internSavedBytes / 1024)));
+				}
+			}
 			if ((this.tagBits & Logger.XML) != 0) {
 				endTag(Logger.STATS);
 			}
@@ -1419,6 +1478,12 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public Logger logger;
 	public int maxProblems;
 	public Map<String, String> options;
+	public String cacheDirectory;
+	public String timeReportFile;
+	public String incrementalStateFile; // state of the previous build when only compiling changes, or null
+	private TimeReport timeReport;
+	public CompileServer compileServer; // shares classpath entries across compilations, or null
+	private ClassFileOutput classFileOutput; // writes the class files of the current compilation
 	protected long complianceLevel;
 	public char[][] ignoreOptionalProblemsFromFolders;
 	protected PrintWriter out;
@@ -1761,6 +1826,8 @@ public boolean compile(String[] argv) {
 //					System.out.println(new CompilerOptions(this.options));
 //				}
 			if (this.showProgress) this.logger.compiling();
+			if (this.timeReportFile != null)
+				this.timeReport = new TimeReport();
 			for (this.currentRepetition = 0; this.currentRepetition < this.maxRepetition; this.currentRepetition++) {
 				this.globalProblemsCount = 0;
 				this.globalErrorsCount = 0;
@@ -1779,6 +1846,14 @@ public boolean compile(String[] argv) {
 			if (this.compilerStats != null) {
 				this.logger.logAverage();
 			}
+			if (this.timeReport != null) {
+				try {
+					this.timeReport.write(new File(this.timeReportFile));
+				} catch (IOException e) {
+					this.logger.logTimeReportFailure(this.timeReportFile, e);
+				}
+				this.timeReport = null;
+			}
 			if (this.showProgress) this.logger.printNewLine();
 		}
 		if (this.systemExitWhenFinished) {
@@ -1852,6 +1927,9 @@ public void configure(String[] argv) {
 	final int INSIDE_RELEASE = 30;
 	final int INSIDE_LIMIT_MODULES = 31;
 	final int INSIDE_MODULE_VERSION = 32;
+	final int INSIDE_CACHE_DIRECTORY = 33;
+	final int INSIDE_TIME_REPORT = 34;
+	final int INSIDE_INCREMENTAL_STATE = 35;
 
 	final int DEFAULT = 0;
 	ArrayList<String> bootclasspaths = new ArrayList<>(DEFAULT_SIZE_CLASSPATH);
@@ -2126,6 +2204,14 @@ public void configure(String[] argv) {
 					mode = INSIDE_DESTINATION_PATH;
 					continue;
 				}
+				if (currentArg.equals("-cacheDir")) { //$NON-NLS-1$
+					if (this.cacheDirectory != null) {
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateCacheDirectory", currentArg)); //$NON-NLS-1$
+					}
+					mode = INSIDE_CACHE_DIRECTORY;
+					continue;
+				}
 				if (currentArg.equals("-classpath") //$NON-NLS-1$
 					|| currentArg.equals("-cp")) { //$NON-NLS-1$
 					mode = INSIDE_CLASSPATH_start;
@@ -2266,6 +2352,22 @@ public void configure(String[] argv) {
 					this.timing = TIMING_ENABLED|TIMING_DETAILED;
 					continue;
 				}
+				if (currentArg.equals("-incremental")) { //$NON-NLS-1$
+					if (this.incrementalStateFile != null) {
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateIncrementalState", currentArg)); //$NON-NLS-1$
+					}
+					mode = INSIDE_INCREMENTAL_STATE;
+					continue;
+				}
+				if (currentArg.equals("-timeReport")) { //$NON-NLS-1$
+					if (this.timeReportFile != null) {
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateTimeReport", currentArg)); //$NON-NLS-1$
+					}
+					mode = INSIDE_TIME_REPORT;
+					continue;
+				}
 				if (currentArg.equals("-version") //$NON-NLS-1$
 						|| currentArg.equals("-v")) { //$NON-NLS-1$
 					this.logger.logVersion(true);
@@ -2330,6 +2432,16 @@ public void configure(String[] argv) {
 							CompilerOptions.GENERATE);
 					continue;
 				}
+				if (currentArg.equals("-abiOnly") || currentArg.equals("-abiOnly:private")) { //$NON-NLS-1$ //$NON-NLS-2$
+					mode = DEFAULT;
+					this.options.put(
+							CompilerOptions.OPTION_AbiOnly,
+							CompilerOptions.ENABLED);
+					this.options.put(
+							CompilerOptions.OPTION_AbiPrivateMembers,
+							currentArg.endsWith(":private") ? CompilerOptions.GENERATE : CompilerOptions.DO_NOT_GENERATE); //$NON-NLS-1$
+					continue;
+				}
 				if (currentArg.startsWith("-g")) { //$NON-NLS-1$
 					mode = DEFAULT;
 					String debugOption = currentArg;
@@ -2766,6 +2878,18 @@ public void configure(String[] argv) {
 				setDestinationPath(currentArg.equals(NONE) ? NONE : currentArg);
 				mode = DEFAULT;
 				continue;
+			case INSIDE_CACHE_DIRECTORY :
+				this.cacheDirectory = currentArg;
+				mode = DEFAULT;
+				continue;
+			case INSIDE_TIME_REPORT :
+				this.timeReportFile = currentArg;
+				mode = DEFAULT;
+				continue;
+			case INSIDE_INCREMENTAL_STATE :
+				this.incrementalStateFile = currentArg;
+				mode = DEFAULT;
+				continue;
 			case INSIDE_SYSTEM:
 				mode = DEFAULT;
 				setJavaHome(currentArg);
@@ -3074,6 +3198,16 @@ public void configure(String[] argv) {
 		this.compilerStats = new CompilerStats[this.maxRepetition];
 	}
 
+	if (this.incrementalStateFile != null
+			&& (this.destinationPath == null || this.destinationPath == NONE || ClassFileOutput.isArchive(this.destinationPath))) {
+		throw new IllegalArgumentException(
+			this.bind("configure.incrementalRequiresDestination")); //$NON-NLS-1$
+	}
+	if (this.incrementalStateFile != null && this.cacheDirectory != null) {
+		throw new IllegalArgumentException(
+			this.bind("configure.incrementalWithCacheDirectory")); //$NON-NLS-1$
+	}
+
 	if (filesCount != 0) {
 		System.arraycopy(
 			this.filenames,
@@ -4617,6 +4751,11 @@ private static boolean isParentOf(char[] folderName, char[] fileName) {
 // and do not carry a -d none spec, either directly or inherited from Main.
 public void outputClassFiles(CompilationResult unitResult) {
 	if (!((unitResult == null) || (unitResult.hasErrors() && !this.proceedOnError))) {
+		if (this.classFileOutput == null) {
+			this.classFileOutput = new ClassFileOutput();
+			// ABI archives must not change when the ABI does not
+			this.classFileOutput.setReproducible(this.compilerOptions != null && this.compilerOptions.generateAbiOnly);
+		}
 		ClassFile[] classFiles = unitResult.getClassFiles();
 		String currentDestinationPath = null;
 		boolean generateClasspathStructure = false;
@@ -4645,33 +4784,53 @@ public void outputClassFiles(CompilationResult unitResult) {
 				System.arraycopy(SuffixConstants.SUFFIX_class, 0, relativeName, length, 6);
 				CharOperation.replace(relativeName, '/', File.separatorChar);
 				String relativeStringName = new String(relativeName);
-				try {
-					if (this.compilerOptions.verbose)
-						this.out.println(
-							Messages.bind(
-								Messages.compilation_write,
-								new String[] {
-									String.valueOf(this.exportedClassFilesCounter+1),
-									relativeStringName
-								}));
-					Util.writeToDisk(
+				if (this.compilerOptions.verbose)
+					this.out.println(
+						Messages.bind(
+							Messages.compilation_write,
+							new String[] {
+								String.valueOf(this.exportedClassFilesCounter + this.classFileOutput.getWriteCount() + 1),
+								relativeStringName
+							}));
+				if ((this.logger.tagBits & Logger.XML) != 0) {
+					// logged within its source, hence written right away
+					IOException failure = this.classFileOutput.writeNow(
 						generateClasspathStructure,
 						currentDestinationPath,
 						relativeStringName,
-						classFile);
-					this.logger.logClassFile(
+						classFile.getBytes());
+					if (failure == null)
+						this.logger.logClassFile(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName);
+					else
+						this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, failure);
+				} else {
+					// written in the background, counted and failures reported by flushClassFiles()
+					this.classFileOutput.write(
 						generateClasspathStructure,
 						currentDestinationPath,
-						relativeStringName);
-					this.exportedClassFilesCounter++;
-				} catch (IOException e) {
-					this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, e);
+						relativeStringName,
+						classFile.getBytes());
 				}
 			}
 			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
 		}
 	}
 }
+/*
+ * Wait for the class files being written, count the ones written and report the ones which
+ * could not be.
+ */
+protected void flushClassFiles() {
+	if (this.classFileOutput == null)
+		return;
+	for (ClassFileOutput.Failure failure : this.classFileOutput.close())
+		this.logger.logNoClassFileCreated(failure.outputPath, failure.relativeFileName, failure.exception);
+	this.exportedClassFilesCounter += this.classFileOutput.getWrittenCount();
+	this.classFileOutput = null;
+}
 /*
  *  Low-level API performing the actual compilation
  */
@@ -4683,19 +4842,30 @@ public void performCompilation() {
 		this.compilerOptions = new CompilerOptions(this.options);
 		this.compilerOptions.performMethodsFullRecovery = false;
 		this.compilerOptions.performStatementsRecovery = false;
-		this.batchCompiler =
-				new Compiler(
-						environment,
-						getHandlingPolicy(),
-						this.compilerOptions,
-						getBatchRequestor(),
-						getProblemFactory(),
-						this.out,
-						this.progress);
-		this.batchCompiler.remainingIterations = this.maxRepetition-this.currentRepetition/*remaining iterations including this one*/;
-		// temporary code to allow the compiler to revert to a single thread
-		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
-		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		ICompilerRequestor requestor = getBatchRequestor();
+		INameEnvironment nameEnvironment = environment;
+		CompilationUnit[] compilationUnits = null;
+		CompilationCache compilationCache = null;
+		IncrementalBuild incrementalBuild = null;
+		long cacheTime = 0;
+		if (this.incrementalStateFile != null) {
+			incrementalBuild = new IncrementalBuild(this, environment, getCompilationUnits());
+			compilationUnits = incrementalBuild.getFirstRound();
+		} else if (this.cacheDirectory != null) {
+			long cacheStart = System.currentTimeMillis();
+			compilationUnits = getCompilationUnits();
+			compilationCache = CompilationCache.newInstance(this, environment, compilationUnits);
+			if (compilationCache != null) {
+				compilationUnits = compilationCache.lookup();
+				nameEnvironment = compilationCache.getNameEnvironment();
+			}
+			cacheTime = System.currentTimeMillis() - cacheStart;
+		}
+		if (incrementalBuild != null)
+			requestor = incrementalBuild.getRequestor(requestor);
+		else if (compilationCache != null)
+			requestor = compilationCache.getRequestor(requestor);
+		this.batchCompiler = newBatchCompiler(nameEnvironment, requestor, null);
 
 		if (this.compilerOptions.complianceLevel >= ClassFileConstants.JDK1_6
 				&& this.compilerOptions.processAnnotations) {
@@ -4715,13 +4885,40 @@ public void performCompilation() {
 
 		// set the non-externally configurable options.
 		this.compilerOptions.verbose = this.verbose;
-		this.compilerOptions.produceReferenceInfo = this.produceRefInfo;
+		this.compilerOptions.produceReferenceInfo = this.produceRefInfo || compilationCache != null || incrementalBuild != null; // dependencies of cached or unchanged units
 		try {
 			this.logger.startLoggingSources();
-			this.batchCompiler.compile(getCompilationUnits());
+			this.batchCompiler.compile(compilationUnits == null ? getCompilationUnits() : compilationUnits);
+			if (compilationCache != null) {
+				long cacheStart = System.currentTimeMillis();
+				compilationCache.complete(requestor);
+				CompilerStats stats = this.batchCompiler.stats;
+				stats.overallTime += cacheTime + System.currentTimeMillis() - cacheStart;
+				stats.cacheHits = compilationCache.getHitCount();
+				stats.cacheMisses = compilationCache.getMissCount();
+			}
+			if (incrementalBuild != null) {
+				// compile the dependents of the types whose structure changed, against the class files written so far
+				while ((compilationUnits = incrementalBuild.nextRound()) != null) {
+					flushClassFiles();
+					environment.cleanup();
+					this.batchCompiler = newBatchCompiler(environment, requestor, this.batchCompiler.stats);
+					this.batchCompiler.compile(compilationUnits);
+				}
+			}
 		} finally {
+			flushClassFiles();
 			this.logger.endLoggingSources();
 		}
+		if (incrementalBuild != null) {
+			try {
+				incrementalBuild.writeState();
+			} catch (IOException | RuntimeException e) {
+				this.logger.logIncrementalStateFailure(this.incrementalStateFile, e);
+			}
+			if (this.verbose)
+				this.logger.logIncrementalBuild(incrementalBuild.getCompiledCount(), this.filenames.length);
+		}
 
 		if (this.extraProblems != null) {
 			loggingExtraProblems();
@@ -4737,6 +4934,34 @@ public void performCompilation() {
 		environment.cleanup();
 	}
 }
+/*
+ * Answers a new compiler for the given environment and requestor, which records its statistics into
+ * the given ones if not null.
+ */
+private Compiler newBatchCompiler(INameEnvironment nameEnvironment, ICompilerRequestor requestor, CompilerStats stats) {
+	Compiler compiler =
+			new Compiler(
+					nameEnvironment,
+					getHandlingPolicy(),
+					this.compilerOptions,
+					requestor,
+					getProblemFactory(),
+					this.out,
+					this.progress);
+	compiler.remainingIterations = this.maxRepetition-this.currentRepetition/*remaining iterations including this one*/;
+	// temporary code to allow the compiler to revert to a single thread
+	String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
+	compiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+	compiler.processedQueueSize = Integer.getInteger("jdt.compiler.processedQueueSize", ProcessTaskManager.PROCESSED_QUEUE_SIZE).intValue(); //$NON-NLS-1$
+	compiler.prefetchThreads = Integer.getInteger("jdt.compiler.prefetchThreads", 0).intValue(); //$NON-NLS-1$
+	if (stats != null)
+		compiler.stats = stats;
+	else if (this.timeReport != null)
+		this.timeReport.add(compiler.stats);
+	if (this.timeReport != null)
+		compiler.lookupEnvironment.stats = compiler.stats;
+	return compiler;
+}
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
 }
@@ -5241,6 +5466,13 @@ protected void setPaths(ArrayList<String> bootclasspaths,
 	allPaths.addAll(0, endorsed);
 	allPaths.addAll(extdirs);
 	allPaths.addAll(sourcepaths);
+	if (this.incrementalStateFile != null) {
+		// the class files of the units which are not compiled again
+		new File(this.destinationPath).mkdirs();
+		Classpath output = FileSystem.getClasspath(this.destinationPath, customEncoding, null, this.options, this.releaseVersion);
+		if (output != null)
+			allPaths.add(output);
+	}
 	allPaths.addAll(cp);
 	allPaths.addAll(mp);
 	allPaths.addAll(msp);
@@ -5256,6 +5488,8 @@ protected void setPaths(ArrayList<String> bootclasspaths,
 			else if (c instanceof ClasspathJrt)
 				((ClasspathJrt) c).annotationPaths = this.annotationPaths;
 		}
+	} else if (this.compileServer != null && this.limitedModules == null) {
+		this.compileServer.shareClasspaths(this.checkedClasspaths);
 	}
 }
 public final static boolean shouldIgnoreOptionalProblems(char[][] folderNames, char[] fileName) {
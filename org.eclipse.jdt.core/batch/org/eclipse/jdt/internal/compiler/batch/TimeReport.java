@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats.UnitStats;
+
+/**
+ * Writes the detailed statistics of the compilations run by {@link Main} as a JSON document,
+ * for <code>-timeReport &lt;file&gt;</code>.
+ * <p>
+ * Each compilation (one per <code>-repeat</code> iteration) reports:
+ * </p>
+ * <ul>
+ * <li>its overall time, and the time and the bytes allocated in each phase;</li>
+ * <li>the binary types read, how many came from the digest cache set by
+ * <code>jdt.compiler.binaryTypeCache</code>, and the time spent looking types up;</li>
+ * <li>the type inferences solved, the time spent reducing constraints and incorporating
+ * bounds, and the failed applicability inferences found in the cache of their unit;</li>
+ * <li>the units found in the compilation cache set by <code>-cacheDir</code>;</li>
+ * <li>the method lookups found in the cache of their unit, when
+ * <code>jdt.compiler.cacheMethodLookups</code> is set;</li>
+ * <li>the class files reused from the pool of the lookup environment;</li>
+ * <li>the type lookups made ahead, and how many were used, when
+ * <code>jdt.compiler.prefetchThreads</code> is set;</li>
+ * <li>the identifiers shared by <code>jdt.compiler.internIdentifiers</code>;</li>
+ * <li>the <code>jdt.compiler.timeReport.slowestUnits</code> (default 20) slowest units.</li>
+ * </ul>
+ * <p>
+ * Times are in milliseconds. Allocations are -1 when the JVM cannot measure them.
+ * </p>
+ */
+public class TimeReport {
+
+	static final int DEFAULT_SLOWEST_UNITS = 20;
+	static final String[] PHASE_NAMES = { "parse", "resolve", "analyze", "generate" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private final List<CompilerStats> compilations = new ArrayList<>();
+	private final int slowestUnits;
+
+public TimeReport() {
+	this(Integer.getInteger("jdt.compiler.timeReport.slowestUnits", DEFAULT_SLOWEST_UNITS).intValue()); //$NON-NLS-1$
+}
+public TimeReport(int slowestUnits) {
+	this.slowestUnits = Math.max(0, slowestUnits);
+}
+/**
+ * Prepares the given statistics for recording the details reported.
+ */
+public void add(CompilerStats stats) {
+	stats.enableDetails();
+	this.compilations.add(stats);
+}
+public void write(File file) throws IOException {
+	File parent = file.getAbsoluteFile().getParentFile();
+	if (parent != null)
+		parent.mkdirs();
+	try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+		write(writer);
+	}
+}
+public void write(Writer writer) throws IOException {
+	writer.write("{\n  \"compilations\": ["); //$NON-NLS-1$
+	for (int i = 0, size = this.compilations.size(); i < size; i++) {
+		if (i > 0)
+			writer.write(',');
+		writeCompilation(writer, this.compilations.get(i));
+	}
+	writer.write("\n  ]\n}\n"); //$NON-NLS-1$
+}
+private void writeCompilation(Writer writer, CompilerStats stats) throws IOException {
+	List<UnitStats> units = stats.getUnitStats();
+	long[] phaseTimes = { stats.parseTime, stats.resolveTime, stats.analyzeTime, stats.generateTime };
+	writer.write("\n    {\n      \"overallTime\": " + stats.elapsedTime()); //$NON-NLS-1$
+	writer.write(",\n      \"lineCount\": " + stats.lineCount); //$NON-NLS-1$
+	writer.write(",\n      \"unitCount\": " + units.size()); //$NON-NLS-1$
+	writer.write(",\n      \"phases\": {"); //$NON-NLS-1$
+	for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+		writer.write(phase == 0 ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.write("        \"" + PHASE_NAMES[phase] + "\": { \"time\": " + phaseTimes[phase] //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", \"allocatedBytes\": " + stats.allocatedBytes[phase] + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	writer.write("\n      }"); //$NON-NLS-1$
+	writer.write(",\n      \"binaryTypes\": { \"count\": " + stats.binaryTypeCount //$NON-NLS-1$
+			+ ", \"fromDigest\": " + stats.digestedBinaryTypeCount //$NON-NLS-1$
+			+ ", \"lookupTime\": " + millis(stats.typeLookupTime) + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	writer.write(",\n      \"inference\": { \"count\": " + stats.inferenceCount //$NON-NLS-1$
+			+ ", \"time\": " + millis(stats.inferenceTime) //$NON-NLS-1$
+			+ ", \"reduceTime\": " + millis(stats.reductionTime) //$NON-NLS-1$
+			+ ", \"incorporateTime\": " + millis(stats.incorporationTime) //$NON-NLS-1$
+			+ ", \"cacheHits\": " + stats.inferenceCacheHits //$NON-NLS-1$
+			+ ", \"cacheMisses\": " + stats.inferenceCacheMisses + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (stats.cacheHits != 0 || stats.cacheMisses != 0)
+		writer.write(",\n      \"cache\": { \"hits\": " + stats.cacheHits + ", \"misses\": " + stats.cacheMisses + " }"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	if (stats.methodLookupCacheHits != 0 || stats.methodLookupCacheMisses != 0)
+		writer.write(",\n      \"methodLookups\": { \"cacheHits\": " + stats.methodLookupCacheHits //$NON-NLS-1$
+				+ ", \"cacheMisses\": " + stats.methodLookupCacheMisses + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (stats.classFilesReused != 0 || stats.classFilesCreated != 0)
+		writer.write(",\n      \"classFiles\": { \"reused\": " + stats.classFilesReused //$NON-NLS-1$
+				+ ", \"created\": " + stats.classFilesCreated //$NON-NLS-1$
+				+ ", \"reusedBytes\": " + stats.classFileReusedBytes + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (stats.prefetchedTypeCount != 0)
+		writer.write(",\n      \"prefetch\": { \"predicted\": " + stats.prefetchedTypeCount //$NON-NLS-1$
+				+ ", \"hits\": " + stats.prefetchHits + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (stats.internedIdentifiers != 0)
+		writer.write(",\n      \"sharedIdentifiers\": { \"reused\": " + stats.internedIdentifiers //$NON-NLS-1$
+				+ ", \"savedBytes\": " + stats.internSavedBytes + " }"); //$NON-NLS-1$ //$NON-NLS-2$
+	units.sort((u1, u2) -> Long.compare(u2.totalTime(), u1.totalTime()));
+	writer.write(",\n      \"slowestUnits\": ["); //$NON-NLS-1$
+	for (int i = 0, max = Math.min(this.slowestUnits, units.size()); i < max; i++) {
+		UnitStats unit = units.get(i);
+		writer.write(i == 0 ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.write("        { \"file\": " + quote(unit.fileName) //$NON-NLS-1$
+				+ ", \"lineCount\": " + unit.lineCount //$NON-NLS-1$
+				+ ", \"time\": " + millis(unit.totalTime())); //$NON-NLS-1$
+		for (int phase = 0; phase < PHASE_NAMES.length; phase++)
+			writer.write(", \"" + PHASE_NAMES[phase] + "\": " + millis(unit.phaseTimes[phase])); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.write(" }"); //$NON-NLS-1$
+	}
+	writer.write(units.isEmpty() || this.slowestUnits == 0 ? "]" : "\n      ]"); //$NON-NLS-1$ //$NON-NLS-2$
+	writer.write("\n    }"); //$NON-NLS-1$
+}
+private static String millis(long nanos) {
+	return String.format(Locale.ROOT, "%.3f", Double.valueOf(nanos / 1000000.0)); //$NON-NLS-1$
+}
+private static String quote(String string) {
+	StringBuilder buffer = new StringBuilder(string.length() + 2);
+	buffer.append('"');
+	for (int i = 0, length = string.length(); i < length; i++) {
+		char c = string.charAt(i);
+		switch (c) {
+			case '"' :
+			case '\\' :
+				buffer.append('\\').append(c);
+				break;
+			case '\n' :
+				buffer.append("\\n"); //$NON-NLS-1$
+				break;
+			case '\r' :
+				buffer.append("\\r"); //$NON-NLS-1$
+				break;
+			case '\t' :
+				buffer.append("\\t"); //$NON-NLS-1$
+				break;
+			default :
+				if (c < 0x20)
+					buffer.append(String.format(Locale.ROOT, "\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+				else
+					buffer.append(c);
+		}
+	}
+	return buffer.append('"').toString();
+}
+}
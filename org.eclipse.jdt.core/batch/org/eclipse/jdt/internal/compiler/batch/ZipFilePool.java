@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Process-wide pool of the zip files opened by the classpath entries of the batch compiler,
+ * the Java compiler tool and the annotation processing file managers.
+ * <p>
+ * A zip file is shared by all the users which acquired it as long as the archive keeps the same
+ * timestamp and size; a changed archive is opened again, and its previous version is closed once
+ * released by all of its users. Zip files nobody uses any more are closed when a compilation
+ * ends, unless a long-lived compiler such as {@link CompileServer} retains them across
+ * compilations. Retained idle zip files are kept open up to <code>jdt.compiler.maxOpenZipFiles</code>
+ * (default 256) open zip files in total; beyond that the least recently used idle ones are closed.
+ * </p>
+ * <p>
+ * Next to the zip file, the pool keeps a directory of its contents (package names and the
+ * entries of each package), computed once and shared as well.
+ * </p>
+ */
+public class ZipFilePool {
+
+	static final int DEFAULT_MAX_OPEN = 256;
+	static final int MAX_OPEN = Math.max(1, Integer.getInteger("jdt.compiler.maxOpenZipFiles", DEFAULT_MAX_OPEN).intValue()); //$NON-NLS-1$
+
+	// zip files by canonical path, least recently acquired first
+	private static final LinkedHashMap<String, SharedZipFile> ZIP_FILES = new LinkedHashMap<>(16, 0.75f, true);
+	// callers of retainIdleZipFiles() which did not release them yet, guarded by ZIP_FILES
+	private static int idleRetainers;
+
+	public static class SharedZipFile {
+		final String path;
+		final long lastModified;
+		final long length;
+		final ZipFile zipFile;
+		int references;
+		boolean stale; // no longer in the pool, closed when released by all users
+
+		// directory of the zip file, computed on demand
+		private Set<String> packageNames;
+		private Map<String, String[]> entryNames;
+
+		SharedZipFile(String path, long lastModified, long length, ZipFile zipFile) {
+			this.path = path;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.zipFile = zipFile;
+		}
+		public ZipFile getZipFile() {
+			return this.zipFile;
+		}
+		/**
+		 * Answers the names of the packages of this zip file, '/' separated, including the
+		 * parents of the packages which have entries and the default package.
+		 */
+		public synchronized Set<String> getPackageNames() {
+			if (this.packageNames == null)
+				computeDirectory();
+			return this.packageNames;
+		}
+		/**
+		 * Answers the simple names of the files of the given package ('/' separated), or null if
+		 * the package contains no file.
+		 */
+		public synchronized String[] getEntryNames(String packageName) {
+			if (this.entryNames == null)
+				computeDirectory();
+			return this.entryNames.get(packageName);
+		}
+		private void computeDirectory() {
+			Set<String> packages = new HashSet<>(41);
+			packages.add(Util.EMPTY_STRING);
+			Map<String, List<String>> entries = new HashMap<>();
+			for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
+				String fileName = e.nextElement().getName();
+				int last = fileName.lastIndexOf('/');
+				String packageName = last == -1 ? Util.EMPTY_STRING : fileName.substring(0, last);
+				if (last != fileName.length() - 1) // not a directory entry
+					entries.computeIfAbsent(packageName, p -> new ArrayList<>()).add(fileName.substring(last + 1));
+				while (last > 0 && packages.add(packageName)) {
+					last = packageName.lastIndexOf('/');
+					if (last > 0)
+						packageName = packageName.substring(0, last);
+				}
+			}
+			Map<String, String[]> entryArrays = new HashMap<>(entries.size() * 2);
+			for (Map.Entry<String, List<String>> entry : entries.entrySet())
+				entryArrays.put(entry.getKey(), entry.getValue().toArray(new String[entry.getValue().size()]));
+			this.packageNames = Collections.unmodifiableSet(packages);
+			this.entryNames = entryArrays;
+		}
+		/**
+		 * Gives this zip file back to the pool. It must not be used by the caller any more.
+		 */
+		public void release() {
+			ZipFilePool.release(this);
+		}
+		void close() {
+			try {
+				this.zipFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+		@Override
+		public String toString() {
+			return "Shared zip file " + this.path + " (" + this.references + " references)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+private ZipFilePool() {
+	// static API only
+}
+
+/**
+ * Answers the zip file of the given archive, opening it unless it is already open with the same
+ * timestamp and size. The caller must give it back with {@link SharedZipFile#release()}.
+ */
+public static SharedZipFile acquire(File file) throws IOException {
+	String path;
+	try {
+		path = file.getCanonicalPath();
+	} catch (IOException e) {
+		path = file.getAbsolutePath();
+	}
+	long lastModified = file.lastModified();
+	long length = file.length();
+	synchronized (ZIP_FILES) {
+		SharedZipFile shared = ZIP_FILES.get(path);
+		if (shared != null && (shared.lastModified != lastModified || shared.length != length)) {
+			ZIP_FILES.remove(path);
+			shared.stale = true;
+			if (shared.references == 0)
+				shared.close();
+			shared = null;
+		}
+		if (shared == null) {
+			shared = new SharedZipFile(path, lastModified, length, new ZipFile(file));
+			ZIP_FILES.put(path, shared);
+		}
+		shared.references++;
+		trimIdleZipFiles();
+		return shared;
+	}
+}
+static void release(SharedZipFile shared) {
+	synchronized (ZIP_FILES) {
+		if (shared.references <= 0)
+			return; // released twice
+		if (--shared.references == 0 && shared.stale)
+			shared.close();
+		else
+			trimIdleZipFiles();
+	}
+}
+/**
+ * Closes all the zip files which are not in use, unless they are retained. Called when a
+ * compilation ends.
+ * @see #retainIdleZipFiles()
+ */
+public static void closeIdleZipFiles() {
+	synchronized (ZIP_FILES) {
+		if (idleRetainers == 0)
+			closeIdleZipFiles(0);
+	}
+}
+/**
+ * Keeps the zip files open once they are no longer in use, up to the maximum number of open zip
+ * files, until {@link #releaseIdleZipFiles()} is called. Compilations run in sequence by the
+ * caller then share their zip files.
+ */
+public static void retainIdleZipFiles() {
+	synchronized (ZIP_FILES) {
+		idleRetainers++;
+	}
+}
+/**
+ * Stops keeping the zip files open for a previous {@link #retainIdleZipFiles()}, closing the idle
+ * ones unless another caller still retains them.
+ */
+public static void releaseIdleZipFiles() {
+	synchronized (ZIP_FILES) {
+		if (idleRetainers > 0 && --idleRetainers == 0)
+			closeIdleZipFiles(0);
+	}
+}
+private static void trimIdleZipFiles() {
+	closeIdleZipFiles(MAX_OPEN);
+}
+private static void closeIdleZipFiles(int maxOpen) {
+	synchronized (ZIP_FILES) {
+		for (Iterator<SharedZipFile> iterator = ZIP_FILES.values().iterator(); ZIP_FILES.size() > maxOpen && iterator.hasNext();) {
+			SharedZipFile shared = iterator.next();
+			if (shared.references == 0) {
+				iterator.remove();
+				shared.close();
+			}
+		}
+	}
+}
+}
@@ -166,6 +166,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 	public int methodCountOffset;
 	// pool managment
 	boolean isShared = false;
+	ClassFilePool.Slot pool; // the slot this class file goes back to when released, if any
 	// used to generate private access methods
 	// debug and stack map attributes
 	public int produceAttributes;
@@ -294,6 +295,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 	}
 
 	public ClassFile(SourceTypeBinding typeBinding) {
+		this(typeBinding, 0, 0);
+	}
+
+	/* Sizes of 0 stand for the initial sizes of initByteArrays(int). */
+	ClassFile(SourceTypeBinding typeBinding, int headerSize, int contentsSize) {
 		// default constructor for subclasses
 		this.constantPool = new ConstantPool(this);
 		final CompilerOptions options = typeBinding.scope.compilerOptions();
@@ -319,7 +325,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 		} else {
 			this.codeStream = new CodeStream(this);
 		}
-		initByteArrays(this.referenceBinding.methods().length + this.referenceBinding.fields().length);
+		if (headerSize == 0) {
+			initByteArrays(this.referenceBinding.methods().length + this.referenceBinding.fields().length);
+		} else {
+			this.header = new byte[headerSize];
+			this.contents = new byte[contentsSize];
+		}
 	}
 
 	public ClassFile(ModuleBinding moduleBinding, CompilerOptions options) {
@@ -781,6 +792,19 @@ public class ClassFile implements TypeConstants, TypeIds {
 		SourceTypeBinding currentBinding = this.referenceBinding;
 		FieldBinding[] syntheticFields = currentBinding.syntheticFields();
 		int fieldCount = 	currentBinding.fieldCount() + (syntheticFields == null ? 0 : syntheticFields.length);
+		FieldDeclaration[] fieldDecls = currentBinding.scope.referenceContext.fields;
+		boolean skipPrivateFields = false;
+		if (currentBinding.scope.compilerOptions().generateAbiOnly) {
+			// the synthetic fields only serve the method bodies
+			syntheticFields = null;
+			skipPrivateFields = !isAbiPrivateMembers();
+			fieldCount = 0;
+			for (int i = 0, max = fieldDecls == null ? 0 : fieldDecls.length; i < max; i++) {
+				FieldBinding field = fieldDecls[i].binding;
+				if (field != null && !(skipPrivateFields && field.isPrivate()))
+					fieldCount++;
+			}
+		}
 
 		// write the number of fields
 		if (fieldCount > 0xFFFF) {
@@ -792,10 +816,9 @@ public class ClassFile implements TypeConstants, TypeIds {
 		this.contents[this.contentsOffset++] = (byte) (fieldCount >> 8);
 		this.contents[this.contentsOffset++] = (byte) fieldCount;
 
-		FieldDeclaration[] fieldDecls = currentBinding.scope.referenceContext.fields;
 		for (int i = 0, max = fieldDecls == null ? 0 : fieldDecls.length; i < max; i++) {
 			FieldDeclaration fieldDecl = fieldDecls[i];
-			if (fieldDecl.binding != null) {
+			if (fieldDecl.binding != null && !(skipPrivateFields && fieldDecl.binding.isPrivate())) {
 				addFieldInfo(fieldDecl.binding);
 			}
 		}
@@ -1070,6 +1093,94 @@ public class ClassFile implements TypeConstants, TypeIds {
 		addProblemMethod(method, methodBinding, problems);
 	}
 
+	/**
+	 * INTERNAL USE-ONLY
+	 * Generate the byte for the method info of a source method in the ABI, unless it is a
+	 * private method and the private members are not requested.
+	 *
+	 * @param methodBinding org.eclipse.jdt.internal.compiler.lookup.MethodBinding
+	 */
+	public void addAbiMethod(MethodBinding methodBinding) {
+		if (methodBinding.isPrivate() && !isAbiPrivateMembers())
+			return;
+		addStubMethod(methodBinding);
+	}
+
+	private boolean isAbiPrivateMembers() {
+		// the private fields of a record describe its components
+		return this.referenceBinding.scope.compilerOptions().generateAbiPrivateMembers || this.referenceBinding.isRecord();
+	}
+
+	/**
+	 * INTERNAL USE-ONLY
+	 * Generate the byte for the method info of a method whose body is not part of the ABI.
+	 * Its code, if any, only throws a null pointer exception, so that it does not depend on
+	 * the body nor on its position in the source.
+	 *
+	 * @param methodBinding org.eclipse.jdt.internal.compiler.lookup.MethodBinding
+	 */
+	public void addStubMethod(MethodBinding methodBinding) {
+		generateMethodInfoHeader(methodBinding);
+		int methodAttributeOffset = this.contentsOffset;
+		int attributesNumber = generateMethodInfoAttributes(methodBinding);
+		if (!methodBinding.isNative() && !methodBinding.isAbstract()) {
+			int codeAttributeOffset = this.contentsOffset;
+			generateCodeAttributeHeader();
+			this.codeStream.init(this);
+			this.codeStream.initializeMaxLocals(methodBinding);
+			this.codeStream.aconst_null();
+			this.codeStream.athrow();
+			completeCodeAttributeForStubMethod(codeAttributeOffset);
+			attributesNumber++;
+		}
+		completeMethodInfo(methodBinding, methodAttributeOffset, attributesNumber);
+	}
+
+	/**
+	 * INTERNAL USE-ONLY
+	 * That method completes the creation of the code attribute of a stub method by setting
+	 * - the attribute_length
+	 * - max_stack
+	 * - max_locals
+	 * - code_length
+	 * - exception table (empty)
+	 * A stub method has no debug attribute, and needs no stack map since it does not branch.
+	 *
+	 * @param codeAttributeOffset <CODE>int</CODE>
+	 */
+	public void completeCodeAttributeForStubMethod(int codeAttributeOffset) {
+		// reinitialize the localContents with the byte modified by the code stream
+		this.contents = this.codeStream.bCodeStream;
+		int localContentsOffset = this.codeStream.classFileOffset;
+		int max_stack = this.codeStream.stackMax;
+		this.contents[codeAttributeOffset + 6] = (byte) (max_stack >> 8);
+		this.contents[codeAttributeOffset + 7] = (byte) max_stack;
+		int max_locals = this.codeStream.maxLocals;
+		this.contents[codeAttributeOffset + 8] = (byte) (max_locals >> 8);
+		this.contents[codeAttributeOffset + 9] = (byte) max_locals;
+		int code_length = this.codeStream.position;
+		this.contents[codeAttributeOffset + 10] = (byte) (code_length >> 24);
+		this.contents[codeAttributeOffset + 11] = (byte) (code_length >> 16);
+		this.contents[codeAttributeOffset + 12] = (byte) (code_length >> 8);
+		this.contents[codeAttributeOffset + 13] = (byte) code_length;
+		if (localContentsOffset + 4 >= this.contents.length) {
+			resizeContents(4);
+		}
+		// write the exception table
+		this.contents[localContentsOffset++] = 0;
+		this.contents[localContentsOffset++] = 0;
+		// no attribute
+		this.contents[localContentsOffset++] = 0;
+		this.contents[localContentsOffset++] = 0;
+		this.contentsOffset = localContentsOffset;
+		// update the attribute length
+		int codeAttributeLength = this.contentsOffset - (codeAttributeOffset + 6);
+		this.contents[codeAttributeOffset + 2] = (byte) (codeAttributeLength >> 24);
+		this.contents[codeAttributeOffset + 3] = (byte) (codeAttributeLength >> 16);
+		this.contents[codeAttributeOffset + 4] = (byte) (codeAttributeLength >> 8);
+		this.contents[codeAttributeOffset + 5] = (byte) codeAttributeLength;
+	}
+
 	/**
 	 * INTERNAL USE-ONLY
 	 * Generate the byte for all the special method infos.
@@ -1094,6 +1205,26 @@ public class ClassFile implements TypeConstants, TypeIds {
 			completeMethodInfo(methodBinding, methodAttributeOffset, attributeNumber);
 		}
 
+		if (this.referenceBinding.scope.compilerOptions().generateAbiOnly) {
+			// only the synthetic methods which are visible from other types, without their code
+			SyntheticMethodBinding[] syntheticMethods = this.referenceBinding.syntheticMethods();
+			if (syntheticMethods != null) {
+				for (SyntheticMethodBinding syntheticMethod : syntheticMethods) {
+					switch (syntheticMethod.purpose) {
+						case SyntheticMethodBinding.BridgeMethod :
+						case SyntheticMethodBinding.EnumValues :
+						case SyntheticMethodBinding.EnumValueOf :
+						case SyntheticMethodBinding.RecordOverrideEquals :
+						case SyntheticMethodBinding.RecordOverrideHashCode :
+						case SyntheticMethodBinding.RecordOverrideToString :
+							addStubMethod(syntheticMethod);
+							break;
+					}
+				}
+			}
+			return;
+		}
+
 		// add synthetic methods infos
 		int emittedSyntheticsCount = 0;
 		SyntheticMethodBinding deserializeLambdaMethod = null;
@@ -2619,7 +2750,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 	 * @return char[]
 	 */
 	public char[] fileName() {
-		return this.constantPool.UTF8Cache.returnKeyFor(2);
+		return this.constantPool.utf8At(2);
 	}
 
 	private void generateAnnotation(Annotation annotation, int currentOffset) {
@@ -2882,6 +3013,15 @@ public class ClassFile implements TypeConstants, TypeIds {
 
 		int localContentsOffset = this.contentsOffset;
 		List<String> nestedMembers = this.referenceBinding.getNestMembers();
+		if (nestedMembers != null && this.referenceBinding.scope.compilerOptions().generateAbiOnly) {
+			// the local types are not generated
+			nestedMembers = new ArrayList<>();
+			for (SourceTypeBinding member : this.referenceBinding.nestMembers) {
+				if (!isInLocalType(member))
+					nestedMembers.add(new String(member.constantPoolName()));
+			}
+			Collections.sort(nestedMembers);
+		}
 		int numberOfNestedMembers = nestedMembers != null ? nestedMembers.size() : 0;
 		if (numberOfNestedMembers == 0) // JVMS 11 4.7.29 says "at most one" NestMembers attribute - return if none.
 			return 0;
@@ -2911,6 +3051,13 @@ public class ClassFile implements TypeConstants, TypeIds {
 		this.contentsOffset = localContentsOffset;
 		return 1;
 	}
+	private static boolean isInLocalType(ReferenceBinding type) {
+		for (ReferenceBinding current = type; current != null; current = current.enclosingType()) {
+			if (current.isLocalType())
+				return true;
+		}
+		return false;
+	}
 	private int generateNestAttributes() {
 		int nAttrs = generateNestMembersAttribute(); //either member or host will exist 4.7.29
 		nAttrs += generateNestHostAttribute();
@@ -13,63 +13,136 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
+/**
+ * Pool of class files, so that their constant pool, code stream and byte arrays are reused from one type to the next.
+ * <p>
+ * Each thread generating code acquires class files from its own slot. A slot keeps the class files released to it,
+ * up to {@link #MAX_POOL_SIZE}. A new class file is only created when all the released ones are in use, so a slot never
+ * keeps more class files than it had in use at once (e.g. all the types of the largest unit, plus the ones of the units
+ * waiting to be written). A class file may be released from another thread, it then goes back to the slot it was
+ * acquired from. Class files created by a slot get byte arrays sized after the ones recently generated by that slot.
+ * </p>
+ * <p>
+ * The pool keeps track of its slots, and drops them all on {@link #reset()}.
+ * </p>
+ */
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
-	ClassFile[] classFiles;
+	public static final int MAX_POOL_SIZE = 256; // released class files kept per thread at most
+
+	static final class Slot {
+		ClassFile[] classFiles = new ClassFile[POOL_SIZE];
+		int freeCount;
+		boolean dropped; // by the reset of the pool, released class files are no longer kept
+		// byte array sizes for new class files, decaying maxima of the sizes used recently
+		int headerSize = ClassFile.INITIAL_HEADER_SIZE;
+		int contentsSize = ClassFile.INITIAL_CONTENTS_SIZE;
+
+		synchronized ClassFile take() {
+			if (this.freeCount == 0)
+				return null;
+			ClassFile classFile = this.classFiles[--this.freeCount];
+			this.classFiles[this.freeCount] = null;
+			return classFile;
+		}
+
+		synchronized void give(ClassFile classFile) {
+			this.headerSize = adjust(this.headerSize, classFile.headerOffset, ClassFile.INITIAL_HEADER_SIZE);
+			this.contentsSize = adjust(this.contentsSize, classFile.contentsOffset, ClassFile.INITIAL_CONTENTS_SIZE);
+			if (this.dropped || this.freeCount >= MAX_POOL_SIZE)
+				return;
+			int length = this.classFiles.length;
+			if (this.freeCount == length)
+				System.arraycopy(this.classFiles, 0, this.classFiles = new ClassFile[Math.min(length * 2, MAX_POOL_SIZE)], 0, length);
+			this.classFiles[this.freeCount++] = classFile;
+		}
+
+		synchronized void drop() {
+			this.dropped = true;
+			this.classFiles = null;
+			this.freeCount = 0;
+		}
+
+		private static int adjust(int size, int used, int minimum) {
+			size -= size >> 3;
+			return Math.max(minimum, Math.max(size, used));
+		}
+	}
+
+	private final ThreadLocal<Slot> slots = new ThreadLocal<>();
+	private final List<Slot> registry = new ArrayList<>(); // the slots not dropped yet
 
 private ClassFilePool() {
 	// prevent instantiation
-	this.classFiles = new ClassFile[POOL_SIZE];
 }
 
 public static ClassFilePool newInstance() {
 	return new ClassFilePool();
 }
 
-public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(typeBinding);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
-			classFile.isShared = true;
-			return classFile;
+private Slot getSlot() {
+	Slot slot = this.slots.get();
+	if (slot == null || slot.dropped) {
+		slot = new Slot();
+		synchronized (this.registry) {
+			this.registry.add(slot);
 		}
+		this.slots.set(slot);
 	}
-	return new ClassFile(typeBinding);
+	return slot;
 }
-public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, CompilerOptions options) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(moduleBinding, options);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(null, options);
-			classFile.isShared = true;
-			return classFile;
+public ClassFile acquire(SourceTypeBinding typeBinding) {
+	Slot slot = getSlot();
+	ClassFile classFile = slot.take();
+	CompilerStats stats = typeBinding.scope.environment().root.stats;
+	if (classFile == null) {
+		classFile = new ClassFile(typeBinding, slot.headerSize, slot.contentsSize);
+		if (stats != null)
+			stats.classFilesCreated++;
+	} else {
+		classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
+		if (stats != null) {
+			stats.classFilesReused++;
+			stats.classFileReusedBytes += classFile.header.length + classFile.contents.length;
 		}
 	}
-	return new ClassFile(moduleBinding, options);
+	classFile.pool = slot;
+	classFile.isShared = true;
+	return classFile;
+}
+public ClassFile acquireForModule(ModuleBinding moduleBinding, CompilerOptions options) {
+	Slot slot = getSlot();
+	ClassFile classFile = slot.take();
+	if (classFile == null) {
+		classFile = new ClassFile(moduleBinding, options);
+	} else {
+		classFile.reset(null, options);
+	}
+	classFile.pool = slot;
+	classFile.isShared = true;
+	return classFile;
 }
-public synchronized void release(ClassFile classFile) {
+public void release(ClassFile classFile) {
+	Slot slot = classFile.pool;
+	if (slot == null || !classFile.isShared)
+		return;
 	classFile.isShared = false;
+	slot.give(classFile);
 }
 public void reset() {
-	Arrays.fill(this.classFiles, null);
+	// class files still in use go back to their dropped slot, which does not keep them
+	synchronized (this.registry) {
+		for (Slot slot : this.registry)
+			slot.drop();
+		this.registry.clear();
+	}
 }
 }
@@ -19,7 +19,9 @@ package org.eclipse.jdt.internal.compiler;
 import org.eclipse.jdt.core.compiler.*;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.*;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats.UnitStats;
 import org.eclipse.jdt.internal.compiler.ast.*;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeDigest;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.lookup.*;
 import org.eclipse.jdt.internal.compiler.parser.*;
@@ -58,6 +60,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int processedQueueSize = ProcessTaskManager.PROCESSED_QUEUE_SIZE; // when not using a single thread, number of processed units waiting to be accepted
+	public int prefetchThreads = 0; // number of worker threads looking up the types named by the units ahead of their resolution, needs a thread safe name environment
 
 	// number of initial units parsed at once (-1: none)
 
@@ -423,7 +427,20 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	}
 
 	public void compile(ICompilationUnit[] sourceUnits) {
-		compile(sourceUnits, false);
+		boolean interning = IdentifierInterner.ENABLED;
+		long internedIdentifiers = interning ? IdentifierInterner.getHitCount() : 0;
+		long internSavedBytes = interning ? IdentifierInterner.getSavedBytes() : 0;
+		long digestReads = BinaryTypeDigest.getReadCount();
+		try {
+			compile(sourceUnits, false);
+		} finally {
+			// also counts the identifiers and binary types of concurrent compilations, if any
+			if (interning) {
+				this.stats.internedIdentifiers += IdentifierInterner.getHitCount() - internedIdentifiers;
+				this.stats.internSavedBytes += IdentifierInterner.getSavedBytes() - internSavedBytes;
+			}
+			this.stats.digestedBinaryTypeCount += BinaryTypeDigest.getReadCount() - digestReads;
+		}
 	}
 	/**
 	 * General API
@@ -843,6 +860,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				// diet parsing for large collection of units
 				CompilationUnitDeclaration parsedUnit;
 				unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+				UnitStats unitStats = this.stats.startUnit(sourceUnits[i].getFileName());
 				long parseStart = System.currentTimeMillis();
 				if (this.totalUnits < this.parseThreshold) {
 					parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
@@ -851,9 +869,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				}
 				long resolveStart = System.currentTimeMillis();
 				this.stats.parseTime += resolveStart - parseStart;
+				this.stats.endPhase(unitStats, CompilerStats.PARSE);
 				// initial type binding creation
 				this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
 				this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+				this.stats.endPhase(unitStats, CompilerStats.RESOLVE);
 				addCompilationUnit(sourceUnits[i], parsedUnit);
 				ImportReference currentPackage = parsedUnit.currentPackage;
 				if (currentPackage != null) {
@@ -874,6 +894,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			this.parser.readManager.shutdown();
 			this.parser.readManager = null;
 		}
+		if (this.prefetchThreads > 0 && this.annotationProcessorManager == null)
+			this.lookupEnvironment.prefetchBinaryTypes(this.unitsToProcess, this.totalUnits, this.prefetchThreads);
 		// binding resolution
 		this.lookupEnvironment.completeTypeBindings();
 	}
@@ -883,12 +905,16 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
+		UnitStats unitStats = this.stats.startUnit(unit.getFileName());
 		long parseStart = System.currentTimeMillis();
 
-		this.parser.getMethodBodies(unit);
+		// method bodies do not contribute to the ABI, leave them unparsed
+		if (!this.options.generateAbiOnly)
+			this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
 		this.stats.parseTime += resolveStart - parseStart;
+		this.stats.endPhase(unitStats, CompilerStats.PARSE);
 
 		// fault in fields & methods
 		if (unit.scope != null)
@@ -903,12 +929,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		long analyzeStart = System.currentTimeMillis();
 		this.stats.resolveTime += analyzeStart - resolveStart;
+		this.stats.endPhase(unitStats, CompilerStats.RESOLVE);
 
 		//No need of analysis or generation of code if statements are not required
-		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
+		if (!this.options.ignoreMethodBodies && !this.options.generateAbiOnly) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
 		this.stats.analyzeTime += generateStart - analyzeStart;
+		this.stats.endPhase(unitStats, CompilerStats.ANALYZE);
 
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
 
@@ -920,6 +948,9 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		this.stats.endPhase(unitStats, CompilerStats.GENERATE);
+		if (unitStats != null && unit.compilationResult.lineSeparatorPositions != null)
+			unitStats.lineCount = unit.compilationResult.lineSeparatorPositions.length;
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -14,6 +14,8 @@
 
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.concurrent.locks.LockSupport;
+
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 
@@ -21,13 +23,16 @@ public class ProcessTaskManager implements Runnable {
 
 	Compiler compiler;
 	private int unitIndex;
-	private Thread processingThread;
+	private volatile Thread processingThread;
 	CompilationUnitDeclaration unitToProcess;
 	private Throwable caughtException;
 
-	// queue
-	volatile int currentIndex, availableIndex, size, sleepCount;
-	CompilationUnitDeclaration[] units;
+	// queue - lock-free ring buffer, the processing thread is the only producer & the writing/main thread the only consumer
+	final CompilationUnitDeclaration[] units;
+	final int size;
+	volatile long producerIndex, consumerIndex; // number of units added & removed so far
+	volatile Thread waitingProducer, waitingConsumer; // thread parked until the queue is not full/empty anymore
+	long producerStallTime, consumerStallTime; // in nanoseconds
 
 	public static final int PROCESSED_QUEUE_SIZE = 12;
 
@@ -35,11 +40,10 @@ public ProcessTaskManager(Compiler compiler, int startingIndex) {
 	this.compiler = compiler;
 	this.unitIndex = startingIndex;
 
-	this.currentIndex = 0;
-	this.availableIndex = 0;
-	this.size = PROCESSED_QUEUE_SIZE;
-	this.sleepCount = 0; // 0 is no one, +1 is the processing thread & -1 is the writing/main thread
+	this.size = compiler.processedQueueSize > 0 ? compiler.processedQueueSize : PROCESSED_QUEUE_SIZE;
 	this.units = new CompilationUnitDeclaration[this.size];
+	this.producerIndex = 0;
+	this.consumerIndex = 0;
 
 	synchronized (this) {
 		this.processingThread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
@@ -49,34 +53,37 @@ public ProcessTaskManager(Compiler compiler, int startingIndex) {
 }
 
 // add unit to the queue - wait if no space is available
-private synchronized void addNextUnit(CompilationUnitDeclaration newElement) {
-	while (this.units[this.availableIndex] != null) {
-		//System.out.print('a');
-		//if (this.sleepCount < 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-		this.sleepCount = 1;
-		try {
-			wait(250);
-		} catch (InterruptedException ignore) {
-			// ignore
-		}
-		this.sleepCount = 0;
+private void addNextUnit(CompilationUnitDeclaration newElement) {
+	long index = this.producerIndex;
+	if (index - this.consumerIndex >= this.size) {
+		long stallStart = System.nanoTime();
+		do {
+			if (this.processingThread == null)
+				return; // shutting down, nobody will remove the unit
+			this.waitingProducer = Thread.currentThread();
+			if (index - this.consumerIndex >= this.size) // check again now that the writing thread can see we are waiting
+				LockSupport.park(this);
+			this.waitingProducer = null;
+		} while (index - this.consumerIndex >= this.size);
+		this.producerStallTime += System.nanoTime() - stallStart;
 	}
 
-	this.units[this.availableIndex++] = newElement;
-	if (this.availableIndex >= this.size)
-		this.availableIndex = 0;
-	if (this.sleepCount <= -1)
-		notify(); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
+	this.units[(int) (index % this.size)] = newElement;
+	this.producerIndex = index + 1; // publish the unit
+	Thread consumer = this.waitingConsumer;
+	if (consumer != null)
+		LockSupport.unpark(consumer); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
 }
 
 public CompilationUnitDeclaration removeNextUnit() throws Error {
-	CompilationUnitDeclaration next = null;
-	boolean yield = false;
-	synchronized (this) {
-		next = this.units[this.currentIndex];
-		if (next == null || this.caughtException != null) {
+	long index = this.consumerIndex;
+	if (index == this.producerIndex) {
+		long stallStart = System.nanoTime();
+		try {
 			do {
 				if (this.processingThread == null) {
+					if (index != this.producerIndex)
+						break; // the last unit was added while the processing thread was ending
 					if (this.caughtException != null) {
 						// rethrow the caught exception from the processingThread in the main compiler thread
 						if (this.caughtException instanceof Error)
@@ -85,34 +92,38 @@ public CompilationUnitDeclaration removeNextUnit() throws Error {
 					}
 					return null;
 				}
-				//System.out.print('r');
-				//if (this.sleepCount > 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-				this.sleepCount = -1;
-				try {
-					wait(100);
-				} catch (InterruptedException ignore) {
-					// ignore
-				}
-				this.sleepCount = 0;
-				next = this.units[this.currentIndex];
-			} while (next == null);
-		}
-
-		this.units[this.currentIndex++] = null;
-		if (this.currentIndex >= this.size)
-			this.currentIndex = 0;
-		if (this.sleepCount >= 1 && ++this.sleepCount > 4) {
-			notify(); // wake up processing thread to add next unit but only after removing some elements first
-			yield = this.sleepCount > 8;
+				this.waitingConsumer = Thread.currentThread();
+				if (index == this.producerIndex && this.processingThread != null) // check again now that the processing thread can see we are waiting
+					LockSupport.park(this);
+				this.waitingConsumer = null;
+			} while (index == this.producerIndex);
+		} finally {
+			this.consumerStallTime += System.nanoTime() - stallStart;
 		}
 	}
-	if (yield)
-		Thread.yield();
+
+	int slot = (int) (index % this.size);
+	CompilationUnitDeclaration next = this.units[slot];
+	this.units[slot] = null;
+	this.consumerIndex = index + 1; // free the slot
+	Thread producer = this.waitingProducer;
+	if (producer != null)
+		LockSupport.unpark(producer); // wake up processing thread to add next unit
 	return next;
 }
 
 @Override
 public void run() {
+	try {
+		processUnits();
+	} finally {
+		Thread consumer = this.waitingConsumer;
+		if (consumer != null)
+			LockSupport.unpark(consumer); // let the writing thread know there are no more units to accept
+	}
+}
+
+private void processUnits() {
 	boolean noAnnotations = this.compiler.annotationProcessorManager == null;
 	while (this.processingThread != null) {
 		this.unitToProcess = null;
@@ -152,8 +163,8 @@ public void run() {
 			addNextUnit(this.unitToProcess);
 		} catch (Error | RuntimeException e) {
 			synchronized (this) {
-				this.processingThread = null;
 				this.caughtException = e;
+				this.processingThread = null;
 			}
 			return;
 		}
@@ -167,13 +178,16 @@ public void shutdown() {
 			if (this.processingThread != null) {
 				t = this.processingThread;
 				this.processingThread = null;
-				notifyAll();
 			}
 		}
-		if (t != null)
+		if (t != null) {
+			LockSupport.unpark(t); // in case it waits for room in the queue
 			t.join(250); // do not wait forever
+		}
 	} catch (InterruptedException ignored) {
 		// ignore
 	}
+	this.compiler.stats.producerStallTime += this.producerStallTime / 1000000;
+	this.compiler.stats.consumerStallTime += this.consumerStallTime / 1000000;
 }
 }
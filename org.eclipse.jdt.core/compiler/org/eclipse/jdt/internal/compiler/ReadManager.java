@@ -29,11 +29,14 @@ public class ReadManager implements Runnable {
 	Thread[] readingThreads;
 	char[] readInProcessMarker = new char[0];
 	int sleepingThreadCount;
+	int cachedCount; // number of files being read or read but not consumed yet
+	int cacheWindow; // number of files which may be cached, adapts to the pace of the consumer
 	private Throwable caughtException;
 
 	static final int START_CUSHION = 5;
 	public static final int THRESHOLD = 10;
 	static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	static final int MAX_CACHE_SIZE = 4 * CACHE_SIZE; // ... even when reading is slower than parsing
 
 public ReadManager(ICompilationUnit[] files, int length) {
 	// start the background threads to read the file's contents
@@ -57,11 +60,13 @@ public ReadManager(ICompilationUnit[] files, int length) {
 			this.units = new ICompilationUnit[length];
 			System.arraycopy(files, 0, this.units, 0, length);
 			this.nextFileToRead = START_CUSHION; // skip some files to reduce the number of times we have to wait
-			this.filesRead = new ICompilationUnit[CACHE_SIZE];
-			this.contentsRead = new char[CACHE_SIZE][];
+			this.filesRead = new ICompilationUnit[MAX_CACHE_SIZE];
+			this.contentsRead = new char[MAX_CACHE_SIZE][];
 			this.readyToReadPosition = 0;
 			this.nextAvailablePosition = 0;
 			this.sleepingThreadCount = 0;
+			this.cachedCount = 0;
+			this.cacheWindow = Math.max(CACHE_SIZE, threadCount);
 			this.readingThreads = new Thread[threadCount];
 			for (int i = threadCount; --i >= 0;) {
 				this.readingThreads[i] = new Thread(this, "Compiler Source File Reader"); //$NON-NLS-1$
@@ -89,6 +94,14 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 	synchronized (this) {
 		if (unit == this.filesRead[this.readyToReadPosition]) {
 			result = this.contentsRead[this.readyToReadPosition];
+			if (result == this.readInProcessMarker || result == null) {
+				// reading does not keep up, let the reading threads go further ahead to absorb slow files
+				if (this.cacheWindow < MAX_CACHE_SIZE)
+					this.cacheWindow++;
+			} else if (this.sleepingThreadCount > 0 && this.cacheWindow > Math.max(CACHE_SIZE, rThreads.length)) {
+				// reading is ahead and waiting for room, no need to keep that many files in memory
+				this.cacheWindow--;
+			}
 			while (result == this.readInProcessMarker || result == null) {
 				// let the readingThread know we're waiting
 				//System.out.print('|');
@@ -108,6 +121,7 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 			// free spot for next file
 			this.filesRead[this.readyToReadPosition] = null;
 			this.contentsRead[this.readyToReadPosition] = null;
+			this.cachedCount--;
 			if (++this.readyToReadPosition >= this.contentsRead.length)
 				this.readyToReadPosition = 0;
 			if (this.sleepingThreadCount > 0) {
@@ -129,8 +143,9 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 				this.nextFileToRead = unitIndex + START_CUSHION;
 				this.readyToReadPosition = 0;
 				this.nextAvailablePosition = 0;
-				this.filesRead = new ICompilationUnit[CACHE_SIZE];
-				this.contentsRead = new char[CACHE_SIZE][];
+				this.cachedCount = 0;
+				this.filesRead = new ICompilationUnit[MAX_CACHE_SIZE];
+				this.contentsRead = new char[MAX_CACHE_SIZE][];
 				notifyAll();
 			}
 		}
@@ -152,7 +167,7 @@ public void run() {
 			synchronized (this) {
 				if (this.readingThreads == null) return;
 
-				while (this.filesRead[this.nextAvailablePosition] != null) {
+				while (this.cachedCount >= this.cacheWindow) {
 					this.sleepingThreadCount++;
 					try {
 						wait(250); // wait until a spot in contents is available
@@ -169,6 +184,7 @@ public void run() {
 					this.nextAvailablePosition = 0;
 				this.filesRead[position] = unit;
 				this.contentsRead[position] = this.readInProcessMarker; // mark the spot so we know its being read
+				this.cachedCount++;
 			}
 			char[] result = unit.getContents();
 			synchronized (this) {
@@ -275,6 +275,10 @@ public abstract class AbstractMethodDeclaration
 			classFile.addProblemMethod(this, this.binding, problemsCopy);
 			return;
 		}
+		if (this.scope.compilerOptions().generateAbiOnly) {
+			classFile.addAbiMethod(this.binding);
+			return;
+		}
 		int problemResetPC = 0;
 		CompilationResult unitResult = null;
 		int problemCount = 0;
@@ -115,6 +115,10 @@ public class Clinit extends AbstractMethodDeclaration {
 			// should never have to add any <clinit> problem method
 			return;
 		}
+		if (classScope.compilerOptions().generateAbiOnly) {
+			// static initializers are not part of the ABI
+			return;
+		}
 		CompilationResult unitResult = null;
 		int problemCount = 0;
 		if (classScope != null) {
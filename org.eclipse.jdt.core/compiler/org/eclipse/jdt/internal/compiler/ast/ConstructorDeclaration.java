@@ -289,6 +289,10 @@ public void generateCode(ClassScope classScope, ClassFile classFile) {
 		classFile.addProblemConstructor(this, this.binding, problemsCopy);
 		return;
 	}
+	if (this.scope.compilerOptions().generateAbiOnly) {
+		classFile.addAbiMethod(this.binding);
+		return;
+	}
 	boolean restart = false;
 	boolean abort = false;
 	CompilationResult unitResult = null;
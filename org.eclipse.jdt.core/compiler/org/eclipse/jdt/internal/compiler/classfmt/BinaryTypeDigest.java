@@ -0,0 +1,945 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryNestedType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
+import org.eclipse.jdt.internal.compiler.env.ITypeAnnotationWalker;
+import org.eclipse.jdt.internal.compiler.impl.BooleanConstant;
+import org.eclipse.jdt.internal.compiler.impl.ByteConstant;
+import org.eclipse.jdt.internal.compiler.impl.CharConstant;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.impl.DoubleConstant;
+import org.eclipse.jdt.internal.compiler.impl.FloatConstant;
+import org.eclipse.jdt.internal.compiler.impl.IntConstant;
+import org.eclipse.jdt.internal.compiler.impl.LongConstant;
+import org.eclipse.jdt.internal.compiler.impl.ShortConstant;
+import org.eclipse.jdt.internal.compiler.impl.StringConstant;
+import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+
+/**
+ * A binary type decoded from a digest: the compact form of what an {@link IBinaryType} answers
+ * (names, signatures, modifiers, tag bits, member tables, annotations and missing types), as
+ * written by {@link #encode(IBinaryType)} from a decoded class file.
+ * <p>
+ * A digest starts with the table of its distinct names, which the rest refers to by index, and
+ * leaves out what only the class file has (constant pool, code, attributes the compiler does not
+ * read). It is decoded in one pass from a buffer, typically a slice of a mapped digest cache,
+ * without going back to the class file.
+ * </p>
+ */
+public class BinaryTypeDigest implements IBinaryType {
+
+	private static final int NULL_COUNT = 0xFFFF;
+	// element value tags, besides the ones of the class file format (JVMS 4.7.16.1)
+	private static final int NULL_VALUE = 0;
+	private static final int NOT_A_CONSTANT = 'N';
+
+	private static final LongAdder READ_COUNT = new LongAdder();
+
+	private char[] fileName;
+	private int modifiers;
+	private long tagBits;
+	private boolean isAnonymous;
+	private boolean isLocal;
+	private boolean isMember;
+	private char[] name;
+	private char[] sourceName;
+	private char[] superclassName;
+	private char[] enclosingTypeName;
+	private char[] enclosingMethod;
+	private char[] signature;
+	private char[] sourceFileName;
+	public char[] moduleName;
+	private char[][] interfaceNames;
+	private char[][][] missingTypeNames;
+	private IBinaryNestedType[] memberTypes;
+	private IBinaryAnnotation[] annotations;
+	private IBinaryTypeAnnotation[] typeAnnotations;
+	private IBinaryField[] fields;
+	private IBinaryMethod[] methods;
+
+/**
+ * Decodes the digest starting at the position of the given buffer, which is left unchanged.
+ *
+ * @param buffer holds the digest, as written by {@link #encode(IBinaryType)}
+ * @param fileName the name of the class file the digest was made from
+ */
+public BinaryTypeDigest(ByteBuffer buffer, char[] fileName) {
+	this.fileName = fileName;
+	Reader reader = new Reader(buffer);
+	this.modifiers = reader.u4();
+	this.tagBits = reader.u8();
+	int flags = reader.u1();
+	this.isAnonymous = (flags & 1) != 0;
+	this.isLocal = (flags & 2) != 0;
+	this.isMember = (flags & 4) != 0;
+	this.name = reader.string();
+	this.sourceName = reader.string();
+	this.superclassName = reader.string();
+	this.enclosingTypeName = reader.string();
+	this.enclosingMethod = reader.string();
+	this.signature = reader.string();
+	this.sourceFileName = reader.string();
+	this.moduleName = reader.string();
+	this.interfaceNames = reader.strings();
+	int count = reader.count();
+	if (count != -1) {
+		this.missingTypeNames = new char[count][][];
+		for (int i = 0; i < count; i++)
+			this.missingTypeNames[i] = reader.strings();
+	}
+	count = reader.count();
+	if (count != -1) {
+		this.memberTypes = new IBinaryNestedType[count];
+		for (int i = 0; i < count; i++)
+			this.memberTypes[i] = new NestedTypeDigest(reader.string(), reader.string(), reader.u4());
+	}
+	this.annotations = reader.annotations();
+	this.typeAnnotations = reader.typeAnnotations();
+	count = reader.count();
+	if (count != -1) {
+		this.fields = new IBinaryField[count];
+		for (int i = 0; i < count; i++)
+			this.fields[i] = new FieldDigest(reader);
+	}
+	count = reader.count();
+	if (count != -1) {
+		this.methods = new IBinaryMethod[count];
+		for (int i = 0; i < count; i++)
+			this.methods[i] = new MethodDigest(reader);
+	}
+	READ_COUNT.increment();
+}
+
+/**
+ * Answers the digest of the given binary type, or null if it has too many distinct names to be
+ * digested. Decodes all of the binary type.
+ */
+public static byte[] encode(IBinaryType binaryType) {
+	Writer writer = new Writer();
+	try {
+		writer.u4(binaryType.getModifiers());
+		writer.u8(binaryType.getTagBits());
+		writer.u1((binaryType.isAnonymous() ? 1 : 0) | (binaryType.isLocal() ? 2 : 0) | (binaryType.isMember() ? 4 : 0));
+		writer.string(binaryType.getName());
+		writer.string(binaryType.getSourceName());
+		writer.string(binaryType.getSuperclassName());
+		writer.string(binaryType.getEnclosingTypeName());
+		writer.string(binaryType.getEnclosingMethod());
+		writer.string(binaryType.getGenericSignature());
+		writer.string(binaryType.sourceFileName());
+		writer.string(binaryType.getModule());
+		writer.strings(binaryType.getInterfaceNames());
+		char[][][] missingTypes = binaryType.getMissingTypeNames();
+		if (writer.count(missingTypes)) {
+			for (char[][] missingType : missingTypes)
+				writer.strings(missingType);
+		}
+		IBinaryNestedType[] nestedTypes = binaryType.getMemberTypes();
+		if (writer.count(nestedTypes)) {
+			for (IBinaryNestedType nestedType : nestedTypes) {
+				writer.string(nestedType.getName());
+				writer.string(nestedType.getEnclosingTypeName());
+				writer.u4(nestedType.getModifiers());
+			}
+		}
+		writer.annotations(binaryType.getAnnotations());
+		writer.typeAnnotations(binaryType.getTypeAnnotations());
+		IBinaryField[] binaryFields = binaryType.getFields();
+		if (writer.count(binaryFields)) {
+			for (IBinaryField field : binaryFields)
+				FieldDigest.encode(field, writer);
+		}
+		IBinaryMethod[] binaryMethods = binaryType.getMethods();
+		if (writer.count(binaryMethods)) {
+			for (IBinaryMethod method : binaryMethods)
+				MethodDigest.encode(method, writer);
+		}
+		return writer.toByteArray();
+	} catch (IOException e) {
+		return null; // too many names or elements
+	}
+}
+
+/**
+ * Answers the number of digests decoded so far by this process.
+ */
+public static long getReadCount() {
+	return READ_COUNT.sum();
+}
+
+@Override
+public IBinaryAnnotation[] getAnnotations() {
+	return this.annotations;
+}
+@Override
+public IBinaryTypeAnnotation[] getTypeAnnotations() {
+	return this.typeAnnotations;
+}
+@Override
+public char[] getEnclosingMethod() {
+	return this.enclosingMethod;
+}
+@Override
+public char[] getEnclosingTypeName() {
+	return this.enclosingTypeName;
+}
+@Override
+public IBinaryField[] getFields() {
+	return this.fields;
+}
+@Override
+public char[] getModule() {
+	return this.moduleName;
+}
+@Override
+public char[] getGenericSignature() {
+	return this.signature;
+}
+@Override
+public char[][] getInterfaceNames() {
+	return this.interfaceNames;
+}
+@Override
+public IBinaryNestedType[] getMemberTypes() {
+	return this.memberTypes;
+}
+@Override
+public IBinaryMethod[] getMethods() {
+	return this.methods;
+}
+@Override
+public char[][][] getMissingTypeNames() {
+	return this.missingTypeNames;
+}
+@Override
+public char[] getName() {
+	return this.name;
+}
+@Override
+public char[] getSourceName() {
+	return this.sourceName;
+}
+@Override
+public char[] getSuperclassName() {
+	return this.superclassName;
+}
+@Override
+public long getTagBits() {
+	return this.tagBits;
+}
+@Override
+public boolean isAnonymous() {
+	return this.isAnonymous;
+}
+@Override
+public boolean isLocal() {
+	return this.isLocal;
+}
+@Override
+public boolean isMember() {
+	return this.isMember;
+}
+@Override
+public char[] sourceFileName() {
+	return this.sourceFileName;
+}
+@Override
+public ITypeAnnotationWalker enrichWithExternalAnnotationsFor(ITypeAnnotationWalker walker, Object member, LookupEnvironment environment) {
+	return walker;
+}
+@Override
+public ExternalAnnotationStatus getExternalAnnotationStatus() {
+	return ExternalAnnotationStatus.NOT_EEA_CONFIGURED;
+}
+@Override
+public int getModifiers() {
+	return this.modifiers;
+}
+@Override
+public boolean isBinaryType() {
+	return true;
+}
+@Override
+public char[] getFileName() {
+	return this.fileName;
+}
+@Override
+public String toString() {
+	return "BinaryTypeDigest for " + String.valueOf(this.name); //$NON-NLS-1$
+}
+
+static class FieldDigest implements IBinaryField {
+	private int modifiers;
+	private char[] name;
+	private char[] typeName;
+	private char[] signature;
+	private long tagBits;
+	private Constant constant;
+	private IBinaryAnnotation[] annotations;
+	private IBinaryTypeAnnotation[] typeAnnotations;
+
+	FieldDigest(Reader reader) {
+		this.modifiers = reader.u4();
+		this.name = reader.string();
+		this.typeName = reader.string();
+		this.signature = reader.string();
+		this.tagBits = reader.u8();
+		this.constant = (Constant) reader.value();
+		this.annotations = reader.annotations();
+		this.typeAnnotations = reader.typeAnnotations();
+	}
+	static void encode(IBinaryField field, Writer writer) throws IOException {
+		writer.u4(field.getModifiers());
+		writer.string(field.getName());
+		writer.string(field.getTypeName());
+		writer.string(field.getGenericSignature());
+		writer.u8(field.getTagBits());
+		writer.value(field.getConstant());
+		writer.annotations(field.getAnnotations());
+		writer.typeAnnotations(field.getTypeAnnotations());
+	}
+	@Override
+	public int getModifiers() {
+		return this.modifiers;
+	}
+	@Override
+	public IBinaryAnnotation[] getAnnotations() {
+		return this.annotations;
+	}
+	@Override
+	public IBinaryTypeAnnotation[] getTypeAnnotations() {
+		return this.typeAnnotations;
+	}
+	@Override
+	public Constant getConstant() {
+		return this.constant;
+	}
+	@Override
+	public char[] getGenericSignature() {
+		return this.signature;
+	}
+	@Override
+	public char[] getName() {
+		return this.name;
+	}
+	@Override
+	public long getTagBits() {
+		return this.tagBits;
+	}
+	@Override
+	public char[] getTypeName() {
+		return this.typeName;
+	}
+	@Override
+	public String toString() {
+		return String.valueOf(this.typeName) + ' ' + String.valueOf(this.name);
+	}
+}
+
+public static class MethodDigest implements IBinaryMethod {
+	private int modifiers;
+	private boolean isConstructor;
+	private boolean isClinit;
+	/**
+	 * Whether the method was read from annotation attributes (see {@link MethodInfoWithAnnotations}).
+	 */
+	public final boolean hasAnnotationAttributes;
+	private char[] selector;
+	private char[] descriptor;
+	private char[] signature;
+	private long tagBits;
+	private char[][] exceptionTypeNames;
+	private char[][] argumentNames;
+	private IBinaryAnnotation[] annotations;
+	private IBinaryAnnotation[][] parameterAnnotations;
+	private IBinaryTypeAnnotation[] typeAnnotations;
+	private Object defaultValue;
+
+	MethodDigest(Reader reader) {
+		this.modifiers = reader.u4();
+		int flags = reader.u1();
+		this.isConstructor = (flags & 1) != 0;
+		this.isClinit = (flags & 2) != 0;
+		this.hasAnnotationAttributes = (flags & 4) != 0;
+		this.selector = reader.string();
+		this.descriptor = reader.string();
+		this.signature = reader.string();
+		this.tagBits = reader.u8();
+		this.exceptionTypeNames = reader.strings();
+		this.argumentNames = reader.strings();
+		this.annotations = reader.annotations();
+		int count = reader.count();
+		if (count != -1) {
+			this.parameterAnnotations = new IBinaryAnnotation[count][];
+			for (int i = 0; i < count; i++)
+				this.parameterAnnotations[i] = reader.annotations();
+		}
+		this.typeAnnotations = reader.typeAnnotations();
+		this.defaultValue = reader.value();
+	}
+	static void encode(IBinaryMethod method, Writer writer) throws IOException {
+		writer.u4(method.getModifiers());
+		writer.u1((method.isConstructor() ? 1 : 0) | (method.isClinit() ? 2 : 0)
+				| (method instanceof MethodInfoWithAnnotations ? 4 : 0));
+		writer.string(method.getSelector());
+		writer.string(method.getMethodDescriptor());
+		writer.string(method.getGenericSignature());
+		writer.u8(method.getTagBits());
+		writer.strings(method.getExceptionTypeNames());
+		writer.strings(method.getArgumentNames());
+		writer.annotations(method.getAnnotations());
+		int annotatedParameters = method.getAnnotatedParametersCount();
+		boolean hasParameterAnnotations = annotatedParameters != 0;
+		if (!hasParameterAnnotations) {
+			try {
+				method.getParameterAnnotations(0, null);
+			} catch (IllegalStateException e) {
+				hasParameterAnnotations = true; // read from an attribute for no parameter
+			}
+		}
+		if (!hasParameterAnnotations) {
+			writer.u2(NULL_COUNT);
+		} else {
+			writer.u2(annotatedParameters);
+			for (int i = 0; i < annotatedParameters; i++)
+				writer.annotations(method.getParameterAnnotations(i, null));
+		}
+		writer.typeAnnotations(method.getTypeAnnotations());
+		writer.value(method.getDefaultValue());
+	}
+	@Override
+	public int getModifiers() {
+		return this.modifiers;
+	}
+	@Override
+	public boolean isConstructor() {
+		return this.isConstructor;
+	}
+	@Override
+	public char[][] getArgumentNames() {
+		return this.argumentNames;
+	}
+	@Override
+	public IBinaryAnnotation[] getAnnotations() {
+		return this.annotations;
+	}
+	@Override
+	public Object getDefaultValue() {
+		return this.defaultValue;
+	}
+	@Override
+	public char[][] getExceptionTypeNames() {
+		return this.exceptionTypeNames;
+	}
+	@Override
+	public char[] getGenericSignature() {
+		return this.signature;
+	}
+	@Override
+	public char[] getMethodDescriptor() {
+		return this.descriptor;
+	}
+	@Override
+	public IBinaryAnnotation[] getParameterAnnotations(int index, char[] classFileName) {
+		if (this.parameterAnnotations == null)
+			return null;
+		if (index >= this.parameterAnnotations.length) {
+			// same report as MethodInfoWithParameterAnnotations
+			StringBuffer message = new StringBuffer("Mismatching number of parameter annotations, "); //$NON-NLS-1$
+			message.append(index).append('>').append(this.parameterAnnotations.length - 1);
+			message.append(" in ").append(this.selector).append(this.signature != null ? this.signature : this.descriptor); //$NON-NLS-1$
+			if (classFileName != null)
+				message.append(" in ").append(classFileName); //$NON-NLS-1$
+			throw new IllegalStateException(message.toString());
+		}
+		return this.parameterAnnotations[index];
+	}
+	@Override
+	public int getAnnotatedParametersCount() {
+		return this.parameterAnnotations == null ? 0 : this.parameterAnnotations.length;
+	}
+	@Override
+	public char[] getSelector() {
+		return this.selector;
+	}
+	@Override
+	public long getTagBits() {
+		return this.tagBits;
+	}
+	@Override
+	public boolean isClinit() {
+		return this.isClinit;
+	}
+	@Override
+	public IBinaryTypeAnnotation[] getTypeAnnotations() {
+		return this.typeAnnotations;
+	}
+	@Override
+	public String toString() {
+		return BinaryTypeFormatter.methodToString(this);
+	}
+}
+
+static class NestedTypeDigest implements IBinaryNestedType {
+	private char[] name;
+	private char[] enclosingTypeName;
+	private int modifiers;
+
+	NestedTypeDigest(char[] name, char[] enclosingTypeName, int modifiers) {
+		this.name = name;
+		this.enclosingTypeName = enclosingTypeName;
+		this.modifiers = modifiers;
+	}
+	@Override
+	public char[] getEnclosingTypeName() {
+		return this.enclosingTypeName;
+	}
+	@Override
+	public int getModifiers() {
+		return this.modifiers;
+	}
+	@Override
+	public char[] getName() {
+		return this.name;
+	}
+}
+
+static class AnnotationDigest implements IBinaryAnnotation {
+	private char[] typeName;
+	private IBinaryElementValuePair[] pairs;
+	private boolean isDeprecated;
+
+	AnnotationDigest(char[] typeName, IBinaryElementValuePair[] pairs, boolean isDeprecated) {
+		this.typeName = typeName;
+		this.pairs = pairs;
+		this.isDeprecated = isDeprecated;
+	}
+	@Override
+	public char[] getTypeName() {
+		return this.typeName;
+	}
+	@Override
+	public IBinaryElementValuePair[] getElementValuePairs() {
+		return this.pairs;
+	}
+	@Override
+	public boolean isDeprecatedAnnotation() {
+		return this.isDeprecated;
+	}
+	@Override
+	public String toString() {
+		return BinaryTypeFormatter.annotationToString(this);
+	}
+}
+
+static class TypeAnnotationDigest implements IBinaryTypeAnnotation {
+	private IBinaryAnnotation annotation;
+	private int targetType;
+	private int info;
+	private int info2;
+	private int[] typePath;
+
+	TypeAnnotationDigest(IBinaryAnnotation annotation, int targetType, int info, int info2, int[] typePath) {
+		this.annotation = annotation;
+		this.targetType = targetType;
+		this.info = info;
+		this.info2 = info2;
+		this.typePath = typePath;
+	}
+	@Override
+	public IBinaryAnnotation getAnnotation() {
+		return this.annotation;
+	}
+	@Override
+	public int getTargetType() {
+		return this.targetType;
+	}
+	@Override
+	public int[] getTypePath() {
+		return this.typePath;
+	}
+	@Override
+	public int getSupertypeIndex() {
+		return this.info;
+	}
+	@Override
+	public int getTypeParameterIndex() {
+		return this.info;
+	}
+	@Override
+	public int getBoundIndex() {
+		return this.info2;
+	}
+	@Override
+	public int getMethodFormalParameterIndex() {
+		return this.info;
+	}
+	@Override
+	public int getThrowsTypeIndex() {
+		return this.info;
+	}
+	@Override
+	public String toString() {
+		return BinaryTypeFormatter.annotationToString(this);
+	}
+}
+
+/*
+ * Collects the names into a table written ahead of the rest.
+ */
+static class Writer {
+	private ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+	private DataOutputStream output = new DataOutputStream(this.bytes);
+	private Map<String, Integer> stringIndexes = new HashMap<>();
+	private ByteArrayOutputStream stringBytes = new ByteArrayOutputStream(1024);
+	private DataOutputStream strings = new DataOutputStream(this.stringBytes);
+
+	void u1(int value) throws IOException {
+		this.output.writeByte(value);
+	}
+	void u2(int value) throws IOException {
+		this.output.writeShort(value);
+	}
+	void u4(int value) throws IOException {
+		this.output.writeInt(value);
+	}
+	void u8(long value) throws IOException {
+		this.output.writeLong(value);
+	}
+	void string(char[] string) throws IOException {
+		if (string == null) {
+			u2(0);
+			return;
+		}
+		String key = String.valueOf(string);
+		Integer index = this.stringIndexes.get(key);
+		if (index == null) {
+			if (this.stringIndexes.size() == NULL_COUNT - 1)
+				throw new UTFDataFormatException("too many names"); //$NON-NLS-1$
+			index = Integer.valueOf(this.stringIndexes.size() + 1);
+			this.stringIndexes.put(key, index);
+			this.strings.writeUTF(key); // names come from the class file, so they fit
+		}
+		u2(index.intValue());
+	}
+	void strings(char[][] array) throws IOException {
+		if (count(array)) {
+			for (char[] string : array)
+				string(string);
+		}
+	}
+	/* Writes the length of the given array, answers whether it is not null. */
+	boolean count(Object[] array) throws IOException {
+		if (array == null) {
+			u2(NULL_COUNT);
+			return false;
+		}
+		if (array.length >= NULL_COUNT)
+			throw new IOException("too many elements"); //$NON-NLS-1$
+		u2(array.length);
+		return true;
+	}
+	void annotations(IBinaryAnnotation[] annotations) throws IOException {
+		if (count(annotations)) {
+			for (IBinaryAnnotation annotation : annotations)
+				annotation(annotation);
+		}
+	}
+	void annotation(IBinaryAnnotation annotation) throws IOException {
+		string(annotation.getTypeName());
+		u1(annotation.isDeprecatedAnnotation() ? 1 : 0);
+		IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+		if (count(pairs)) {
+			for (IBinaryElementValuePair pair : pairs) {
+				string(pair.getName());
+				value(pair.getValue());
+			}
+		}
+	}
+	void typeAnnotations(IBinaryTypeAnnotation[] typeAnnotations) throws IOException {
+		if (count(typeAnnotations)) {
+			for (IBinaryTypeAnnotation typeAnnotation : typeAnnotations) {
+				annotation(typeAnnotation.getAnnotation());
+				u1(typeAnnotation.getTargetType());
+				u4(typeAnnotation.getSupertypeIndex());
+				u4(typeAnnotation.getBoundIndex());
+				int[] typePath = typeAnnotation.getTypePath();
+				u2(typePath.length);
+				for (int step : typePath)
+					u1(step);
+			}
+		}
+	}
+	void value(Object value) throws IOException {
+		if (value == null) {
+			u1(NULL_VALUE);
+		} else if (value == Constant.NotAConstant) {
+			u1(NOT_A_CONSTANT);
+		} else if (value instanceof Constant) {
+			Constant constant = (Constant) value;
+			switch (constant.typeID()) {
+				case TypeIds.T_boolean:
+					u1('Z');
+					u1(constant.booleanValue() ? 1 : 0);
+					break;
+				case TypeIds.T_byte:
+					u1('B');
+					u1(constant.byteValue());
+					break;
+				case TypeIds.T_char:
+					u1('C');
+					u2(constant.charValue());
+					break;
+				case TypeIds.T_short:
+					u1('S');
+					u2(constant.shortValue());
+					break;
+				case TypeIds.T_int:
+					u1('I');
+					u4(constant.intValue());
+					break;
+				case TypeIds.T_long:
+					u1('J');
+					u8(constant.longValue());
+					break;
+				case TypeIds.T_float:
+					u1('F');
+					u4(Float.floatToRawIntBits(constant.floatValue()));
+					break;
+				case TypeIds.T_double:
+					u1('D');
+					u8(Double.doubleToRawLongBits(constant.doubleValue()));
+					break;
+				case TypeIds.T_JavaLangString:
+					u1('s');
+					string(constant.stringValue().toCharArray());
+					break;
+				default:
+					throw new IOException("unexpected constant " + constant); //$NON-NLS-1$
+			}
+		} else if (value instanceof EnumConstantSignature) {
+			EnumConstantSignature enumConstant = (EnumConstantSignature) value;
+			u1('e');
+			string(enumConstant.getTypeName());
+			string(enumConstant.getEnumConstantName());
+		} else if (value instanceof ClassSignature) {
+			u1('c');
+			string(((ClassSignature) value).getTypeName());
+		} else if (value instanceof IBinaryAnnotation) {
+			u1('@');
+			annotation((IBinaryAnnotation) value);
+		} else if (value instanceof Object[]) {
+			Object[] values = (Object[]) value;
+			u1('[');
+			count(values);
+			for (Object element : values)
+				value(element);
+		} else {
+			throw new IOException("unexpected value " + value); //$NON-NLS-1$
+		}
+	}
+	byte[] toByteArray() throws IOException {
+		ByteArrayOutputStream digest = new ByteArrayOutputStream(2 + this.stringBytes.size() + this.bytes.size());
+		DataOutputStream header = new DataOutputStream(digest);
+		header.writeShort(this.stringIndexes.size());
+		this.stringBytes.writeTo(digest);
+		this.bytes.writeTo(digest);
+		return digest.toByteArray();
+	}
+}
+
+/*
+ * Reads with absolute positions, so that the buffer can be shared between threads.
+ */
+static class Reader {
+	private ByteBuffer buffer;
+	private int position;
+	private char[][] strings;
+
+	Reader(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.position = buffer.position();
+		int count = u2();
+		this.strings = new char[count][];
+		for (int i = 0; i < count; i++)
+			this.strings[i] = utf8();
+	}
+	int u1() {
+		return this.buffer.get(this.position++) & 0xFF;
+	}
+	int u2() {
+		int value = this.buffer.getShort(this.position) & 0xFFFF;
+		this.position += 2;
+		return value;
+	}
+	int u4() {
+		int value = this.buffer.getInt(this.position);
+		this.position += 4;
+		return value;
+	}
+	long u8() {
+		long value = this.buffer.getLong(this.position);
+		this.position += 8;
+		return value;
+	}
+	/* Decodes modified UTF-8, as in ClassFileStruct#utf8At(int, int). */
+	private char[] utf8() {
+		int length = u2();
+		char[] result = new char[length];
+		int count = 0;
+		int end = this.position + length;
+		while (this.position < end) {
+			int x = u1();
+			if ((x & 0x80) != 0) {
+				int y = u1();
+				if ((x & 0x20) != 0) {
+					int z = u1();
+					x = ((x & 0x1F) << 12) | ((y & 0x3F) << 6) | (z & 0x3F);
+				} else {
+					x = ((x & 0x1F) << 6) | (y & 0x3F);
+				}
+			}
+			result[count++] = (char) x;
+		}
+		if (count != length)
+			System.arraycopy(result, 0, result = new char[count], 0, count);
+		return result;
+	}
+	char[] string() {
+		int index = u2();
+		return index == 0 ? null : this.strings[index - 1];
+	}
+	/* Answers the length of the next array, -1 if it is null. */
+	int count() {
+		int count = u2();
+		return count == NULL_COUNT ? -1 : count;
+	}
+	char[][] strings() {
+		int count = count();
+		if (count == -1)
+			return null;
+		if (count == 0)
+			return CharOperation.NO_CHAR_CHAR;
+		char[][] result = new char[count][];
+		for (int i = 0; i < count; i++)
+			result[i] = string();
+		return result;
+	}
+	IBinaryAnnotation[] annotations() {
+		int count = count();
+		if (count == -1)
+			return null;
+		IBinaryAnnotation[] result = new IBinaryAnnotation[count];
+		for (int i = 0; i < count; i++)
+			result[i] = annotation();
+		return result;
+	}
+	IBinaryAnnotation annotation() {
+		char[] typeName = string();
+		boolean isDeprecated = u1() != 0;
+		int count = count();
+		IBinaryElementValuePair[] pairs = null;
+		if (count == 0) {
+			pairs = ElementValuePairInfo.NoMembers;
+		} else if (count != -1) {
+			pairs = new IBinaryElementValuePair[count];
+			for (int i = 0; i < count; i++)
+				pairs[i] = new ElementValuePairInfo(string(), value());
+		}
+		return new AnnotationDigest(typeName, pairs, isDeprecated);
+	}
+	IBinaryTypeAnnotation[] typeAnnotations() {
+		int count = count();
+		if (count == -1)
+			return null;
+		IBinaryTypeAnnotation[] result = new IBinaryTypeAnnotation[count];
+		for (int i = 0; i < count; i++) {
+			IBinaryAnnotation annotation = annotation();
+			int targetType = u1();
+			int info = u4();
+			int info2 = u4();
+			int length = u2();
+			int[] typePath = length == 0 ? IBinaryTypeAnnotation.NO_TYPE_PATH : new int[length];
+			for (int j = 0; j < length; j++)
+				typePath[j] = u1();
+			result[i] = new TypeAnnotationDigest(annotation, targetType, info, info2, typePath);
+		}
+		return result;
+	}
+	Object value() {
+		int tag = u1();
+		switch (tag) {
+			case NULL_VALUE:
+				return null;
+			case NOT_A_CONSTANT:
+				return Constant.NotAConstant;
+			case 'Z':
+				return BooleanConstant.fromValue(u1() != 0);
+			case 'B':
+				return ByteConstant.fromValue((byte) u1());
+			case 'C':
+				return CharConstant.fromValue((char) u2());
+			case 'S':
+				return ShortConstant.fromValue((short) u2());
+			case 'I':
+				return IntConstant.fromValue(u4());
+			case 'J':
+				return LongConstant.fromValue(u8());
+			case 'F':
+				return FloatConstant.fromValue(Float.intBitsToFloat(u4()));
+			case 'D':
+				return DoubleConstant.fromValue(Double.longBitsToDouble(u8()));
+			case 's':
+				return StringConstant.fromValue(String.valueOf(string()));
+			case 'e':
+				return new EnumConstantSignature(string(), string());
+			case 'c':
+				return new ClassSignature(string());
+			case '@':
+				return annotation();
+			case '[':
+				int count = count();
+				if (count == 0)
+					return AnnotationInfo.EmptyValueArray;
+				Object[] values = new Object[count];
+				for (int i = 0; i < count; i++)
+					values[i] = value();
+				return values;
+			default:
+				throw new IllegalStateException("Unrecognized tag " + tag); //$NON-NLS-1$
+		}
+	}
+}
+}
@@ -29,8 +29,6 @@ import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
-import org.eclipse.jdt.internal.compiler.util.HashtableOfInteger;
-import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.Util;
 /**
  * This type is used to store all the constant pool entries.
@@ -48,18 +46,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public static final int CONSTANTPOOL_INITIAL_SIZE = 2000;
 	public static final int CONSTANTPOOL_GROW_SIZE = 6000;
 	public static final int DYNAMIC_INITIAL_SIZE = 10;
-	protected DoubleCache doubleCache;
-	protected FloatCache floatCache;
-	protected IntegerCache intCache;
-	protected LongCache longCache;
-	public CharArrayCache UTF8Cache;
-	protected CharArrayCache stringCache;
-	protected HashtableOfObject methodsAndFieldsCache;
-	protected CharArrayCache classCache;
-	protected CharArrayCache moduleCache;
-	protected CharArrayCache packageCache;
-	protected HashtableOfObject nameAndTypeCacheForFieldsAndMethods;
-	protected HashtableOfInteger dynamicCache;
+	// indexes of all the entries, by tag and key
+	protected ConstantTable constants;
 	public byte[] poolContent;
 	public int currentIndex = 1;
 	public int currentOffset;
@@ -313,14 +301,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	 * ConstantPool constructor comment.
 	 */
 	public ConstantPool(ClassFile classFile) {
-		this.UTF8Cache = new CharArrayCache(UTF8_INITIAL_SIZE);
-		this.stringCache = new CharArrayCache(STRING_INITIAL_SIZE);
-		this.methodsAndFieldsCache = new HashtableOfObject(METHODS_AND_FIELDS_INITIAL_SIZE);
-		this.classCache = new CharArrayCache(CLASS_INITIAL_SIZE);
-		this.moduleCache = new CharArrayCache(5);
-		this.packageCache = new CharArrayCache(5);
-		this.nameAndTypeCacheForFieldsAndMethods = new HashtableOfObject(NAMEANDTYPE_INITIAL_SIZE);
-		this.dynamicCache = new HashtableOfInteger(DYNAMIC_INITIAL_SIZE);
+		this.constants = new ConstantTable();
 		this.offsets = new int[5];
 		initialize(classFile);
 	}
@@ -330,6 +311,10 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		// currentOffset is initialized to 0 by default
 		this.currentIndex = 1;
 		this.classFile = givenClassFile;
+		if (this.poolContent != null) {
+			// the header is sized after the class files recently generated, at about 12 bytes per entry
+			this.constants.ensureCapacity(this.poolContent.length / 12);
+		}
 	}
 	/**
 	 * Return the content of the receiver
@@ -338,9 +323,18 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		System.arraycopy(this.poolContent, 0, (this.poolContent = new byte[this.currentOffset]), 0, this.currentOffset);
 		return this.poolContent;
 	}
+	/**
+	 * Answers the characters of the UTF8 entry at the given index, or null if there is none.
+	 */
+	public char[] utf8At(int index) {
+		return this.constants.keyFor(Utf8Tag, index);
+	}
 	public int literalIndex(byte[] utf8encoding, char[] stringCharArray) {
+		return literalIndex(utf8encoding, stringCharArray, CharOperation.hashCode(stringCharArray));
+	}
+	private int literalIndex(byte[] utf8encoding, char[] stringCharArray, int hash) {
 		int index;
-		if ((index = this.UTF8Cache.putIfAbsent(stringCharArray, this.currentIndex)) < 0) {
+		if ((index = this.constants.putIfAbsent(Utf8Tag, stringCharArray, hash, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			if ((index = -index)> 0xFFFF) {
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
@@ -382,8 +376,11 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	 * @return <CODE>int</CODE>
 	 */
 	public int literalIndex(char[] utf8Constant) {
+		return literalIndex(utf8Constant, CharOperation.hashCode(utf8Constant));
+	}
+	private int literalIndex(char[] utf8Constant, int hash) {
 		int index;
-		if ((index = this.UTF8Cache.putIfAbsent(utf8Constant, this.currentIndex)) < 0) {
+		if ((index = this.constants.putIfAbsent(Utf8Tag, utf8Constant, hash, this.currentIndex)) < 0) {
 			if ((index = -index)> 0xFFFF) {
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -396,55 +393,19 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.offsets[index] = this.currentOffset;
 			writeU1(Utf8Tag);
-			// Then the size of the stringName array
 			int savedCurrentOffset = this.currentOffset;
-			if (this.currentOffset + 2 >= this.poolContent.length) {
-				// we need to resize the poolContent array because we won't have
-				// enough space to write the length
-				resizePoolContents(2);
-			}
-			this.currentOffset += 2;
-			length = 0;
-			for (int i = 0; i < utf8Constant.length; i++) {
-				char current = utf8Constant[i];
-				if ((current >= 0x0001) && (current <= 0x007F)) {
-					// we only need one byte: ASCII table
-					writeU1(current);
-					length++;
-				} else {
-					if (current > 0x07FF) {
-						// we need 3 bytes
-						length += 3;
-						writeU1(0xE0 | ((current >> 12) & 0x0F)); // 0xE0 = 1110 0000
-						writeU1(0x80 | ((current >> 6) & 0x3F)); // 0x80 = 1000 0000
-						writeU1(0x80 | (current & 0x3F)); // 0x80 = 1000 0000
-					} else {
-						// we can be 0 or between 0x0080 and 0x07FF
-						// In that case we only need 2 bytes
-						length += 2;
-						writeU1(0xC0 | ((current >> 6) & 0x1F)); // 0xC0 = 1100 0000
-						writeU1(0x80 | (current & 0x3F)); // 0x80 = 1000 0000
-					}
-				}
-			}
-			if (length >= 65535) {
+			if (writeUTF8(utf8Constant) >= 65535) {
 				this.currentOffset = savedCurrentOffset - 1;
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceForConstant(this.classFile.referenceBinding.scope.referenceType());
 			}
-			if (index > 0xFFFF){
-				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
-			}
 			this.currentIndex++;
-			// Now we know the length that we have to write in the constant pool
-			// we use savedCurrentOffset to do that
-			this.poolContent[savedCurrentOffset] = (byte) (length >> 8);
-			this.poolContent[savedCurrentOffset + 1] = (byte) length;
 		}
 		return index;
 	}
 	public int literalIndex(char[] stringCharArray, byte[] utf8encoding) {
 		int index;
-		if ((index = this.stringCache.putIfAbsent(stringCharArray, this.currentIndex)) < 0) {
+		int hash = CharOperation.hashCode(stringCharArray);
+		if ((index = this.constants.putIfAbsent(StringTag, stringCharArray, hash, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
@@ -465,7 +426,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=2;
 
-			final int stringIndex = literalIndex(utf8encoding, stringCharArray);
+			final int stringIndex = literalIndex(utf8encoding, stringCharArray, hash);
 			this.poolContent[stringIndexOffset++] = (byte) (stringIndex >> 8);
 			this.poolContent[stringIndexOffset] = (byte) stringIndex;
 		}
@@ -484,12 +445,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		// The double constant takes two indexes into the constant pool, but we only store
 		// the first index into the long table
 		int index;
-		// lazy initialization for base type caches
-		// If it is null, initialize it, otherwise use it
-		if (this.doubleCache == null) {
-			this.doubleCache = new DoubleCache(DOUBLE_INITIAL_SIZE);
-		}
-		if ((index = this.doubleCache.putIfAbsent(key, this.currentIndex)) < 0) {
+		// NaN is never found in the pool, as it does not equal itself
+		if ((index = key != key ? -this.currentIndex : this.constants.putIfAbsent(DoubleTag, Double.doubleToRawLongBits(key), this.currentIndex)) < 0) {
 			if ((index = -index)> 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -531,12 +488,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public int literalIndex(float key) {
 		//Retrieve the index from the cache
 		int index;
-		// lazy initialization for base type caches
-		// If it is null, initialize it, otherwise use it
-		if (this.floatCache == null) {
-			this.floatCache = new FloatCache(FLOAT_INITIAL_SIZE);
-		}
-		if ((index = this.floatCache.putIfAbsent(key, this.currentIndex)) < 0) {
+		// NaN is never found in the pool, as it does not equal itself
+		if ((index = key != key ? -this.currentIndex : this.constants.putIfAbsent(FloatTag, Float.floatToRawIntBits(key), this.currentIndex)) < 0) {
 			if ((index = -index) > 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -573,12 +526,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public int literalIndex(int key) {
 		//Retrieve the index from the cache
 		int index;
-		// lazy initialization for base type caches
-		// If it is null, initialize it, otherwise use it
-		if (this.intCache == null) {
-			this.intCache = new IntegerCache(INT_INITIAL_SIZE);
-		}
-		if ((index = this.intCache.putIfAbsent(key, this.currentIndex)) < 0) {
+		if ((index = this.constants.putIfAbsent(IntegerTag, key, this.currentIndex)) < 0) {
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
@@ -616,12 +564,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		// The long constant takes two indexes into the constant pool, but we only store
 		// the first index into the long table
 		int index;
-		// lazy initialization for base type caches
-		// If it is null, initialize it, otherwise use it
-		if (this.longCache == null) {
-			this.longCache = new LongCache(LONG_INITIAL_SIZE);
-		}
-		if ((index = this.longCache.putIfAbsent(key, this.currentIndex)) < 0) {
+		if ((index = this.constants.putIfAbsent(LongTag, key, this.currentIndex)) < 0) {
 			if ((index = -index) > 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -659,7 +602,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public int literalIndex(String stringConstant) {
 		int index;
 		char[] stringCharArray = stringConstant.toCharArray();
-		if ((index = this.stringCache.putIfAbsent(stringCharArray, this.currentIndex)) < 0) {
+		int hash = CharOperation.hashCode(stringCharArray);
+		if ((index = this.constants.putIfAbsent(StringTag, stringCharArray, hash, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			this.currentIndex++;
 			if ((index  = -index)> 0xFFFF){
@@ -679,7 +623,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 				resizePoolContents(2);
 			}
 			this.currentOffset+=2;
-			final int stringIndex = literalIndex(stringCharArray);
+			final int stringIndex = literalIndex(stringCharArray, hash);
 			this.poolContent[stringIndexOffset++] = (byte) (stringIndex >> 8);
 			this.poolContent[stringIndexOffset] = (byte) stringIndex;
 		}
@@ -687,7 +631,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	}
 	public int literalIndexForModule(final char[] moduleName) {
 		int index;
-		if ((index = this.moduleCache.putIfAbsent(moduleName, this.currentIndex)) < 0) {
+		int hash = CharOperation.hashCode(moduleName);
+		if ((index = this.constants.putIfAbsent(ModuleTag, moduleName, hash, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
@@ -708,7 +653,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=2;
 
-			final int stringIndex = literalIndex(moduleName);
+			final int stringIndex = literalIndex(moduleName, hash);
 			this.poolContent[stringIndexOffset++] = (byte) (stringIndex >> 8);
 			this.poolContent[stringIndexOffset] = (byte) stringIndex;
 		}
@@ -716,7 +661,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	}
 	public int literalIndexForPackage(final char[] packageName) {
 		int index;
-		if ((index = this.packageCache.putIfAbsent(packageName, this.currentIndex)) < 0) {
+		int hash = CharOperation.hashCode(packageName);
+		if ((index = this.constants.putIfAbsent(PackageTag, packageName, hash, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
@@ -737,15 +683,18 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=2;
 
-			final int stringIndex = literalIndex(packageName);
+			final int stringIndex = literalIndex(packageName, hash);
 			this.poolContent[stringIndexOffset++] = (byte) (stringIndex >> 8);
 			this.poolContent[stringIndexOffset] = (byte) stringIndex;
 		}
 		return index;
 	}
 	public int literalIndexForType(final char[] constantPoolName) {
+		return literalIndexForType(constantPoolName, CharOperation.hashCode(constantPoolName));
+	}
+	private int literalIndexForType(final char[] constantPoolName, int hash) {
 		int index;
-		if ((index = this.classCache.putIfAbsent(constantPoolName, this.currentIndex)) < 0) {
+		if ((index = this.constants.putIfAbsent(ClassTag, constantPoolName, hash, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
@@ -765,7 +714,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 				resizePoolContents(2);
 			}
 			this.currentOffset+=2;
-			final int nameIndex = literalIndex(constantPoolName);
+			final int nameIndex = literalIndex(constantPoolName, hash);
 			this.poolContent[nameIndexOffset++] = (byte) (nameIndex >> 8);
 			this.poolContent[nameIndexOffset] = (byte) nameIndex;
 		}
@@ -785,7 +734,10 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	}
 	public int literalIndexForMethod(char[] declaringClass, char[] selector, char[] signature, boolean isInterface) {
 		int index;
-		if ((index = putInCacheIfAbsent(declaringClass, selector, signature, this.currentIndex)) < 0) {
+		int classHash = CharOperation.hashCode(declaringClass);
+		int selectorHash = CharOperation.hashCode(selector);
+		int signatureHash = CharOperation.hashCode(signature);
+		if ((index = this.constants.putIfAbsent(MethodRefTag, 0, declaringClass, classHash, selector, selectorHash, signature, signatureHash, this.currentIndex)) < 0) {
 			// it doesn't exist yet
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
@@ -807,8 +759,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=4;
 
-			final int classIndex = literalIndexForType(declaringClass);
-			final int nameAndTypeIndex = literalIndexForNameAndType(selector, signature);
+			final int classIndex = literalIndexForType(declaringClass, classHash);
+			final int nameAndTypeIndex = literalIndexForNameAndType(selector, selectorHash, signature, signatureHash);
 
 			this.poolContent[classIndexOffset++] = (byte) (classIndex >> 8);
 			this.poolContent[classIndexOffset++] = (byte) classIndex;
@@ -824,8 +776,11 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		return this.literalIndexForMethod(declaringClass.constantPoolName(), selector, signature, isInterface);
 	}
 	public int literalIndexForNameAndType(char[] name, char[] signature) {
+		return literalIndexForNameAndType(name, CharOperation.hashCode(name), signature, CharOperation.hashCode(signature));
+	}
+	private int literalIndexForNameAndType(char[] name, int nameHash, char[] signature, int signatureHash) {
 		int index;
-		if ((index = putInNameAndTypeCacheIfAbsent(name, signature, this.currentIndex)) < 0) {
+		if ((index = this.constants.putIfAbsent(NameAndTypeTag, 0, name, nameHash, signature, signatureHash, null, 0, this.currentIndex)) < 0) {
 			// The entry doesn't exit yet
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
@@ -844,8 +799,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=4;
 
-			final int nameIndex = literalIndex(name);
-			final int typeIndex = literalIndex(signature);
+			final int nameIndex = literalIndex(name, nameHash);
+			final int typeIndex = literalIndex(signature, signatureHash);
 			this.poolContent[nameIndexOffset++] = (byte) (nameIndex >> 8);
 			this.poolContent[nameIndexOffset++] = (byte) nameIndex;
 			this.poolContent[nameIndexOffset++] = (byte) (typeIndex >> 8);
@@ -918,7 +873,9 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	}
 	private int literalIndexForInvokeAndConstantDynamic(int bootStrapIndex, char[] selector, char[] descriptor, int tag) {
 		int index;
-		if ((index = putInDynamicCacheIfAbsent(bootStrapIndex, selector, descriptor, this.currentIndex)) < 0) {
+		int selectorHash = CharOperation.hashCode(selector);
+		int descriptorHash = CharOperation.hashCode(descriptor);
+		if ((index = this.constants.putIfAbsent(tag, bootStrapIndex, selector, selectorHash, descriptor, descriptorHash, null, 0, this.currentIndex)) < 0) {
 			this.currentIndex++;
 			if ((index = -index) > 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
@@ -937,7 +894,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=4;
 
-			int nameAndTypeIndex = literalIndexForNameAndType(selector, descriptor);
+			int nameAndTypeIndex = literalIndexForNameAndType(selector, selectorHash, descriptor, descriptorHash);
 
 			this.poolContent[classIndexOffset++] = (byte) (bootStrapIndex >> 8);
 			this.poolContent[classIndexOffset++] = (byte) bootStrapIndex;
@@ -955,7 +912,10 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	}
 	public int literalIndexForField(char[] declaringClass, char[] name, char[] signature) {
 		int index;
-		if ((index = putInCacheIfAbsent(declaringClass, name, signature, this.currentIndex)) < 0) {
+		int classHash = CharOperation.hashCode(declaringClass);
+		int nameHash = CharOperation.hashCode(name);
+		int signatureHash = CharOperation.hashCode(signature);
+		if ((index = this.constants.putIfAbsent(FieldRefTag, 0, declaringClass, classHash, name, nameHash, signature, signatureHash, this.currentIndex)) < 0) {
 			this.currentIndex++;
 			// doesn't exist yet
 			if ((index = -index) > 0xFFFF){
@@ -976,8 +936,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			}
 			this.currentOffset+=4;
 
-			final int classIndex = literalIndexForType(declaringClass);
-			final int nameAndTypeIndex = literalIndexForNameAndType(name, signature);
+			final int classIndex = literalIndexForType(declaringClass, classHash);
+			final int nameAndTypeIndex = literalIndexForNameAndType(name, nameHash, signature, signatureHash);
 
 			this.poolContent[classIndexOffset++] = (byte) (classIndex >> 8);
 			this.poolContent[classIndexOffset++] = (byte) classIndex;
@@ -996,7 +956,8 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		int savedCurrentIndex = this.currentIndex;
 		int savedCurrentOffset = this.currentOffset;
 		int index;
-		if ((index = this.stringCache.putIfAbsent(stringCharArray, this.currentIndex)) < 0) {
+		int hash = CharOperation.hashCode(stringCharArray);
+		if ((index = this.constants.putIfAbsent(StringTag, stringCharArray, hash, this.currentIndex)) < 0) {
 			if ((index = -index)> 0xFFFF) {
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -1019,7 +980,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 			this.currentOffset+=2;
 
 			int stringIndex;
-			if ((stringIndex = this.UTF8Cache.putIfAbsent(stringCharArray, this.currentIndex)) < 0) {
+			if ((stringIndex = this.constants.putIfAbsent(Utf8Tag, stringCharArray, hash, this.currentIndex)) < 0) {
 				if ((stringIndex = -stringIndex)> 0xFFFF) {
 					this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 				}
@@ -1033,60 +994,13 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 				}
 				this.offsets[stringIndex] = this.currentOffset;
 				writeU1(Utf8Tag);
-				// Then the size of the stringName array
-				int lengthOffset = this.currentOffset;
-				if (this.currentOffset + 2 >= this.poolContent.length) {
-					// we need to resize the poolContent array because we won't have
-					// enough space to write the length
-					resizePoolContents(2);
-				}
-				this.currentOffset += 2;
-				length = 0;
-				for (int i = 0; i < stringCharArray.length; i++) {
-					char current = stringCharArray[i];
-					if ((current >= 0x0001) && (current <= 0x007F)) {
-						// we only need one byte: ASCII table
-						length++;
-						if (this.currentOffset + 1 >= this.poolContent.length) {
-							// we need to resize the poolContent array because we won't have
-							// enough space to write the length
-							resizePoolContents(1);
-						}
-						this.poolContent[this.currentOffset++] = (byte)(current);
-					} else
-						if (current > 0x07FF) {
-							// we need 3 bytes
-							length += 3;
-							if (this.currentOffset + 3 >= this.poolContent.length) {
-								// we need to resize the poolContent array because we won't have
-								// enough space to write the length
-								resizePoolContents(3);
-							}
-							this.poolContent[this.currentOffset++] = (byte) (0xE0 | ((current >> 12) & 0x0F)); // 0xE0 = 1110 0000
-							this.poolContent[this.currentOffset++] = (byte) (0x80 | ((current >> 6) & 0x3F)); // 0x80 = 1000 0000
-							this.poolContent[this.currentOffset++] = (byte) (0x80 | (current & 0x3F)); // 0x80 = 1000 0000
-						} else {
-							if (this.currentOffset + 2 >= this.poolContent.length) {
-								// we need to resize the poolContent array because we won't have
-								// enough space to write the length
-								resizePoolContents(2);
-							}
-							// we can be 0 or between 0x0080 and 0x07FF
-							// In that case we only need 2 bytes
-							length += 2;
-							this.poolContent[this.currentOffset++] = (byte) (0xC0 | ((current >> 6) & 0x1F)); // 0xC0 = 1100 0000
-							this.poolContent[this.currentOffset++] = (byte) (0x80 | (current & 0x3F)); // 0x80 = 1000 0000
-						}
-				}
-				if (length >= 65535) {
+				if (writeUTF8(stringCharArray) >= 65535) {
 					this.currentOffset = savedCurrentOffset;
 					this.currentIndex = savedCurrentIndex;
-					this.stringCache.remove(stringCharArray);
-					this.UTF8Cache.remove(stringCharArray);
+					this.constants.remove(StringTag, stringCharArray, hash);
+					this.constants.remove(Utf8Tag, stringCharArray, hash);
 					return 0;
 				}
-				this.poolContent[lengthOffset++] = (byte) (length >> 8);
-				this.poolContent[lengthOffset] = (byte) length;
 			}
 			this.poolContent[stringIndexOffset++] = (byte) (stringIndex >> 8);
 			this.poolContent[stringIndexOffset] = (byte) stringIndex;
@@ -1094,115 +1008,42 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		return index;
 	}
 	/**
-	 * @param key1 the given name
-	 * @param key2 the given signature
-	 * @param value the given index
-	 * @return the new index
+	 * Writes the given characters in modified UTF-8, preceded by their length, directly into the
+	 * pool contents.
+	 *
+	 * @return the length of the encoding, written as is even if it does not fit in two bytes
 	 */
-	private int putInNameAndTypeCacheIfAbsent(final char[] key1, final char[] key2, int value) {
-		int index ;
-		Object key1Value = this.nameAndTypeCacheForFieldsAndMethods.get(key1);
-		if (key1Value == null) {
-			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key2, value);
-			index = -value;
-			this.nameAndTypeCacheForFieldsAndMethods.put(key1, cachedIndexEntry);
-		} else if (key1Value instanceof CachedIndexEntry) {
-			// adding a second entry
-			CachedIndexEntry entry = (CachedIndexEntry) key1Value;
-			if (CharOperation.equals(key2, entry.signature)) {
-				index = entry.index;
-			} else {
-				CharArrayCache charArrayCache = new CharArrayCache();
-				charArrayCache.putIfAbsent(entry.signature, entry.index);
-				index = charArrayCache.putIfAbsent(key2, value);
-				this.nameAndTypeCacheForFieldsAndMethods.put(key1, charArrayCache);
-			}
-		} else {
-			CharArrayCache charArrayCache = (CharArrayCache) key1Value;
-			index = charArrayCache.putIfAbsent(key2, value);
+	private int writeUTF8(char[] chars) {
+		int charsLength = chars.length;
+		// at most three bytes per character
+		if (this.currentOffset + 2 + 3 * charsLength >= this.poolContent.length) {
+			resizePoolContents(2 + 3 * charsLength);
 		}
-		return index;
-	}
-
-	/**
-	 * @param bootstrapIndex the given bootstrap index
-	 * @param selector the given method selector
-	 * @param descriptor the given signature
-	 * @param value the new index
-	 * @return the given index
-	 */	private int putInDynamicCacheIfAbsent(int bootstrapIndex, final char[] selector, final char[] descriptor, final int value) {
-		int index;
-		HashtableOfObject key1Value = (HashtableOfObject) this.dynamicCache.get(bootstrapIndex);
-		if (key1Value == null) {
-			key1Value = new HashtableOfObject();
-			this.dynamicCache.put(bootstrapIndex, key1Value);
-			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(descriptor, value);
-			index = -value;
-			key1Value.put(selector, cachedIndexEntry);
-		} else {
-			Object key2Value = key1Value.get(selector);
-			if (key2Value == null) {
-				CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(descriptor, value);
-				index = -value;
-				key1Value.put(selector, cachedIndexEntry);
-			} else if (key2Value instanceof CachedIndexEntry) {
-				// adding a second entry
-				CachedIndexEntry entry = (CachedIndexEntry) key2Value;
-				if (CharOperation.equals(descriptor, entry.signature)) {
-					index = entry.index;
-				} else {
-					CharArrayCache charArrayCache = new CharArrayCache();
-					charArrayCache.putIfAbsent(entry.signature, entry.index);
-					index = charArrayCache.putIfAbsent(descriptor, value);
-					key1Value.put(selector, charArrayCache);
-				}
+		byte[] contents = this.poolContent;
+		int lengthOffset = this.currentOffset;
+		int offset = lengthOffset + 2;
+		for (int i = 0; i < charsLength; i++) {
+			char current = chars[i];
+			if ((current >= 0x0001) && (current <= 0x007F)) {
+				// we only need one byte: ASCII table
+				contents[offset++] = (byte) current;
+			} else if (current > 0x07FF) {
+				// we need 3 bytes
+				contents[offset++] = (byte) (0xE0 | ((current >> 12) & 0x0F)); // 0xE0 = 1110 0000
+				contents[offset++] = (byte) (0x80 | ((current >> 6) & 0x3F)); // 0x80 = 1000 0000
+				contents[offset++] = (byte) (0x80 | (current & 0x3F)); // 0x80 = 1000 0000
 			} else {
-				CharArrayCache charArrayCache = (CharArrayCache) key2Value;
-				index = charArrayCache.putIfAbsent(descriptor, value);
+				// we can be 0 or between 0x0080 and 0x07FF
+				// In that case we only need 2 bytes
+				contents[offset++] = (byte) (0xC0 | ((current >> 6) & 0x1F)); // 0xC0 = 1100 0000
+				contents[offset++] = (byte) (0x80 | (current & 0x3F)); // 0x80 = 1000 0000
 			}
 		}
-		return index;
-	}
-
-	/**
-	 * @param key1 the given declaring class name
-	 * @param key2 the given field name or method selector
-	 * @param key3 the given signature
-	 * @param value the new index
-	 * @return the given index
-	 */
-	private int putInCacheIfAbsent(final char[] key1, final char[] key2, final char[] key3, int value) {
-		int index;
-		HashtableOfObject key1Value = (HashtableOfObject) this.methodsAndFieldsCache.get(key1);
-		if (key1Value == null) {
-			key1Value = new HashtableOfObject();
-			this.methodsAndFieldsCache.put(key1, key1Value);
-			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key3, value);
-			index = -value;
-			key1Value.put(key2, cachedIndexEntry);
-		} else {
-			Object key2Value = key1Value.get(key2);
-			if (key2Value == null) {
-				CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key3, value);
-				index = -value;
-				key1Value.put(key2, cachedIndexEntry);
-			} else if (key2Value instanceof CachedIndexEntry) {
-				// adding a second entry
-				CachedIndexEntry entry = (CachedIndexEntry) key2Value;
-				if (CharOperation.equals(key3, entry.signature)) {
-					index = entry.index;
-				} else {
-					CharArrayCache charArrayCache = new CharArrayCache();
-					charArrayCache.putIfAbsent(entry.signature, entry.index);
-					index = charArrayCache.putIfAbsent(key3, value);
-					key1Value.put(key2, charArrayCache);
-				}
-			} else {
-				CharArrayCache charArrayCache = (CharArrayCache) key2Value;
-				index = charArrayCache.putIfAbsent(key3, value);
-			}
-		}
-		return index;
+		int length = offset - lengthOffset - 2;
+		contents[lengthOffset] = (byte) (length >> 8);
+		contents[lengthOffset + 1] = (byte) length;
+		this.currentOffset = offset;
+		return length;
 	}
 	/**
 	 * This method is used to clean the receiver in case of a clinit header is generated, but the
@@ -1213,14 +1054,14 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public void resetForClinit(int constantPoolIndex, int constantPoolOffset) {
 		this.currentIndex = constantPoolIndex;
 		this.currentOffset = constantPoolOffset;
-		if (this.UTF8Cache.get(AttributeNamesConstants.CodeName) >= constantPoolIndex) {
-			this.UTF8Cache.remove(AttributeNamesConstants.CodeName);
-		}
-		if (this.UTF8Cache.get(ConstantPool.ClinitSignature) >= constantPoolIndex) {
-			this.UTF8Cache.remove(ConstantPool.ClinitSignature);
-		}
-		if (this.UTF8Cache.get(ConstantPool.Clinit) >= constantPoolIndex) {
-			this.UTF8Cache.remove(ConstantPool.Clinit);
+		removeUTF8From(AttributeNamesConstants.CodeName, constantPoolIndex);
+		removeUTF8From(ConstantPool.ClinitSignature, constantPoolIndex);
+		removeUTF8From(ConstantPool.Clinit, constantPoolIndex);
+	}
+	private void removeUTF8From(char[] utf8Constant, int constantPoolIndex) {
+		int hash = CharOperation.hashCode(utf8Constant);
+		if (this.constants.get(Utf8Tag, utf8Constant, hash) >= constantPoolIndex) {
+			this.constants.remove(Utf8Tag, utf8Constant, hash);
 		}
 	}
 
@@ -1258,18 +1099,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		this.poolContent[this.currentOffset++] = (byte) value;
 	}
 	public void reset() {
-		if (this.doubleCache != null) this.doubleCache.clear();
-		if (this.floatCache != null) this.floatCache.clear();
-		if (this.intCache != null) this.intCache.clear();
-		if (this.longCache != null) this.longCache.clear();
-		this.UTF8Cache.clear();
-		this.stringCache.clear();
-		this.methodsAndFieldsCache.clear();
-		this.classCache.clear();
-		this.packageCache.clear();
-		this.moduleCache.clear();
-		this.nameAndTypeCacheForFieldsAndMethods.clear();
-		this.dynamicCache.clear();
+		this.constants.clear();
 		this.currentIndex = 1;
 		this.currentOffset = 0;
 	}
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.codegen;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Open addressing table of the entries of a {@link ConstantPool}, answering their index in the pool.
+ * <p>
+ * An entry is keyed by its kind (a constant pool tag), a primitive key (the bits of a number constant,
+ * or a bootstrap method index) and up to three <code>char[]</code> keys. The hash codes of the
+ * <code>char[]</code> keys are given by the caller, which computes them once for all the entries
+ * made of the same names (a method reference, its class, name and type, and their UTF8 entries).
+ * </p>
+ * <p>
+ * Entries are appended to parallel arrays, and the linearly probed slots only hold their position
+ * in these arrays: there is no allocation per entry, and growing the table only rehashes the slots.
+ * The table is cleared rather than reallocated from one class file to the next.
+ * </p>
+ */
+public class ConstantTable {
+
+	static final int INITIAL_CAPACITY = 256; // must be a power of 2
+
+	// position + 1 of the entry of each slot, 0 for an empty slot
+	int[] slots;
+	int threshold;
+	// the entries, in the order they were added; a kind of 0 marks a removed entry
+	int[] kinds;
+	int[] hashes;
+	long[] primitiveKeys;
+	char[][] keys1;
+	char[][] keys2;
+	char[][] keys3;
+	int[] values;
+	int entryCount; // number of entries, including the removed ones
+	int elementSize; // number of elements in the table
+
+public ConstantTable() {
+	this.slots = new int[INITIAL_CAPACITY];
+	this.threshold = (INITIAL_CAPACITY * 2) / 3;
+	int entries = this.threshold + 1;
+	this.kinds = new int[entries];
+	this.hashes = new int[entries];
+	this.primitiveKeys = new long[entries];
+	this.keys1 = new char[entries][];
+	this.keys2 = new char[entries][];
+	this.keys3 = new char[entries][];
+	this.values = new int[entries];
+}
+private static int hash(int kind, long primitiveKey, int hash1, int hash2, int hash3) {
+	int hash = kind;
+	hash = hash * 31 + (int) (primitiveKey ^ (primitiveKey >>> 32));
+	hash = hash * 31 + hash1;
+	hash = hash * 31 + hash2;
+	hash = hash * 31 + hash3;
+	return hash ^ (hash >>> 16);
+}
+/**
+ * Clears the table, keeping its arrays for the next class file.
+ */
+public void clear() {
+	if (this.entryCount == 0)
+		return;
+	Arrays.fill(this.slots, 0);
+	Arrays.fill(this.keys1, 0, this.entryCount, null);
+	Arrays.fill(this.keys2, 0, this.entryCount, null);
+	Arrays.fill(this.keys3, 0, this.entryCount, null);
+	this.entryCount = 0;
+	this.elementSize = 0;
+}
+/**
+ * Makes room for the given number of elements, to grow the table once for a large class file
+ * rather than step by step.
+ */
+public void ensureCapacity(int elements) {
+	if (elements <= this.threshold)
+		return;
+	int capacity = this.slots.length;
+	while ((capacity * 2) / 3 < elements)
+		capacity *= 2;
+	growEntries(elements + 1);
+	rehash(capacity);
+}
+// the slot of the given entry, or -1 - the free slot where it would be
+private int slotOf(int kind, long primitiveKey, char[] key1, char[] key2, char[] key3, int hash) {
+	int mask = this.slots.length - 1;
+	int slot = hash & mask;
+	int entry;
+	while ((entry = this.slots[slot] - 1) >= 0) {
+		if (this.hashes[entry] == hash
+				&& this.kinds[entry] == kind
+				&& this.primitiveKeys[entry] == primitiveKey
+				&& CharOperation.equals(this.keys1[entry], key1)
+				&& CharOperation.equals(this.keys2[entry], key2)
+				&& CharOperation.equals(this.keys3[entry], key3))
+			return slot;
+		slot = (slot + 1) & mask;
+	}
+	return -1 - slot;
+}
+/**
+ * Answers the value of the entry of the given kind and primitive key, or -1 if there is none.
+ */
+public int get(int kind, long primitiveKey) {
+	int slot = slotOf(kind, primitiveKey, null, null, null, hash(kind, primitiveKey, 0, 0, 0));
+	return slot < 0 ? -1 : this.values[this.slots[slot] - 1];
+}
+/**
+ * Answers the value of the entry of the given kind and name, or -1 if there is none.
+ *
+ * @param hash the hash code of the name, see {@link CharOperation#hashCode(char[])}
+ */
+public int get(int kind, char[] key, int hash) {
+	int slot = slotOf(kind, 0, key, null, null, hash(kind, 0, hash, 0, 0));
+	return slot < 0 ? -1 : this.values[this.slots[slot] - 1];
+}
+/**
+ * Puts the given value for the entry of the given kind and primitive key if there is none.
+ *
+ * @return the value of the existing entry, or -value if it was added (value is assumed to be &gt; 0)
+ */
+public int putIfAbsent(int kind, long primitiveKey, int value) {
+	return putIfAbsent(kind, primitiveKey, null, 0, null, 0, null, 0, value);
+}
+/**
+ * Puts the given value for the entry of the given kind and name if there is none.
+ *
+ * @return the value of the existing entry, or -value if it was added (value is assumed to be &gt; 0)
+ */
+public int putIfAbsent(int kind, char[] key, int hash, int value) {
+	return putIfAbsent(kind, 0, key, hash, null, 0, null, 0, value);
+}
+/**
+ * Puts the given value for the entry of the given kind and keys if there is none. The hash codes
+ * are the ones of the given <code>char[]</code> keys, 0 for null keys.
+ *
+ * @return the value of the existing entry, or -value if it was added (value is assumed to be &gt; 0)
+ */
+public int putIfAbsent(int kind, long primitiveKey, char[] key1, int hash1, char[] key2, int hash2, char[] key3, int hash3, int value) {
+	int hash = hash(kind, primitiveKey, hash1, hash2, hash3);
+	int slot = slotOf(kind, primitiveKey, key1, key2, key3, hash);
+	if (slot >= 0)
+		return this.values[this.slots[slot] - 1];
+	int entry = this.entryCount;
+	if (entry == this.kinds.length)
+		growEntries(entry * 2);
+	this.kinds[entry] = kind;
+	this.hashes[entry] = hash;
+	this.primitiveKeys[entry] = primitiveKey;
+	this.keys1[entry] = key1;
+	this.keys2[entry] = key2;
+	this.keys3[entry] = key3;
+	this.values[entry] = value;
+	this.entryCount++;
+	this.slots[-1 - slot] = entry + 1;
+	// assumes the threshold is never equal to the size of the table
+	if (++this.elementSize > this.threshold)
+		rehash(this.slots.length * 2);
+	return -value; // negative when added (value is assumed to be > 0)
+}
+/**
+ * Removes the entry of the given kind and name, if any.
+ *
+ * @param hash the hash code of the name, see {@link CharOperation#hashCode(char[])}
+ */
+public void remove(int kind, char[] key, int hash) {
+	int slot = slotOf(kind, 0, key, null, null, hash(kind, 0, hash, 0, 0));
+	if (slot < 0)
+		return;
+	int entry = this.slots[slot] - 1;
+	this.kinds[entry] = 0;
+	this.keys1[entry] = null;
+	this.keys2[entry] = null;
+	this.keys3[entry] = null;
+	// move back the following slots of the run which would no longer be found past the free slot
+	int mask = this.slots.length - 1;
+	int free = slot;
+	int next = (free + 1) & mask;
+	int nextEntry;
+	while ((nextEntry = this.slots[next] - 1) >= 0) {
+		int home = this.hashes[nextEntry] & mask;
+		if (((next - home) & mask) >= ((next - free) & mask)) {
+			this.slots[free] = nextEntry + 1;
+			free = next;
+		}
+		next = (next + 1) & mask;
+	}
+	this.slots[free] = 0;
+	this.elementSize--;
+}
+private void growEntries(int length) {
+	if (length <= this.kinds.length)
+		return;
+	this.kinds = Arrays.copyOf(this.kinds, length);
+	this.hashes = Arrays.copyOf(this.hashes, length);
+	this.primitiveKeys = Arrays.copyOf(this.primitiveKeys, length);
+	this.keys1 = Arrays.copyOf(this.keys1, length);
+	this.keys2 = Arrays.copyOf(this.keys2, length);
+	this.keys3 = Arrays.copyOf(this.keys3, length);
+	this.values = Arrays.copyOf(this.values, length);
+}
+/**
+ * Rehashes the entries into the given number of slots, a power of 2.
+ */
+private void rehash(int capacity) {
+	int[] newSlots = new int[capacity];
+	int mask = capacity - 1;
+	for (int entry = 0; entry < this.entryCount; entry++) {
+		if (this.kinds[entry] != 0) {
+			int slot = this.hashes[entry] & mask;
+			while (newSlots[slot] != 0)
+				slot = (slot + 1) & mask;
+			newSlots[slot] = entry + 1;
+		}
+	}
+	this.slots = newSlots;
+	this.threshold = (capacity * 2) / 3;
+}
+/**
+ * Answers the name of the entry of the given kind and value, or null if there is none.
+ */
+public char[] keyFor(int kind, int value) {
+	for (int entry = 0; entry < this.entryCount; entry++) {
+		if (this.kinds[entry] == kind && this.values[entry] == value)
+			return this.keys1[entry];
+	}
+	return null;
+}
+/**
+ * Returns the number of elements contained in the table.
+ */
+public int size() {
+	return this.elementSize;
+}
+@Override
+public String toString() {
+	StringBuffer buf = new StringBuffer();
+	buf.append("{"); //$NON-NLS-1$
+	for (int entry = 0; entry < this.entryCount; entry++) {
+		if (this.kinds[entry] != 0) {
+			if (buf.length() > 1)
+				buf.append(", "); //$NON-NLS-1$
+			buf.append(this.kinds[entry]).append(':');
+			if (this.keys1[entry] == null)
+				buf.append(this.primitiveKeys[entry]);
+			else
+				buf.append(this.keys1[entry]);
+			if (this.keys2[entry] != null)
+				buf.append(' ').append(this.keys2[entry]);
+			if (this.keys3[entry] != null)
+				buf.append(' ').append(this.keys3[entry]);
+			buf.append("->").append(this.values[entry]); //$NON-NLS-1$
+		}
+	}
+	buf.append("}"); //$NON-NLS-1$
+	return buf.toString();
+}
+}
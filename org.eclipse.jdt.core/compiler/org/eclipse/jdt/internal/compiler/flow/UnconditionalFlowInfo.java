@@ -102,6 +102,12 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[INN] is iNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private int sharedExtra;
+		// bit j set when extra[j] may be referenced by another flow info
+		// (see copy()), in which case it is copied before being written to
+		// (see extraForWrite(int)), so that the branches of large methods
+		// share the vectors they leave unchanged
+	private static final int ALL_EXTRA_SHARED = (1 << extraLength) - 1;
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -265,35 +271,38 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		} else if (otherInits.extra != null) {
 			// no storage here, but other has extra storage.
 			// shortcut regular copy because array copy is better
-			int otherLength;
+			// shortcut regular copy by sharing the vectors of otherInits
+			int otherLength = otherInits.extra[0].length;
 			this.extra = new long[extraLength][];
-			this.extra[0] = new long[otherLength = otherInits.extra[0].length];
-			this.extra[1] = new long[otherLength];
+			this.sharedExtra = 0;
 			if (handleInits) {
-				System.arraycopy(otherInits.extra[0], 0, this.extra[0], 0, otherLength);
-				System.arraycopy(otherInits.extra[1], 0, this.extra[1], 0, otherLength);
+				shareExtra(otherInits, 0);
+				shareExtra(otherInits, 1);
+			} else {
+				this.extra[0] = new long[otherLength];
+				this.extra[1] = new long[otherLength];
 			}
 			if (otherHasNulls) {
 				for (int j = 2; j < extraLength; j++) {
-					System.arraycopy(otherInits.extra[j], 0,
-						(this.extra[j] = new long[otherLength]), 0, otherLength);
+					shareExtra(otherInits, j);
 				}
 				if ((this.tagBits & UNROOTED) != 0) {
-					Arrays.fill(this.extra[IN], 0, otherLength, -1);
-					Arrays.fill(this.extra[INN], 0, otherLength, -1);
+					Arrays.fill(this.extra[IN] = new long[otherLength], -1);
+					Arrays.fill(this.extra[INN] = new long[otherLength], -1);
+					this.sharedExtra &= ~(1 << IN | 1 << INN);
 				}
 				if (COVERAGE_TEST_FLAG) {
 					if (CoverageTestId == 5) {
-						this.extra[5][otherLength - 1] = ~0;
+						extraForWrite(5)[otherLength - 1] = ~0;
 					}
 				}
 			}
 			else {
-				for (int j = 2; j < extraLength; j++) {
+				for (int j = 2; j < 6; j++) {
 					this.extra[j] = new long[otherLength];
 				}
-				System.arraycopy(otherInits.extra[IN], 0, this.extra[IN], 0, otherLength);
-				System.arraycopy(otherInits.extra[INN], 0, this.extra[INN], 0, otherLength);
+				shareExtra(otherInits, IN);
+				shareExtra(otherInits, INN);
 				if (COVERAGE_TEST_FLAG) {
 					if (CoverageTestId == 6) {
 						throw new AssertionFailedException("COVERAGE 6"); //$NON-NLS-1$
@@ -305,12 +314,12 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		if (handleInits) {
 			// manage definite assignment info
 			for (i = 0; i < mergeLimit; i++) {
-				this.extra[0][i] |= otherInits.extra[0][i];
-				this.extra[1][i] |= otherInits.extra[1][i];
+				extraForWrite(0)[i] |= otherInits.extra[0][i];
+				extraForWrite(1)[i] |= otherInits.extra[1][i];
 			}
 			for (; i < copyLimit; i++) {
-				this.extra[0][i] = otherInits.extra[0][i];
-				this.extra[1][i] = otherInits.extra[1][i];
+				extraForWrite(0)[i] = otherInits.extra[0][i];
+				extraForWrite(1)[i] = otherInits.extra[1][i];
 
 			}
 		}
@@ -346,25 +355,25 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 			a4 &= dontResetToStart;
 			a1 &= (a2 | a3 | a4);		// translate 1000 (undefined state) to 0000
 
-			this.extra[1 + 1][i] = (b1 = otherInits.extra[1 + 1][i])
+			extraForWrite(1 + 1)[i] = (b1 = otherInits.extra[1 + 1][i])
                 				| a1 & (a3
                 					& a4 & (nb2 = ~(b2 = otherInits.extra[2 + 1][i]))
                 					& (nb4 = ~(b4 = otherInits.extra[4 + 1][i]))
                         		| ((na4 = ~a4) | (na3 = ~a3))
                         			& ((na2 = ~a2) & nb2
                         				| a2 & (nb3 = ~(b3 = otherInits.extra[3 + 1][i])) & nb4));
-			this.extra[2 + 1][i] = b2 & (nb4 | nb3)
+			extraForWrite(2 + 1)[i] = b2 & (nb4 | nb3)
                     			| na3 & na4 & b2
                     			| a2 & (nb3 & nb4
                                 			| (nb1 = ~b1) & (na3 | (na1 = ~a1))
                                 			| a1 & b2);
-			this.extra[3 + 1][i] = b3 & (nb1 & (b2 | a2 | na1)
+			extraForWrite(3 + 1)[i] = b3 & (nb1 & (b2 | a2 | na1)
                         			| b1 & (b4 | nb2 | a1 & a3)
                          			| na1 & na2 & na4)
                     			| a3 & nb2 & nb4
                     			| nb1 & ((na2 & a4 | na1) & a3
                                 			| a1 & na2 & na4 & b2);
-			this.extra[4 + 1][i] = nb1 & (a4 & (na3 & nb3	| (a3 | na2) & nb2)
+			extraForWrite(4 + 1)[i] = nb1 & (a4 & (na3 & nb3	| (a3 | na2) & nb2)
                       			| a1 & (a3 & nb2 & b4
                               			| a2 & b2 & (b4	| a3 & na4 & nb3)))
                       			| b1 & (a3 & a4 & b4
@@ -376,22 +385,22 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
                       				| a1 & (nb2 & nb3 | a2 & a3)) & b4;
 
 			// unconditional sequence, must shine through both to shine through in the end:
-			this.extra[IN][i] &= otherInits.extra[IN][i];
-			this.extra[INN][i] &= otherInits.extra[INN][i];
+			extraForWrite(IN)[i] &= otherInits.extra[IN][i];
+			extraForWrite(INN)[i] &= otherInits.extra[INN][i];
 
 			if (COVERAGE_TEST_FLAG) {
 				if (CoverageTestId == 7) {
-				  this.extra[5][i] = ~0;
+				  extraForWrite(5)[i] = ~0;
 				}
 			}
 		}
 		for (; i < copyLimit; i++) {
 			for (int j = 2; j < extraLength; j++) {
-				this.extra[j][i] = otherInits.extra[j][i];
+				extraForWrite(j)[i] = otherInits.extra[j][i];
 			}
 			if (COVERAGE_TEST_FLAG) {
 				if (CoverageTestId == 8) {
-				  this.extra[5][i] = ~0;
+				  extraForWrite(5)[i] = ~0;
 				}
 			}
 		}
@@ -419,16 +428,16 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 				// current storage is shorter -> grow current
 				growSpace(otherLength, 0, length);
 				for (; i < length; i++) {
-					this.extra[1][i] |= otherInits.extra[1][i];
+					extraForWrite(1)[i] |= otherInits.extra[1][i];
 				}
 				for (; i < otherLength; i++) {
-					this.extra[1][i] = otherInits.extra[1][i];
+					extraForWrite(1)[i] = otherInits.extra[1][i];
 				}
 			}
 			else {
 				// current storage is longer
 				for (; i < otherLength; i++) {
-					this.extra[1][i] |= otherInits.extra[1][i];
+					extraForWrite(1)[i] |= otherInits.extra[1][i];
 				}
 			}
 		}
@@ -546,7 +555,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 		// PREMATURE skip operations for fields
 		int i;
 		for (i = 0 ; i < mergeLimit ; i++) {
-    		this.extra[1 + 1][i]  = (a1 = this.extra[1 + 1][i])
+    		extraForWrite(1 + 1)[i]  = (a1 = this.extra[1 + 1][i])
     								& ((a3 = this.extra[3 + 1][i]) & (a4 = this.extra[4 + 1][i])
     									& ((nb2 = ~(b2 = otherInits.extra[2 + 1][i]))
     										& (nb4 = ~(b4 = otherInits.extra[4 + 1][i]))
@@ -554,15 +563,15 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
                     			| (na2 = ~(a2 = this.extra[2 + 1][i]))
                     				& (b1 & b3 | ((na4 = ~a4) | (na3 = ~a3)) & nb2)
                     			| a2 & ((na4 | na3) & ((nb3 = ~b3) & nb4 | b1 & b2)));
-    		this.extra[2 + 1][i] = b2 & (nb3 | (nb1 = ~b1))
+    		extraForWrite(2 + 1)[i] = b2 & (nb3 | (nb1 = ~b1))
         			| a2 & (nb3 & nb4 | b2 | na3 | (na1 = ~a1));
-    		this.extra[3 + 1][i] = b3 & (nb1 & b2
+    		extraForWrite(3 + 1)[i] = b3 & (nb1 & b2
                 		| a2 & (nb2	| a3)
                 		| na1 & nb2
                 		| a1 & na2 & na4 & b1)
         			| a3 & (nb2 & nb4 | na2 & a4 | na1)
         			| a1 & na2 & na4 & b2;
-    		this.extra[4 + 1][i] = na3 & (nb1 & nb3 & b4
+    		extraForWrite(4 + 1)[i] = na3 & (nb1 & nb3 & b4
         				| a4 & (nb3 | b1 & b2))
         			| nb2 & (na3 & b1 & nb3	| na2 & (nb1 & b4 | b1 & nb3 | a4))
         			| a3 & (a4 & (nb2 | b1 & b3)
@@ -578,19 +587,19 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 			}
 		}
 		for (; i < copyLimit; i++) {
-    		this.extra[1 + 1][i] = 0;
-    		this.extra[2 + 1][i] = (b2 = otherInits.extra[2 + 1][i])
+    		extraForWrite(1 + 1)[i] = 0;
+    		extraForWrite(2 + 1)[i] = (b2 = otherInits.extra[2 + 1][i])
     							& ((nb3 = ~(b3 = otherInits.extra[3 + 1][i])) |
     								(nb1 = ~(b1 = otherInits.extra[1 + 1][i])));
-    		this.extra[3 + 1][i] = b3 & (nb1 | (nb2 = ~b2));
-    		this.extra[4 + 1][i] = ~b1 & ~b3 & (b4 = otherInits.extra[4 + 1][i]) | ~b2 & (b1 & ~b3 | ~b1 & b4);
+    		extraForWrite(3 + 1)[i] = b3 & (nb1 | (nb2 = ~b2));
+    		extraForWrite(4 + 1)[i] = ~b1 & ~b3 & (b4 = otherInits.extra[4 + 1][i]) | ~b2 & (b1 & ~b3 | ~b1 & b4);
     		// this and then pot.other: leave iNBit & iNNBit untouched
     		if ((this.extra[2 + 1][i] | this.extra[3 + 1][i] | this.extra[4 + 1][i]) != 0) { //  bit1 is redundant
     		  	thisHasNulls = true;
     		}
 			if (COVERAGE_TEST_FLAG) {
 				if (CoverageTestId == 14) {
-				  this.extra[5][i] = ~0;
+				  extraForWrite(5)[i] = ~0;
 				}
 			}
 		}
@@ -713,26 +722,24 @@ public FlowInfo copy() {
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		// share the vectors, each side copies them before writing to them
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] = new long[length = this.extra[0].length]), 0,
-			length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		copy.shareExtra(this, 0);
+		copy.shareExtra(this, 1);
 		if (hasNullInfo) {
 			for (int j = 2; j < 6; j++) {
-				System.arraycopy(this.extra[j], 0,
-					(copy.extra[j] = new long[length]), 0, length);
+				copy.shareExtra(this, j);
 			}
 		}
 		else {
+			long[] nullBits = new long[this.extra[0].length];
 			for (int j = 2; j < 6; j++) {
-				copy.extra[j] = new long[length];
+				copy.extra[j] = nullBits;
 			}
+			copy.sharedExtra |= (1 << 6) - (1 << 2);
 		}
-		System.arraycopy(this.extra[IN], 0, (copy.extra[IN] = new long[length]), 0, length);
-		System.arraycopy(this.extra[INN], 0, (copy.extra[INN] = new long[length]), 0, length);
+		copy.shareExtra(this, IN);
+		copy.shareExtra(this, INN);
 	}
 	return copy;
 }
@@ -750,7 +757,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 		this.potentialInits = 0;
 	if (this.extra != null) {
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
-			this.extra[0][i] = this.extra[1][i] = 0;
+			extraForWrite(0)[i] = extraForWrite(1)[i] = 0;
 		}
 	}
 	return this;
@@ -785,12 +792,12 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
 		for (int j = 0; j < extraLength; j++) {
-			this.extra[j][vectorIndex] &= mask;
+			extraForWrite(j)[vectorIndex] &= mask;
 		}
 	}
 	for (int i = vectorIndex + 1; i < length; i++) {
 		for (int j = 0; j < extraLength; j++) {
-			this.extra[j][i] = 0;
+			extraForWrite(j)[i] = 0;
 		}
 	}
 	return this;
@@ -1210,25 +1217,25 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
   				& ~(a3 = this.extra[3 + 1][vectorIndex])
   				& (a4 = this.extra[4 + 1][vectorIndex]))
   					!= 0) {
-  			  	this.extra[4 + 1][vectorIndex] &= ~mask;
+  			  	extraForWrite(4 + 1)[vectorIndex] &= ~mask;
   			} else if ((mask & a1 & na2 & a3) == 0) {
-  			  	this.extra[4 + 1][vectorIndex] |= mask;
+  			  	extraForWrite(4 + 1)[vectorIndex] |= mask;
   			  	if ((mask & a1) == 0) {
   			  	  	if ((mask & a2 & (a3 ^ a4)) != 0) {
-  			  	  	  	this.extra[2 + 1][vectorIndex] &= ~mask;
+  			  	  	  	extraForWrite(2 + 1)[vectorIndex] &= ~mask;
   			  	  	}
   			  	  	else if ((mask & (a2 | a3 | a4)) == 0) {
-  			  	  	  	this.extra[2 + 1][vectorIndex] |= mask;
+  			  	  	  	extraForWrite(2 + 1)[vectorIndex] |= mask;
   			  	  	}
   			  	}
   			}
-  			this.extra[1 + 1][vectorIndex] |= mask;
-  			this.extra[3 + 1][vectorIndex] |= mask;
+  			extraForWrite(1 + 1)[vectorIndex] |= mask;
+  			extraForWrite(3 + 1)[vectorIndex] |= mask;
 			// it was not null;
-			this.extra[IN][vectorIndex] &= ~mask;
+			extraForWrite(IN)[vectorIndex] &= ~mask;
 			if (COVERAGE_TEST_FLAG) {
 				if (CoverageTestId == 18) {
-				  	this.extra[5][vectorIndex] = ~0;
+				  	extraForWrite(5)[vectorIndex] = ~0;
 				}
 			}
 		}
@@ -1299,22 +1306,22 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
   			  	if ((mask
   			  		& (~this.extra[2 + 1][vectorIndex] | this.extra[3 + 1][vectorIndex]
   			  			| ~this.extra[4 + 1][vectorIndex])) != 0) {
-  			  	  	this.extra[4 + 1][vectorIndex] &= ~mask;
+  			  	  	extraForWrite(4 + 1)[vectorIndex] &= ~mask;
   			  	}
 			} else if ((mask & this.extra[4 + 1][vectorIndex]) != 0) {
-			  	  this.extra[3 + 1][vectorIndex] &= ~mask;
+			  	  extraForWrite(3 + 1)[vectorIndex] &= ~mask;
 			} else {
     			if ((mask & this.extra[2 + 1][vectorIndex]) != 0) {
-    			  	this.extra[3 + 1][vectorIndex] &= ~mask;
-      			  	this.extra[4 + 1][vectorIndex] |= mask;
+    			  	extraForWrite(3 + 1)[vectorIndex] &= ~mask;
+      			  	extraForWrite(4 + 1)[vectorIndex] |= mask;
     			} else {
-    			  	this.extra[3 + 1][vectorIndex] |= mask;
+    			  	extraForWrite(3 + 1)[vectorIndex] |= mask;
     			}
 			}
-			this.extra[1 + 1][vectorIndex] |= mask;
-			this.extra[2 + 1][vectorIndex] |= mask;
+			extraForWrite(1 + 1)[vectorIndex] |= mask;
+			extraForWrite(2 + 1)[vectorIndex] |= mask;
 			// it was null;
-			this.extra[INN][vectorIndex] &= ~mask;
+			extraForWrite(INN)[vectorIndex] &= ~mask;
 		}
 	}
 }
@@ -1346,9 +1353,9 @@ final private void markAsDefinitelyAssigned(int position) {
 				}
 			}
 			long mask;
-			this.extra[0][vectorIndex] |=
+			extraForWrite(0)[vectorIndex] |=
 				(mask = 1L << (position % BitCacheSize));
-			this.extra[1][vectorIndex] |= mask;
+			extraForWrite(1)[vectorIndex] |= mask;
 		}
 	}
 }
@@ -1402,17 +1409,17 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
-    		this.extra[2][vectorIndex]
+    		extraForWrite(2)[vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
-    		this.extra[4][vectorIndex] |= mask;
-    		this.extra[3][vectorIndex] &= (mask = ~mask);
-    		this.extra[5][vectorIndex] &= mask;
+    		extraForWrite(4)[vectorIndex] |= mask;
+    		extraForWrite(3)[vectorIndex] &= (mask = ~mask);
+    		extraForWrite(5)[vectorIndex] &= mask;
     		// old value no longer shining through
-    		this.extra[IN][vectorIndex] &= mask;
-    		this.extra[INN][vectorIndex] &= mask;
+    		extraForWrite(IN)[vectorIndex] &= mask;
+    		extraForWrite(INN)[vectorIndex] &= mask;
     		if (COVERAGE_TEST_FLAG) {
     			if(CoverageTestId == 23) {
-	    			this.extra[2][vectorIndex] = 0;
+	    			extraForWrite(2)[vectorIndex] = 0;
     			}
     		}
     	}
@@ -1456,17 +1463,17 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
-    		this.extra[2][vectorIndex]
+    		extraForWrite(2)[vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
-    		this.extra[3][vectorIndex] |= mask;
-    		this.extra[4][vectorIndex] &= (mask = ~mask);
-    		this.extra[5][vectorIndex] &= mask;
+    		extraForWrite(3)[vectorIndex] |= mask;
+    		extraForWrite(4)[vectorIndex] &= (mask = ~mask);
+    		extraForWrite(5)[vectorIndex] &= mask;
     		// old value no longer shining through
-    		this.extra[IN][vectorIndex] &= mask;
-    		this.extra[INN][vectorIndex] &= mask;
+    		extraForWrite(IN)[vectorIndex] &= mask;
+    		extraForWrite(INN)[vectorIndex] &= mask;
     		if (COVERAGE_TEST_FLAG) {
     			if(CoverageTestId == 25) {
-	    			this.extra[5][vectorIndex] = ~0;
+	    			extraForWrite(5)[vectorIndex] = ~0;
     			}
     		}
     	}
@@ -1517,17 +1524,17 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 					growSpace(vectorIndex+1, 0, oldLength);
 				}
 			}
-			this.extra[2][vectorIndex]
+			extraForWrite(2)[vectorIndex]
 			    |= (mask = 1L << (position % BitCacheSize));
-			this.extra[5][vectorIndex] |= mask;
-			this.extra[3][vectorIndex] &= (mask = ~mask);
-			this.extra[4][vectorIndex] &= mask;
+			extraForWrite(5)[vectorIndex] |= mask;
+			extraForWrite(3)[vectorIndex] &= (mask = ~mask);
+			extraForWrite(4)[vectorIndex] &= mask;
     		// old value no longer shining through
-    		this.extra[IN][vectorIndex] &= mask;
-    		this.extra[INN][vectorIndex] &= mask;
+    		extraForWrite(IN)[vectorIndex] &= mask;
+    		extraForWrite(INN)[vectorIndex] &= mask;
 			if (COVERAGE_TEST_FLAG) {
 				if(CoverageTestId == 27) {
-					this.extra[5][vectorIndex] = 0;
+					extraForWrite(5)[vectorIndex] = 0;
 				}
 			}
 		}
@@ -1556,13 +1563,13 @@ public void resetNullInfo(LocalVariableBinding local) {
     			// before and for which no null bits exist.
     			return;
     		}
-    		this.extra[2][vectorIndex]
+    		extraForWrite(2)[vectorIndex]
     		    &= (mask = ~(1L << (position % BitCacheSize)));
-    		this.extra[3][vectorIndex] &= mask;
-    		this.extra[4][vectorIndex] &= mask;
-    		this.extra[5][vectorIndex] &= mask;
-    		this.extra[IN][vectorIndex] &= mask;
-    		this.extra[INN][vectorIndex] &= mask;
+    		extraForWrite(3)[vectorIndex] &= mask;
+    		extraForWrite(4)[vectorIndex] &= mask;
+    		extraForWrite(5)[vectorIndex] &= mask;
+    		extraForWrite(IN)[vectorIndex] &= mask;
+    		extraForWrite(INN)[vectorIndex] &= mask;
     	}
 	}
 }
@@ -1603,13 +1610,13 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
 			}
     		mask = 1L << (position % BitCacheSize);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'unknown' mark in unexpected state"); //$NON-NLS-1$
-    		this.extra[5][vectorIndex] |= mask;
+    		extraForWrite(5)[vectorIndex] |= mask;
     		if (COVERAGE_TEST_FLAG) {
 				if(CoverageTestId == 45) {
-					this.extra[2][vectorIndex] = ~0;
-					this.extra[3][vectorIndex] = ~0;
-					this.extra[4][vectorIndex] = 0;
-					this.extra[5][vectorIndex] = 0;
+					extraForWrite(2)[vectorIndex] = ~0;
+					extraForWrite(3)[vectorIndex] = ~0;
+					extraForWrite(4)[vectorIndex] = 0;
+					extraForWrite(5)[vectorIndex] = 0;
 				}
 			}
     	}
@@ -1646,11 +1653,11 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
-    		this.extra[3][vectorIndex] |= mask;
+    		extraForWrite(3)[vectorIndex] |= mask;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially null' mark in unexpected state"); //$NON-NLS-1$
     		if (COVERAGE_TEST_FLAG) {
 				if(CoverageTestId == 41) {
-					this.extra[3][vectorIndex] = 0;
+					extraForWrite(3)[vectorIndex] = 0;
 				}
 			}
     	}
@@ -1691,13 +1698,13 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 			}
     		mask = 1L << (position % BitCacheSize);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially non-null' mark in unexpected state"); //$NON-NLS-1$
-    		this.extra[4][vectorIndex] |= mask;
+    		extraForWrite(4)[vectorIndex] |= mask;
     		if (COVERAGE_TEST_FLAG) {
 				if(CoverageTestId == 43) {
-					this.extra[2][vectorIndex] = ~0;
-					this.extra[3][vectorIndex] = 0;
-					this.extra[4][vectorIndex] = ~0;
-					this.extra[5][vectorIndex] = 0;
+					extraForWrite(2)[vectorIndex] = ~0;
+					extraForWrite(3)[vectorIndex] = 0;
+					extraForWrite(4)[vectorIndex] = ~0;
+					extraForWrite(5)[vectorIndex] = 0;
 				}
 			}
     	}
@@ -1860,6 +1867,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			// no storage here, but other has extra storage.
 			int otherLength = otherInits.extra[0].length;
 			this.extra = new long[extraLength][];
+			this.sharedExtra = 0;
 			for (int j = 0; j < extraLength; j++) {
 				this.extra[j] = new long[otherLength];
 			}
@@ -1877,14 +1885,14 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
         // MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][i]/g
 		// manage definite assignment
 		for (i = 0; i < mergeLimit; i++) {
-	  		this.extra[0][i] &= otherInits.extra[0][i];
-	  		this.extra[1][i] |= otherInits.extra[1][i];
+	  		extraForWrite(0)[i] &= otherInits.extra[0][i];
+	  		extraForWrite(1)[i] |= otherInits.extra[1][i];
 		}
 		for (; i < copyLimit; i++) {
-		  	this.extra[1][i] = otherInits.extra[1][i];
+		  	extraForWrite(1)[i] = otherInits.extra[1][i];
 		}
 		for (; i < resetLimit; i++) {
-		  	this.extra[0][i] = 0;
+		  	extraForWrite(0)[i] = 0;
 		}
 		// refine null bits requirements
 		if (!otherHasNulls || otherIsUnreachable) {
@@ -1903,33 +1911,33 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			if (otherInits.extra != null) {
 				// take null info only from other, as much as available and without shedding doubt:
 				for (; i < mergeLimit; i++) {
-					this.extra[1 + 1][i] = otherInits.extra[1+1][i];
-					this.extra[2 + 1][i] = otherInits.extra[2+1][i];
-					this.extra[3 + 1][i] = otherInits.extra[3+1][i];
-					this.extra[4 + 1][i] = otherInits.extra[4+1][i];
+					extraForWrite(1 + 1)[i] = otherInits.extra[1+1][i];
+					extraForWrite(2 + 1)[i] = otherInits.extra[2+1][i];
+					extraForWrite(3 + 1)[i] = otherInits.extra[3+1][i];
+					extraForWrite(4 + 1)[i] = otherInits.extra[4+1][i];
 				}
 			}
 			// clear the remaining length of this.extra
 			for (; i < resetLimit; i++) {
-				this.extra[1 + 1][i] = 0;
-				this.extra[2 + 1][i] = 0;
-				this.extra[3 + 1][i] = 0;
-				this.extra[4 + 1][i] = 0;
+				extraForWrite(1 + 1)[i] = 0;
+				extraForWrite(2 + 1)[i] = 0;
+				extraForWrite(3 + 1)[i] = 0;
+				extraForWrite(4 + 1)[i] = 0;
 			}
 		} else {
 			// compose nulls
 			for (; i < mergeLimit; i++) {
-	    		this.extra[1 + 1][i] = (a1=this.extra[1+1][i]) & (b1=otherInits.extra[1+1][i]) & (
+	    		extraForWrite(1 + 1)[i] = (a1=this.extra[1+1][i]) & (b1=otherInits.extra[1+1][i]) & (
 	    				((a2=this.extra[2+1][i]) & (((b2=otherInits.extra[2+1][i]) &
 	    												~(((a3=this.extra[3+1][i]) & (a4=this.extra[4+1][i])) ^ ((b3=otherInits.extra[3+1][i]) & (b4=otherInits.extra[4+1][i]))))
 	    											|(a3 & a4 & (nb2=~b2))))
 	    				|((na2=~a2) & ((b2 & b3 & b4)
 	    						|(nb2 & ((na3=~a3) ^ b3)))));
-	    		this.extra[2 + 1][i] = b2 & ((nb3=~b3) | (nb1 = ~b1) | a3 & (a4 | (na1 = ~a1)) & (nb4=~b4))
+	    		extraForWrite(2 + 1)[i] = b2 & ((nb3=~b3) | (nb1 = ~b1) | a3 & (a4 | (na1 = ~a1)) & (nb4=~b4))
 	        			| a2 & (b2 | (na4=~a4) & b3 & (b4 | nb1) | na3 | na1);
-	    		this.extra[3 + 1][i] =   a3 & (na1 | a1 & na2 | b3 & (na4 ^ b4))
+	    		extraForWrite(3 + 1)[i] =   a3 & (na1 | a1 & na2 | b3 & (na4 ^ b4))
 									   | b3 & (nb1 | b1 & nb2);
-	    		this.extra[4 + 1][i] = na3 & (nb1 & nb3 & b4
+	    		extraForWrite(4 + 1)[i] = na3 & (nb1 & nb3 & b4
 	              			| b1 & (nb2 & nb3 | a4 & b2 & nb4)
 	              			| na1 & a4 & (nb3 | b1 & b2))
 	        			| a3 & a4 & (b3 & b4 | b1 & nb2 | na1 & a2)
@@ -1940,44 +1948,44 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 	                			| na2 & b3 & b4
 	                			| a2 & (nb1 & b4 | a3 & na4 & b1) & nb3)
 	                	|nb1 & b2 & b3 & b4;
-	    		this.extra[IN][i] |= otherInits.extra[IN][i];
-	    		this.extra[INN][i] |= otherInits.extra[INN][i];
+	    		extraForWrite(IN)[i] |= otherInits.extra[IN][i];
+	    		extraForWrite(INN)[i] |= otherInits.extra[INN][i];
 				thisHasNulls = thisHasNulls ||
 					this.extra[3][i] != 0 ||
 					this.extra[4][i] != 0 ||
 					this.extra[5][i] != 0 ;
 				if (COVERAGE_TEST_FLAG) {
 					if(CoverageTestId == 37) {
-						this.extra[5][i] = ~0;
+						extraForWrite(5)[i] = ~0;
 					}
 				}
 			}
 			for (; i < copyLimit; i++) {
-	    		this.extra[1 + 1][i] = 0;
-	    		this.extra[2 + 1][i] = (b2 = otherInits.extra[2 + 1][i]) & (nb3 = ~(b3 = otherInits.extra[3 + 1][i]) | (nb1 = ~(b1 = otherInits.extra[1 + 1][i])));
-	    		this.extra[3 + 1][i] = b3 & ((nb2 = ~b2) & (b4 = otherInits.extra[4 + 1][i]) | nb1) | b1 & nb2 & ~b4;
-	    		this.extra[4 + 1][i] = (nb3 | nb2) & nb1 & b4	| b1 & nb3 & nb2;
-	    		this.extra[IN][i] |= otherInits.extra[IN][i];
-	    		this.extra[INN][i] |= otherInits.extra[INN][i];
+	    		extraForWrite(1 + 1)[i] = 0;
+	    		extraForWrite(2 + 1)[i] = (b2 = otherInits.extra[2 + 1][i]) & (nb3 = ~(b3 = otherInits.extra[3 + 1][i]) | (nb1 = ~(b1 = otherInits.extra[1 + 1][i])));
+	    		extraForWrite(3 + 1)[i] = b3 & ((nb2 = ~b2) & (b4 = otherInits.extra[4 + 1][i]) | nb1) | b1 & nb2 & ~b4;
+	    		extraForWrite(4 + 1)[i] = (nb3 | nb2) & nb1 & b4	| b1 & nb3 & nb2;
+	    		extraForWrite(IN)[i] |= otherInits.extra[IN][i];
+	    		extraForWrite(INN)[i] |= otherInits.extra[INN][i];
 				thisHasNulls = thisHasNulls ||
 					this.extra[3][i] != 0 ||
 					this.extra[4][i] != 0 ||
 					this.extra[5][i] != 0;
 				if (COVERAGE_TEST_FLAG) {
 					if(CoverageTestId == 38) {
-						this.extra[5][i] = ~0;
+						extraForWrite(5)[i] = ~0;
 					}
 				}
 			}
 			for (; i < resetLimit; i++) {
 	    		a1 = this.extra[1 + 1][i];
-	      		this.extra[1 + 1][i] = 0;
-	      		this.extra[2 + 1][i] = (a2 = this.extra[2 + 1][i]) & (na3 = ~(a3 = this.extra[3 + 1][i]) | (na1 = ~a1));
-	      		this.extra[3 + 1][i] = a3 & ((na2 = ~a2) & (a4 = this.extra[4 + 1][i]) | na1) | a1 & na2 & ~a4;
-	      		this.extra[4 + 1][i] = (na3 | na2) & na1 & a4	| a1 & na3 & na2;
+	      		extraForWrite(1 + 1)[i] = 0;
+	      		extraForWrite(2 + 1)[i] = (a2 = this.extra[2 + 1][i]) & (na3 = ~(a3 = this.extra[3 + 1][i]) | (na1 = ~a1));
+	      		extraForWrite(3 + 1)[i] = a3 & ((na2 = ~a2) & (a4 = this.extra[4 + 1][i]) | na1) | a1 & na2 & ~a4;
+	      		extraForWrite(4 + 1)[i] = (na3 | na2) & na1 & a4	| a1 & na3 & na2;
 	      		if (otherInits.extra != null && otherInits.extra[0].length > i) {
-		    		this.extra[IN][i] |= otherInits.extra[IN][i];
-		    		this.extra[INN][i] |= otherInits.extra[INN][i];
+		    		extraForWrite(IN)[i] |= otherInits.extra[IN][i];
+		    		extraForWrite(INN)[i] |= otherInits.extra[INN][i];
 	      		}
 				thisHasNulls = thisHasNulls ||
 					this.extra[3][i] != 0 ||
@@ -1985,7 +1993,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 					this.extra[5][i] != 0;
 				if (COVERAGE_TEST_FLAG) {
 					if(CoverageTestId == 39) {
-						this.extra[5][i] = ~0;
+						extraForWrite(5)[i] = ~0;
 					}
 				}
 			}
@@ -2028,19 +2036,19 @@ public UnconditionalFlowInfo nullInfoLessUnconditionalCopy() {
 	copy.tagBits |= UNROOTED;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		int length = this.extra[0].length;
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] =
-				new long[length = this.extra[0].length]), 0, length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
-		for (int j = 2; j < extraLength; j++) {
-			copy.extra[j] = new long[length];
+		copy.shareExtra(this, 0);
+		copy.shareExtra(this, 1);
+		long[] nullBits = new long[length];
+		for (int j = 2; j < 6; j++) {
+			copy.extra[j] = nullBits;
 		}
 		// no nullness known means: any previous nullness could shine through:
-		Arrays.fill(copy.extra[IN], -1L);
-		Arrays.fill(copy.extra[INN], -1L);
+		long[] incomingBits = new long[length];
+		Arrays.fill(incomingBits, -1L);
+		copy.extra[IN] = copy.extra[INN] = incomingBits;
+		copy.sharedExtra = ALL_EXTRA_SHARED;
 	}
 	return copy;
 }
@@ -2067,7 +2075,7 @@ public FlowInfo setReachMode(int reachMode) {
 			if (this.extra != null) {
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
-					this.extra[1][i] = 0;
+					extraForWrite(1)[i] = 0;
 				}
 			}
 		}
@@ -2233,24 +2241,24 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 				// current storage is shorter -> grow current
 				growSpace(otherLength, 0, length);
 				for (; i < length; i++) {
-					this.extra[0][i] &= otherInits.extra[0][i];
+					extraForWrite(0)[i] &= otherInits.extra[0][i];
 				}
 				for (; i < otherLength; i++) {
-					this.extra[0][i] = otherInits.extra[0][i];
+					extraForWrite(0)[i] = otherInits.extra[0][i];
 				}
 			}
 			else {
 				// current storage is longer
 				for (; i < otherLength; i++) {
-					this.extra[0][i] &= otherInits.extra[0][i];
+					extraForWrite(0)[i] &= otherInits.extra[0][i];
 				}
 				for (; i < length; i++) {
-					this.extra[0][i] = 0; // absent otherInit.extra means: all are 0
+					extraForWrite(0)[i] = 0; // absent otherInit.extra means: all are 0
 				}
 			}
 		} else {
 			for (int i = 0; i < this.extra[0].length; i++) {
-				this.extra[0][i] = 0;
+				extraForWrite(0)[i] = 0;
 			}
 		}
 	}
@@ -2281,15 +2289,16 @@ public void resetAssignmentInfo(int position) {
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
 			long mask;
-			this.extra[0][vectorIndex] &=
+			extraForWrite(0)[vectorIndex] &=
 				(mask = ~(1L << (position % BitCacheSize)));
-			this.extra[1][vectorIndex] &= mask;
+			extraForWrite(1)[vectorIndex] &= mask;
 		}
 	}
 }
 
 private void createExtraSpace(int length) {
 	this.extra = new long[extraLength][];
+	this.sharedExtra = 0;
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
@@ -2305,6 +2314,7 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 			(this.extra[j] = new long[newLength]), copyStart,
 			copyLength);
 	}
+	this.sharedExtra = 0;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], copyStart+copyLength, newLength, -1);
 		Arrays.fill(this.extra[INN], copyStart+copyLength, newLength, -1);
@@ -2315,9 +2325,29 @@ public void acceptAllIncomingNullness() {
 	this.iNBit = -1L;
 	this.iNNBit = -1L;
 	if (this.extra != null) {
-		Arrays.fill(this.extra[IN], -1L);
-		Arrays.fill(this.extra[INN], -1L);
+		Arrays.fill(extraForWrite(IN), -1L);
+		Arrays.fill(extraForWrite(INN), -1L);
+	}
+}
+
+/**
+ * Answer the given vector of the extra bits, copied first if it may be referenced by another flow info.
+ */
+private long[] extraForWrite(int j) {
+	if ((this.sharedExtra & (1 << j)) != 0) {
+		this.extra[j] = this.extra[j].clone();
+		this.sharedExtra &= ~(1 << j);
 	}
+	return this.extra[j];
+}
+
+/**
+ * Reference the given vector of the extra bits of other from this, both copying it before writing to it.
+ */
+private void shareExtra(UnconditionalFlowInfo other, int j) {
+	this.extra[j] = other.extra[j];
+	this.sharedExtra |= 1 << j;
+	other.sharedExtra |= 1 << j;
 }
 }
 
@@ -56,6 +56,8 @@ public class CompilerOptions {
 	public static final String OPTION_PreserveUnusedLocal = "org.eclipse.jdt.core.compiler.codegen.unusedLocal"; //$NON-NLS-1$
 	public static final String OPTION_MethodParametersAttribute = "org.eclipse.jdt.core.compiler.codegen.methodParameters"; //$NON-NLS-1$
 	public static final String OPTION_LambdaGenericSignature = "org.eclipse.jdt.core.compiler.codegen.lambda.genericSignature"; //$NON-NLS-1$
+	public static final String OPTION_AbiOnly = "org.eclipse.jdt.core.compiler.codegen.abiOnly"; //$NON-NLS-1$
+	public static final String OPTION_AbiPrivateMembers = "org.eclipse.jdt.core.compiler.codegen.abiOnly.privateMembers"; //$NON-NLS-1$
 	public static final String OPTION_DocCommentSupport= "org.eclipse.jdt.core.compiler.doc.comment.support"; //$NON-NLS-1$
 	public static final String OPTION_ReportMethodWithConstructorName = "org.eclipse.jdt.core.compiler.problem.methodWithConstructorName"; //$NON-NLS-1$
 	public static final String OPTION_ReportOverridingPackageDefaultMethod = "org.eclipse.jdt.core.compiler.problem.overridingPackageDefaultMethod"; //$NON-NLS-1$
@@ -479,6 +481,10 @@ public class CompilerOptions {
 	public boolean generateClassFiles;
 	/** Indicate if method bodies should be ignored */
 	public boolean ignoreMethodBodies;
+	/** Indicate if only the ABI of the types is generated: method bodies are neither parsed nor analyzed, and their code is a stub */
+	public boolean generateAbiOnly;
+	/** Indicate if the private fields and methods are part of the ABI generated */
+	public boolean generateAbiPrivateMembers;
 	/** Raise null related warnings for variables tainted inside an assert statement (java 1.4 and above)*/
 	public boolean includeNullInfoFromAsserts;
 	/** Controls whether forced generic type problems get reported  */
@@ -1245,6 +1251,8 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_SourceFileAttribute, (this.produceDebugAttributes & ClassFileConstants.ATTR_SOURCE) != 0 ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_MethodParametersAttribute, this.produceMethodParameters ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_LambdaGenericSignature, this.generateGenericSignatureForLambdaExpressions ? GENERATE : DO_NOT_GENERATE);
+		optionsMap.put(OPTION_AbiOnly, this.generateAbiOnly ? ENABLED : DISABLED);
+		optionsMap.put(OPTION_AbiPrivateMembers, this.generateAbiPrivateMembers ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_PreserveUnusedLocal, this.preserveAllLocalVariables ? PRESERVE : OPTIMIZE_OUT);
 		optionsMap.put(OPTION_DocCommentSupport, this.docCommentSupport ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportMethodWithConstructorName, getSeverityString(MethodWithConstructorName));
@@ -1568,6 +1576,10 @@ public class CompilerOptions {
 		// ignore method bodies
 		this.ignoreMethodBodies = false;
 
+		// generate class files with their method bodies
+		this.generateAbiOnly = false;
+		this.generateAbiPrivateMembers = false;
+
 		this.ignoreSourceFolderWarningOption = false;
 
 		// allow null info from asserts to be considered downstream by default
@@ -1790,6 +1802,20 @@ public class CompilerOptions {
 				this.generateGenericSignatureForLambdaExpressions = false;
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_AbiOnly)) != null) {
+			if (ENABLED.equals(optionValue)) {
+				this.generateAbiOnly = true;
+			} else if (DISABLED.equals(optionValue)) {
+				this.generateAbiOnly = false;
+			}
+		}
+		if ((optionValue = optionsMap.get(OPTION_AbiPrivateMembers)) != null) {
+			if (GENERATE.equals(optionValue)) {
+				this.generateAbiPrivateMembers = true;
+			} else if (DO_NOT_GENERATE.equals(optionValue)) {
+				this.generateAbiPrivateMembers = false;
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_SuppressWarnings)) != null) {
 			if (ENABLED.equals(optionValue)) {
 				this.suppressWarnings = true;
@@ -2238,6 +2264,8 @@ public class CompilerOptions {
 		buf.append("\n\t- treat optional error as fatal: ").append(this.treatOptionalErrorAsFatal ? ENABLED : DISABLED); //$NON-NLS-1$
 		buf.append("\n\t- parameter assignment: ").append(getSeverityString(ParameterAssignment)); //$NON-NLS-1$
 		buf.append("\n\t- generate class files: ").append(this.generateClassFiles ? ENABLED : DISABLED); //$NON-NLS-1$
+		buf.append("\n\t- generate ABI only: ").append(this.generateAbiOnly ? ENABLED : DISABLED); //$NON-NLS-1$
+		buf.append("\n\t- private members in ABI: ").append(this.generateAbiPrivateMembers ? GENERATE : DO_NOT_GENERATE); //$NON-NLS-1$
 		buf.append("\n\t- process annotations: ").append(this.processAnnotations ? ENABLED : DISABLED); //$NON-NLS-1$
 		buf.append("\n\t- unused type arguments for method/constructor invocation: ").append(getSeverityString(UnusedTypeArguments)); //$NON-NLS-1$
 		buf.append("\n\t- redundant superinterface: ").append(getSeverityString(RedundantSuperinterface)); //$NON-NLS-1$
@@ -13,6 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.impl;
 
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @SuppressWarnings("rawtypes")
 public class CompilerStats implements Comparable {
 
@@ -28,6 +35,184 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// hand-off of processed units when not using a single thread
+	public long producerStallTime; // processing thread waiting for room in the queue
+	public long consumerStallTime; // writing thread waiting for a processed unit
+
+	// batch compilation cache
+	public int cacheHits;
+	public int cacheMisses;
+
+	// method lookups remembered per unit (see Scope#getMethod), only recorded with details
+	public int methodLookupCacheHits;
+	public int methodLookupCacheMisses; // lookups which could have been remembered, but were computed
+
+	// class files taken from the pool of the lookup environment (see ClassFilePool), only recorded with details
+	public int classFilesReused;
+	public int classFilesCreated;
+	public long classFileReusedBytes; // byte arrays of the reused class files, which were not allocated again
+
+	// lookups made ahead on worker threads (see BinaryTypePrefetcher), only recorded with details
+	public int prefetchedTypeCount; // lookups predicted
+	public int prefetchHits; // lookups of the compiler answered from the predicted ones
+
+	// shared identifiers (see IdentifierInterner)
+	public long internedIdentifiers; // identifiers found in the table rather than allocated
+	public long internSavedBytes; // estimated heap not allocated thanks to them
+
+	// detailed statistics, only recorded once enableDetails() was called
+	public static final int PARSE = 0;
+	public static final int RESOLVE = 1;
+	public static final int ANALYZE = 2;
+	public static final int GENERATE = 3;
+	public long[] allocatedBytes; // per phase, by the threads processing the units; -1 when the JVM cannot tell
+	public int binaryTypeCount; // binary types read through the lookup environment
+	public long digestedBinaryTypeCount; // binary types decoded from a digest instead of their class file (see BinaryTypeDigest#getReadCount())
+	public long typeLookupTime; // in nanoseconds, spent asking the name environment for types (including their reading)
+	public int inferenceCount; // type inferences (JLS 18) solved
+	public long inferenceTime; // in nanoseconds
+	public int inferenceCacheHits; // applicability inferences known to fail in the unit, not solved again
+	public int inferenceCacheMisses; // applicability inferences which could have been found so, but were solved
+	public long reductionTime; // in nanoseconds, spent reducing constraint formulas (JLS 18.2)
+	public long incorporationTime; // in nanoseconds, spent incorporating bounds (JLS 18.3), which reduces more formulas
+	private Map<String, UnitStats> unitStats; // by file name, in the order the units were first seen
+	private int typeLookupDepth;
+	private long typeLookupStart;
+	private int inferenceDepth;
+	private long inferenceStart;
+	private int reductionDepth;
+	private long reductionStart;
+	private int incorporationDepth;
+	private long incorporationStart;
+
+	private static Method threadAllocatedBytes; // com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long), if available
+	private static boolean threadAllocatedBytesChecked;
+
+	/**
+	 * Timings of a single compilation unit, in nanoseconds.
+	 */
+	public static class UnitStats {
+		public final String fileName;
+		public long lineCount;
+		public final long[] phaseTimes = new long[4];
+		long markTime;
+		long markBytes;
+
+		UnitStats(String fileName) {
+			this.fileName = fileName;
+		}
+		public long totalTime() {
+			return this.phaseTimes[PARSE] + this.phaseTimes[RESOLVE] + this.phaseTimes[ANALYZE] + this.phaseTimes[GENERATE];
+		}
+	}
+
+/**
+ * Starts recording the time spent in each unit and phase, the allocations of each phase, the
+ * binary types read and the type inferences solved.
+ */
+public void enableDetails() {
+	if (this.unitStats == null) {
+		this.unitStats = new LinkedHashMap<>();
+		this.allocatedBytes = new long[4];
+		if (currentThreadAllocatedBytes() == -1)
+			this.allocatedBytes = new long[] { -1, -1, -1, -1 };
+	}
+}
+public boolean isDetailed() {
+	return this.unitStats != null;
+}
+/**
+ * Starts the first phase of the given unit, answering null unless details are recorded.
+ */
+public UnitStats startUnit(char[] fileName) {
+	if (this.unitStats == null)
+		return null;
+	String name = new String(fileName);
+	UnitStats stats = this.unitStats.get(name);
+	if (stats == null)
+		this.unitStats.put(name, stats = new UnitStats(name));
+	stats.markTime = System.nanoTime();
+	stats.markBytes = this.allocatedBytes[PARSE] == -1 ? 0 : currentThreadAllocatedBytes();
+	return stats;
+}
+/**
+ * Ends the given phase of the given unit, which started when the unit or its previous phase did.
+ */
+public void endPhase(UnitStats stats, int phase) {
+	if (stats == null)
+		return;
+	long time = System.nanoTime();
+	stats.phaseTimes[phase] += time - stats.markTime;
+	stats.markTime = time;
+	if (this.allocatedBytes[phase] != -1) {
+		long bytes = currentThreadAllocatedBytes();
+		this.allocatedBytes[phase] += bytes - stats.markBytes;
+		stats.markBytes = bytes;
+	}
+}
+public List<UnitStats> getUnitStats() {
+	return this.unitStats == null ? new ArrayList<>() : new ArrayList<>(this.unitStats.values());
+}
+// nested lookups and inferences are accounted for by the outermost one
+public void startTypeLookup() {
+	if (this.typeLookupDepth++ == 0)
+		this.typeLookupStart = System.nanoTime();
+}
+public void endTypeLookup() {
+	if (--this.typeLookupDepth == 0)
+		this.typeLookupTime += System.nanoTime() - this.typeLookupStart;
+}
+public void startInference() {
+	if (this.inferenceDepth++ == 0) {
+		this.inferenceCount++;
+		this.inferenceStart = System.nanoTime();
+	}
+}
+public void endInference() {
+	if (--this.inferenceDepth == 0)
+		this.inferenceTime += System.nanoTime() - this.inferenceStart;
+}
+public void startReduction() {
+	if (this.reductionDepth++ == 0)
+		this.reductionStart = System.nanoTime();
+}
+public void endReduction() {
+	if (--this.reductionDepth == 0)
+		this.reductionTime += System.nanoTime() - this.reductionStart;
+}
+public void startIncorporation() {
+	if (this.incorporationDepth++ == 0)
+		this.incorporationStart = System.nanoTime();
+}
+public void endIncorporation() {
+	if (--this.incorporationDepth == 0)
+		this.incorporationTime += System.nanoTime() - this.incorporationStart;
+}
+/**
+ * Answers the number of bytes allocated so far by the current thread, or -1 when the JVM cannot
+ * tell.
+ */
+public static long currentThreadAllocatedBytes() {
+	if (!threadAllocatedBytesChecked) {
+		try {
+			Method method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$ //$NON-NLS-2$
+			Object bean = ManagementFactory.getThreadMXBean();
+			if (method.getDeclaringClass().isInstance(bean) && ((Long) method.invoke(bean, Long.valueOf(Thread.currentThread().getId()))).longValue() != -1)
+				threadAllocatedBytes = method;
+		} catch (Exception | LinkageError e) {
+			// not available on this JVM
+		}
+		threadAllocatedBytesChecked = true;
+	}
+	if (threadAllocatedBytes == null)
+		return -1;
+	try {
+		return ((Long) threadAllocatedBytes.invoke(ManagementFactory.getThreadMXBean(), Long.valueOf(Thread.currentThread().getId()))).longValue();
+	} catch (Exception e) {
+		return -1;
+	}
+}
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
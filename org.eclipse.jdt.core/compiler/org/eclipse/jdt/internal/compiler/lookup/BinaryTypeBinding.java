@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.Annotation;
 import org.eclipse.jdt.internal.compiler.classfmt.AnnotationInfo;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeDigest;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider.IMethodAnnotationWalker;
 import org.eclipse.jdt.internal.compiler.classfmt.MethodInfoWithAnnotations;
@@ -930,7 +931,8 @@ private MethodBinding createMethod(IBinaryMethod method, IBinaryType binaryType,
 
 	boolean forceStoreAnnotations = !this.environment.globalOptions.storeAnnotations
 										&& (this.environment.globalOptions.sourceLevel >= ClassFileConstants.JDK9
-										&& method instanceof MethodInfoWithAnnotations
+										&& (method instanceof MethodInfoWithAnnotations
+												|| method instanceof BinaryTypeDigest.MethodDigest && ((BinaryTypeDigest.MethodDigest) method).hasAnnotationAttributes)
 										&& (method.getTagBits() & TagBits.AnnotationDeprecated) != 0);
 	if (this.environment.globalOptions.storeAnnotations || forceStoreAnnotations) {
 		if (forceStoreAnnotations)
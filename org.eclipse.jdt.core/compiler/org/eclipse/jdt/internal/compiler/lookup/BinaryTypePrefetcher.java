@@ -0,0 +1,371 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ast.ASTNode;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.Annotation;
+import org.eclipse.jdt.internal.compiler.ast.Argument;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.FieldDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.ImportReference;
+import org.eclipse.jdt.internal.compiler.ast.MethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeParameter;
+import org.eclipse.jdt.internal.compiler.ast.TypeReference;
+import org.eclipse.jdt.internal.compiler.ast.Wildcard;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+/*
+ * Asks the name environment on worker threads for the types which the units being compiled
+ * are likely to look up, and decodes the binary types found, ahead of the compiler thread.
+ *
+ * Once the units are diet parsed, their imports and the types named in their declarations
+ * (super types, annotations, fields, method signatures) are known. Each of them predicts the exact
+ * lookups LookupEnvironment#askForType(PackageBinding, char[], ModuleBinding) would make: a name in
+ * a package, asked in the module of the unit when using the module system, along with the
+ * package-info of the package and the type its last segment could clash with. The super types of
+ * the binary types found are in turn predicted as the compound name lookups their bindings make
+ * when resolving them. A lookup which was predicted takes its answer from here (waiting for it if a
+ * worker is still on it, or making it if no worker picked it up yet); any other lookup goes to the
+ * name environment as before, so wrong predictions only cost worker time.
+ *
+ * Answers are only handed out once, since the lookup environment completes them. The name
+ * environment must support concurrent lookups.
+ */
+public class BinaryTypePrefetcher implements Runnable {
+
+	LookupEnvironment environment;
+	Thread[] prefetchingThreads;
+	List<FutureTask<NameEnvironmentAnswer>> tasks; // in the order of the predictions, guarded by this
+	int nextTaskIndex; // next task to be picked up by a prefetching thread
+	Map<String, FutureTask<NameEnvironmentAnswer>> predictedLookups; // not yet taken, by key(...)
+	Set<String> predictedKeys; // including the lookups already taken
+	CompilerStats stats;
+
+	private char[][][] onDemandPackages; // while predicting a unit, with its own package and java.lang
+	private Set<String> typeVariableNames; // while predicting a unit
+
+public BinaryTypePrefetcher(LookupEnvironment environment) {
+	this.environment = environment;
+	this.tasks = new ArrayList<>();
+	this.predictedLookups = new ConcurrentHashMap<>();
+	this.predictedKeys = ConcurrentHashMap.newKeySet();
+	this.stats = environment.root.stats;
+}
+
+/**
+ * Predicts the lookups of the given units, then starts the given number of threads to make them.
+ */
+public void prefetch(CompilationUnitDeclaration[] units, int unitCount, int threadCount) {
+	// imports first: they are looked up first, when completing the type bindings
+	for (int i = 0; i < unitCount; i++)
+		predictImports(units[i]);
+	for (int i = 0; i < unitCount; i++)
+		predictDeclarations(units[i]);
+	synchronized (this) {
+		this.prefetchingThreads = new Thread[threadCount];
+		for (int i = threadCount; --i >= 0;) {
+			this.prefetchingThreads[i] = new Thread(this, "Compiler Binary Type Prefetch Task"); //$NON-NLS-1$
+			this.prefetchingThreads[i].setDaemon(true);
+			this.prefetchingThreads[i].start();
+		}
+	}
+}
+
+private void predictImports(CompilationUnitDeclaration unit) {
+	ImportReference[] imports = unit.imports;
+	if (imports == null || unit.scope == null) return;
+	char[] moduleName = moduleNameOf(unit);
+	for (ImportReference importReference : imports) {
+		char[][] tokens = importReference.tokens;
+		int typeLength = tokens.length;
+		if (importReference.isStatic()) {
+			if ((importReference.bits & ASTNode.OnDemand) == 0)
+				typeLength--; // the last token names a member
+		} else if ((importReference.bits & ASTNode.OnDemand) != 0) {
+			continue; // a package, or the member types of a type
+		}
+		if (typeLength > 1)
+			predict(CharOperation.subarray(tokens, 0, typeLength - 1), tokens[typeLength - 1], moduleName);
+	}
+}
+
+private void predictDeclarations(CompilationUnitDeclaration unit) {
+	if (unit.types == null || unit.scope == null) return;
+	List<char[][]> packages = new ArrayList<>();
+	packages.add(unit.currentPackage == null ? CharOperation.NO_CHAR_CHAR : unit.currentPackage.tokens);
+	packages.add(TypeConstants.JAVA_LANG);
+	if (unit.imports != null) {
+		for (ImportReference importReference : unit.imports) {
+			if (!importReference.isStatic() && (importReference.bits & ASTNode.OnDemand) != 0)
+				packages.add(importReference.tokens);
+		}
+	}
+	this.onDemandPackages = packages.toArray(new char[packages.size()][][]);
+	this.typeVariableNames = new HashSet<>();
+	char[] moduleName = moduleNameOf(unit);
+	for (TypeDeclaration type : unit.types)
+		predict(type, moduleName);
+	this.onDemandPackages = null;
+	this.typeVariableNames = null;
+}
+
+private void predict(TypeDeclaration type, char[] moduleName) {
+	addTypeVariableNames(type.typeParameters);
+	predict(type.annotations, moduleName);
+	predict(type.superclass, moduleName);
+	predict(type.superInterfaces, moduleName);
+	predict(type.typeParameters, moduleName);
+	if (type.fields != null) {
+		for (FieldDeclaration field : type.fields) {
+			predict(field.annotations, moduleName);
+			predict(field.type, moduleName);
+		}
+	}
+	if (type.methods != null) {
+		for (AbstractMethodDeclaration method : type.methods) {
+			predict(method.annotations, moduleName);
+			if (method instanceof MethodDeclaration) {
+				MethodDeclaration methodDeclaration = (MethodDeclaration) method;
+				addTypeVariableNames(methodDeclaration.typeParameters);
+				predict(methodDeclaration.returnType, moduleName);
+				predict(methodDeclaration.typeParameters, moduleName);
+			}
+			if (method.arguments != null) {
+				for (Argument argument : method.arguments)
+					predict(argument.type, moduleName);
+			}
+			predict(method.thrownExceptions, moduleName);
+		}
+	}
+	if (type.memberTypes != null) {
+		for (TypeDeclaration memberType : type.memberTypes)
+			predict(memberType, moduleName);
+	}
+}
+
+private void addTypeVariableNames(TypeParameter[] typeParameters) {
+	if (typeParameters == null) return;
+	for (TypeParameter typeParameter : typeParameters)
+		this.typeVariableNames.add(String.valueOf(typeParameter.name));
+}
+
+private void predict(TypeParameter[] typeParameters, char[] moduleName) {
+	if (typeParameters == null) return;
+	for (TypeParameter typeParameter : typeParameters) {
+		predict(typeParameter.type, moduleName);
+		predict(typeParameter.bounds, moduleName);
+	}
+}
+
+private void predict(Annotation[] annotations, char[] moduleName) {
+	if (annotations == null) return;
+	for (Annotation annotation : annotations)
+		predict(annotation.type, moduleName);
+}
+
+private void predict(TypeReference[] references, char[] moduleName) {
+	if (references == null) return;
+	for (TypeReference reference : references)
+		predict(reference, moduleName);
+}
+
+private void predict(TypeReference reference, char[] moduleName) {
+	if (reference == null || reference.isBaseTypeReference()) return;
+	if (reference instanceof Wildcard) {
+		predict(((Wildcard) reference).bound, moduleName);
+		return;
+	}
+	TypeReference[][] typeArguments = reference.getTypeArguments();
+	if (typeArguments != null) {
+		for (TypeReference[] arguments : typeArguments)
+			predict(arguments, moduleName);
+	}
+	char[][] typeName = reference.getTypeName();
+	if (typeName == null || typeName.length == 0) return;
+	if (typeName.length > 1) {
+		// either a qualified type name, or a member type of a type named by its first token
+		predict(CharOperation.subarray(typeName, 0, typeName.length - 1), typeName[typeName.length - 1], moduleName);
+	}
+	if (this.typeVariableNames.contains(String.valueOf(typeName[0]))) return;
+	for (char[][] packageName : this.onDemandPackages)
+		predict(packageName, typeName[0], moduleName);
+}
+
+private void predict(char[][] packageName, char[] name, char[] moduleName) {
+	if (!schedule(key(packageName, name, moduleName),
+			() -> decode(this.environment.askNameEnvironment(name, packageName, moduleName), moduleName)))
+		return;
+	// the package gets looked up as well, which asks for its package-info and for the type its last segment could name
+	int length = packageName.length;
+	if (length > 0 && !CharOperation.equals(name, TypeConstants.PACKAGE_INFO_NAME)) {
+		predict(packageName, TypeConstants.PACKAGE_INFO_NAME, moduleName);
+		predict(CharOperation.subarray(packageName, 0, length - 1), packageName[length - 1], moduleName);
+	}
+}
+
+private void predict(char[][] compoundName, char[] moduleName) {
+	schedule(key(compoundName, moduleName),
+			() -> decode(this.environment.askNameEnvironment(compoundName, moduleName), moduleName));
+}
+
+/*
+ * Queues the given lookup unless a lookup of the same key was predicted before, answers whether it was queued.
+ * Called from the prefetching threads as well.
+ */
+private boolean schedule(String key, Callable<NameEnvironmentAnswer> lookup) {
+	if (!this.predictedKeys.add(key)) return false;
+	FutureTask<NameEnvironmentAnswer> task = new FutureTask<>(lookup);
+	this.predictedLookups.put(key, task);
+	synchronized (this) {
+		this.tasks.add(task);
+	}
+	return true;
+}
+
+private NameEnvironmentAnswer decode(NameEnvironmentAnswer answer, char[] moduleName) {
+	if (answer == null || !answer.isBinaryType()) return answer;
+	// decode what the binary type binding needs, unless it is malformed: the compiler thread then reports it
+	try {
+		IBinaryType binaryType = answer.getBinaryType();
+		binaryType.getTagBits();
+		binaryType.getFields();
+		binaryType.getMethods();
+		// its super types get resolved from the module of the binary type
+		char[] answerModuleName = moduleName == null ? null : answer.moduleName();
+		if (answerModuleName == null)
+			answerModuleName = moduleName;
+		char[] superclassName = binaryType.getSuperclassName();
+		if (superclassName != null)
+			predict(CharOperation.splitOn('/', superclassName), answerModuleName);
+		char[][] interfaceNames = binaryType.getInterfaceNames();
+		if (interfaceNames != null) {
+			for (char[] interfaceName : interfaceNames)
+				predict(CharOperation.splitOn('/', interfaceName), answerModuleName);
+		}
+	} catch (RuntimeException e) {
+		// ignore
+	}
+	return answer;
+}
+
+private char[] moduleNameOf(CompilationUnitDeclaration unit) {
+	return this.environment.useModuleSystem ? unit.scope.module().nameForLookup() : null;
+}
+
+private static String key(char[][] packageName, char[] name, char[] moduleName) {
+	StringBuilder key = new StringBuilder();
+	if (moduleName != null)
+		key.append(moduleName).append(':');
+	for (char[] segment : packageName)
+		key.append(segment).append('/');
+	return key.append(name).toString();
+}
+
+private static String key(char[][] compoundName, char[] moduleName) {
+	StringBuilder key = new StringBuilder().append('='); // set apart from the lookups of a name in a package
+	if (moduleName != null)
+		key.append(moduleName).append(':');
+	return key.append(CharOperation.concatWith(compoundName, '/')).toString();
+}
+
+/**
+ * Answers the task making the given lookup if it was predicted and not taken yet, null otherwise.
+ */
+FutureTask<NameEnvironmentAnswer> take(char[] name, char[][] packageName, char[] moduleName) {
+	return take(key(packageName, name, moduleName));
+}
+
+FutureTask<NameEnvironmentAnswer> take(char[][] compoundName, char[] moduleName) {
+	return take(key(compoundName, moduleName));
+}
+
+private FutureTask<NameEnvironmentAnswer> take(String key) {
+	FutureTask<NameEnvironmentAnswer> task = this.predictedLookups.remove(key);
+	if (task != null && this.stats != null)
+		this.stats.prefetchHits++;
+	return task;
+}
+
+/**
+ * Answers the result of the given lookup, making it on the current thread if no worker picked it up yet.
+ */
+static NameEnvironmentAnswer answerOf(FutureTask<NameEnvironmentAnswer> task) {
+	task.run(); // does nothing when the task is running or done
+	boolean interrupted = false;
+	try {
+		while (true) {
+			try {
+				return task.get();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new IllegalStateException(cause);
+			}
+		}
+	} finally {
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
+
+@Override
+public void run() {
+	while (true) {
+		FutureTask<NameEnvironmentAnswer> task;
+		synchronized (this) {
+			if (this.prefetchingThreads == null || this.nextTaskIndex >= this.tasks.size()) return;
+			task = this.tasks.get(this.nextTaskIndex++);
+		}
+		task.run(); // does nothing when the compiler thread took it already
+	}
+}
+
+public void shutdown() {
+	Thread[] threads;
+	synchronized (this) {
+		threads = this.prefetchingThreads;
+		this.prefetchingThreads = null; // mark the prefetcher as shutting down so that the prefetching threads stop
+		if (this.stats != null)
+			this.stats.prefetchedTypeCount += this.tasks.size();
+	}
+	this.predictedLookups.clear();
+	if (threads == null) return;
+	try {
+		for (Thread thread : threads)
+			thread.join(250); // do not wait forever
+	} catch (InterruptedException ignored) {
+		// ignore
+	}
+}
+}
@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.internal.compiler.ast.Wildcard;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 
 /**
  * Implementation of 18.1.3 in JLS8.
@@ -340,10 +341,162 @@ class BoundSet {
 	Set<InferenceVariable> inThrows = new HashSet<>();
 
 	private TypeBound[] incorporatedBounds = Binding.NO_TYPE_BOUNDS;
+	private BoundIndex incorporatedIndex; // lazily extended to all incorporatedBounds
 	private TypeBound[] unincorporatedBounds = new TypeBound[8];
 	private int unincorporatedBoundsCount = 0;
 	private TypeBound[] mostRecentBounds = new TypeBound[4]; // for quick & dirty duplicate elimination
 
+	// proper types by inference variable of the bounds being incorporated, see getProperTypesForAllInferenceVariablesOrNull():
+	private TypeBound[] properTypesFirstBounds, properTypesNextBounds;
+	private Map<InferenceVariable,TypeBound> properTypesByInferenceVariable;
+
+	private static final InferenceVariable[] ANY_VARIABLE = new InferenceVariable[0];
+
+	/** Positions of type bounds in an array, in increasing order. */
+	private static class Positions {
+		int[] values = new int[4];
+		int count;
+		void add(int position) {
+			if (this.count == this.values.length)
+				System.arraycopy(this.values, 0, this.values = new int[this.count * 2], 0, this.count);
+			this.values[this.count++] = position;
+		}
+	}
+
+	/**
+	 * Index of an array of type bounds by the inference variables they mention.
+	 * <p>
+	 * Each rule of incorporation (18.3.1) combines two bounds which mention a common inference variable,
+	 * any other pair at best produces a constraint which reduces to one of the two bounds again.
+	 * The index thus lets incorporation only combine each new bound with the bounds it is related to.
+	 * Some bounds are related to all bounds nevertheless:
+	 * <ul>
+	 * <li>bounds mentioning a capture which mentions inference variables, since {@link TypeBinding#collectInferenceVariables(Set)}
+	 * does not see all the inference variables which {@link TypeBinding#substituteInferenceVariable(InferenceVariable, TypeBinding)}
+	 * replaces in a capture,</li>
+	 * <li>bounds α = T which do not reduce to themselves again (e.g., where T is a wildcard), since incorporating them with
+	 * any other bound β = U is what reports them as false.</li>
+	 * </ul>
+	 * Incorporation only relies on this index when null annotations are not analysed, since null hints may be recorded from any pair.
+	 * </p>
+	 */
+	private static class BoundIndex {
+		HashMap<InferenceVariable, Positions> positionsPerVariable = new HashMap<>();
+		Positions unindexed = new Positions();
+		int size; // number of bounds indexed so far
+
+		void addAll(TypeBound[] bounds) {
+			for (; this.size < bounds.length; this.size++) {
+				InferenceVariable[] variables = mentionedVariables(bounds[this.size]);
+				if (variables == ANY_VARIABLE) {
+					this.unindexed.add(this.size);
+					continue;
+				}
+				for (InferenceVariable variable : variables) {
+					Positions positions = this.positionsPerVariable.get(variable);
+					if (positions == null)
+						this.positionsPerVariable.put(variable, positions = new Positions());
+					positions.add(this.size);
+				}
+			}
+		}
+
+		/**
+		 * Answer the pairs (i, j) of indexed bounds i and of bounds next[j] which mention a common inference variable,
+		 * sorted and each encoded as i << 32 | j.
+		 */
+		long[] relatedPairs(TypeBound[] next) {
+			long[] pairs = new long[next.length * 4];
+			int count = 0;
+			int[] lastSeen = new int[this.size]; // j + 1 of the last pair found with i
+			for (int j = 0; j < next.length; j++) {
+				InferenceVariable[] variables = mentionedVariables(next[j]);
+				if (variables == ANY_VARIABLE) {
+					for (int i = 0; i < this.size; i++)
+						count = addPair(pairs = grow(pairs, count), count, i, j, lastSeen);
+					continue;
+				}
+				for (InferenceVariable variable : variables) {
+					Positions positions = this.positionsPerVariable.get(variable);
+					if (positions != null) {
+						for (int k = 0; k < positions.count; k++)
+							count = addPair(pairs = grow(pairs, count), count, positions.values[k], j, lastSeen);
+					}
+				}
+				for (int k = 0; k < this.unindexed.count; k++)
+					count = addPair(pairs = grow(pairs, count), count, this.unindexed.values[k], j, lastSeen);
+			}
+			if (count < pairs.length)
+				System.arraycopy(pairs, 0, pairs = new long[count], 0, count);
+			Arrays.sort(pairs);
+			return pairs;
+		}
+		private static long[] grow(long[] pairs, int count) {
+			if (count < pairs.length)
+				return pairs;
+			long[] grown = new long[count * 2 + 8];
+			System.arraycopy(pairs, 0, grown, 0, count);
+			return grown;
+		}
+		private static int addPair(long[] pairs, int count, int i, int j, int[] lastSeen) {
+			if (lastSeen[i] == j + 1)
+				return count;
+			lastSeen[i] = j + 1;
+			pairs[count] = ((long) i << 32) | j;
+			return count + 1;
+		}
+	}
+
+	/**
+	 * Answer the prototypes of the inference variables mentioned by the given bound,
+	 * or {@link #ANY_VARIABLE} if they cannot all be told.
+	 */
+	private static InferenceVariable[] mentionedVariables(TypeBound bound) {
+		InferenceVariable[] variables = bound.mentionedVariables;
+		if (variables != null)
+			return variables;
+		InferenceVariable left = bound.left.prototype();
+		if (bound.relation == ReductionResult.SAME && !reducesToItself(bound.right)) {
+			variables = ANY_VARIABLE;
+		} else if (bound.right.isProperType(true)) {
+			variables = new InferenceVariable[] { left };
+		} else if (mentionsCaptureOfInferenceVariables(bound.right)) {
+			variables = ANY_VARIABLE;
+		} else {
+			Set<InferenceVariable> collected = new LinkedHashSet<>();
+			collected.add(left);
+			Set<InferenceVariable> mentioned = new HashSet<>();
+			bound.right.collectInferenceVariables(mentioned);
+			for (InferenceVariable variable : mentioned)
+				collected.add(variable.prototype());
+			variables = collected.toArray(new InferenceVariable[collected.size()]);
+		}
+		return bound.mentionedVariables = variables;
+	}
+
+	// does the constraint ‹α = type› reduce to the bound α = type (18.2.4)?
+	private static boolean reducesToItself(TypeBinding type) {
+		switch (type.kind()) {
+			case Binding.WILDCARD_TYPE:
+			case Binding.INTERSECTION_TYPE:
+				return false;
+		}
+		return type.id != TypeIds.T_null && !type.isPrimitiveType();
+	}
+
+	private static boolean mentionsCaptureOfInferenceVariables(TypeBinding type) {
+		boolean[] found = new boolean[1];
+		TypeBindingVisitor.visit(new TypeBindingVisitor() {
+			@Override
+			public boolean visit(TypeVariableBinding typeVariable) {
+				if (typeVariable instanceof CaptureBinding && !typeVariable.isProperType(true))
+					found[0] = true;
+				return !found[0];
+			}
+		}, type);
+		return found[0];
+	}
+
 	public BoundSet() {}
 
 	// pre: typeParameters != null, variables[i].typeParameter == typeParameters[i]
@@ -502,17 +655,42 @@ class BoundSet {
 	boolean incorporate(InferenceContext18 context) throws InferenceFailureException {
 		if (this.unincorporatedBoundsCount == 0 && this.captures.isEmpty())
 			return true;
+		CompilerStats compilerStats = context.environment.root.stats;
+		if (compilerStats == null)
+			return incorporate0(context);
+		compilerStats.startIncorporation();
+		try {
+			return incorporate0(context);
+		} finally {
+			compilerStats.endIncorporation();
+		}
+	}
+
+	private boolean incorporate0(InferenceContext18 context) throws InferenceFailureException {
 
 		do {
 			TypeBound [] freshBounds;
 			System.arraycopy(this.unincorporatedBounds, 0, freshBounds = new TypeBound[this.unincorporatedBoundsCount], 0, this.unincorporatedBoundsCount);
 			this.unincorporatedBoundsCount = 0;
 
-			// Pairwise bidirectional compare all bounds from previous generation with the fresh set.
-			if (!incorporate(context, this.incorporatedBounds, freshBounds))
+			// Pairwise bidirectional compare all bounds from previous generation with the related bounds of the fresh set.
+			boolean allPairs = context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
+			long[] pairs = null;
+			if (!allPairs) {
+				if (this.incorporatedIndex == null)
+					this.incorporatedIndex = new BoundIndex();
+				this.incorporatedIndex.addAll(this.incorporatedBounds);
+				pairs = this.incorporatedIndex.relatedPairs(freshBounds);
+			}
+			if (!incorporate(context, this.incorporatedBounds, freshBounds, pairs))
 				return false;
-			// Pairwise bidirectional compare all fresh bounds.
-			if (!incorporate(context, freshBounds, freshBounds))
+			// Pairwise bidirectional compare all related fresh bounds.
+			if (!allPairs) {
+				BoundIndex freshIndex = new BoundIndex();
+				freshIndex.addAll(freshBounds);
+				pairs = freshIndex.relatedPairs(freshBounds);
+			}
+			if (!incorporate(context, freshBounds, freshBounds, pairs))
 				return false;
 
 			// Merge the bounds into one incorporated generation.
@@ -532,113 +710,113 @@ class BoundSet {
 	 * Each new constraint is first reduced and checked for TRUE or FALSE, which will
 	 * abort the processing.
 	 * @param context the context that manages our inference variables
+	 * @param pairs the pairs (i, j) of bounds first[i] and next[j] to check, see {@link BoundIndex#relatedPairs(TypeBound[])},
+	 * 	or null to check all pairs
 	 * @return false if any constraint resolved to false, true otherwise
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
-	boolean incorporate(InferenceContext18 context, TypeBound [] first, TypeBound [] next) throws InferenceFailureException {
+	boolean incorporate(InferenceContext18 context, TypeBound [] first, TypeBound [] next, long[] pairs) throws InferenceFailureException {
 		boolean analyzeNull = context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
 		ConstraintTypeFormula [] mostRecentFormulas = new ConstraintTypeFormula[4]; // poor man's cache to toss out duplicates, in pathological cases there are a good quarter million of them.
 		// check each pair, in each way.
-		for (int i = 0, iLength = first.length; i < iLength; i++) {
-			TypeBound boundI = first[i];
-			for (int j = 0, jLength = next.length; j < jLength; j++) {
-				TypeBound boundJ = next[j];
-				if (boundI == boundJ)
-					continue;
-				int iteration = 1;
-				do {
-					ConstraintTypeFormula newConstraint = null;
-					boolean deriveTypeArgumentConstraints = false;
-					if (iteration == 2) {
-						TypeBound boundX = boundI;
-						boundI = boundJ;
-						boundJ = boundX;
-					}
-					switch (boundI.relation) {
-						case ReductionResult.SAME:
-							switch (boundJ.relation) {
-								case ReductionResult.SAME:
-									newConstraint = combineSameSame(boundI, boundJ, first, next);
-									break;
-								case ReductionResult.SUBTYPE:
-								case ReductionResult.SUPERTYPE:
-									newConstraint = combineSameSubSuper(boundI, boundJ, first, next);
-									break;
-							}
-							break;
-						case ReductionResult.SUBTYPE:
-							switch (boundJ.relation) {
-								case ReductionResult.SAME:
-									newConstraint = combineSameSubSuper(boundJ, boundI, first, next);
-									break;
-								case ReductionResult.SUPERTYPE:
-									newConstraint = combineSuperAndSub(boundJ, boundI);
-									break;
-								case ReductionResult.SUBTYPE:
-									newConstraint = combineEqualSupers(boundI, boundJ);
-									deriveTypeArgumentConstraints = TypeBinding.equalsEquals(boundI.left, boundJ.left);
-									break;
-							}
-							break;
-						case ReductionResult.SUPERTYPE:
-							switch (boundJ.relation) {
-								case ReductionResult.SAME:
-									newConstraint = combineSameSubSuper(boundJ, boundI, first, next);
-									break;
-								case ReductionResult.SUBTYPE:
-									newConstraint = combineSuperAndSub(boundI, boundJ);
-									break;
-								case ReductionResult.SUPERTYPE:
-									newConstraint = combineEqualSupers(boundI, boundJ);
-									break;
-							}
-					}
-					if (newConstraint != null) {
-						if (newConstraint.left == newConstraint.right) { //$IDENTITY-COMPARISON$
-							newConstraint = null;
-						} else 	if (newConstraint.equalsEquals(mostRecentFormulas[0]) || newConstraint.equalsEquals(mostRecentFormulas[1]) ||
-									newConstraint.equalsEquals(mostRecentFormulas[2]) || newConstraint.equalsEquals(mostRecentFormulas[3])) {
-							newConstraint = null;
+		for (int p = 0, nextLength = next.length, pLength = pairs == null ? first.length * nextLength : pairs.length; p < pLength; p++) {
+			TypeBound boundI = first[pairs == null ? p / nextLength : (int) (pairs[p] >>> 32)];
+			TypeBound boundJ = next[pairs == null ? p % nextLength : (int) pairs[p]];
+			if (boundI == boundJ)
+				continue;
+			int iteration = 1;
+			do {
+				ConstraintTypeFormula newConstraint = null;
+				boolean deriveTypeArgumentConstraints = false;
+				if (iteration == 2) {
+					TypeBound boundX = boundI;
+					boundI = boundJ;
+					boundJ = boundX;
+				}
+				switch (boundI.relation) {
+					case ReductionResult.SAME:
+						switch (boundJ.relation) {
+							case ReductionResult.SAME:
+								newConstraint = combineSameSame(boundI, boundJ, first, next);
+								break;
+							case ReductionResult.SUBTYPE:
+							case ReductionResult.SUPERTYPE:
+								newConstraint = combineSameSubSuper(boundI, boundJ, first, next);
+								break;
+						}
+						break;
+					case ReductionResult.SUBTYPE:
+						switch (boundJ.relation) {
+							case ReductionResult.SAME:
+								newConstraint = combineSameSubSuper(boundJ, boundI, first, next);
+								break;
+							case ReductionResult.SUPERTYPE:
+								newConstraint = combineSuperAndSub(boundJ, boundI);
+								break;
+							case ReductionResult.SUBTYPE:
+								newConstraint = combineEqualSupers(boundI, boundJ);
+								deriveTypeArgumentConstraints = TypeBinding.equalsEquals(boundI.left, boundJ.left);
+								break;
 						}
+						break;
+					case ReductionResult.SUPERTYPE:
+						switch (boundJ.relation) {
+							case ReductionResult.SAME:
+								newConstraint = combineSameSubSuper(boundJ, boundI, first, next);
+								break;
+							case ReductionResult.SUBTYPE:
+								newConstraint = combineSuperAndSub(boundI, boundJ);
+								break;
+							case ReductionResult.SUPERTYPE:
+								newConstraint = combineEqualSupers(boundI, boundJ);
+								break;
+						}
+				}
+				if (newConstraint != null) {
+					if (newConstraint.left == newConstraint.right) { //$IDENTITY-COMPARISON$
+						newConstraint = null;
+					} else 	if (newConstraint.equalsEquals(mostRecentFormulas[0]) || newConstraint.equalsEquals(mostRecentFormulas[1]) ||
+								newConstraint.equalsEquals(mostRecentFormulas[2]) || newConstraint.equalsEquals(mostRecentFormulas[3])) {
+						newConstraint = null;
 					}
-					if (newConstraint != null) {
-						// bubble formulas around the cache.
-						mostRecentFormulas[3] = mostRecentFormulas[2];
-						mostRecentFormulas[2] = mostRecentFormulas[1];
-						mostRecentFormulas[1] = mostRecentFormulas[0];
-						mostRecentFormulas[0] = newConstraint;
-
-						if (!reduceOneConstraint(context, newConstraint))
-							return false;
+				}
+				if (newConstraint != null) {
+					// bubble formulas around the cache.
+					mostRecentFormulas[3] = mostRecentFormulas[2];
+					mostRecentFormulas[2] = mostRecentFormulas[1];
+					mostRecentFormulas[1] = mostRecentFormulas[0];
+					mostRecentFormulas[0] = newConstraint;
+
+					if (!reduceOneConstraint(context, newConstraint))
+						return false;
 
-						if (analyzeNull) {
-							// not per JLS: if the new constraint relates types where at least one has a null annotations,
-							// record all null tagBits as hints for the final inference solution.
-							long nullHints = (newConstraint.left.tagBits | newConstraint.right.tagBits) & TagBits.AnnotationNullMASK;
-							if (nullHints != 0) {
-								if (TypeBinding.equalsEquals(boundI.left, boundJ.left)
-										|| (boundI.relation == ReductionResult.SAME	&& TypeBinding.equalsEquals(boundI.right, boundJ.left))
-										|| (boundJ.relation == ReductionResult.SAME	&& TypeBinding.equalsEquals(boundI.left, boundJ.right))) {
-									boundI.nullHints |= nullHints;
-									boundJ.nullHints |= nullHints;
-								}
+					if (analyzeNull) {
+						// not per JLS: if the new constraint relates types where at least one has a null annotations,
+						// record all null tagBits as hints for the final inference solution.
+						long nullHints = (newConstraint.left.tagBits | newConstraint.right.tagBits) & TagBits.AnnotationNullMASK;
+						if (nullHints != 0) {
+							if (TypeBinding.equalsEquals(boundI.left, boundJ.left)
+									|| (boundI.relation == ReductionResult.SAME	&& TypeBinding.equalsEquals(boundI.right, boundJ.left))
+									|| (boundJ.relation == ReductionResult.SAME	&& TypeBinding.equalsEquals(boundI.left, boundJ.right))) {
+								boundI.nullHints |= nullHints;
+								boundJ.nullHints |= nullHints;
 							}
 						}
 					}
-					ConstraintFormula[] typeArgumentConstraints = deriveTypeArgumentConstraints ? deriveTypeArgumentConstraints(boundI, boundJ) : null;
-					if (typeArgumentConstraints != null) {
-						for (int k = 0, length = typeArgumentConstraints.length; k < length; k++) {
-							if (!reduceOneConstraint(context, typeArgumentConstraints[k]))
-								return false;
-						}
-					}
-					if (iteration == 2) {
-						TypeBound boundX = boundI;
-						boundI = boundJ;
-						boundJ = boundX;
+				}
+				ConstraintFormula[] typeArgumentConstraints = deriveTypeArgumentConstraints ? deriveTypeArgumentConstraints(boundI, boundJ) : null;
+				if (typeArgumentConstraints != null) {
+					for (int k = 0, length = typeArgumentConstraints.length; k < length; k++) {
+						if (!reduceOneConstraint(context, typeArgumentConstraints[k]))
+							return false;
 					}
-				} while (first != next && ++iteration <= 2);
-			}
+				}
+				if (iteration == 2) {
+					TypeBound boundX = boundI;
+					boundI = boundJ;
+					boundJ = boundX;
+				}
+			} while (first != next && ++iteration <= 2);
 		}
 		/* TODO: are we sure this will always terminate? Cf. e.g. (Discussion in 18.3):
 		 *
@@ -883,13 +1061,19 @@ class BoundSet {
 
 	private Collection<TypeBound> getProperTypesForAllInferenceVariablesOrNull(ParameterizedTypeBinding parameterizedType,
 			TypeBound[] firstBounds, TypeBound[] nextBounds) {
-		final Map<InferenceVariable,TypeBound> properTypesByInferenceVariable = properTypesByInferenceVariable(firstBounds, nextBounds);
-		if(properTypesByInferenceVariable.size() == 0) {
+		if (this.properTypesFirstBounds != firstBounds || this.properTypesNextBounds != nextBounds) {
+			// same for all the pairs of bounds checked by one incorporate(), which do not change meanwhile
+			this.properTypesByInferenceVariable = properTypesByInferenceVariable(firstBounds, nextBounds);
+			this.properTypesFirstBounds = firstBounds;
+			this.properTypesNextBounds = nextBounds;
+		}
+		final Map<InferenceVariable,TypeBound> properTypes = this.properTypesByInferenceVariable;
+		if(properTypes.size() == 0) {
 			return null;
 		}
 		final Set<InferenceVariable> inferenceVariables = getInferenceVariables(parameterizedType);
-		if(properTypesByInferenceVariable.keySet().containsAll(inferenceVariables)) {
-			return properTypesByInferenceVariable.values();
+		if(properTypes.keySet().containsAll(inferenceVariables)) {
+			return properTypes.values();
 		}
 		return null;
 	}
@@ -982,6 +1166,18 @@ class BoundSet {
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
 	public boolean reduceOneConstraint(InferenceContext18 context, ConstraintFormula currentConstraint) throws InferenceFailureException {
+		CompilerStats compilerStats = context.environment.root.stats;
+		if (compilerStats == null)
+			return reduceOneConstraint0(context, currentConstraint);
+		compilerStats.startReduction();
+		try {
+			return reduceOneConstraint0(context, currentConstraint);
+		} finally {
+			compilerStats.endReduction();
+		}
+	}
+
+	private boolean reduceOneConstraint0(InferenceContext18 context, ConstraintFormula currentConstraint) throws InferenceFailureException {
 		Object result = currentConstraint.reduce(context);
 		if (result == ReductionResult.FALSE)
 			return false;
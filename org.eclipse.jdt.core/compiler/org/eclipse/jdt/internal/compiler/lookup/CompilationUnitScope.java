@@ -69,6 +69,10 @@ public class CompilationUnitScope extends Scope {
 	private ArrayList<Invocation> inferredInvocations;
 	/** Cache of interned inference variables. Access only via {@link InferenceVariable#get(TypeBinding, int, InvocationSite, Scope, ReferenceBinding, boolean)}. */
 	Map<InferenceVariable.InferenceVarKey, InferenceVariable> uniqueInferenceVariables = new HashMap<>();
+	/** Applicability inferences known to fail in this unit, see {@link InferenceContext18#applicabilityKey(MethodBinding, TypeBinding[], boolean, InvocationSite, Scope)}. */
+	private Set<InferenceContext18.ApplicabilityKey> inapplicableInferences;
+	/** Method lookups remembered in this unit, see {@link Scope#getMethod(TypeBinding, char[], TypeBinding[], InvocationSite)}. */
+	private Map<Scope.MethodLookupKey, MethodBinding> knownMethods;
 
 public CompilationUnitScope(CompilationUnitDeclaration unit, LookupEnvironment environment) {
 	this(unit, environment.globalOptions);
@@ -1106,7 +1110,25 @@ public void registerInferredInvocation(Invocation invocation) {
 		this.inferredInvocations = new ArrayList<>();
 	this.inferredInvocations.add(invocation);
 }
+boolean isKnownInapplicable(InferenceContext18.ApplicabilityKey key) {
+	return this.inapplicableInferences != null && this.inapplicableInferences.contains(key);
+}
+void recordInapplicable(InferenceContext18.ApplicabilityKey key) {
+	if (this.inapplicableInferences == null)
+		this.inapplicableInferences = new HashSet<>();
+	this.inapplicableInferences.add(key);
+}
+MethodBinding getKnownMethod(Scope.MethodLookupKey key) {
+	return this.knownMethods == null ? null : this.knownMethods.get(key);
+}
+void recordKnownMethod(Scope.MethodLookupKey key, MethodBinding method) {
+	if (this.knownMethods == null)
+		this.knownMethods = new HashMap<>();
+	this.knownMethods.put(key, method);
+}
 public void cleanUpInferenceContexts() {
+	this.inapplicableInferences = null;
+	this.knownMethods = null;
 	if (this.inferredInvocations == null)
 		return;
 	for (Invocation invocation : this.inferredInvocations)
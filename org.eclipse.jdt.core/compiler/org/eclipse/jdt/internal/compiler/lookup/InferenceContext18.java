@@ -30,11 +30,14 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.ConditionalExpression;
 import org.eclipse.jdt.internal.compiler.ast.Expression;
 import org.eclipse.jdt.internal.compiler.ast.FunctionalExpression;
+import org.eclipse.jdt.internal.compiler.ast.IPolyExpression;
 import org.eclipse.jdt.internal.compiler.ast.Invocation;
 import org.eclipse.jdt.internal.compiler.ast.LambdaExpression;
 import org.eclipse.jdt.internal.compiler.ast.ReferenceExpression;
 import org.eclipse.jdt.internal.compiler.ast.SwitchExpression;
 import org.eclipse.jdt.internal.compiler.ast.Wildcard;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants.BoundCheckStatus;
 import org.eclipse.jdt.internal.compiler.util.Sorting;
 
@@ -203,6 +206,75 @@ public class InferenceContext18 {
 		}
 	}
 
+	/**
+	 * Key of an applicability inference (18.5.1) whose outcome only depends on the method and on the types of the arguments,
+	 * see {@link InferenceContext18#applicabilityKey(MethodBinding, TypeBinding[], boolean, InvocationSite, Scope)}.
+	 */
+	static class ApplicabilityKey {
+		final MethodBinding method;
+		final TypeBinding[] arguments;
+		final boolean isDiamond;
+		private final int hashCode;
+		ApplicabilityKey(MethodBinding method, TypeBinding[] arguments, boolean isDiamond) {
+			this.method = method;
+			this.arguments = arguments;
+			this.isDiamond = isDiamond;
+			int result = System.identityHashCode(method);
+			for (TypeBinding argument : arguments)
+				result = 31 * result + argument.id;
+			this.hashCode = isDiamond ? ~result : result;
+		}
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof ApplicabilityKey))
+				return false;
+			ApplicabilityKey other = (ApplicabilityKey) obj;
+			if (this.method != other.method || this.isDiamond != other.isDiamond || this.arguments.length != other.arguments.length)
+				return false;
+			for (int i = 0; i < this.arguments.length; i++) {
+				if (!TypeBinding.equalsEquals(this.arguments[i], other.arguments[i]))
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Answer the key under which a failure of the applicability inference of the given method at the given site
+	 * can be remembered for the whole compilation unit, or null if the outcome of this inference also depends on the site.
+	 * <p>
+	 * The outcome only depends on the method and on the argument types when each argument is a standalone expression
+	 * which is not an {@link IPolyExpression}: its compatibility constraint (18.2.1) then only looks at its type, and at
+	 * its constant value when that type is primitive (boxing after narrowing), which is why such constants are not accepted.
+	 * The bindings involved do not change while the unit is resolved. Inferences checking null annotations are left out,
+	 * since they record null hints into the inference variables of their site.
+	 * </p>
+	 */
+	static ApplicabilityKey applicabilityKey(MethodBinding method, TypeBinding[] arguments, boolean isDiamond, InvocationSite site, Scope scope) {
+		if (!(site instanceof Invocation) || scope.compilerOptions().isAnnotationBasedNullAnalysisEnabled)
+			return null;
+		Expression[] argumentExpressions = ((Invocation) site).arguments();
+		int length = argumentExpressions == null ? 0 : argumentExpressions.length;
+		if (length != arguments.length)
+			return null;
+		for (int i = 0; i < length; i++) {
+			Expression argument = argumentExpressions[i];
+			TypeBinding type = arguments[i];
+			if (argument instanceof IPolyExpression || type == null || TypeBinding.notEquals(argument.resolvedType, type)
+					|| !type.isValidBinding() || !type.isProperType(true))
+				return null;
+			if (type.isBaseType() && argument.constant != Constant.NotAConstant)
+				return null;
+		}
+		return new ApplicabilityKey(method, length == 0 ? Binding.NO_PARAMETERS : arguments.clone(), isDiamond);
+	}
+
 	/** Construct an inference context for an invocation (method/constructor). */
 	public InferenceContext18(Scope scope, Expression[] arguments, InvocationSite site, InferenceContext18 outerContext) {
 		this.scope = scope;
@@ -1019,7 +1091,18 @@ public class InferenceContext18 {
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
 	public /*@Nullable*/ BoundSet solve(boolean inferringApplicability) throws InferenceFailureException {
+		CompilerStats compilerStats = this.environment.root.stats;
+		if (compilerStats == null)
+			return solve0(inferringApplicability);
+		compilerStats.startInference();
+		try {
+			return solve0(inferringApplicability);
+		} finally {
+			compilerStats.endInference();
+		}
+	}
 
+	private /*@Nullable*/ BoundSet solve0(boolean inferringApplicability) throws InferenceFailureException {
 		if (!reduce())
 			return null;
 		if (!this.currentBounds.incorporate(this))
@@ -1050,12 +1133,20 @@ public class InferenceContext18 {
 	}
 
 	public /*@Nullable*/ BoundSet solve(InferenceVariable[] toResolve) throws InferenceFailureException {
-		if (!reduce())
-			return null;
-		if (!this.currentBounds.incorporate(this))
-			return null;
+		CompilerStats compilerStats = this.environment.root.stats;
+		if (compilerStats != null)
+			compilerStats.startInference();
+		try {
+			if (!reduce())
+				return null;
+			if (!this.currentBounds.incorporate(this))
+				return null;
 
-		return resolve(toResolve);
+			return resolve(toResolve);
+		} finally {
+			if (compilerStats != null)
+				compilerStats.endInference();
+		}
 	}
 
 	/**
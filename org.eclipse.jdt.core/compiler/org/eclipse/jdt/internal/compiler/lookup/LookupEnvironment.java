@@ -47,6 +47,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.FutureTask;
 import java.util.function.Function;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -57,6 +58,7 @@ import org.eclipse.jdt.internal.compiler.ast.Wildcard;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ITypeRequestor;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
@@ -121,6 +123,8 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 	private ArrayList missingTypes;
 	Set<SourceTypeBinding> typesBeingConnected;	// SHARED
 	public boolean isProcessingAnnotations = false; // ROOT_ONLY
+	public CompilerStats stats; // detailed statistics to record, null if not requested -- ROOT_ONLY
+	public BinaryTypePrefetcher prefetcher; // lookups made ahead on worker threads, if any -- ROOT_ONLY
 	public boolean mayTolerateMissingType = false;
 
 	PackageBinding nullableAnnotationPackage;			// the package supposed to contain the Nullable annotation type
@@ -229,14 +233,24 @@ public ModuleBinding getModule(char[] name) {
  */
 
 public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBinding clientModule) {
+	CompilerStats compilerStats = this.root.stats;
+	if (compilerStats == null)
+		return askForType0(compoundName, clientModule);
+	compilerStats.startTypeLookup();
+	try {
+		return askForType0(compoundName, clientModule);
+	} finally {
+		compilerStats.endTypeLookup();
+	}
+}
+private ReferenceBinding askForType0(char[][] compoundName, ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
 	NameEnvironmentAnswer[] answers = null;
 	if (this.useModuleSystem) {
-		IModuleAwareNameEnvironment moduleEnv = (IModuleAwareNameEnvironment) this.nameEnvironment;
 		answers = askForTypeFromModules(clientModule, clientModule.getAllRequiredModules(),
-				mod -> moduleEnv.findType(compoundName, mod.nameForLookup()));
+				mod -> findType(compoundName, mod.nameForLookup()));
 	} else {
-		NameEnvironmentAnswer answer = this.nameEnvironment.findType(compoundName);
+		NameEnvironmentAnswer answer = findType(compoundName, null);
 		if (answer != null) {
 			answer.moduleBinding = this.module;
 			answers = new NameEnvironmentAnswer[] { answer };
@@ -253,6 +267,8 @@ public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBind
 
 		if (answer.isBinaryType()) {
 			// the type was found as a .class file
+			if (this.root.stats != null)
+				this.root.stats.binaryTypeCount++;
 			PackageBinding pkg = answerModule.environment.computePackageFrom(compoundName, false /* valid pkg */);
 			this.typeRequestor.accept(answer.getBinaryType(), pkg, answer.getAccessRestriction());
 			ReferenceBinding binding = pkg.getType0(compoundName[compoundName.length - 1]);
@@ -284,19 +300,29 @@ public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBind
 * Answer null if the name cannot be found.
 */
 ReferenceBinding askForType(PackageBinding packageBinding, char[] name, ModuleBinding clientModule) {
+	CompilerStats compilerStats = this.root.stats;
+	if (compilerStats == null)
+		return askForType0(packageBinding, name, clientModule);
+	compilerStats.startTypeLookup();
+	try {
+		return askForType0(packageBinding, name, clientModule);
+	} finally {
+		compilerStats.endTypeLookup();
+	}
+}
+private ReferenceBinding askForType0(PackageBinding packageBinding, char[] name, ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
 	if (packageBinding == null) {
 		packageBinding = this.defaultPackage;
 	}
 	NameEnvironmentAnswer[] answers = null;
 	if (this.useModuleSystem) {
-		IModuleAwareNameEnvironment moduleEnv = (IModuleAwareNameEnvironment) this.nameEnvironment;
 		final PackageBinding pack = packageBinding;
 		// leverage module information from the (split?) package as to prefer NotAccessible over NotFound:
 		answers = askForTypeFromModules(null, packageBinding.getDeclaringModules(),
-				mod -> fromSplitPackageOrOracle(moduleEnv, mod, pack, name));
+				mod -> fromSplitPackageOrOracle(mod, pack, name));
 	} else {
-		NameEnvironmentAnswer answer = this.nameEnvironment.findType(name, packageBinding.compoundName);
+		NameEnvironmentAnswer answer = findType(name, packageBinding.compoundName, null);
 		if (answer != null) {
 			answer.moduleBinding = this.module;
 			answers = new NameEnvironmentAnswer[] { answer };
@@ -323,6 +349,8 @@ ReferenceBinding askForType(PackageBinding packageBinding, char[] name, ModuleBi
 			continue;
 		} else if (answer.isBinaryType()) {
 			// the type was found as a .class file
+			if (this.root.stats != null)
+				this.root.stats.binaryTypeCount++;
 			this.typeRequestor.accept(answer.getBinaryType(), answerPackage, answer.getAccessRestriction());
 			ReferenceBinding binding = answerPackage.getType0(name);
 			if (binding instanceof BinaryTypeBinding) {
@@ -406,22 +434,66 @@ private NameEnvironmentAnswer[] askForTypeFromModules(ModuleBinding clientModule
 	}
 }
 /** First check for a known type in a split package and otherwise ask the oracle. */
-private static NameEnvironmentAnswer fromSplitPackageOrOracle(IModuleAwareNameEnvironment moduleEnv, ModuleBinding module,
-		PackageBinding packageBinding, char[] name)
-{
+private NameEnvironmentAnswer fromSplitPackageOrOracle(ModuleBinding mod, PackageBinding packageBinding, char[] name) {
 	if (packageBinding instanceof SplitPackageBinding) {
 		// when asking a split package getType0() we may have answered null in case of ambiguity (not knowing the module context).
 		// now check if the module-incarnation of the package has the type:
 		// (needed because the moduleEnv will not answer initial types).
-		ReferenceBinding binding = ((SplitPackageBinding) packageBinding).getType0ForModule(module, name);
+		ReferenceBinding binding = ((SplitPackageBinding) packageBinding).getType0ForModule(mod, name);
 		if (binding != null && binding.isValidBinding()) {
 			if (binding instanceof UnresolvedReferenceBinding)
-				binding = ((UnresolvedReferenceBinding) binding).resolve(module.environment, false);
+				binding = ((UnresolvedReferenceBinding) binding).resolve(mod.environment, false);
 			if (binding.isValidBinding())
-				return new NameEnvironmentAnswer(binding, module);
+				return new NameEnvironmentAnswer(binding, mod);
 		}
 	}
-	return moduleEnv.findType(name, packageBinding.compoundName, module.nameForLookup());
+	return findType(name, packageBinding.compoundName, mod.nameForLookup());
+}
+/*
+ * Asks the name environment for a type, in the given module when using the module system (null otherwise).
+ * The answer comes from the prefetcher when it predicted the lookup.
+ */
+private NameEnvironmentAnswer findType(char[] name, char[][] packageName, char[] moduleName) {
+	BinaryTypePrefetcher typePrefetcher = this.root.prefetcher;
+	if (typePrefetcher != null) {
+		FutureTask<NameEnvironmentAnswer> prefetched = typePrefetcher.take(name, packageName, moduleName);
+		if (prefetched != null)
+			return BinaryTypePrefetcher.answerOf(prefetched);
+	}
+	return askNameEnvironment(name, packageName, moduleName);
+}
+NameEnvironmentAnswer askNameEnvironment(char[] name, char[][] packageName, char[] moduleName) {
+	if (moduleName == null)
+		return this.nameEnvironment.findType(name, packageName);
+	return ((IModuleAwareNameEnvironment) this.nameEnvironment).findType(name, packageName, moduleName);
+}
+private NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
+	BinaryTypePrefetcher typePrefetcher = this.root.prefetcher;
+	if (typePrefetcher != null) {
+		FutureTask<NameEnvironmentAnswer> prefetched = typePrefetcher.take(compoundName, moduleName);
+		if (prefetched != null)
+			return BinaryTypePrefetcher.answerOf(prefetched);
+	}
+	return askNameEnvironment(compoundName, moduleName);
+}
+NameEnvironmentAnswer askNameEnvironment(char[][] compoundName, char[] moduleName) {
+	if (moduleName == null)
+		return this.nameEnvironment.findType(compoundName);
+	return ((IModuleAwareNameEnvironment) this.nameEnvironment).findType(compoundName, moduleName);
+}
+/**
+ * Starts making the lookups which the given units are likely to need on the given number of threads.
+ * The name environment must support concurrent lookups.
+ */
+public void prefetchBinaryTypes(CompilationUnitDeclaration[] compilationUnits, int unitCount, int threadCount) {
+	if (this.root != this) {
+		this.root.prefetchBinaryTypes(compilationUnits, unitCount, threadCount);
+		return;
+	}
+	if (this.prefetcher != null)
+		this.prefetcher.shutdown();
+	this.prefetcher = new BinaryTypePrefetcher(this);
+	this.prefetcher.prefetch(compilationUnits, unitCount, threadCount);
 }
 private ModuleBinding getModuleFromAnswer(NameEnvironmentAnswer answer) {
 	char[] moduleName = answer.moduleName();
@@ -2160,6 +2232,10 @@ public void reset() {
 	this.lastCompletedUnitIndex = -1;
 	this.unitBeingCompleted = null; // in case AbortException occurred
 
+	if (this.prefetcher != null) {
+		this.prefetcher.shutdown();
+		this.prefetcher = null;
+	}
 	this.classFilePool.reset();
 	this.typeSystem.reset();
 	// name environment has a longer life cycle, and must be reset in
@@ -37,6 +37,7 @@ import org.eclipse.jdt.internal.compiler.ast.ReferenceExpression;
 import org.eclipse.jdt.internal.compiler.ast.Wildcard;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 
 /**
  * Binding denoting a generic method after type parameter substitutions got performed.
@@ -217,6 +218,8 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 		boolean requireBoxing = false;
 		boolean allArgumentsAreProper = true;
 
+		TypeBinding[] argumentTypes = arguments;
+
 		// See if we should start in loose inference mode.
 		TypeBinding [] argumentsCopy = new TypeBinding[arguments.length];
 		for (int i = 0, length = arguments.length, parametersLength = parameters.length ; i < length; i++) {
@@ -243,6 +246,17 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 			final boolean isPolyExpression = invocationSite instanceof Expression &&   ((Expression) invocationSite).isTrulyExpression() &&
 					((Expression)invocationSite).isPolyExpression(originalMethod);
 			boolean isDiamond = isPolyExpression && originalMethod.isConstructor();
+			InferenceContext18.ApplicabilityKey applicabilityKey = InferenceContext18.applicabilityKey(originalMethod, argumentTypes, isDiamond, invocationSite, scope);
+			if (applicabilityKey != null) {
+				CompilerStats compilerStats = environment.root.stats;
+				if (scope.compilationUnitScope().isKnownInapplicable(applicabilityKey)) {
+					if (compilerStats != null)
+						compilerStats.inferenceCacheHits++;
+					return null;
+				}
+				if (compilerStats != null)
+					compilerStats.inferenceCacheMisses++;
+			}
 			if (arguments.length == parameters.length) {
 				infCtx18.inferenceKind = requireBoxing ? InferenceContext18.CHECK_LOOSE : InferenceContext18.CHECK_STRICT; // engine may still slip into loose mode and adjust level.
 				infCtx18.inferInvocationApplicability(originalMethod, arguments, isDiamond);
@@ -255,13 +269,12 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 				infCtx18.inferInvocationApplicability(originalMethod, arguments, isDiamond);
 				result = infCtx18.solve(true);
 			}
-			if (result == null)
-				return null;
-			if (infCtx18.isResolved(result)) {
-				infCtx18.stepCompleted = InferenceContext18.APPLICABILITY_INFERRED;
-			} else {
+			if (result == null || !infCtx18.isResolved(result)) {
+				if (applicabilityKey != null)
+					scope.compilationUnitScope().recordInapplicable(applicabilityKey);
 				return null;
 			}
+			infCtx18.stepCompleted = InferenceContext18.APPLICABILITY_INFERRED;
 			// Applicability succeeded, proceed to infer invocation type, if possible.
 			TypeBinding expectedType = invocationSite.invocationTargetType();
 			boolean hasReturnProblem = false;
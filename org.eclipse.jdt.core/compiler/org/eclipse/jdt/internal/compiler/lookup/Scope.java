@@ -73,6 +73,7 @@ import org.eclipse.jdt.internal.compiler.ast.*;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.codegen.ConstantPool;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ReferenceContext;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
@@ -118,6 +119,57 @@ public abstract class Scope {
 	public Scope parent;
 	private Map<String, Supplier<ReferenceBinding>> commonTypeBindings = null;
 
+	/** Whether method lookups are remembered per compilation unit, see {@link #getMethod(TypeBinding, char[], TypeBinding[], InvocationSite)}. Not final, so that tests can compare both lookups. */
+	public static boolean CACHE_METHOD_LOOKUPS = Boolean.getBoolean("jdt.compiler.cacheMethodLookups"); //$NON-NLS-1$
+
+	/**
+	 * Key of a method lookup whose outcome only depends on the invocation type, the receiver type, the selector,
+	 * the types of the arguments and on whether the receiver is super or a type, see {@link Scope#methodLookupKey(TypeBinding, char[], TypeBinding[], InvocationSite)}.
+	 */
+	static class MethodLookupKey {
+		final SourceTypeBinding invocationType;
+		final TypeBinding receiverType;
+		final char[] selector;
+		TypeBinding[] arguments;
+		final int siteKind;
+		private final int hashCode;
+		MethodLookupKey(SourceTypeBinding invocationType, TypeBinding receiverType, char[] selector, TypeBinding[] arguments, int siteKind) {
+			this.invocationType = invocationType;
+			this.receiverType = receiverType;
+			this.selector = selector;
+			this.arguments = arguments;
+			this.siteKind = siteKind;
+			int result = 31 * System.identityHashCode(receiverType) + CharOperation.hashCode(selector);
+			for (TypeBinding argument : arguments)
+				result = 31 * result + System.identityHashCode(argument);
+			this.hashCode = 31 * result + siteKind;
+		}
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof MethodLookupKey))
+				return false;
+			MethodLookupKey other = (MethodLookupKey) obj;
+			if (this.hashCode != other.hashCode || this.siteKind != other.siteKind
+					|| this.invocationType != other.invocationType || this.receiverType != other.receiverType //$IDENTITY-COMPARISON$
+					|| !CharOperation.equals(this.selector, other.selector))
+				return false;
+			int length = this.arguments.length;
+			if (length != other.arguments.length)
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (this.arguments[i] != other.arguments[i]) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
+	}
+
 	private static class NullDefaultRange {
 		final int start, end;
 		int value;
@@ -3020,7 +3072,75 @@ public abstract class Scope {
 		return new ProblemReferenceBinding(compoundName, null, ProblemReasons.NotFound);
 	}
 
+	/* Answer the method for the given selector and arguments in the given receiver type.
+	   When jdt.compiler.cacheMethodLookups is set, the lookups of public, non generic methods from standalone argument types
+	   are remembered in the compilation unit, so that repeated invocations (e.g. append() or assertEquals()) do not
+	   collect, check and compare the same candidates again.
+	*/
 	public MethodBinding getMethod(TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		MethodLookupKey lookupKey = CACHE_METHOD_LOOKUPS ? methodLookupKey(receiverType, selector, argumentTypes, invocationSite) : null;
+		if (lookupKey == null)
+			return getMethod0(receiverType, selector, argumentTypes, invocationSite);
+		CompilationUnitScope unitScope = compilationUnitScope();
+		CompilerStats compilerStats = unitScope.environment.root.stats;
+		MethodBinding methodBinding = unitScope.getKnownMethod(lookupKey);
+		if (methodBinding != null) {
+			if (compilerStats != null)
+				compilerStats.methodLookupCacheHits++;
+			return methodBinding;
+		}
+		if (compilerStats != null)
+			compilerStats.methodLookupCacheMisses++;
+		methodBinding = getMethod0(receiverType, selector, argumentTypes, invocationSite);
+		if (methodBinding.isValidBinding() && methodBinding.isPublic()
+				&& !(methodBinding instanceof ParameterizedGenericMethodBinding) && !(methodBinding instanceof PolymorphicMethodBinding)
+				&& methodBinding.original().typeVariables == Binding.NO_TYPE_VARIABLES) {
+			lookupKey.arguments = argumentTypes.length == 0 ? Binding.NO_PARAMETERS : argumentTypes.clone();
+			unitScope.recordKnownMethod(lookupKey, methodBinding);
+		}
+		return methodBinding;
+	}
+
+	/* Answer the key under which the lookup of a method for the given invocation can be remembered, or null if the outcome
+	   may depend on more than the argument types, e.g. when arguments are poly expressions, type arguments are given, the
+	   receiver needs capture or annotation based null analysis is enabled.
+	   Only public, non generic methods are remembered: their visibility does not depend on the invocation site beyond
+	   its kind, and selecting them leaves no state on the site (inferred types, depth of an outer access).
+	*/
+	private MethodLookupKey methodLookupKey(TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		switch (receiverType.kind()) {
+			case Binding.TYPE :
+			case Binding.GENERIC_TYPE :
+			case Binding.RAW_TYPE :
+				break;
+			case Binding.PARAMETERIZED_TYPE :
+				if ((receiverType.tagBits & TagBits.HasDirectWildcard) == 0)
+					break;
+				//$FALL-THROUGH$
+			default :
+				return null;
+		}
+		if (!(invocationSite instanceof Invocation) || invocationSite.genericTypeArguments() != null
+				|| compilerOptions().isAnnotationBasedNullAnalysisEnabled)
+			return null;
+		SourceTypeBinding invocationType = enclosingSourceType();
+		if (invocationType == null)
+			return null;
+		Expression[] argumentExpressions = ((Invocation) invocationSite).arguments();
+		int length = argumentExpressions == null ? 0 : argumentExpressions.length;
+		if (length != argumentTypes.length)
+			return null;
+		for (int i = 0; i < length; i++) {
+			TypeBinding type = argumentTypes[i];
+			if (type == null || argumentExpressions[i].isPolyExpression() || TypeBinding.notEquals(argumentExpressions[i].resolvedType, type)
+					|| !type.isValidBinding() || !type.isProperType(true) || (type.tagBits & TagBits.HasMissingType) != 0)
+				return null;
+		}
+		int siteKind = (invocationSite.isSuperAccess() ? 1 : 0) | (invocationSite.isTypeAccess() ? 2 : 0);
+		return new MethodLookupKey(invocationType, receiverType, selector, argumentTypes, siteKind);
+	}
+
+	private MethodBinding getMethod0(TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 		CompilationUnitScope unitScope = compilationUnitScope();
 		LookupEnvironment env = unitScope.environment;
 		try {
@@ -28,6 +28,9 @@ public class TypeBound extends ReductionResult {
 	// here we accumulate null tagBits from any types that have been related to this type bound during incorporation:
 	long nullHints;
 
+	// prototypes of the inference variables mentioned by this bound, computed by BoundSet when indexing it for incorporation:
+	InferenceVariable[] mentionedVariables;
+
 	static TypeBound createBoundOrDependency(InferenceSubstitution theta, TypeBinding type, InferenceVariable variable) {
         // Part of JLS8 sect 18.1.3:
 		return new TypeBound(variable, theta.substitute(theta, type), SUBTYPE, true);
@@ -19,8 +19,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.lookup;
 
-import java.util.HashMap;
-
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.Util;
@@ -72,22 +70,24 @@ public class TypeSystem {
 			protected ReferenceBinding type; // must ensure the type is resolved
 			public TypeBinding[] arguments;
 			private ReferenceBinding enclosingType;
-			public PTBKey(ReferenceBinding type, TypeBinding[] arguments, ReferenceBinding enclosingType, LookupEnvironment environment) {
+			// hash code at the time of insertion, the chained next key in the same table slot and the bindings registered under this key:
+			final int hash;
+			PTBKey next;
+			ParameterizedTypeBinding[] bindings;
+			public PTBKey(ReferenceBinding type, TypeBinding[] arguments, ReferenceBinding enclosingType, int hash, LookupEnvironment environment) {
 				this.type = type;
 				this.arguments = arguments;
 				this.enclosingType = enclosingType;
-
-				if(environment != null) {
-					// only add as wrapper when used in put()
-					if (type instanceof UnresolvedReferenceBinding)
-						((UnresolvedReferenceBinding) type).addWrapper(this, environment);
-					if (arguments != null) {
-						for (int i = 0, l = arguments.length; i < l; i++) {
-							if (arguments[i] instanceof UnresolvedReferenceBinding)
-								((UnresolvedReferenceBinding) arguments[i]).addWrapper(this, environment);
-							if (arguments[i].hasNullTypeAnnotations())
-								this.tagBits |= TagBits.HasNullTypeAnnotation;
-						}
+				this.hash = hash;
+
+				if (type instanceof UnresolvedReferenceBinding)
+					((UnresolvedReferenceBinding) type).addWrapper(this, environment);
+				if (arguments != null) {
+					for (int i = 0, l = arguments.length; i < l; i++) {
+						if (arguments[i] instanceof UnresolvedReferenceBinding)
+							((UnresolvedReferenceBinding) arguments[i]).addWrapper(this, environment);
+						if (arguments[i].hasNullTypeAnnotations())
+							this.tagBits |= TagBits.HasNullTypeAnnotation;
 					}
 				}
 			}
@@ -108,56 +108,77 @@ public class TypeSystem {
 					}
 				}
 			}
-			@Override
-			public boolean equals(Object other) {
-				PTBKey that = (PTBKey) other;  // homogeneous container.
-				return this.type == that.type && this.enclosingType == that.enclosingType && Util.effectivelyEqual(this.arguments, that.arguments); //$IDENTITY-COMPARISON$
+			/* Answer whether this key stands for the given unannotated generic and enclosing types and the unannotated
+			   versions of the given type arguments, without materializing the latter.
+			*/
+			boolean matches(int keyHash, ReferenceBinding unannotatedType, TypeBinding[] typeArguments, ReferenceBinding unannotatedEnclosingType) {
+				if (this.hash != keyHash || this.type != unannotatedType || this.enclosingType != unannotatedEnclosingType) //$IDENTITY-COMPARISON$
+					return false;
+				return sameArguments(this.arguments, typeArguments, true);
 			}
-			final int hash(TypeBinding b) {
-				if(b instanceof WildcardBinding || b instanceof TypeVariableBinding || b.getClass() == ParameterizedTypeBinding.class) {
-					return System.identityHashCode(b);
-				}
-				return b.hashCode();
+		}
+
+		// keys chained per slot, the length of the table is always a power of two:
+		private PTBKey[] table = new PTBKey[256];
+		private int size;
+
+		final int hash(TypeBinding b) {
+			if(b instanceof WildcardBinding || b instanceof TypeVariableBinding || b.getClass() == ParameterizedTypeBinding.class) {
+				return System.identityHashCode(b);
 			}
-			@Override
-			public int hashCode() {
-				final int prime=31;
-				int hashCode = 1 + hash(this.type);
-				for (int i = 0, length = this.arguments == null ? 0 : this.arguments.length; i < length; i++) {
-					hashCode = hashCode * prime + hash(this.arguments[i]);
-				}
-				return hashCode;
+			return b.hashCode();
+		}
+
+		/* Hash the unannotated generic type together with the unannotated versions of the given type arguments.
+		   Note: registers the arguments with the type system like getUnannotatedType() does.
+		*/
+		private int hashCode(ReferenceBinding unannotatedType, TypeBinding[] typeArguments) {
+			final int prime=31;
+			int hashCode = 1 + hash(unannotatedType);
+			for (int i = 0, length = typeArguments == null ? 0 : typeArguments.length; i < length; i++) {
+				hashCode = hashCode * prime + hash(getUnannotatedType(typeArguments[i]));
 			}
+			return hashCode;
+		}
+
+		private int slot(int keyHash, int length) {
+			return (keyHash ^ (keyHash >>> 16)) & (length - 1);
 		}
 
-		HashMap<PTBKey, ParameterizedTypeBinding []> hashedParameterizedTypes = new HashMap<>(256);
+		private PTBKey getKey(ReferenceBinding unannotatedGenericType, TypeBinding[] typeArguments, ReferenceBinding unannotatedEnclosingType, int keyHash) {
+			for (PTBKey key = this.table[slot(keyHash, this.table.length)]; key != null; key = key.next) {
+				if (key.matches(keyHash, unannotatedGenericType, typeArguments, unannotatedEnclosingType))
+					return key;
+			}
+			return null;
+		}
 
 		ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
+			return get(genericType, typeArguments, enclosingType, annotations, TypeSystem.this instanceof AnnotatableTypeSystem);
+		}
+
+		/* Lookup without allocation: the unannotated versions of the given types are computed on the fly. If matchAnnotated is false,
+		   answer only a binding over the unannotated types, otherwise one over the given types exactly as they are annotated.
+		*/
+		ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations, boolean matchAnnotated) {
 
 			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-			int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-			TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-			for (int i = 0; i < typeArgumentsLength; i++) {
-				unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
-			}
+			int keyHash = hashCode(unannotatedGenericType, typeArguments);
 			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 
-			PTBKey key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, null);
-			ReferenceBinding genericTypeToMatch = unannotatedGenericType, enclosingTypeToMatch = unannotatedEnclosingType;
-			TypeBinding [] typeArgumentsToMatch = unannotatedTypeArguments;
-			if (TypeSystem.this instanceof AnnotatableTypeSystem) {
-				genericTypeToMatch = genericType;
-				enclosingTypeToMatch = enclosingType;
-				typeArgumentsToMatch = typeArguments;
-			}
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(key);
-			for (int i = 0, length = parameterizedTypeBindings == null ? 0 : parameterizedTypeBindings.length; i < length; i++) {
+			PTBKey key = getKey(unannotatedGenericType, typeArguments, unannotatedEnclosingType, keyHash);
+			if (key == null)
+				return null;
+			ReferenceBinding genericTypeToMatch = matchAnnotated ? genericType : unannotatedGenericType;
+			ReferenceBinding enclosingTypeToMatch = matchAnnotated ? enclosingType : unannotatedEnclosingType;
+			ParameterizedTypeBinding [] parameterizedTypeBindings = key.bindings;
+			for (int i = 0, length = parameterizedTypeBindings.length; i < length; i++) {
 				ParameterizedTypeBinding parameterizedType = parameterizedTypeBindings[i];
 				if (parameterizedType.actualType() != genericTypeToMatch) { //$IDENTITY-COMPARISON$
 					continue;
 				}
 				if (parameterizedType.enclosingType != enclosingTypeToMatch //$IDENTITY-COMPARISON$
-						|| !Util.effectivelyEqual(parameterizedType.typeArguments(), typeArgumentsToMatch))
+						|| !sameArguments(parameterizedType.typeArguments(), typeArguments, !matchAnnotated))
 					continue;
 				if (Util.effectivelyEqual(annotations, parameterizedType.getTypeAnnotations()))
 					return parameterizedType;
@@ -168,26 +189,44 @@ public class TypeSystem {
 
 		void put (ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, ParameterizedTypeBinding parameterizedType)  {
 			ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-			int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
-			TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
-			for (int i = 0; i < typeArgumentsLength; i++) {
-				unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
-			}
+			int keyHash = hashCode(unannotatedGenericType, typeArguments);
 			ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 
-			PTBKey key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, TypeSystem.this.environment);
-
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(key);
-			int slot;
-			if (parameterizedTypeBindings == null) {
-				slot = 0;
-				parameterizedTypeBindings = new ParameterizedTypeBinding[1];
-			} else {
-				slot = parameterizedTypeBindings.length;
-				System.arraycopy(parameterizedTypeBindings, 0, parameterizedTypeBindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
+			PTBKey key = getKey(unannotatedGenericType, typeArguments, unannotatedEnclosingType, keyHash);
+			if (key == null) {
+				int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
+				TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
+				for (int i = 0; i < typeArgumentsLength; i++) {
+					unannotatedTypeArguments[i] = getUnannotatedType(typeArguments[i]);
+				}
+				key = new PTBKey(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, keyHash, TypeSystem.this.environment);
+				key.bindings = new ParameterizedTypeBinding[] { parameterizedType };
+				if (++this.size > this.table.length * 3 / 4)
+					rehash();
+				int slot = slot(keyHash, this.table.length);
+				key.next = this.table[slot];
+				this.table[slot] = key;
+				return;
 			}
+			ParameterizedTypeBinding [] parameterizedTypeBindings = key.bindings;
+			int slot = parameterizedTypeBindings.length;
+			System.arraycopy(parameterizedTypeBindings, 0, parameterizedTypeBindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
 			parameterizedTypeBindings[slot] = parameterizedType;
-			this.hashedParameterizedTypes.put(key, parameterizedTypeBindings);
+			key.bindings = parameterizedTypeBindings;
+		}
+
+		private void rehash() {
+			PTBKey[] oldTable = this.table;
+			PTBKey[] newTable = new PTBKey[oldTable.length * 2];
+			for (int i = 0, length = oldTable.length; i < length; i++) {
+				for (PTBKey key = oldTable[i], next; key != null; key = next) {
+					next = key.next;
+					int slot = slot(key.hash, newTable.length);
+					key.next = newTable[slot];
+					newTable[slot] = key;
+				}
+			}
+			this.table = newTable;
 		}
 	}
 
@@ -239,6 +278,21 @@ public class TypeSystem {
 		return this.types[type.id][0] = type;
 	}
 
+	/* Like Util.effectivelyEqual(), but optionally compares against the unannotated versions of the given types, without materializing them. */
+	final boolean sameArguments(TypeBinding[] arguments, TypeBinding[] typeArguments, boolean unannotated) {
+		if (arguments == typeArguments)
+			return true;
+		int length = arguments == null ? 0 : arguments.length;
+		if (length != (typeArguments == null ? 0 : typeArguments.length))
+			return false;
+		for (int i = 0; i < length; i++) {
+			TypeBinding typeArgument = unannotated ? getUnannotatedType(typeArguments[i]) : typeArguments[i];
+			if (arguments[i] != typeArgument) //$IDENTITY-COMPARISON$
+				return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Forcefully register the given type as a derived type.
 	 * If it itself is already registered as the key unannotated type of its family,
@@ -316,6 +370,11 @@ public class TypeSystem {
 				&& !(unannotatedGenericType instanceof UnresolvedReferenceBinding)) {
 			enclosingType = unannotatedGenericType.enclosingType();
 		}
+		// probe with the given arguments, their unannotated versions are only materialized for a new binding:
+		ParameterizedTypeBinding parameterizedType = this.parameterizedTypes.get(unannotatedGenericType, typeArguments, enclosingType, Binding.NO_ANNOTATIONS, false);
+		if (parameterizedType != null)
+			return parameterizedType;
+
 		int typeArgumentsLength = typeArguments == null ? 0: typeArguments.length;
 		TypeBinding [] unannotatedTypeArguments = typeArguments == null ? null : new TypeBinding[typeArgumentsLength];
 		for (int i = 0; i < typeArgumentsLength; i++) {
@@ -323,10 +382,6 @@ public class TypeSystem {
 		}
 		ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 
-		ParameterizedTypeBinding parameterizedType = this.parameterizedTypes.get(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, Binding.NO_ANNOTATIONS);
-		if (parameterizedType != null)
-			return parameterizedType;
-
 		parameterizedType = new ParameterizedTypeBinding(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, this.environment);
 		cacheDerivedType(unannotatedGenericType, parameterizedType);
 		this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
@@ -388,11 +443,6 @@ public class TypeSystem {
 			genericType = ReferenceBinding.LUB_GENERIC;
 
 		ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
-		int otherBoundsLength = otherBounds == null ? 0: otherBounds.length;
-		TypeBinding [] unannotatedOtherBounds = otherBounds == null ? null : new TypeBinding[otherBoundsLength];
-		for (int i = 0; i < otherBoundsLength; i++) {
-			unannotatedOtherBounds[i] = getUnannotatedType(otherBounds[i]);
-		}
 		TypeBinding unannotatedBound = bound == null ? null : getUnannotatedType(bound);
 
 		boolean useDerivedTypesOfBound = unannotatedBound instanceof TypeVariableBinding || (unannotatedBound instanceof ParameterizedTypeBinding && !(unannotatedBound instanceof RawTypeBinding));
@@ -407,10 +457,17 @@ public class TypeSystem {
 				continue;
 			if (derivedType.rank() != rank || derivedType.boundKind() != boundKind || derivedType.bound() != unannotatedBound) //$IDENTITY-COMPARISON$
 				continue;
-			if (Util.effectivelyEqual(derivedType.additionalBounds(), unannotatedOtherBounds))
+			if (sameArguments(derivedType.additionalBounds(), otherBounds, true))
 				return (WildcardBinding) derivedType;
 		}
 
+		// the unannotated versions of the other bounds are only materialized for a new binding:
+		int otherBoundsLength = otherBounds == null ? 0: otherBounds.length;
+		TypeBinding [] unannotatedOtherBounds = otherBounds == null ? null : new TypeBinding[otherBoundsLength];
+		for (int j = 0; j < otherBoundsLength; j++) {
+			unannotatedOtherBounds[j] = getUnannotatedType(otherBounds[j]);
+		}
+
 		if (i == length) {
 			System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
 			this.types[useDerivedTypesOfBound ? unannotatedBound.id :unannotatedGenericType.id] = derivedTypes;
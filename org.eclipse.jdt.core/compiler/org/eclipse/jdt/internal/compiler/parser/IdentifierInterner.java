@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.parser;
+
+/**
+ * Process-wide table of the identifiers answered by the scanners, so that all the occurrences of
+ * a name share one <code>char[]</code>, and comparing them mostly succeeds on identity.
+ * <p>
+ * Enabled by <code>jdt.compiler.internIdentifiers=true</code>, for the identifiers of
+ * {@link Scanner#OptimizedLength} characters or more (shorter ones are already shared by each
+ * scanner). The table holds at most <code>jdt.compiler.internIdentifiers.size</code> (default
+ * 65536) recent identifiers: it is split into segments which each keep two generations, the
+ * identifiers found in the older one being promoted to the younger one, and the older one being
+ * dropped when the younger one is full.
+ * </p>
+ * <p>
+ * The arrays answered are shared, hence must not be modified.
+ * </p>
+ */
+public final class IdentifierInterner {
+
+	// not final, so that tests can switch it
+	public static boolean ENABLED = Boolean.getBoolean("jdt.compiler.internIdentifiers"); //$NON-NLS-1$
+	static final int DEFAULT_SIZE = 65536;
+	static final int MAX_LENGTH = 128; // longer identifiers are too rare to be worth it
+	static final int SEGMENT_COUNT = 64; // power of 2
+
+	private static final Segment[] SEGMENTS = new Segment[SEGMENT_COUNT];
+	static {
+		int size = Integer.getInteger("jdt.compiler.internIdentifiers.size", DEFAULT_SIZE).intValue(); //$NON-NLS-1$
+		int generationSize = Math.max(16, size / SEGMENT_COUNT / 2);
+		for (int i = 0; i < SEGMENT_COUNT; i++)
+			SEGMENTS[i] = new Segment(generationSize);
+	}
+
+	static final class Segment {
+		final int generationSize;
+		final int mask;
+		char[][] young; // open addressing, at most half full
+		char[][] old;
+		int youngCount;
+		long hits;
+		long savedBytes;
+
+		Segment(int generationSize) {
+			this.generationSize = generationSize;
+			int capacity = Integer.highestOneBit(generationSize - 1) << 2;
+			this.mask = capacity - 1;
+			this.young = new char[capacity][];
+			this.old = new char[capacity][];
+		}
+		synchronized char[] intern(char[] source, int start, int length, int hash) {
+			char[] result = find(this.young, source, start, length, hash);
+			if (result != null) {
+				hit(length);
+				return result;
+			}
+			result = find(this.old, source, start, length, hash);
+			if (result != null) {
+				hit(length);
+			} else {
+				result = new char[length];
+				System.arraycopy(source, start, result, 0, length);
+			}
+			if (this.youngCount >= this.generationSize) {
+				this.old = this.young;
+				this.young = new char[this.mask + 1][];
+				this.youngCount = 0;
+			}
+			int index = hash & this.mask;
+			while (this.young[index] != null)
+				index = (index + 1) & this.mask;
+			this.young[index] = result;
+			this.youngCount++;
+			return result;
+		}
+		private char[] find(char[][] table, char[] source, int start, int length, int hash) {
+			int index = hash & this.mask;
+			char[] entry;
+			while ((entry = table[index]) != null) {
+				if (entry.length == length && matches(entry, source, start))
+					return entry;
+				index = (index + 1) & this.mask;
+			}
+			return null;
+		}
+		private void hit(int length) {
+			this.hits++;
+			this.savedBytes += (16 + 2 * length + 7) & ~7; // header, length and padding of the array not allocated
+		}
+	}
+
+private IdentifierInterner() {
+	// static API only
+}
+
+/**
+ * Answers the shared array holding the given characters.
+ */
+public static char[] intern(char[] source, int start, int length) {
+	if (length > MAX_LENGTH) {
+		char[] result = new char[length];
+		System.arraycopy(source, start, result, 0, length);
+		return result;
+	}
+	int hash = 0;
+	for (int i = start, end = start + length; i < end; i++)
+		hash = 31 * hash + source[i];
+	hash ^= hash >>> 16;
+	return SEGMENTS[hash & (SEGMENT_COUNT - 1)].intern(source, start, length, hash >>> 6);
+}
+private static boolean matches(char[] entry, char[] source, int start) {
+	for (int i = entry.length; --i >= 0;) {
+		if (entry[i] != source[start + i])
+			return false;
+	}
+	return true;
+}
+/**
+ * Answers how many identifiers were found in the table since the process started.
+ */
+public static long getHitCount() {
+	long hits = 0;
+	for (Segment segment : SEGMENTS) {
+		synchronized (segment) {
+			hits += segment.hits;
+		}
+	}
+	return hits;
+}
+/**
+ * Answers an estimate of the heap saved by the identifiers found in the table since the process
+ * started, in bytes.
+ */
+public static long getSavedBytes() {
+	long savedBytes = 0;
+	for (Segment segment : SEGMENTS) {
+		synchronized (segment) {
+			savedBytes += segment.savedBytes;
+		}
+	}
+	return savedBytes;
+}
+}
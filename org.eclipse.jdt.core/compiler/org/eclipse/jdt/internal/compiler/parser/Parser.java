@@ -37,6 +37,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -47,6 +48,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Stack;
+import java.util.zip.CRC32;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
@@ -101,6 +103,11 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	protected final static int GenericsStackIncrement = 10;
 
 	private final static String FILEPREFIX = "parser"; //$NON-NLS-1$
+	// the parserNN.rsc tables packed into one resource: magic, table count, CRC-32 of the rest,
+	// byte length of each table, then the contents of the tables
+	private final static String TABLES_FILE = "parserTables.rsc"; //$NON-NLS-1$
+	private final static int TABLES_MAGIC = 0x4A445450; // "JDTP"
+	private final static int TABLES_COUNT = 24;
     public static char in_symb[] = null;
 	private static final String INVALID_CHARACTER = "Invalid Character" ; //$NON-NLS-1$
 	public static char lhs[] =  null;
@@ -353,6 +360,34 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		}
 		System.out.println(filename + " creation complete"); //$NON-NLS-1$
 	}
+	private final static void buildFileForTables(String filename, String prefix, int count) {
+		byte[][] tables = new byte[count][];
+		int length = 12 + 4 * count;
+		for (int i = 0; i < count; i++) {
+			File tableFile = new File(prefix + (i + 1) + ".rsc"); //$NON-NLS-1$
+			try {
+				tables[i] = Util.getFileByteContent(tableFile);
+			} catch (IOException e) {
+				System.out.println(Messages.bind(Messages.parser_missingFile, tableFile.getName()));
+				return;
+			}
+			length += tables[i].length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		buffer.putInt(TABLES_MAGIC);
+		buffer.putInt(count);
+		buffer.putInt(0); // checksum
+		for (int i = 0; i < count; i++)
+			buffer.putInt(tables[i].length);
+		for (int i = 0; i < count; i++)
+			buffer.put(tables[i]);
+		CRC32 checksum = new CRC32();
+		checksum.update(buffer.array(), 12, length - 12);
+		buffer.putInt(8, (int) checksum.getValue());
+		buildFileForTable(filename, buffer.array());
+		for (int i = 0; i < count; i++)
+			new File(prefix + (i + 1) + ".rsc").delete(); //$NON-NLS-1$
+	}
 	private final static void buildFileForTable(String filename, char[] chars) {
 		byte[] bytes = new byte[chars.length * 2];
 		for (int i = 0; i < chars.length; i++) {
@@ -596,6 +631,7 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 				newLhs,
 				tokens);
 
+		buildFileForTables(TABLES_FILE, prefix, i);
 
 		System.out.println(Messages.parser_moveFiles);
 	}
@@ -633,46 +669,51 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	}
 	public final static void initTables() throws java.io.IOException {
 
-		final String prefix = FILEPREFIX;
+		ByteBuffer[] tables = readTables(TABLES_FILE);
 		int i = 0;
-		lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		char[] chars = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		lhs = toCharTable(tables[i++]);
+		char[] chars = toCharTable(tables[i++]);
 		check_table = new short[chars.length];
 		for (int c = chars.length; c-- > 0;) {
 			check_table[c] = (short) (chars[c] - 32768);
 		}
-		asb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		asr = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		nasb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		nasr = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		terminal_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		non_terminal_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		term_action = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		scope_prefix = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_suffix = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_state_set = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_rhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_state = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		in_symb = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		rhs = readByteTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		term_check = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		scope_la = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		name = readNameTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-
-		rules_compliance = readLongTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		asb = toCharTable(tables[i++]);
+		asr = toCharTable(tables[i++]);
+		nasb = toCharTable(tables[i++]);
+		nasr = toCharTable(tables[i++]);
+		terminal_index = toCharTable(tables[i++]);
+		non_terminal_index = toCharTable(tables[i++]);
+		term_action = toCharTable(tables[i++]);
+
+		scope_prefix = toCharTable(tables[i++]);
+		scope_suffix = toCharTable(tables[i++]);
+		scope_lhs = toCharTable(tables[i++]);
+		scope_state_set = toCharTable(tables[i++]);
+		scope_rhs = toCharTable(tables[i++]);
+		scope_state = toCharTable(tables[i++]);
+		in_symb = toCharTable(tables[i++]);
+
+		rhs = new byte[tables[i].remaining()];
+		tables[i++].get(rhs);
+		term_check = toCharTable(tables[i++]);
+		scope_la = toCharTable(tables[i++]);
+
+		name = toNameTable(toCharTable(tables[i++]));
+
+		ByteBuffer longs = tables[i++];
+		if (longs.remaining() % 8 != 0)
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, TABLES_FILE));
+		rules_compliance = new long[longs.remaining() / 8];
+		longs.asLongBuffer().get(rules_compliance);
 
 		readableName = readReadableNameTable(READABLE_NAMES_FILE + ".props"); //$NON-NLS-1$
 
 		reverse_index = computeReverseTable(terminal_index, non_terminal_index, name);
 
-		recovery_templates_index = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
-		recovery_templates = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		recovery_templates_index = toCharTable(tables[i++]);
+		recovery_templates = toCharTable(tables[i++]);
 
-		statements_recovery_filter = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
+		statements_recovery_filter = toCharTable(tables[i++]);
 
 		base_action = lhs;
 	}
@@ -755,7 +796,9 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	}
 
 	protected static String[] readNameTable(String filename) throws java.io.IOException {
-		char[] contents = readTable(filename);
+		return toNameTable(readTable(filename));
+	}
+	private static String[] toNameTable(char[] contents) {
 		char[][] nameAsChar = CharOperation.splitOn('\n', contents);
 
 		String[] result = new String[nameAsChar.length + 1];
@@ -788,6 +831,55 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		}
 		return result;
 	}
+	/**
+	 * Reads the packed parser tables with one bulk read, checks them and answers a view on each
+	 * of them.
+	 */
+	private static ByteBuffer[] readTables(String filename) throws java.io.IOException {
+
+		//files are located at Parser.class directory
+
+		java.net.URL url = Parser.class.getResource(filename);
+		if (url == null) {
+			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
+		}
+		java.net.URLConnection connection = url.openConnection();
+		connection.setUseCaches(false); // do not keep the jar file open
+		byte[] bytes;
+		try (InputStream stream = connection.getInputStream()) {
+			bytes = Util.getInputStreamAsByteArray(stream, connection.getContentLength());
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int length = bytes.length;
+		if (length < 12 + 4 * TABLES_COUNT
+				|| buffer.getInt(0) != TABLES_MAGIC
+				|| buffer.getInt(4) != TABLES_COUNT) {
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+		}
+		CRC32 checksum = new CRC32();
+		checksum.update(bytes, 12, length - 12);
+		if (buffer.getInt(8) != (int) checksum.getValue())
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+
+		ByteBuffer[] tables = new ByteBuffer[TABLES_COUNT];
+		int offset = 12 + 4 * TABLES_COUNT;
+		for (int i = 0; i < TABLES_COUNT; i++) {
+			int tableLength = buffer.getInt(12 + 4 * i);
+			if (tableLength < 0 || tableLength > length - offset)
+				throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+			tables[i] = ByteBuffer.wrap(bytes, offset, tableLength).slice();
+			offset += tableLength;
+		}
+		return tables;
+	}
+	private static char[] toCharTable(ByteBuffer table) throws java.io.IOException {
+		//minimal integrity check (even size expected)
+		if ((table.remaining() & 1) != 0)
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, TABLES_FILE));
+		char[] chars = new char[table.remaining() / 2];
+		table.asCharBuffer().get(chars);
+		return chars;
+	}
 	protected static char[] readTable(String filename) throws java.io.IOException {
 
 		//files are located at Parser.class directory
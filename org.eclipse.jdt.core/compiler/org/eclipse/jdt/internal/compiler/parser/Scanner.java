@@ -182,6 +182,8 @@ public class Scanner implements TerminalTokens {
 	static final int TableSize = 30, InternalTableSize = 6; //30*6 =210 entries
 
 	public static final int OptimizedLength = 7;
+	static final int ASCII_IDENTIFIER_PART =
+		ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT;
 	public /*static*/ final char[][][][] charArray_length =
 		new char[OptimizedLength][TableSize][InternalTableSize][];
 	// support for detecting non-externalized string literals
@@ -484,6 +486,8 @@ public char[] getCurrentIdentifierSource() {
 	//return the token REAL source (aka unicodes are precomputed)
 	if (this.withoutUnicodePtr != 0) {
 		//0 is used as a fast test flag so the real first char is in position 1
+		if (IdentifierInterner.ENABLED && this.withoutUnicodePtr >= OptimizedLength)
+			return IdentifierInterner.intern(this.withoutUnicodeBuffer, 1, this.withoutUnicodePtr);
 		char[] result = new char[this.withoutUnicodePtr];
 		System.arraycopy(
 			this.withoutUnicodeBuffer,
@@ -495,6 +499,8 @@ public char[] getCurrentIdentifierSource() {
 	}
 	int length = this.currentPosition - this.startPosition;
 	if (length == this.eofPosition) return this.source;
+	if (IdentifierInterner.ENABLED && length >= OptimizedLength)
+		return IdentifierInterner.intern(this.source, this.startPosition, length);
 	switch (length) { // see OptimizedLength
 		case 1 :
 			return optimizedCurrentTokenSource1();
@@ -1481,6 +1487,9 @@ protected int getNextToken0() throws InvalidInputException {
 			//start with a new token (even comment written with unicode )
 
 			// ---------Consume white space and handles startPosition---------
+			if (!this.tokenizeWhiteSpace) {
+				jumpOverAsciiWhiteSpaces();
+			}
 			whiteStart = this.currentPosition;
 			boolean isWhiteSpace, hasWhiteSpaces = false;
 			int offset;
@@ -1798,6 +1807,7 @@ protected int getNextToken0() throws InvalidInputException {
 										this.currentPosition++;
 								} //jump over the \\
 								boolean isUnicode = false;
+								jumpOverAsciiLineComment();
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
@@ -1919,6 +1929,16 @@ protected int getNextToken0() throws InvalidInputException {
 								}
 								//loop until end of comment */
 								int firstTag = 0;
+								if (!isUnicode) {
+									firstTag = jumpOverAsciiBlockComment(star, previous);
+									if (firstTag == -1) {
+										throw new InvalidInputException(UNTERMINATED_COMMENT);
+									} else if (firstTag == -2) {
+										firstTag = 0; // not handled, the loop below reads the unicode escapes
+									} else {
+										star = true;
+									}
+								}
 								while ((this.currentCharacter != '/') || (!star)) {
 									if (this.currentPosition >= this.eofPosition) {
 										throw new InvalidInputException(UNTERMINATED_COMMENT);
@@ -2178,6 +2198,9 @@ private int scanForStringLiteral() throws InvalidInputException {
 					unicodeStore();
 				}
 			}
+			if (this.withoutUnicodePtr == 0) {
+				jumpOverAsciiStringCharacters();
+			}
 
 			while (this.currentCharacter != '"') {
 				if (this.currentPosition >= this.eofPosition) {
@@ -2344,6 +2367,131 @@ public char[] getSource(){
 protected boolean isFirstTag() {
 	return true;
 }
+/*
+ * The jumpOverAscii...() methods are fast paths for the plain ASCII parts of the source, which
+ * classify the raw characters with local positions, and stop where a unicode escape (or another
+ * character needing the general path) may start, leaving the scanner where the general path goes on.
+ */
+/*
+ * Jumps over the ASCII white spaces, up to the first other character.
+ */
+private void jumpOverAsciiWhiteSpaces() {
+	char[] src = this.source;
+	int pos = this.currentPosition;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	while (pos < end) {
+		char c = src[pos];
+		switch (c) {
+			case '\r' :
+			case '\n' :
+				if (this.recordLineSeparator) {
+					this.currentCharacter = c;
+					this.currentPosition = pos + 1;
+					pushLineSeparator();
+					pos = this.currentPosition; // after a merged cr+lf
+					continue;
+				}
+				//$FALL-THROUGH$
+			case ' ' :
+			case '\t' :
+			case '\f' :
+				pos++;
+				continue;
+		}
+		break;
+	}
+	this.currentPosition = pos;
+}
+/*
+ * Reads the characters of the current line comment up to its line separator, or up to the next
+ * backslash.
+ */
+private void jumpOverAsciiLineComment() {
+	char[] src = this.source;
+	int pos = this.currentPosition;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	char c = this.currentCharacter;
+	int start = pos;
+	while (c != '\r' && c != '\n' && pos < end && src[pos] != '\\')
+		c = src[pos++];
+	if (pos != start) {
+		this.lastCommentLinePosition = pos - 1;
+		this.currentCharacter = c;
+		this.currentPosition = pos;
+	}
+}
+/*
+ * Reads the characters of the current string literal which need no translation, up to its closing
+ * quote, a line separator or the next backslash.
+ */
+private void jumpOverAsciiStringCharacters() {
+	char[] src = this.source;
+	int pos = this.currentPosition;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	char c = this.currentCharacter;
+	while (pos < end && c != '"' && c != '\\' && c != '\r' && c != '\n' && src[pos] != '\\')
+		c = src[pos++];
+	this.currentCharacter = c;
+	this.currentPosition = pos;
+}
+/*
+ * Reads the rest of the current traditional or javadoc comment, the current character being the
+ * one at the given previous position. Leaves the scanner after the closing slash and answers the
+ * position of the first tag if any, 0 otherwise, or -1 when the comment is unterminated. When the
+ * comment contains a backslash, answers -2 and leaves the scanner unchanged but for the line
+ * separators already recorded.
+ */
+private int jumpOverAsciiBlockComment(boolean star, int previous) {
+	char[] src = this.source;
+	int start = this.currentPosition;
+	char startCharacter = this.currentCharacter;
+	int pos = start;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	char c = startCharacter;
+	int firstTag = 0;
+	while (c != '/' || !star) {
+		if (pos >= end) {
+			this.currentPosition = pos;
+			return -1;
+		}
+		switch (c) {
+			case '*' :
+				star = true;
+				break;
+			case '\\' :
+				this.currentCharacter = startCharacter;
+				this.currentPosition = start;
+				return -2;
+			case '\r' :
+			case '\n' :
+				if (this.recordLineSeparator) {
+					this.currentCharacter = c;
+					this.currentPosition = pos;
+					pushLineSeparator(); // recorded once, even when going through the comment again
+					pos = this.currentPosition; // after a merged cr+lf
+				}
+				star = false;
+				break;
+			case '@' :
+				if (firstTag == 0) {
+					this.currentCharacter = c;
+					this.currentPosition = pos;
+					if (isFirstTag())
+						firstTag = previous;
+					pos = this.currentPosition; // after the characters of the tag, if consumed
+				}
+				star = false;
+				break;
+			default :
+				star = false;
+		}
+		previous = pos;
+		c = src[pos++];
+	}
+	this.currentCharacter = c;
+	this.currentPosition = pos;
+	return firstTag;
+}
 public final void jumpOverMethodBody() {
 
 	this.wasAcr = false;
@@ -2352,6 +2500,7 @@ public final void jumpOverMethodBody() {
 		while (true) { //loop for jumping over comments
 			this.withoutUnicodePtr = 0;
 			// ---------Consume white space and handles startPosition---------
+			jumpOverAsciiWhiteSpaces();
 			boolean isWhiteSpace;
 			do {
 				this.startPosition = this.currentPosition;
@@ -2540,6 +2689,7 @@ public final void jumpOverMethodBody() {
 										this.currentPosition++;
 								} //jump over the \\
 								boolean isUnicode = false;
+								jumpOverAsciiLineComment();
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
@@ -2656,6 +2806,16 @@ public final void jumpOverMethodBody() {
 								}
 								//loop until end of comment */
 								int firstTag = 0;
+								if (!isUnicode) {
+									firstTag = jumpOverAsciiBlockComment(star, previous);
+									if (firstTag == -1) {
+										return;
+									} else if (firstTag == -2) {
+										firstTag = 0; // not handled, the loop below reads the unicode escapes
+									} else {
+										star = true;
+									}
+								}
 								while ((this.currentCharacter != '/') || (!star)) {
 									if (this.currentPosition >= this.eofPosition) {
 										return;
@@ -3391,13 +3551,21 @@ public int scanIdentifierOrKeywordWithBoundCheck() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.withoutUnicodePtr == 0) {
+			// jump over the raw ASCII identifier parts at once, the loop below handles the next character
+			int end = srcLength < src.length ? srcLength : src.length;
+			char c;
+			for (pos = this.currentPosition;
+					pos < end && (c = src[pos]) < ScannerHelper.MAX_OBVIOUS && (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ASCII_IDENTIFIER_PART) != 0;
+					pos++) {/*empty*/}
+			this.currentPosition = pos;
+		}
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
 			char c = src[pos];
 			if (c < ScannerHelper.MAX_OBVIOUS) {
-				if ((ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] &
-						(ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT)) != 0) {
+				if ((ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ASCII_IDENTIFIER_PART) != 0) {
 					if (this.withoutUnicodePtr != 0) {
 							this.currentCharacter = c;
 							unicodeStore();
@@ -3453,13 +3621,21 @@ public int scanIdentifierOrKeyword() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.withoutUnicodePtr == 0) {
+			// jump over the raw ASCII identifier parts at once, the loop below handles the next character
+			int end = srcLength < src.length ? srcLength : src.length;
+			char c;
+			for (pos = this.currentPosition;
+					pos < end && (c = src[pos]) < ScannerHelper.MAX_OBVIOUS && (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ASCII_IDENTIFIER_PART) != 0;
+					pos++) {/*empty*/}
+			this.currentPosition = pos;
+		}
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
 			char c = src[pos];
 			if (c < ScannerHelper.MAX_OBVIOUS) {
-				if ((ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] &
-						(ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT)) != 0) {
+				if ((ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ASCII_IDENTIFIER_PART) != 0) {
 					if (this.withoutUnicodePtr != 0) {
 							this.currentCharacter = c;
 							unicodeStore();
@@ -27,6 +27,15 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -233,6 +242,7 @@ public class Util implements SuffixConstants {
 
 	private static final int DEFAULT_READING_SIZE = 8192;
 	private static final int DEFAULT_WRITING_SIZE = 1024;
+	private static final int MAPPING_THRESHOLD = 65536; // mapping smaller files costs more than reading them
 	public final static String UTF_8 = "UTF-8";	//$NON-NLS-1$
 	public static final String LINE_SEPARATOR = System.getProperty("line.separator"); //$NON-NLS-1$
 
@@ -431,6 +441,88 @@ public class Util implements SuffixConstants {
 			}
 		}
 	}
+	/**
+	 * Returns the contents of the given file as a character array, decoded using the given encoding
+	 * (or the platform's default one when <code>null</code>) exactly as {@link #getFileCharContent(File, String)}
+	 * would.
+	 * <p>The bytes are read in one go through a file channel, and are memory mapped instead when
+	 * <code>mapFile</code> is set and the file is large enough. UTF-8, ISO-8859-1 and US-ASCII contents
+	 * are decoded straight into an exactly sized array, pure ASCII contents without going through a
+	 * charset decoder at all.</p>
+	 * <p>Note that on some platforms a mapped file cannot be deleted until the mapping is garbage collected.</p>
+	 * @throws IOException if a problem occurred reading the file.
+	 */
+	public static char[] getFileCharContent(File file, String encoding, boolean mapFile) throws IOException {
+		try (FileInputStream stream = new FileInputStream(file)) {
+			FileChannel channel = stream.getChannel();
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("File too large: " + file); //$NON-NLS-1$
+			ByteBuffer bytes;
+			if (mapFile && size >= MAPPING_THRESHOLD) {
+				bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				bytes = ByteBuffer.allocate((int) size);
+				while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+					// read until the buffer is full or the end of the file is met
+				}
+				bytes.flip();
+			}
+			return decode(bytes, encoding);
+		}
+	}
+	private static char[] decode(ByteBuffer bytes, String encoding) throws IOException {
+		Charset charset;
+		try {
+			charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			// encoding is not supported, same as InputStreamReader
+			charset = Charset.defaultCharset();
+		}
+		int length = bytes.remaining();
+		char[] contents = new char[length];
+		int totalRead = 0;
+		boolean isUTF8 = StandardCharsets.UTF_8.equals(charset);
+		if (isUTF8 || StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+			// ASCII prefix is decoded identically by all three, one char per byte
+			for (byte b; totalRead < length && (b = bytes.get(totalRead)) >= 0; totalRead++)
+				contents[totalRead] = (char) b;
+			if (totalRead == length)
+				return contents; // pure ASCII, nothing can be a UTF-8 BOM
+			if (!isUTF8) {
+				boolean isLatin1 = StandardCharsets.ISO_8859_1.equals(charset);
+				for (; totalRead < length; totalRead++) {
+					int b = bytes.get(totalRead);
+					contents[totalRead] = b >= 0 ? (char) b : isLatin1 ? (char) (b & 0xFF) : '\uFFFD';
+				}
+				return contents;
+			}
+		}
+		// UTF-8 never produces more chars than bytes, start over with a general decoder for other encodings
+		CharsetDecoder decoder = charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		if (isUTF8) {
+			bytes.position(bytes.position() + totalRead);
+			CharBuffer chars = CharBuffer.wrap(contents, totalRead, length - totalRead);
+			decoder.decode(bytes, chars, true);
+			decoder.flush(chars);
+			totalRead = chars.position();
+		} else {
+			CharBuffer chars = decoder.decode(bytes);
+			contents = chars.array();
+			totalRead = chars.limit();
+		}
+		int start = 0;
+		// Do not keep first character for UTF-8 BOM encoding
+		if (totalRead > 0 && UTF_8.equals(encoding) && contents[0] == 0xFEFF) {
+			totalRead--;
+			start = 1;
+		}
+		if (start != 0 || totalRead < contents.length)
+			System.arraycopy(contents, start, contents = new char[totalRead], 0, totalRead);
+		return contents;
+	}
 	private static FileOutputStream getFileOutputStream(boolean generatePackagesStructure, String outputPath, String relativeFileName) throws IOException {
 		if (generatePackagesStructure) {
 			return new FileOutputStream(new File(buildAllDirectoriesInto(outputPath, relativeFileName)));
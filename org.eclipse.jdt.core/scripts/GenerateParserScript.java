@@ -47,12 +47,12 @@ public class GenerateParserScript {
 				System.exit(1);
 		}
 
-		// Update parserNN.rsc and readableNames.props
+		// Update parserTables.rsc and readableNames.props
 		File javadclFile = new File(grammarDir, "javadcl.java");
 		File javahdrFile = new File(grammarDir, "javahdr.java");
 		Parser.buildFilesFromLPG(javadclFile.toString(), javahdrFile.toString());
-		for (int i = 1; i <= 24; i++) {
-			String filename = "parser"+i+".rsc";
+		{
+			String filename = "parserTables.rsc";
 			Files.move(new File(filename).toPath(), new File(parserDir, filename).toPath(), StandardCopyOption.REPLACE_EXISTING);
 		}
 		{